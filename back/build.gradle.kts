@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com"
@@ -97,3 +98,9 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// 마이크로 벤치마크(src/jmh): ./gradlew jmh
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "TEXT"
+}
@@ -0,0 +1,72 @@
+package com.back.global.ai.vector;
+
+import com.back.global.ai.vector.AIVectorServiceImpl.Cue;
+import com.back.global.ai.vector.AIVectorServiceImpl.NegTrigger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KeywordAutomaton vs 기존 키워드별 String.contains 스캔 비교 벤치마크.
+ * 키워드 그룹과 오토마톤은 AIVectorServiceImpl의 운영 값(NegTrigger, INVEST_ACTION_KEYWORDS, TRIGGER_MATCHER)을 그대로 쓰고,
+ * 두 경로 모두 트리거 원문 1건에 대해 그룹별 서로 다른 키워드 적중 수를 계산한다.
+ *
+ * 실행: ./gradlew jmh (결과: build/results/jmh/results.txt)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordAutomatonBenchmark {
+
+    // 트리거 원문 길이(최근 노드 요약 + 관련 컨텍스트 결합 길이 수준)
+    @Param({"200", "1000"})
+    public int length;
+
+    // 운영 그룹 순서(부정 트리거 → 투자 행위)와 그룹별 키워드
+    private static final List<Enum<?>> GROUPS = new ArrayList<>();
+    private static final List<String[]> KEYWORDS = new ArrayList<>();
+
+    static {
+        for (NegTrigger t : NegTrigger.values()) {
+            GROUPS.add(t);
+            KEYWORDS.add(t.keywords);
+        }
+        GROUPS.add(Cue.INVEST_ACTION);
+        KEYWORDS.add(AIVectorServiceImpl.INVEST_ACTION_KEYWORDS);
+    }
+
+    private String source;
+
+    @Setup
+    public void setUp() {
+        String base = "대학 졸업 후 첫 직장에 들어가 프로젝트를 맡았다. 야근이 잦아 과로로 건강이 걱정되지만 "
+                + "여유 자금으로 주식 ETF 적립을 시작했고, 친구의 권유로 코인 투자도 고민 중이다. ";
+        StringBuilder sb = new StringBuilder(length + base.length());
+        while (sb.length() < length) sb.append(base);
+        source = sb.substring(0, length).replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+    }
+
+    // 기존 방식: 그룹마다 키워드별 contains(본문을 키워드 수만큼 반복 스캔)
+    @Benchmark
+    public void containsScan(Blackhole bh) {
+        for (String[] words : KEYWORDS) {
+            int hits = 0;
+            for (String k : words) if (source.contains(k)) hits++;
+            bh.consume(hits);
+        }
+    }
+
+    // 오토마톤: 본문 1회 순회로 모든 그룹 적중 수
+    @Benchmark
+    public void automatonScan(Blackhole bh) {
+        KeywordAutomaton<Enum<?>>.Hits hits = AIVectorServiceImpl.TRIGGER_MATCHER.scan(source);
+        for (Enum<?> g : GROUPS) bh.consume(hits.count(g));
+    }
+}
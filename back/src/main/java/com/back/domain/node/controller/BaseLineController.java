@@ -2,7 +2,7 @@
  * [API] BaseLine 전용 엔드포인트
  * - 라인 단위 일괄 생성 / 중간 분기점(pivot) 조회
  * - 전체 노드 목록 조회 / 단일 노드 조회
- * - 사용자 전체 트리 조회 (베이스/결정 노드 일괄 반환)
+ * - 사용자 전체 트리 조회 (베이스/결정 노드 일괄 반환, 트리 스탬프 ETag + If-None-Match 304)
  */
 package com.back.domain.node.controller;
 
@@ -12,12 +12,15 @@ import com.back.domain.node.dto.base.BaseLineBulkCreateRequest;
 import com.back.domain.node.dto.base.BaseLineBulkCreateResponse;
 import com.back.domain.node.dto.base.BaseLineDto;
 import com.back.domain.node.dto.base.BaseNodeDto;
+import com.back.domain.node.service.BaseLineTreeCache;
 import com.back.domain.node.service.NodeService;
 import com.back.global.exception.ApiException;
 import com.back.global.exception.ErrorCode;
 import com.back.global.security.CustomUserDetails;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -58,11 +61,21 @@ public class BaseLineController {
         return ResponseEntity.ok(nodeService.getBaseNode(baseNodeId));
     }
 
-    // 사용자 전체 트리 조회 (베이스/결정 노드 일괄 반환)
+    // 사용자 전체 트리 조회 (베이스/결정 노드 일괄 반환, 변경 없으면 304)
     @GetMapping("/{baseLineId}/tree")
-    public ResponseEntity<TreeDto> getTreeForBaseLine(@PathVariable Long baseLineId) {
-        TreeDto tree = nodeService.getTreeForBaseLine(baseLineId);
-        return ResponseEntity.ok(tree);
+    public ResponseEntity<TreeDto> getTreeForBaseLine(@PathVariable Long baseLineId,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 스탬프만 먼저 확인해 클라이언트 사본이 최신이면 본문 없이 응답
+        String currentTag = BaseLineTreeCache.etagOf(baseLineId, nodeService.getTreeStamp(baseLineId));
+        if (BaseLineTreeCache.matches(ifNoneMatch, currentTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentTag).cacheControl(CacheControl.noCache()).build();
+        }
+
+        BaseLineTreeCache.VersionedTree versioned = nodeService.getVersionedTree(baseLineId);
+        return ResponseEntity.ok()
+                .eTag(BaseLineTreeCache.etagOf(baseLineId, versioned.stamp()))
+                .cacheControl(CacheControl.noCache())
+                .body(versioned.tree());
     }
 
     // 내가 만든 베이스라인 목록 조회
@@ -4,6 +4,7 @@
  * - next: 다음 결정 생성(라인은 부모에서 해석)
  * - cancel: 라인 취소(파기)
  * - complete: 라인 완료(잠금)
+ * - hint: 커밋 후 비동기로 생성되는 다음 AI 힌트 폴링
  */
 package com.back.domain.node.controller;
 
@@ -42,6 +43,14 @@ public class DecisionFlowController {
         return ResponseEntity.status(HttpStatus.CREATED).body(nodeService.createDecisionNodeNext(request));
     }
 
+    // 다음 AI 힌트 폴링: status=PENDING이면 아직 생성 중
+    @GetMapping("/nodes/{decisionNodeId}/hint")
+    public ResponseEntity<DecisionHintDto> nextHint(@AuthenticationPrincipal CustomUserDetails me,
+                                                    @PathVariable Long decisionNodeId) {
+        if (me == null) throw new ApiException(ErrorCode.HANDLE_ACCESS_DENIED, "login required");
+        return ResponseEntity.ok(nodeService.getNextHint(me.getUser().getId(), decisionNodeId));
+    }
+
     // 라인 취소
     @PostMapping("/{decisionLineId}/cancel")
     public ResponseEntity<DecisionLineLifecycleDto> cancel(@AuthenticationPrincipal CustomUserDetails me,
@@ -0,0 +1,15 @@
+/**
+ * [DTO-RES] 결정 노드 다음 AI 힌트 폴링 응답
+ * - status가 READY/FAILED가 되면 도착(또는 실패) 완료, PENDING이면 재폴링
+ */
+package com.back.domain.node.dto.decision;
+
+import com.back.domain.node.entity.AiHintStatus;
+
+public record DecisionHintDto(
+        Long decisionNodeId,
+        Long decisionLineId,
+        AiHintStatus status,
+        String aiNextSituation,
+        String aiNextRecommendedOption
+) {}
@@ -0,0 +1,11 @@
+/**
+ * [ENTITY] AiHintStatus
+ * - 결정 노드의 다음 AI 힌트 생성 상태(커밋 후 비동기 생성 대기 PENDING, 반영 완료 READY, 생성 실패 FAILED)
+ */
+package com.back.domain.node.entity;
+
+public enum AiHintStatus {
+    PENDING,
+    READY,
+    FAILED
+}
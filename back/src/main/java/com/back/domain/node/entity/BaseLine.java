@@ -14,6 +14,7 @@ import java.util.List;
  * 사용자의 현재 삶의 베이스라인 엔티티
  * - user: 소유 사용자
  * - baseNodes: 이 라인에 속한 BaseNode 목록(양방향)
+ * - treeVersion: 트리 변경 스탬프(벌크 쿼리로만 증가, 엔티티 flush로는 덮어쓰지 않음)
  */
 @Entity
 @Table(name = "base_lines")
@@ -31,6 +32,11 @@ public class BaseLine extends BaseEntity {
     @Column(length = 100, nullable = false)
     private String title;
 
+    // 트리 캐시/ETag 스탬프(BaseLineRepository.bumpTreeVersion*로만 증가)
+    @Column(name = "tree_version", nullable = false, updatable = false)
+    @Builder.Default
+    private long treeVersion = 0L;
+
     // BaseLine <-> BaseNode 양방향 매핑 (BaseNode 쪽에 @ManyToOne BaseLine baseLine 있어야 함)
     @OneToMany(mappedBy = "baseLine", cascade = CascadeType.ALL, orphanRemoval = false)
     @Builder.Default
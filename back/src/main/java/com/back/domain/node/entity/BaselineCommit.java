@@ -2,6 +2,7 @@
  * [ENTITY] BaselineCommit
  * - 브랜치 상의 단일 변경 단위를 나타내며, 부모 커밋과 메시지, 작성자를 보관
  * - 해당 커밋에 속한 BaselinePatch들이 실제 변경(버전 교체)을 기술
+ * - versionSnapshot: 이 커밋 시점의 누적 ageYear → afterVersionId 맵(부모 스냅샷 + 자기 패치), 체인 탐색 없이 1회 조회로 해석
  */
 package com.back.domain.node.entity;
 
@@ -9,6 +10,9 @@ import com.back.global.baseentity.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 @Entity
 @Table(name = "baseline_commits",
         indexes = {
@@ -33,6 +37,10 @@ public class BaselineCommit extends BaseEntity {
     @Column(length = 200)
     private String message;
 
+    // 누적 스냅샷("age:versionId,..." age 오름차순), null이면 스냅샷 도입 이전 커밋(체인 탐색 폴백)
+    @Column(columnDefinition = "TEXT")
+    private String versionSnapshot;
+
     // 부모 커밋을 지정하여 새 커밋으로 초기화
     public static BaselineCommit newCommit(BaselineBranch branch, BaselineCommit parent, Long authorUserId, String message) {
         return BaselineCommit.builder()
@@ -42,4 +50,41 @@ public class BaselineCommit extends BaseEntity {
                 .message(message)
                 .build();
     }
+
+    // 스냅샷 보유 여부(도입 이전 커밋은 false)
+    public boolean hasVersionSnapshot() {
+        return versionSnapshot != null;
+    }
+
+    // 스냅샷 문자열을 ageYear → afterVersionId 맵으로 복원(없으면 null)
+    public Map<Integer, Long> readVersionSnapshot() {
+        return decodeVersionSnapshot(versionSnapshot);
+    }
+
+    // 스냅샷 문자열 디코드(프로젝션 조회 결과에도 사용)
+    public static Map<Integer, Long> decodeVersionSnapshot(String raw) {
+        if (raw == null) return null;
+        Map<Integer, Long> out = new TreeMap<>();
+        if (raw.isBlank()) return out;
+        for (String entry : raw.split(",")) {
+            int sep = entry.indexOf(':');
+            if (sep <= 0) continue;
+            out.put(Integer.valueOf(entry.substring(0, sep).trim()), Long.valueOf(entry.substring(sep + 1).trim()));
+        }
+        return out;
+    }
+
+    // ageYear → afterVersionId 맵을 스냅샷 문자열로 기록(age 오름차순 고정)
+    public void writeVersionSnapshot(Map<Integer, Long> snapshot) {
+        Map<Integer, Long> sorted = new TreeMap<>();
+        if (snapshot != null) {
+            snapshot.forEach((age, ver) -> { if (age != null && ver != null) sorted.put(age, ver); });
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Integer, Long> e : sorted.entrySet()) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(e.getKey()).append(':').append(e.getValue());
+        }
+        this.versionSnapshot = sb.toString();
+    }
 }
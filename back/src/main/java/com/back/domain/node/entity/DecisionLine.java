@@ -1,6 +1,7 @@
 /**
  * [ENTITY] DecisionLine (추가 필드 포함)
  * - 라인이 따르는 베이스 브랜치와 고정 커밋을 보관하며, FOLLOW/PINNED 해석의 기준이 됨
+ * - divergenceAge: 라인의 첫 분기 나이(from-base 피벗/포크 앵커), 옵션 동기화 코리더 판정을 인덱스 조회로 처리
  */
 package com.back.domain.node.entity;
 
@@ -17,7 +18,8 @@ import java.util.List;
 @Table(name = "decision_lines",
         indexes = {
                 @Index(name = "idx_dline_branch", columnList = "base_branch_id"),
-                @Index(name = "idx_dline_pinned", columnList = "pinned_commit_id")
+                @Index(name = "idx_dline_pinned", columnList = "pinned_commit_id"),
+                @Index(name = "idx_dline_base_divergence", columnList = "base_line_id, divergence_age")
         })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
@@ -38,6 +40,10 @@ public class DecisionLine extends BaseEntity {
     @Column(name = "parent_line_id")
     private Long parentLineId;
 
+    // 첫 분기 나이(null이면 아직 분기 없음 → 모든 나이에서 코리더 포함)
+    @Column(name = "divergence_age")
+    private Integer divergenceAge;
+
     @OneToMany(mappedBy = "decisionLine", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<DecisionNode> decisionNodes = new ArrayList<>();
 
@@ -69,6 +75,12 @@ public class DecisionLine extends BaseEntity {
         this.status = DecisionLineStatus.COMPLETED;
     }
 
+    // 분기 노드(parentOptionIndex 보유) 생성 시 첫 분기 나이 갱신(더 이른 나이만 반영)
+    public void noteDivergenceAt(Integer ageYear) {
+        if (ageYear == null) return;
+        if (this.divergenceAge == null || ageYear < this.divergenceAge) this.divergenceAge = ageYear;
+    }
+
     // 추가 노드 가능 여부 가드
     public void guardAppendable() {
         if (this.status == DecisionLineStatus.COMPLETED || this.status == DecisionLineStatus.CANCELLED) {
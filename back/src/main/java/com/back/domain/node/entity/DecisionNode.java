@@ -14,7 +14,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "decision_nodes")
+@Table(name = "decision_nodes",
+        indexes = {
+                @Index(name = "idx_dnode_line_age", columnList = "dec_line_id, ageYear")
+        })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class DecisionNode extends BaseEntity {
@@ -87,6 +90,11 @@ public class DecisionNode extends BaseEntity {
     @Column(name = "ai_next_recommended_option", columnDefinition = "TEXT")
     private String aiNextRecommendedOption;
 
+    // 다음 AI 힌트 생성 상태(null이면 비동기 도입 이전 노드)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ai_hint_status", length = 16)
+    private AiHintStatus aiHintStatus;
+
     // 다음 나이 검증
     public void guardNextAgeValid(int nextAge) {
         if (nextAge <= this.getAgeYear()) {
@@ -103,5 +111,13 @@ public class DecisionNode extends BaseEntity {
     public void setAiHint(String nextSituation, String nextRecommended) {
         this.aiNextSituation = nextSituation;
         this.aiNextRecommendedOption = nextRecommended;
+        this.aiHintStatus = AiHintStatus.READY;
+    }
+
+    // 커밋 후 비동기 힌트 생성 대기 상태로 표시
+    public void markAiHintPending() {
+        this.aiNextSituation = null;
+        this.aiNextRecommendedOption = null;
+        this.aiHintStatus = AiHintStatus.PENDING;
     }
 }
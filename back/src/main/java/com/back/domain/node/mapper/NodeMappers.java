@@ -1,7 +1,7 @@
 /**
  * NodeMappers (하이브리드 대응 버전)
  * - 생성자 주입 완료 후 람다 매퍼(BASELINE_READ/BASE_READ/DECISION_READ)를 초기화해 주입 필드 참조 시점 문제를 제거
- * - READ 경로: Base/Decision 엔티티를 DTO로 변환할 때 버전 해석(VersionResolver + NodeAtomVersionRepository) 값을 effective*로 주입
+ * - READ 경로: Base/Decision 엔티티를 DTO로 변환할 때 버전 해석(VersionResolver + NodeImmutableCache) 값을 effective*로 주입
  * - WRITE 경로: 내부 컨텍스트 매퍼(BaseNodeCtxMapper/DecisionNodeCtxMapper)가 DTO→엔티티 변환을 담당
  * - 옵션 JSON <-> List 변환은 ObjectMapper로 처리
  */
@@ -14,7 +14,8 @@ import com.back.domain.node.dto.base.BaseNodeDto;
 import com.back.domain.node.dto.decision.DecNodeDto;
 import com.back.domain.node.dto.decision.DecisionNodeCreateRequestDto;
 import com.back.domain.node.entity.*;
-import com.back.domain.node.repository.NodeAtomVersionRepository;
+import com.back.domain.node.service.NodeImmutableCache;
+import com.back.domain.node.service.NodeImmutableCache.VersionView;
 import com.back.domain.node.service.VersionResolver;
 import com.back.domain.user.entity.User;
 import com.back.global.mapper.Mapper;
@@ -31,7 +32,7 @@ import java.util.List;
 public final class NodeMappers {
 
     private final VersionResolver resolver;
-    private final NodeAtomVersionRepository versionRepo;
+    private final NodeImmutableCache immutableCache;
     private final ObjectMapper om;
 
     public final Mapper<BaseLine, BaseLineDto> BASELINE_READ;
@@ -39,10 +40,10 @@ public final class NodeMappers {
     public final Mapper<DecisionNode, DecNodeDto> DECISION_READ;
 
     public NodeMappers(VersionResolver resolver,
-                       NodeAtomVersionRepository versionRepo,
+                       NodeImmutableCache immutableCache,
                        ObjectMapper objectMapper) {
         this.resolver = resolver;
-        this.versionRepo = versionRepo;
+        this.immutableCache = immutableCache;
         this.om = (objectMapper != null) ? objectMapper : new ObjectMapper();
 
         // 베이스라인을 DTO로 변환
@@ -56,9 +57,7 @@ public final class NodeMappers {
             if (e == null) throw new MappingException("BaseNode is null");
 
             Long currentVersionId = e.getCurrentVersion() != null ? e.getCurrentVersion().getId() : null;
-            NodeAtomVersion ver = (currentVersionId != null)
-                    ? versionRepo.findById(currentVersionId).orElse(null)
-                    : null;
+            VersionView ver = immutableCache.getVersion(currentVersionId);
 
             return new BaseNodeDto(
                     e.getId(),
@@ -78,11 +77,11 @@ public final class NodeMappers {
                     e.getAltOpt2TargetDecisionId(),
                     e.getDescription(),
                     currentVersionId,
-                    ver != null ? ver.getCategory() : null,
-                    ver != null ? ver.getSituation() : null,
-                    ver != null ? ver.getDecision() : null,
-                    ver != null ? parseOptionsJson(ver.getOptionsJson()) : null,
-                    ver != null ? ver.getDescription() : null
+                    ver != null ? ver.category() : null,
+                    ver != null ? ver.situation() : null,
+                    ver != null ? ver.decision() : null,
+                    ver != null ? parseOptionsJson(ver.optionsJson()) : null,
+                    ver != null ? ver.description() : null
             );
         };
 
@@ -105,43 +104,51 @@ public final class NodeMappers {
                     overrideVersionId
             );
 
-            NodeAtomVersion ver = (effectiveVersionId != null)
-                    ? versionRepo.findById(effectiveVersionId).orElse(null)
-                    : null;
+            VersionView ver = immutableCache.getVersion(effectiveVersionId);
 
-            List<String> fallbackOpts = toListOptions(e);
-            List<String> effectiveOpts = ver != null ? parseOptionsJson(ver.getOptionsJson()) : null;
-
-            return new DecNodeDto(
-                    e.getId(),
-                    e.getUser() != null ? e.getUser().getId() : null,
-                    e.getNodeKind() != null ? e.getNodeKind().name() : NodeType.DECISION.name(),
-                    e.getCategory(),
-                    e.getSituation(),
-                    e.getDecision(),
-                    e.getAgeYear(),
-                    line != null ? line.getId() : null,
-                    e.getParent() != null ? e.getParent().getId() : null,
-                    e.getBaseNode() != null ? e.getBaseNode().getId() : null,
-                    e.getBackground(),
-                    fallbackOpts,
-                    e.getSelectedIndex(),
-                    e.getParentOptionIndex(),
-                    e.getDescription(),
-                    e.getAiNextSituation(),
-                    e.getAiNextRecommendedOption(),
-                    e.getFollowPolicy(),
-                    pinnedCommitId,
-                    null, // virtual 투영은 상위 레이어에서 주입
-                    ver != null ? ver.getCategory() : null,
-                    ver != null ? ver.getSituation() : null,
-                    ver != null ? ver.getDecision() : null,
-                    effectiveOpts,
-                    ver != null ? ver.getDescription() : null
-            );
+            return toDecisionDto(e, ver);
         };
     }
 
+    // 이미 해석된 버전으로 결정 노드 DTO 생성(벌크 해석 경로에서 노드별 재해석 없이 사용)
+    public DecNodeDto toDecisionDto(DecisionNode e, VersionView ver) {
+        if (e == null) throw new MappingException("DecisionNode is null");
+
+        DecisionLine line = e.getDecisionLine();
+        Long pinnedCommitId = line != null && line.getPinnedCommit() != null ? line.getPinnedCommit().getId() : null;
+
+        List<String> fallbackOpts = toListOptions(e);
+        List<String> effectiveOpts = ver != null ? parseOptionsJson(ver.optionsJson()) : null;
+
+        return new DecNodeDto(
+                e.getId(),
+                e.getUser() != null ? e.getUser().getId() : null,
+                e.getNodeKind() != null ? e.getNodeKind().name() : NodeType.DECISION.name(),
+                e.getCategory(),
+                e.getSituation(),
+                e.getDecision(),
+                e.getAgeYear(),
+                line != null ? line.getId() : null,
+                e.getParent() != null ? e.getParent().getId() : null,
+                e.getBaseNode() != null ? e.getBaseNode().getId() : null,
+                e.getBackground(),
+                fallbackOpts,
+                e.getSelectedIndex(),
+                e.getParentOptionIndex(),
+                e.getDescription(),
+                e.getAiNextSituation(),
+                e.getAiNextRecommendedOption(),
+                e.getFollowPolicy(),
+                pinnedCommitId,
+                null, // virtual 투영은 상위 레이어에서 주입
+                ver != null ? ver.category() : null,
+                ver != null ? ver.situation() : null,
+                ver != null ? ver.decision() : null,
+                effectiveOpts,
+                ver != null ? ver.description() : null
+        );
+    }
+
     // 엔티티 옵션 필드를 List로 정규화
     private List<String> toListOptions(DecisionNode e) {
         List<String> opts = new ArrayList<>(3);
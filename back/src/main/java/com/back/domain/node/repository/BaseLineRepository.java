@@ -2,10 +2,12 @@ package com.back.domain.node.repository;
 
 import com.back.domain.node.entity.BaseLine;
 import com.back.domain.user.entity.User;
+import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -36,4 +38,21 @@ public interface BaseLineRepository extends JpaRepository<BaseLine, Long> {
     boolean existsByIdAndUser_Id(Long baseLineId, Long userId);
 
     void deleteByIdAndUser_Id(Long baseLineId, Long userId);
+
+    // 트리 버전 스탬프 조회(없으면 null)
+    @Query("select b.treeVersion from BaseLine b where b.id = :baseLineId")
+    Long findTreeVersionById(@Param("baseLineId") Long baseLineId);
+
+    // 트리 버전 스탬프 +1(쓰기 트랜잭션과 함께 커밋/롤백)
+    @Modifying
+    @Transactional
+    @Query("update BaseLine b set b.treeVersion = b.treeVersion + 1 where b.id = :baseLineId")
+    int bumpTreeVersion(@Param("baseLineId") Long baseLineId);
+
+    // 결정 라인 id로 소속 베이스라인 트리 버전 스탬프 +1
+    @Modifying
+    @Transactional
+    @Query("update BaseLine b set b.treeVersion = b.treeVersion + 1 " +
+            "where b.id = (select l.baseLine.id from DecisionLine l where l.id = :decisionLineId)")
+    int bumpTreeVersionByDecisionLineId(@Param("decisionLineId") Long decisionLineId);
 }
\ No newline at end of file
@@ -2,12 +2,17 @@
  * [REPOSITORY] BaselineCommitRepository
  * - 브랜치상의 커밋 이력을 조회/탐색하기 위한 저장소
  * - 최신 커밋 조회 및 브랜치별 커밋 목록 조회 지원
+ * - 커밋 체인 링크/누적 버전 스냅샷 일괄 조회 및 스냅샷 무효화
  */
 package com.back.domain.node.repository;
 
 import com.back.domain.node.entity.BaselineCommit;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -26,5 +31,23 @@ public interface BaselineCommitRepository extends JpaRepository<BaselineCommit,
     @EntityGraph(attributePaths = {"parentCommit"})
     List<BaselineCommit> findAll();
 
+    // 베이스라인 전체 커밋의 (commitId, parentCommitId, versionSnapshot) 행 조회 — 커밋 체인을 메모리에서 따라가기 위함
+    @Query("""
+      select c.id, p.id, c.versionSnapshot
+      from BaselineCommit c
+      left join c.parentCommit p
+      where c.branch.baseLine.id = :baseLineId
+    """)
+    List<Object[]> findParentLinksByBaseLineId(@Param("baseLineId") Long baseLineId);
+
+    // 베이스라인 커밋 스냅샷 무효화(과거 커밋에 패치를 소급 추가한 경우) — 이후 해석은 체인 탐색으로 폴백
+    @Modifying
+    @Transactional
+    @Query("""
+      update BaselineCommit c set c.versionSnapshot = null
+      where c.branch.id in (select b.id from BaselineBranch b where b.baseLine.id = :baseLineId)
+    """)
+    int clearVersionSnapshotsByBaseLineId(@Param("baseLineId") Long baseLineId);
+
     void deleteByBranch_BaseLine_Id(Long baseLineId);
 }
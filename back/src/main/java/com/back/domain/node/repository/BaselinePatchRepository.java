@@ -7,6 +7,8 @@ package com.back.domain.node.repository;
 
 import com.back.domain.node.entity.BaselinePatch;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -22,5 +24,13 @@ public interface BaselinePatchRepository extends JpaRepository<BaselinePatch, Lo
     // 커밋 집합과 ageYear로 필터링하여 최신 우선 정렬
     List<BaselinePatch> findByCommit_IdInAndAgeYearOrderByIdDesc(Collection<Long> commitIds, Integer ageYear);
 
+    // 커밋 집합의 패치를 (commitId, ageYear, afterVersionId, patchId) 행으로 일괄 조회 — 벌크 버전 해석용
+    @Query("""
+      select p.commit.id, p.ageYear, p.afterVersion.id, p.id
+      from BaselinePatch p
+      where p.commit.id in :commitIds
+    """)
+    List<Object[]> findPatchRowsByCommitIds(@Param("commitIds") Collection<Long> commitIds);
+
     void deleteByCommit_Branch_BaseLine_Id(Long baseLineId);
 }
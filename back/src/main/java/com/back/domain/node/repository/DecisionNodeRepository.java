@@ -3,11 +3,18 @@
  */
 package com.back.domain.node.repository;
 
+import com.back.domain.node.entity.AiHintStatus;
+import com.back.domain.node.entity.DecisionLineStatus;
 import com.back.domain.node.entity.DecisionNode;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +26,46 @@ public interface DecisionNodeRepository extends JpaRepository<DecisionNode, Long
 
     Optional<DecisionNode> findFirstByDecisionLine_IdOrderByAgeYearAscIdAsc(Long decisionLineId);
 
+    // 베이스라인의 모든 결정 노드를 한 번에 조회(라인 → 나이 → id 정렬) — 트리 조회용
+    @Query("""
+      select d from DecisionNode d
+      where d.decisionLine.baseLine.id = :baseLineId
+      order by d.decisionLine.id asc, d.ageYear asc, d.id asc
+    """)
+    List<DecisionNode> findTreeByBaseLineId(@Param("baseLineId") Long baseLineId);
+
+    // 코리더(취소 제외 + 첫 분기 나이 ≥ age) 라인들의 동일 나이 노드를 한 번에 조회 — 옵션 동기화용
+    @Query("""
+      select d from DecisionNode d
+      join d.decisionLine l
+      where l.baseLine.id = :baseLineId
+        and d.ageYear = :ageYear
+        and l.status <> :excluded
+        and (l.divergenceAge is null or l.divergenceAge >= :ageYear)
+      order by l.id asc, d.id asc
+    """)
+    List<DecisionNode> findCorridorNodesAtAge(@Param("baseLineId") Long baseLineId,
+                                              @Param("ageYear") int ageYear,
+                                              @Param("excluded") DecisionLineStatus excluded);
+
+    // 베이스 승격 재색인용: 베이스라인의 특정 나이 결정 노드를 라인과 함께 조회
+    @EntityGraph(attributePaths = {"decisionLine", "decisionLine.baseBranch"})
+    List<DecisionNode> findWithLineByDecisionLine_BaseLine_IdAndAgeYear(Long baseLineId, int ageYear);
+
+    // 라인별 노드 리스트(베이스 노드 fetch) — 트랜잭션 밖 AI 힌트 생성용
+    @EntityGraph(attributePaths = {"baseNode"})
+    List<DecisionNode> findWithBaseNodeByDecisionLine_IdOrderByAgeYearAscIdAsc(Long decisionLineId);
+
+    // 비동기 생성된 AI 힌트를 단건 반영(엔티티 로드 없이 짧은 트랜잭션)
+    @Modifying
+    @Transactional
+    @Query("update DecisionNode d set d.aiNextSituation = :situation, d.aiNextRecommendedOption = :option, " +
+            "d.aiHintStatus = :status where d.id = :id")
+    int updateAiHint(@Param("id") Long id,
+                     @Param("situation") String situation,
+                     @Param("option") String option,
+                     @Param("status") AiHintStatus status);
+
     @EntityGraph(attributePaths = {"decisionLine", "decisionLine.user"})
     Optional<DecisionNode> findWithLineAndUserById(Long id);
 
@@ -26,4 +73,12 @@ public interface DecisionNodeRepository extends JpaRepository<DecisionNode, Long
     List<DecisionNode> findByDecisionLine_BaseLine_IdAndParentIsNull(Long baseLineId);
 
     void deleteByDecisionLine_BaseLine_Id(Long baseLineId);
+
+    // 스니펫 인덱싱용: 노드 id 묶음을 라인/오버라이드 버전과 함께 로드
+    @EntityGraph(attributePaths = {"decisionLine", "overrideVersion"})
+    List<DecisionNode> findWithLineAndOverrideByIdIn(Collection<Long> ids);
+
+    // 스니펫 인덱싱용: 라인 id 묶음의 전체 노드를 라인/오버라이드 버전과 함께 로드
+    @EntityGraph(attributePaths = {"decisionLine", "overrideVersion"})
+    List<DecisionNode> findWithLineAndOverrideByDecisionLine_IdIn(Collection<Long> lineIds);
 }
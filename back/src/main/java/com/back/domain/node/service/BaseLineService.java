@@ -3,6 +3,8 @@
  * - 베이스라인 일괄 생성 시: NodeAtom/Version 생성 → BaseNode.currentVersion 연결
  * - 이어서 기본 브랜치(main)/루트 커밋(init) 생성 → 각 ageYear에 대한 초기 BaselinePatch 기록
  * - 이후 FOLLOW/PINNED 해석 시 체인에서 항상 초기 스냅샷을 찾을 수 있도록 보장
+ * - 삭제 시 트리 캐시도 제거(새 베이스라인은 스탬프 0에서 시작)
+ * - 일괄 생성은 타입별 saveAll로 모아 시퀀스 id 선할당 + JDBC 배치 insert로 왕복을 줄임
  */
 package com.back.domain.node.service;
 
@@ -18,6 +20,8 @@ import com.back.domain.scenario.repository.SceneTypeRepository;
 import com.back.domain.user.entity.Role;
 import com.back.domain.user.entity.User;
 import com.back.domain.user.repository.UserRepository;
+import com.back.global.ai.vector.LineContextCache;
+import com.back.global.ai.vector.NodeSnippetIndexer;
 import com.back.global.exception.ApiException;
 import com.back.global.exception.ErrorCode;
 import jakarta.persistence.EntityManager;
@@ -30,6 +34,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
@@ -53,6 +58,9 @@ public class BaseLineService {
     private final BaselineCommitRepository commitRepo;
     private final BaselinePatchRepository patchRepo;
     private final EntityManager em;
+    private final NodeSnippetIndexer snippetIndexer;
+    private final LineContextCache lineContextCache;
+    private final BaseLineTreeCache treeCache;
 
     private final NodeMappers mappers;
 
@@ -75,18 +83,17 @@ public class BaseLineService {
         log.debug("[BL] normalized size = {}", normalized.size());
 
         BaseNode prev = null;
-        List<BaseLineBulkCreateResponse.CreatedNode> created = new ArrayList<>();
+        List<NodeAtom> atoms = new ArrayList<>(normalized.size());
+        List<NodeAtomVersion> versions = new ArrayList<>(normalized.size());
         List<BaseNode> createdEntities = new ArrayList<>(normalized.size());
 
-        for (int i = 0; i < normalized.size(); i++) {
-            BaseLineBulkCreateRequest.BaseNodePayload payload = normalized.get(i);
-
+        for (BaseLineBulkCreateRequest.BaseNodePayload payload : normalized) {
             BaseNode entity = mappers.new BaseNodeCtxMapper(user, baseLine, prev).toEntity(payload);
             entity.guardBaseOptionsValid();
 
-            // NodeAtom/Version 생성 후 BaseNode.currentVersion 연결
-            NodeAtom atom = atomRepo.save(NodeAtom.builder().contentKey(null).build());
-            NodeAtomVersion ver = versionRepo.save(NodeAtomVersion.builder()
+            // NodeAtom/Version 생성 후 BaseNode.currentVersion 연결(저장은 타입별로 모아 배치 insert)
+            NodeAtom atom = NodeAtom.builder().contentKey(null).build();
+            NodeAtomVersion ver = NodeAtomVersion.builder()
                     .atom(atom)
                     .parentVersion(null)
                     .category(payload.category())
@@ -96,13 +103,23 @@ public class BaseLineService {
                     .description(payload.description())
                     .ageYear(payload.ageYear())
                     .contentHash(null)
-                    .build());
+                    .build();
             entity.setCurrentVersion(ver);
 
-            BaseNode saved = baseNodeRepository.save(entity);
-            created.add(new BaseLineBulkCreateResponse.CreatedNode(i, saved.getId()));
-            createdEntities.add(saved);
-            prev = saved;
+            atoms.add(atom);
+            versions.add(ver);
+            createdEntities.add(entity);
+            prev = entity;
+        }
+
+        // 시퀀스 id는 persist 시점에 선할당되므로 insert는 flush 때 테이블별 배치로 전송됨
+        atomRepo.saveAll(atoms);
+        versionRepo.saveAll(versions);
+        baseNodeRepository.saveAll(createdEntities);
+
+        List<BaseLineBulkCreateResponse.CreatedNode> created = new ArrayList<>(createdEntities.size());
+        for (int i = 0; i < createdEntities.size(); i++) {
+            created.add(new BaseLineBulkCreateResponse.CreatedNode(i, createdEntities.get(i).getId()));
         }
 
         // 기본 브랜치(main)와 루트 커밋 생성
@@ -115,12 +132,18 @@ public class BaseLineService {
         main.moveHeadTo(root);
         branchRepo.save(main);
 
-        // 생성된 노드들에 대한 초기 패치 저장
+        // 생성된 노드들에 대한 초기 패치 저장 + 루트 누적 스냅샷(같은 나이는 마지막 패치 우선)
+        Map<Integer, Long> snapshot = new TreeMap<>();
+        List<BaselinePatch> patches = new ArrayList<>(createdEntities.size());
         for (BaseNode bn : createdEntities) {
             NodeAtomVersion v = bn.getCurrentVersion();
             if (v == null) continue;
-            patchRepo.save(BaselinePatch.of(root, bn.getAgeYear(), null, v));
+            patches.add(BaselinePatch.of(root, bn.getAgeYear(), null, v));
+            snapshot.put(bn.getAgeYear(), v.getId());
         }
+        patchRepo.saveAll(patches);
+        root.writeVersionSnapshot(snapshot);
+        commitRepo.save(root);
 
         return new BaseLineBulkCreateResponse(baseLine.getId(), created);
     }
@@ -151,6 +174,13 @@ public class BaseLineService {
         boolean owned = baseLineRepository.existsByIdAndUser_Id(baseLineId, userId);
         if (!owned) throw new ApiException(ErrorCode.BASE_LINE_NOT_FOUND, "baseline not found or not owned");
 
+        // 삭제될 라인의 스니펫/힌트 컨텍스트는 커밋 후 정리
+        List<Long> lineIds = decisionLineRepository.findByBaseLine_Id(baseLineId)
+                .stream().map(DecisionLine::getId).toList();
+        snippetIndexer.indexLinesAfterCommit(lineIds);
+        lineContextCache.evictLinesAfterCommit(lineIds);
+        lineContextCache.evictBaseLineAfterCommit(baseLineId);
+
         // 결정노드 → 결정라인
         decisionNodeRepository.deleteByDecisionLine_BaseLine_Id(baseLineId);
         decisionLineRepository.deleteByBaseLine_Id(baseLineId);
@@ -187,5 +217,6 @@ public class BaseLineService {
         // 베이스노드 -> 베이스라인
         baseNodeRepository.deleteByBaseLine_Id(baseLineId);
         baseLineRepository.deleteByIdAndUser_Id(baseLineId, userId);
+        treeCache.evictAfterCommit(baseLineId);
     }
 }
@@ -0,0 +1,106 @@
+/**
+ * [SERVICE] BaseLineTreeCache
+ * - 베이스라인별 단조 증가 트리 버전 스탬프(base_lines.tree_version) 조회/증가
+ * - 스탬프를 키로 TreeDto를 프로세스 내 가중치 LRU에 캐싱(스탬프가 바뀌면 자연 무효화)
+ * - 스탬프 증가는 쓰기 트랜잭션 안의 벌크 update라 데이터와 함께 커밋/롤백되고, 인스턴스 간에도 공유됨
+ * - ETag 문자열 생성/If-None-Match 비교 유틸 제공
+ */
+package com.back.domain.node.service;
+
+import com.back.domain.node.dto.TreeDto;
+import com.back.domain.node.repository.BaseLineRepository;
+import com.back.global.cache.WeightedLruCache;
+import com.back.global.exception.ApiException;
+import com.back.global.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+@Component
+public class BaseLineTreeCache {
+
+    // 스탬프와 그 시점 트리 묶음
+    public record VersionedTree(long stamp, TreeDto tree) {
+        long weight() {
+            int nodes = (tree.baseNodes() != null ? tree.baseNodes().size() : 0)
+                    + (tree.decisionNodes() != null ? tree.decisionNodes().size() : 0);
+            return 256 + 1024L * nodes;
+        }
+    }
+
+    private final BaseLineRepository baseLineRepository;
+    private final WeightedLruCache<Long, VersionedTree> trees;
+
+    public BaseLineTreeCache(BaseLineRepository baseLineRepository,
+                             @Value("${node.cache.tree.max-weight-bytes:33554432}") long maxWeight) {
+        this.baseLineRepository = baseLineRepository;
+        this.trees = new WeightedLruCache<>(maxWeight, VersionedTree::weight);
+    }
+
+    // 현재 스탬프(베이스라인 없으면 BASE_LINE_NOT_FOUND)
+    public long currentStamp(Long baseLineId) {
+        Long stamp = baseLineRepository.findTreeVersionById(baseLineId);
+        if (stamp == null) throw new ApiException(ErrorCode.BASE_LINE_NOT_FOUND, "BaseLine not found: " + baseLineId);
+        return stamp;
+    }
+
+    // 스탬프가 같으면 캐시 반환, 아니면 로더로 계산 후 적재
+    public VersionedTree getOrLoad(Long baseLineId, long stamp, Supplier<TreeDto> loader) {
+        VersionedTree cached = trees.get(baseLineId);
+        if (cached != null && cached.stamp() == stamp) return cached;
+
+        VersionedTree loaded = new VersionedTree(stamp, loader.get());
+        trees.put(baseLineId, loaded);
+        return loaded;
+    }
+
+    // 베이스라인 트리 변경 표시(호출 트랜잭션과 함께 커밋)
+    public void bump(Long baseLineId) {
+        if (baseLineId != null) baseLineRepository.bumpTreeVersion(baseLineId);
+    }
+
+    // 결정 라인 기준 트리 변경 표시
+    public void bumpByDecisionLine(Long decisionLineId) {
+        if (decisionLineId != null) baseLineRepository.bumpTreeVersionByDecisionLineId(decisionLineId);
+    }
+
+    // 삭제된 베이스라인 캐시 제거
+    public void evict(Long baseLineId) {
+        if (baseLineId != null) trees.remove(baseLineId);
+    }
+
+    // 삭제 커밋 후 캐시 제거(롤백 시 유지, 커밋 전 다른 요청이 옛 트리를 다시 적재하는 경합 방지)
+    public void evictAfterCommit(Long baseLineId) {
+        if (baseLineId == null) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(baseLineId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(baseLineId);
+            }
+        });
+    }
+
+    // 스탬프 → ETag 값(따옴표 포함)
+    public static String etagOf(Long baseLineId, long stamp) {
+        return "\"bl-" + baseLineId + "-" + stamp + "\"";
+    }
+
+    // If-None-Match 헤더(목록/약한 비교/와일드카드)와 ETag 일치 여부
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String raw : ifNoneMatch.split(",")) {
+            String tag = raw.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+}
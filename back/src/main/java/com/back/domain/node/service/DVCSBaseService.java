@@ -2,6 +2,7 @@
  * [SERVICE] DVCSBaseService
  * - 베이스 편집을 커밋/패치로 기록하고 브랜치 헤드를 이동
  * - BaseNode.currentVersion을 afterVersion으로 동기화하여 FOLLOW 라인이 즉시 최신을 보게 함
+ * - 새 커밋에 부모 스냅샷 + 이번 패치로 누적 버전 스냅샷을 증분 기록(해석 시 체인 탐색 불필요)
  */
 package com.back.domain.node.service;
 
@@ -11,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -23,6 +25,7 @@ public class DVCSBaseService {
     private final NodeAtomRepository atomRepo;
     private final NodeAtomVersionRepository versionRepo;
     private final BaseNodeRepository baseNodeRepo;
+    private final VersionResolver versionResolver;
 
     // 베이스 노드 수정 내용을 브랜치 커밋으로 반영
     @Transactional
@@ -51,7 +54,13 @@ public class DVCSBaseService {
                 edit.optionsJson(), edit.description(), ageYear, edit.contentHash()
         ));
 
-        BaselineCommit commit = commitRepo.save(BaselineCommit.newCommit(br, br.getHeadCommit(), authorUserId, message));
+        // 부모 스냅샷에 이번 패치를 덮어써 누적 스냅샷 구성
+        Map<Integer, Long> snapshot = versionResolver.snapshotOf(br.getHeadCommit());
+        snapshot.put(ageYear, after.getId());
+
+        BaselineCommit commit = BaselineCommit.newCommit(br, br.getHeadCommit(), authorUserId, message);
+        commit.writeVersionSnapshot(snapshot);
+        commit = commitRepo.save(commit);
         patchRepo.save(BaselinePatch.of(commit, ageYear, before, after));
 
         br.moveHeadTo(commit);
@@ -2,6 +2,7 @@
  * [SERVICE] DecisionEditService
  * - 결정 노드 단건 편집(OVERRIDE 전환) 또는 업스트림 승격으로 베이스 브랜치에 반영
  * - FOLLOW/PINNED/OVERRIDE 정책을 전환하고 버전 참조를 관리
+ * - 노드 내용이 바뀌는 편집(베이스 승격 시 해당 나이를 따르는 노드 포함)은 커밋 후 node_snippet 재색인을 예약
  */
 package com.back.domain.node.service;
 
@@ -9,10 +10,13 @@ import com.back.domain.node.entity.*;
 import com.back.domain.node.repository.BaselineCommitRepository;
 import com.back.domain.node.repository.DecisionNodeRepository;
 import com.back.domain.node.repository.NodeAtomVersionRepository;
+import com.back.global.ai.vector.NodeSnippetIndexer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class DecisionEditService {
@@ -22,6 +26,7 @@ public class DecisionEditService {
     private final DVCSBaseService dvcsBaseService;
     private final VersionResolver versionResolver;
     private final BaselineCommitRepository baselineCommitRepo;
+    private final NodeSnippetIndexer snippetIndexer;
 
 
     // 선택된 결정 노드를 OVERRIDE로 전환하고 새 버전을 부여
@@ -50,6 +55,7 @@ public class DecisionEditService {
 
         dn.setOverride(after);
         decisionNodeRepo.save(dn);
+        snippetIndexer.indexNodesAfterCommit(List.of(dn.getId()));
     }
 
     // 결정 노드의 편집을 베이스 브랜치 커밋으로 승격하여 FOLLOW 전 라인에 반영
@@ -73,6 +79,16 @@ public class DecisionEditService {
                 dn.getUser().getId(),
                 message
         );
+
+        // 새 헤드를 따르는 노드(FOLLOW) 및 Base.currentVersion 폴백 노드(정책 null)의 스니펫은 커밋 후 재색인
+        List<Long> affected = decisionNodeRepo.findWithLineByDecisionLine_BaseLine_IdAndAgeYear(baseLineId, dn.getAgeYear())
+                .stream()
+                .filter(n -> n.getFollowPolicy() == null || n.getFollowPolicy() == FollowPolicy.FOLLOW)
+                .filter(n -> n.getDecisionLine().getBaseBranch() == null
+                        || branchId.equals(n.getDecisionLine().getBaseBranch().getId()))
+                .map(DecisionNode::getId)
+                .toList();
+        snippetIndexer.indexNodesAfterCommit(affected);
     }
 
     // 정책 전환(FOLLOW/PINNED/OVERRIDE)을 수행
@@ -85,6 +101,8 @@ public class DecisionEditService {
             dn.setOverrideVersion(null);
         }
         decisionNodeRepo.save(dn);
+        // OVERRIDE 해제/전환 시 스니펫 내용 기준(오버라이드 버전 ↔ 노드 본문)이 바뀜
+        snippetIndexer.indexNodesAfterCommit(List.of(dn.getId()));
     }
 
     // 커밋 핀 설정(PINNED)
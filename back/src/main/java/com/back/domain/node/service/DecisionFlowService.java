@@ -6,10 +6,17 @@
  * [추가 요약 - 옵션 동기화(코리더 한정 횡·종 전개, 증분 Append, 숨은 노드 포함)]
  * 1) 노드가 생성되는 시점(from-base/next/fork)마다, 트리거 노드의 (baseLineId, ageYear)를 기준으로 코리더 라인 집합을 산출한다.
  *    - 코리더 라인: 해당 라인의 첫 분기 나이(첫 from-base 또는 첫 fork)가 segAge(이번 노드 나이) 이상인 라인만 포함
+ *    - 첫 분기 나이는 DecisionLine.divergenceAge로 유지(분기 노드 저장 시 갱신)하여 코리더+동일 나이 수집을 단일 인덱스 쿼리로 처리
  *    - 이렇게 하면 같은 나이·같은 베이스라인이라도 다른 선택지로 일찍 갈라진 라인은 제외되어 덮어쓰기가 방지됨
  * 2) 코리더에 속한 모든 라인에서 동일 ageYear의 모든 결정노드(노말/프렐류드/from-base/포크 포함)를 수집한다.
  * 3) 후보 옵션들(트리거+각 노드)을 정규화(<=3, trim)한 뒤, prefix 충돌 없는 가장 긴 리스트를 리더로 선정한다.
  * 4) 리더를 증분 Append로만 반영(순서 보존, 덮어쓰기 금지), selectedIndex는 범위를 벗어나면 null 보정한다.
+ *
+ * [추가 요약 - 다음 AI 힌트]
+ * - from-base/next/fork는 노드를 PENDING 힌트 상태로 저장·반환하고, 힌트 생성은 커밋 후 DecisionHintPipeline이 담당한다.
+ *
+ * [추가 요약 - 트리 버전 스탬프]
+ * - 노드/라인을 바꾸는 모든 쓰기는 같은 트랜잭션에서 BaseLine 트리 스탬프를 +1 해 트리 캐시/ETag를 무효화한다.
  */
 
 package com.back.domain.node.service;
@@ -18,7 +25,8 @@ import com.back.domain.node.dto.decision.*;
 import com.back.domain.node.entity.*;
 import com.back.domain.node.mapper.NodeMappers;
 import com.back.domain.node.repository.*;
-import com.back.global.ai.vector.AIVectorService;
+import com.back.global.ai.vector.LineContextCache;
+import com.back.global.ai.vector.NodeSnippetIndexer;
 import com.back.global.exception.ApiException;
 import com.back.global.exception.ErrorCode;
 import com.back.global.security.CustomUserDetails;
@@ -46,8 +54,11 @@ public class DecisionFlowService {
     private final BaseNodeRepository baseNodeRepository;
     private final BaselineBranchRepository branchRepo;
     private final NodeDomainSupport support;
-    private final AIVectorService aiVectorService;
+    private final DecisionHintPipeline hintPipeline;
     private final BaselineCommitRepository commitRepo;
+    private final BaseLineTreeCache treeCache;
+    private final NodeSnippetIndexer snippetIndexer;
+    private final LineContextCache lineContextCache;
 
     private final NodeMappers mappers;
     @PersistenceContext
@@ -134,6 +145,7 @@ public class DecisionFlowService {
             );
 
             DecisionNode saved = decisionNodeRepository.save(mapper.toEntity(createReq));
+            trackDivergence(saved);
 
             int updated = (sel == 0)
                     ? baseNodeRepository.linkAlt1IfEmpty(fresh.getId(), saved.getId())
@@ -145,24 +157,15 @@ public class DecisionFlowService {
             List<String> leaderOpts = (opts != null && !opts.isEmpty()) ? opts : support.extractOptions(saved);
             syncOptionsAcrossAgeWithinCorridorLite(saved, leaderOpts);
 
-            DecNodeDto baseDto = mapper.toResponse(saved);
-            List<DecisionNode> orderedList = decisionNodeRepository.findByDecisionLine_IdOrderByAgeYearAscIdAsc(baseDto.decisionLineId());
-            var hint = aiVectorService.generateNextHint(baseDto.userId(), baseDto.decisionLineId(), orderedList);
-
-            saved.setAiHint(hint.aiNextSituation(), hint.aiNextRecommendedOption());
+            // AI 힌트는 커밋 후 비동기 생성(응답은 PENDING 상태로 즉시 반환)
+            saved.markAiHintPending();
             decisionNodeRepository.save(saved);
+            hintPipeline.requestAfterCommit(saved.getId(), fresh.getUser().getId(), line.getId());
+            // 새 라인(헤더/프렐류드/분기 노드) 스니펫은 커밋 후 비동기 색인
+            snippetIndexer.indexLinesAfterCommit(List.of(line.getId()));
+            treeCache.bump(fresh.getBaseLine().getId());
 
-            return new DecNodeDto(
-                    baseDto.id(), baseDto.userId(), baseDto.type(), baseDto.category(),
-                    baseDto.situation(), baseDto.decision(), baseDto.ageYear(),
-                    baseDto.decisionLineId(), baseDto.parentId(), baseDto.baseNodeId(),
-                    baseDto.background(), baseDto.options(), baseDto.selectedIndex(),
-                    baseDto.parentOptionIndex(), baseDto.description(),
-                    hint.aiNextSituation(), hint.aiNextRecommendedOption(),
-                    baseDto.followPolicy(), baseDto.pinnedCommitId(), baseDto.virtual(),
-                    baseDto.effectiveCategory(), baseDto.effectiveSituation(), baseDto.effectiveDecision(),
-                    baseDto.effectiveOptions(), baseDto.effectiveDescription()
-            );
+            return mapper.toResponse(saved);
         });
     }
 
@@ -177,7 +180,9 @@ public class DecisionFlowService {
                             .name("main")
                             .headCommit(null)
                             .build());
-                    BaselineCommit root = commitRepo.save(BaselineCommit.newCommit(created, null, authorUserId, "init"));
+                    BaselineCommit init = BaselineCommit.newCommit(created, null, authorUserId, "init");
+                    init.writeVersionSnapshot(Map.of());
+                    BaselineCommit root = commitRepo.save(init);
                     created.moveHeadTo(root);
                     return branchRepo.save(created);
                 });
@@ -232,7 +237,7 @@ public class DecisionFlowService {
         );
 
         DecisionNode saved = decisionNodeRepository.save(mapper.toEntity(createReq));
-        DecNodeDto baseDto = mapper.toResponse(saved);
+        trackDivergence(saved);
 
         // ★ 추가: 코리더 한정 옵션 동기화(숨은 노드 포함, 증분 Append)
         List<String> leaderOpts = (request.options() != null && !request.options().isEmpty())
@@ -240,24 +245,17 @@ public class DecisionFlowService {
                 : support.extractOptions(saved);
         syncOptionsAcrossAgeWithinCorridorLite(saved, leaderOpts);
 
-        List<DecisionNode> ordered_decision = decisionNodeRepository
-                .findByDecisionLine_IdOrderByAgeYearAscIdAsc(baseDto.decisionLineId());
-        var hint = aiVectorService.generateNextHint(baseDto.userId(), baseDto.decisionLineId(), ordered_decision);
-
-        saved.setAiHint(hint.aiNextSituation(), hint.aiNextRecommendedOption());
+        // AI 힌트는 커밋 후 비동기 생성(응답은 PENDING 상태로 즉시 반환)
+        saved.markAiHintPending();
         decisionNodeRepository.save(saved);
-
-        return new DecNodeDto(
-                baseDto.id(), baseDto.userId(), baseDto.type(), baseDto.category(),
-                baseDto.situation(), baseDto.decision(), baseDto.ageYear(),
-                baseDto.decisionLineId(), baseDto.parentId(), baseDto.baseNodeId(),
-                baseDto.background(), baseDto.options(), baseDto.selectedIndex(),
-                baseDto.parentOptionIndex(), baseDto.description(),
-                hint.aiNextSituation(), hint.aiNextRecommendedOption(),
-                baseDto.followPolicy(), baseDto.pinnedCommitId(), baseDto.virtual(),
-                baseDto.effectiveCategory(), baseDto.effectiveSituation(), baseDto.effectiveDecision(),
-                baseDto.effectiveOptions(), baseDto.effectiveDescription()
-        );
+        // 힌트 컨텍스트 캐시 꼬리 패치는 힌트 요청보다 먼저 등록(커밋 후 같은 순서로 실행)
+        lineContextCache.appendAfterCommit(line.getId(), new LineContextCache.NodeFact(
+                saved.getId(), saved.getAgeYear(), saved.getSituation(), saved.getDecision()));
+        hintPipeline.requestAfterCommit(saved.getId(), parent.getUser().getId(), line.getId());
+        snippetIndexer.indexNodesAfterCommit(List.of(saved.getId()));
+        treeCache.bump(line.getBaseLine().getId());
+
+        return mapper.toResponse(saved);
     }
 
     // 라인 취소 후 피벗 슬롯 언링크 + 슬롯 텍스트 비우기
@@ -314,6 +312,10 @@ public class DecisionFlowService {
                     }
                 });
 
+        // 취소 라인 스니펫은 커밋 후 비동기 삭제(RAG 컨텍스트에서 제외)
+        snippetIndexer.indexLinesAfterCommit(List.of(line.getId()));
+        lineContextCache.evictLinesAfterCommit(List.of(line.getId()));
+        treeCache.bump(line.getBaseLine().getId());
         return new DecisionLineLifecycleDto(line.getId(), line.getStatus());
     }
 
@@ -332,10 +334,11 @@ public class DecisionFlowService {
     public DecisionLineLifecycleDto completeDecisionLine(Long decisionLineId) {
         DecisionLine line = support.requireDecisionLine(decisionLineId);
         try { line.complete(); } catch (RuntimeException e) { throw support.mapDomainToApi(e); }
+        treeCache.bump(line.getBaseLine().getId());
         return new DecisionLineLifecycleDto(line.getId(), line.getStatus());
     }
 
-    // 기존 라인을 부모로 하여 특정 결정노드에서 포크 라인을 만들고 AI 힌트를 엔티티에도 저장
+    // 기존 라인을 부모로 하여 특정 결정노드에서 포크 라인을 만들고 AI 힌트 생성을 커밋 후로 예약
     @Transactional
     public DecNodeDto forkFromDecision(ForkFromDecisionRequest req) {
         if (req == null || req.parentDecisionNodeId() == null)
@@ -452,6 +455,7 @@ public class DecisionFlowService {
             );
 
             DecisionNode saved = decisionNodeRepository.save(mapper.toEntity(createReq));
+            trackDivergence(saved);
             prevNew = saved;
 
             // 포크 진행 중에도 해당 age에서 코리더 한정 동기화(프렐류드 포함)
@@ -461,37 +465,22 @@ public class DecisionFlowService {
             syncOptionsAcrossAgeWithinCorridorLite(saved, leaderOptsHere);
 
             if (isParent) {
-                forkPointDto = mapper.toResponse(saved);
                 forkAnchorSaved = saved; // AI 힌트 저장 대상으로 보관
+                forkAnchorSaved.markAiHintPending();
+                forkPointDto = mapper.toResponse(saved);
             }
         }
 
         if (forkPointDto == null)
             throw new ApiException(ErrorCode.INVALID_INPUT_VALUE, "fork parent not materialized");
 
-        // 새 라인의 노드를 타임라인 정렬로 재조회하여 AI 힌트 생성
-        List<DecisionNode> orderedNew =
-                decisionNodeRepository.findByDecisionLine_IdOrderByAgeYearAscIdAsc(forkPointDto.decisionLineId());
-        var hint = aiVectorService.generateNextHint(forkPointDto.userId(), forkPointDto.decisionLineId(), orderedNew);
-
-        // 생성된 AI 힌트를 앵커 엔티티에 저장(영속)
-        if (forkAnchorSaved != null) {
-            forkAnchorSaved.setAiHint(hint.aiNextSituation(), hint.aiNextRecommendedOption());
-            decisionNodeRepository.save(forkAnchorSaved);
-        }
+        // 포크 앵커의 AI 힌트는 커밋 후 비동기 생성(응답은 PENDING 상태로 즉시 반환)
+        decisionNodeRepository.save(forkAnchorSaved);
+        hintPipeline.requestAfterCommit(forkAnchorSaved.getId(), originLine.getUser().getId(), newLine.getId());
+        snippetIndexer.indexLinesAfterCommit(List.of(newLine.getId()));
+        treeCache.bump(originLine.getBaseLine().getId());
 
-        return new DecNodeDto(
-                forkPointDto.id(), forkPointDto.userId(), forkPointDto.type(), forkPointDto.category(),
-                forkPointDto.situation(), forkPointDto.decision(), forkPointDto.ageYear(),
-                forkPointDto.decisionLineId(), forkPointDto.parentId(), forkPointDto.baseNodeId(),
-                forkPointDto.background(), forkPointDto.options(), forkPointDto.selectedIndex(),
-                forkPointDto.parentOptionIndex(), forkPointDto.description(),
-                hint.aiNextSituation(), hint.aiNextRecommendedOption(),
-                forkPointDto.followPolicy(), forkPointDto.pinnedCommitId(), forkPointDto.virtual(),
-                forkPointDto.effectiveCategory(), forkPointDto.effectiveSituation(),
-                forkPointDto.effectiveDecision(), forkPointDto.effectiveOptions(),
-                forkPointDto.effectiveDescription()
-        );
+        return forkPointDto;
     }
 
 
@@ -556,6 +545,7 @@ public class DecisionFlowService {
                     null
             );
             prev = decisionNodeRepository.save(mapper.toEntity(req));
+            trackDivergence(prev);
         }
         return prev;
     }
@@ -571,40 +561,9 @@ public class DecisionFlowService {
         if (segAge == null || triggerLine.getBaseLine() == null) return;
         final Long baseLineId = triggerLine.getBaseLine().getId();
 
-        // 베이스라인의 모든 라인 조회
-        List<DecisionLine> allLines = decisionLineRepository.findByBaseLine_Id(baseLineId);
-        if (allLines == null || allLines.isEmpty()) return;
-
-        // 라인별 첫 from-base 나이/첫 fork 나이 계산
-        Map<Long, LineBoundary> boundaryByLine = new HashMap<>();
-        for (DecisionLine ln : allLines) {
-            Integer fromBaseAge = null, forkAge = null;
-            List<DecisionNode> seq = decisionNodeRepository.findByDecisionLine_IdOrderByAgeYearAscIdAsc(ln.getId());
-            for (DecisionNode n : seq) {
-                if (fromBaseAge == null && isFromBaseMark(n)) fromBaseAge = n.getAgeYear();
-                if (forkAge == null && n.getParentOptionIndex() != null) forkAge = n.getAgeYear();
-                if (fromBaseAge != null && forkAge != null) break;
-            }
-            boundaryByLine.put(ln.getId(), new LineBoundary(fromBaseAge, forkAge));
-        }
-
-        // 첫 분기 경계 나이가 segAge 이상인 라인만 코리더로 선별
-        Set<Long> corridorLineIds = new HashSet<>();
-        for (DecisionLine ln : allLines) {
-            if (ln.getStatus() == DecisionLineStatus.CANCELLED) continue;
-            LineBoundary lb = boundaryByLine.get(ln.getId());
-            int boundary = (lb != null) ? lb.firstDivergenceAge() : Integer.MAX_VALUE;
-            if (segAge <= boundary) corridorLineIds.add(ln.getId());
-        }
-        if (corridorLineIds.isEmpty()) return;
-
-        // 동일 ageYear 대상 노드 수집(노말/프렐류드/from-base/포크 포함)
-        List<DecisionNode> group = new ArrayList<>();
-        for (DecisionLine ln : allLines) {
-            if (!corridorLineIds.contains(ln.getId())) continue;
-            List<DecisionNode> seq = decisionNodeRepository.findByDecisionLine_IdOrderByAgeYearAscIdAsc(ln.getId());
-            for (DecisionNode n : seq) if (segAge.equals(n.getAgeYear())) group.add(n);
-        }
+        // 코리더(취소 제외 + 첫 분기 나이 ≥ segAge) 라인의 동일 ageYear 노드를 단일 쿼리로 수집(노말/프렐류드/from-base/포크 포함)
+        List<DecisionNode> group = decisionNodeRepository
+                .findCorridorNodesAtAge(baseLineId, segAge, DecisionLineStatus.CANCELLED);
         if (group.isEmpty()) return;
 
         // 리더 옵션 선정(정규화 + prefix 충돌 없는 최장 리스트)
@@ -661,27 +620,12 @@ public class DecisionFlowService {
         }
     }
 
-    // from-base 표식 여부(피벗 슬롯 타깃 매칭으로 판정)
-    private boolean isFromBaseMark(DecisionNode n) {
-        BaseNode b = n.getBaseNode();
-        if (b == null) return false;
-        Long id = n.getId();
-        return Objects.equals(b.getAltOpt1TargetDecisionId(), id)
-                || Objects.equals(b.getAltOpt2TargetDecisionId(), id);
-    }
-
-    // 라인의 첫 분기 경계 나이 스냅샷 컨테이너
-    private static final class LineBoundary {
-        final Integer fromBaseAge; // null 허용
-        final Integer forkAge;     // null 허용
-        LineBoundary(Integer fromBaseAge, Integer forkAge) {
-            this.fromBaseAge = fromBaseAge;
-            this.forkAge = forkAge;
-        }
-        // 첫 분기 경계 나이(없으면 무한대)
-        int firstDivergenceAge() {
-            Integer a = (forkAge != null) ? forkAge : fromBaseAge;
-            return (a != null) ? a : Integer.MAX_VALUE;
-        }
+    // 분기 노드(parentOptionIndex 보유)면 라인의 첫 분기 나이를 갱신(코리더 인덱스 유지)
+    private void trackDivergence(DecisionNode saved) {
+        if (saved == null || saved.getParentOptionIndex() == null || saved.getDecisionLine() == null) return;
+        DecisionLine line = saved.getDecisionLine();
+        Integer before = line.getDivergenceAge();
+        line.noteDivergenceAt(saved.getAgeYear());
+        if (!Objects.equals(before, line.getDivergenceAge())) decisionLineRepository.save(line);
     }
 }
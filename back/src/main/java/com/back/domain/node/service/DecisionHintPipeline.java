@@ -0,0 +1,117 @@
+/**
+ * [SERVICE] DecisionHintPipeline
+ * - from-base/next/fork 트랜잭션이 커밋된 뒤에만 다음 AI 힌트 생성을 전용 스레드풀(aiHintExecutor)로 넘김
+ * - 요청 스레드는 Gemini 왕복을 기다리지 않고, 커넥션도 힌트 생성 동안 점유하지 않음
+ * - 결과는 단건 update로 DecisionNode.aiNextSituation/aiNextRecommendedOption + aiHintStatus(READY/FAILED)에 반영
+ * - 클라이언트는 GET /api/v1/decision-flow/nodes/{id}/hint 폴링으로 도착 여부를 확인
+ * - 힌트 반영 시 같은 트랜잭션에서 트리 스탬프를 올려 트리 캐시/ETag가 새 힌트를 반영하게 함
+ * - 풀이 포화되면 호출 스레드에서 실행하지 않고 FAILED로 기록(요청 스레드에서 Gemini 왕복 금지)
+ */
+package com.back.domain.node.service;
+
+import com.back.domain.node.entity.AiHintStatus;
+import com.back.domain.node.entity.DecisionNode;
+import com.back.domain.node.repository.DecisionNodeRepository;
+import com.back.global.ai.vector.AIVectorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Component
+public class DecisionHintPipeline {
+
+    private final AIVectorService aiVectorService;
+    private final DecisionNodeRepository decisionNodeRepository;
+    private final BaseLineTreeCache treeCache;
+    private final Executor hintExecutor;
+    private final TransactionTemplate writeTx;
+    private final boolean async;
+
+    public DecisionHintPipeline(AIVectorService aiVectorService,
+                                DecisionNodeRepository decisionNodeRepository,
+                                BaseLineTreeCache treeCache,
+                                @Qualifier("aiHintExecutor") Executor hintExecutor,
+                                PlatformTransactionManager txManager,
+                                @Value("${ai.hint.async:true}") boolean async) {
+        this.aiVectorService = aiVectorService;
+        this.decisionNodeRepository = decisionNodeRepository;
+        this.treeCache = treeCache;
+        this.hintExecutor = hintExecutor;
+        this.async = async;
+        // afterCommit 시점에도 기존 트랜잭션 리소스가 묶여 있으므로 반영은 항상 새 트랜잭션으로
+        this.writeTx = new TransactionTemplate(txManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 현재 트랜잭션 커밋 후 힌트 생성 예약(트랜잭션 밖이면 즉시 제출)
+    public void requestAfterCommit(Long decisionNodeId, Long userId, Long decisionLineId) {
+        if (decisionNodeId == null || decisionLineId == null) return;
+        Runnable job = () -> generate(decisionNodeId, userId, decisionLineId);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(decisionNodeId, job);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(decisionNodeId, job);
+            }
+        });
+    }
+
+    // 비동기 모드면 전용 풀로, 아니면(테스트/장애 대응) 호출 스레드에서 실행
+    // 풀 포화(AbortPolicy 거절)면 힌트를 FAILED로 기록하고 요청 스레드로 되돌아가지 않음
+    private void dispatch(Long decisionNodeId, Runnable job) {
+        if (!async) {
+            job.run();
+            return;
+        }
+        try {
+            hintExecutor.execute(job);
+        } catch (RejectedExecutionException e) {
+            log.warn("AI next hint rejected, hint pool saturated. nodeId={}", decisionNodeId);
+            markFailed(decisionNodeId);
+        }
+    }
+
+    // 라인 노드 재조회 → AI 힌트 생성(트랜잭션 없음) → 단건 update 반영
+    private void generate(Long decisionNodeId, Long userId, Long decisionLineId) {
+        try {
+            List<DecisionNode> ordered =
+                    decisionNodeRepository.findWithBaseNodeByDecisionLine_IdOrderByAgeYearAscIdAsc(decisionLineId);
+            AIVectorService.AiNextHint hint = aiVectorService.generateNextHint(userId, decisionLineId, ordered);
+
+            writeTx.executeWithoutResult(s -> {
+                decisionNodeRepository.updateAiHint(
+                        decisionNodeId, hint.aiNextSituation(), hint.aiNextRecommendedOption(), AiHintStatus.READY);
+                treeCache.bumpByDecisionLine(decisionLineId);
+            });
+        } catch (Exception e) {
+            log.warn("AI next hint generation failed. nodeId={}, lineId={}, cause={}",
+                    decisionNodeId, decisionLineId, e.getMessage());
+            markFailed(decisionNodeId);
+        }
+    }
+
+    // 실패 상태 기록(기록 자체가 실패해도 폴링 측은 PENDING으로 남아 재시도 판단 가능)
+    private void markFailed(Long decisionNodeId) {
+        try {
+            writeTx.executeWithoutResult(s ->
+                    decisionNodeRepository.updateAiHint(decisionNodeId, null, null, AiHintStatus.FAILED));
+        } catch (Exception e) {
+            log.warn("AI next hint failure mark skipped. nodeId={}, cause={}", decisionNodeId, e.getMessage());
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class DvcsBackfillService {
     private final NodeAtomRepository atomRepo;
     private final NodeAtomVersionRepository versionRepo;
     private final EntityManager em; // 필요 시 초기화 용
+    private final NodeImmutableCache immutableCache;
 
     @Transactional
     public void backfill() {
@@ -42,9 +43,9 @@ public class DvcsBackfillService {
                             .baseLine(bl).name("main").headCommit(null).build()));
 
             if (main.getHeadCommit() == null) {
-                BaselineCommit root = commitRepo.save(
-                        BaselineCommit.newCommit(main, null, bl.getUser().getId(), "init")
-                );
+                BaselineCommit init = BaselineCommit.newCommit(main, null, bl.getUser().getId(), "init");
+                init.writeVersionSnapshot(Map.of());
+                BaselineCommit root = commitRepo.save(init);
                 main.moveHeadTo(root);
                 branchRepo.save(main);
                 // 필요 시 초기화
@@ -84,6 +85,7 @@ public class DvcsBackfillService {
         }
 
         // 4) 각 BaseLine 체인에서 ageYear별 초기 패치가 없으면 루트 커밋에 생성
+        boolean anySnapshotCleared = false;
         for (BaseLine bl : baseLineRepo.findAll()) {
             BaselineBranch main = mainByBaseLine.get(bl.getId());
             if (main == null || main.getHeadCommit() == null) continue;
@@ -103,6 +105,7 @@ public class DvcsBackfillService {
             List<Long> chainIds = chain.stream().map(BaselineCommit::getId).toList();
 
             List<BaseNode> ordered = baseNodeRepo.findByBaseLine_IdOrderByAgeYearAscIdAsc(bl.getId());
+            boolean patched = false;
             for (BaseNode bn : ordered) {
                 NodeAtomVersion v = bn.getCurrentVersion();
                 if (v == null) continue;
@@ -112,9 +115,18 @@ public class DvcsBackfillService {
                         .isEmpty();
                 if (!exists) {
                     patchRepo.save(BaselinePatch.of(root, bn.getAgeYear(), null, v));
+                    patched = true;
                 }
             }
+            // 루트에 패치를 소급 추가했으면 누적 스냅샷이 낡았으므로 무효화(체인 탐색으로 폴백)
+            if (patched) {
+                commitRepo.clearVersionSnapshotsByBaseLineId(bl.getId());
+                anySnapshotCleared = true;
+            }
         }
+
+        // 캐시된 커밋 뷰도 낡았으므로 비움(evictCommits가 커밋 후 실행 + 다른 인스턴스에 방송)
+        if (anySnapshotCleared) immutableCache.evictCommits();
     }
 
     private String hashOf(BaseNode bn) {
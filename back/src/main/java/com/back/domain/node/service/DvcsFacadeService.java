@@ -2,6 +2,7 @@
  * [SERVICE FACADE] DVCS 파사드 서비스
  * - 트랜잭션 경계, 소유자 검증(NodeDomainSupport), 필요한 연관 로딩(EntityGraph) 책임
  * - 컨트롤러는 이 서비스만 호출
+ * - 트리에 보이는 쓰기(편집/정책/브랜치 선택)는 BaseLine 트리 스탬프를 함께 증가
  */
 package com.back.domain.node.service;
 
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 @Service
@@ -32,6 +34,7 @@ public class DvcsFacadeService {
     private final DecisionLineRepository decisionLineRepo;
     private final BaselineBranchRepository branchRepo;
     private final BaselineCommitRepository commitRepo;
+    private final BaseLineTreeCache treeCache;
 
     // 베이스 편집 -> 커밋 생성
     @Transactional
@@ -52,6 +55,7 @@ public class DvcsFacadeService {
                 bl.getUser().getId(),
                 req.message()
         );
+        treeCache.bump(bl.getId());
         return new EditAcknowledgeDto(true, "base edited", commit.getId());
     }
 
@@ -68,6 +72,8 @@ public class DvcsFacadeService {
                 req.optionsJson(), req.description(), req.contentHash()
         );
 
+        // 트리 스탬프 +1(편집과 같은 트랜잭션에서 커밋)
+        treeCache.bumpByDecisionLine(dn.getDecisionLine().getId());
         if (req.promoteToBase()) {
             decisionEditService.promoteEditToBase(dn.getId(), payload, req.message());
             return new EditAcknowledgeDto(true, "promoted to base", dn.getId());
@@ -88,6 +94,7 @@ public class DvcsFacadeService {
         if (req.policy() == FollowPolicy.PINNED && req.pinnedCommitId() != null) {
             decisionEditService.pinToCommit(dn.getId(), req.pinnedCommitId());
         }
+        treeCache.bumpByDecisionLine(dn.getDecisionLine().getId());
         return new EditAcknowledgeDto(true, "policy updated", dn.getId());
     }
 
@@ -132,6 +139,7 @@ public class DvcsFacadeService {
             decisionLineRepo.save(line);
         }
 
+        treeCache.bump(bl.getId());
         return new EditAcknowledgeDto(true, "branch selected", target.getId());
     }
 
@@ -155,7 +163,9 @@ public class DvcsFacadeService {
         }
 
         // main 헤드도 없다면 현재 브랜치에 init 커밋 생성
-        BaselineCommit init = commitRepo.save(BaselineCommit.newCommit(branch, null, authorUserId, "init"));
+        BaselineCommit init = BaselineCommit.newCommit(branch, null, authorUserId, "init");
+        init.writeVersionSnapshot(Map.of());
+        init = commitRepo.save(init);
         branch.moveHeadTo(init);
         branchRepo.save(branch);
     }
@@ -0,0 +1,309 @@
+/**
+ * [SERVICE] NodeImmutableCache
+ * - 삽입 후 바뀌지 않는 NodeAtomVersion / BaselineCommit 행을 불변 뷰(record)로 캐싱
+ * - 1차: 프로세스 내 가중치 LRU, 2차(옵션): Redis 공유 티어(node.cache.redis.enabled), 미스만 DB 일괄 조회
+ * - 엔티티 대신 값 뷰를 보관하므로 트랜잭션/LAZY 프록시와 무관하게 스레드 간 공유 가능
+ * - 히트/미스는 node.immutable.cache.requests{cache,result} 카운터로 노출
+ * - 롤백된 삽입 id가 남아도 시퀀스 id는 재사용되지 않으므로 무해, 커밋 스냅샷 소급 무효화만 evictCommits로 처리
+ *   (커밋 후 로컬/Redis 삭제 + Redis pub/sub(node:imm:invalidate)로 다른 인스턴스의 로컬 캐시도 비움)
+ */
+package com.back.domain.node.service;
+
+import com.back.domain.node.entity.BaselineCommit;
+import com.back.domain.node.entity.NodeAtomVersion;
+import com.back.domain.node.entity.NodeCategory;
+import com.back.domain.node.repository.BaselineCommitRepository;
+import com.back.domain.node.repository.NodeAtomVersionRepository;
+import com.back.global.cache.WeightedLruCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class NodeImmutableCache {
+
+    private static final String VERSION_KEY_PREFIX = "node:imm:ver:";
+    private static final String COMMIT_KEY_PREFIX = "node:imm:commit:";
+    private static final String CHANNEL = "node:imm:invalidate";
+
+    // 버전 본문 불변 뷰
+    public record VersionView(Long id,
+                              NodeCategory category,
+                              String situation,
+                              String decision,
+                              String optionsJson,
+                              String description,
+                              Integer ageYear,
+                              String contentHash) {
+
+        public static VersionView from(NodeAtomVersion v) {
+            return new VersionView(v.getId(), v.getCategory(), v.getSituation(), v.getDecision(),
+                    v.getOptionsJson(), v.getDescription(), v.getAgeYear(), v.getContentHash());
+        }
+
+        // 문자열 필드 기준 대략 바이트 가중치
+        long weight() {
+            return 96 + 2L * (len(situation) + len(decision) + len(optionsJson) + len(description) + len(contentHash));
+        }
+    }
+
+    // 커밋 체인 해석용 불변 뷰(snapshot null이면 스냅샷 도입 이전 커밋)
+    public record CommitView(Long id, Long parentCommitId, Map<Integer, Long> snapshot) {
+
+        public static CommitView from(BaselineCommit c) {
+            Map<Integer, Long> snap = c.readVersionSnapshot();
+            return new CommitView(
+                    c.getId(),
+                    c.getParentCommit() != null ? c.getParentCommit().getId() : null,
+                    snap != null ? Collections.unmodifiableMap(snap) : null
+            );
+        }
+
+        long weight() {
+            return 64 + (snapshot != null ? 48L * snapshot.size() : 0);
+        }
+    }
+
+    private final NodeAtomVersionRepository versionRepo;
+    private final BaselineCommitRepository commitRepo;
+    private final ObjectMapper om;
+    private final StringRedisTemplate redis;
+    private final Duration redisTtl;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final RedisMessageListenerContainer listener;
+
+    private final WeightedLruCache<Long, VersionView> versions;
+    private final WeightedLruCache<Long, CommitView> commits;
+
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    public NodeImmutableCache(NodeAtomVersionRepository versionRepo,
+                              BaselineCommitRepository commitRepo,
+                              ObjectMapper objectMapper,
+                              ObjectProvider<StringRedisTemplate> redisProvider,
+                              ObjectProvider<RedisConnectionFactory> connectionFactoryProvider,
+                              MeterRegistry meterRegistry,
+                              @Value("${node.cache.version.max-weight-bytes:33554432}") long versionMaxWeight,
+                              @Value("${node.cache.commit.max-weight-bytes:8388608}") long commitMaxWeight,
+                              @Value("${node.cache.redis.enabled:false}") boolean redisEnabled,
+                              @Value("${node.cache.redis.ttl-minutes:1440}") long redisTtlMinutes) {
+        this.versionRepo = versionRepo;
+        this.commitRepo = commitRepo;
+        this.om = objectMapper;
+        this.redis = redisEnabled ? redisProvider.getIfAvailable() : null;
+        this.redisTtl = Duration.ofMinutes(Math.max(1, redisTtlMinutes));
+        this.versions = new WeightedLruCache<>(versionMaxWeight, VersionView::weight);
+        this.commits = new WeightedLruCache<>(commitMaxWeight, CommitView::weight);
+        RedisConnectionFactory cf = redisEnabled ? connectionFactoryProvider.getIfAvailable() : null;
+        this.listener = (redis != null && cf != null) ? subscribe(cf) : null;
+
+        for (String cache : List.of("version", "commit")) {
+            for (String result : List.of("local_hit", "redis_hit", "miss")) {
+                counters.put(cache + ":" + result, Counter.builder("node.immutable.cache.requests")
+                        .tag("cache", cache).tag("result", result)
+                        .register(meterRegistry));
+            }
+        }
+        Gauge.builder("node.immutable.cache.weight", versions, WeightedLruCache::weight)
+                .tag("cache", "version").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("node.immutable.cache.weight", commits, WeightedLruCache::weight)
+                .tag("cache", "commit").baseUnit("bytes").register(meterRegistry);
+    }
+
+    // 단건 버전 조회(없으면 null)
+    public VersionView getVersion(Long id) {
+        if (id == null) return null;
+        return getVersions(List.of(id)).get(id);
+    }
+
+    // 버전 일괄 조회: 로컬 → Redis → DB(findAllById 1회)
+    public Map<Long, VersionView> getVersions(Collection<Long> ids) {
+        return load(ids, "version", versions, VERSION_KEY_PREFIX, VersionView.class,
+                misses -> {
+                    Map<Long, VersionView> loaded = new HashMap<>();
+                    versionRepo.findAllById(misses).forEach(v -> loaded.put(v.getId(), VersionView.from(v)));
+                    return loaded;
+                });
+    }
+
+    // 단건 커밋 조회(없으면 null)
+    public CommitView getCommit(Long id) {
+        if (id == null) return null;
+        return getCommits(List.of(id)).get(id);
+    }
+
+    // 커밋 일괄 조회: 로컬 → Redis → DB(findAllById 1회)
+    public Map<Long, CommitView> getCommits(Collection<Long> ids) {
+        return load(ids, "commit", commits, COMMIT_KEY_PREFIX, CommitView.class,
+                misses -> {
+                    Map<Long, CommitView> loaded = new HashMap<>();
+                    commitRepo.findAllById(misses).forEach(c -> loaded.put(c.getId(), CommitView.from(c)));
+                    return loaded;
+                });
+    }
+
+    // 커밋 스냅샷을 소급 변경한 경우(백필) 커밋 캐시 전체 무효화
+    // - 트랜잭션 안이면 커밋 후 실행(커밋 전에 비우면 이전 스냅샷이 다시 적재될 수 있음)
+    // - 로컬 + Redis 티어 삭제 후 다른 인스턴스에 방송해 각자의 로컬 캐시도 비움
+    public void evictCommits() {
+        afterCommit(() -> {
+            commits.clear();
+            if (redis == null) return;
+            try {
+                List<String> keys = new ArrayList<>();
+                try (var cursor = redis.scan(ScanOptions.scanOptions().match(COMMIT_KEY_PREFIX + "*").count(500).build())) {
+                    cursor.forEachRemaining(keys::add);
+                }
+                if (!keys.isEmpty()) redis.delete(keys);
+            } catch (Exception e) {
+                log.warn("[NodeImmutableCache] redis commit eviction failed: {}", e.getMessage());
+            }
+            publish("C");
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        if (listener != null) {
+            try {
+                listener.destroy();
+            } catch (Exception ignored) {
+                // 종료 중이므로 무시
+            }
+        }
+    }
+
+    // 3단 조회 공통 로직(Redis 장애는 DB 조회로 흡수)
+    private <V> Map<Long, V> load(Collection<Long> ids,
+                                  String cacheName,
+                                  WeightedLruCache<Long, V> local,
+                                  String keyPrefix,
+                                  Class<V> type,
+                                  Function<Set<Long>, Map<Long, V>> dbLoader) {
+        Map<Long, V> out = new HashMap<>();
+        if (ids == null || ids.isEmpty()) return out;
+
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null || out.containsKey(id)) continue;
+            V hit = local.get(id);
+            if (hit != null) out.put(id, hit);
+            else misses.add(id);
+        }
+        count(cacheName, "local_hit", out.size());
+        if (misses.isEmpty()) return out;
+
+        if (redis != null) {
+            List<Long> order = new ArrayList<>(misses);
+            try {
+                List<String> raws = redis.opsForValue().multiGet(order.stream().map(id -> keyPrefix + id).toList());
+                for (int i = 0; raws != null && i < order.size(); i++) {
+                    String raw = raws.get(i);
+                    if (raw == null) continue;
+                    V v = om.readValue(raw, type);
+                    local.put(order.get(i), v);
+                    out.put(order.get(i), v);
+                    misses.remove(order.get(i));
+                    count(cacheName, "redis_hit", 1);
+                }
+            } catch (Exception e) {
+                log.warn("[NodeImmutableCache] redis read failed ({}): {}", cacheName, e.getMessage());
+            }
+            if (misses.isEmpty()) return out;
+        }
+
+        count(cacheName, "miss", misses.size());
+        Map<Long, V> loaded = dbLoader.apply(misses);
+        loaded.forEach((id, v) -> {
+            local.put(id, v);
+            out.put(id, v);
+        });
+        writeThrough(keyPrefix, loaded);
+        return out;
+    }
+
+    // DB에서 읽은 값을 Redis 공유 티어에 기록
+    private <V> void writeThrough(String keyPrefix, Map<Long, V> loaded) {
+        if (redis == null || loaded.isEmpty()) return;
+        try {
+            for (Map.Entry<Long, V> e : loaded.entrySet()) {
+                redis.opsForValue().set(keyPrefix + e.getKey(), om.writeValueAsString(e.getValue()), redisTtl);
+            }
+        } catch (Exception e) {
+            log.warn("[NodeImmutableCache] redis write failed: {}", e.getMessage());
+        }
+    }
+
+    // 트랜잭션 안이면 커밋 후, 밖이면 즉시 실행
+    private static void afterCommit(Runnable job) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            job.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                job.run();
+            }
+        });
+    }
+
+    // 원격 인스턴스에 무효화 방송("인스턴스|C": 커밋 캐시 전체)
+    private void publish(String kind) {
+        if (redis == null) return;
+        try {
+            redis.convertAndSend(CHANNEL, instanceId + "|" + kind);
+        } catch (Exception e) {
+            log.warn("[NodeImmutableCache] invalidation publish failed: {}", e.getMessage());
+        }
+    }
+
+    private RedisMessageListenerContainer subscribe(RedisConnectionFactory cf) {
+        RedisMessageListenerContainer c = new RedisMessageListenerContainer();
+        c.setConnectionFactory(cf);
+        c.addMessageListener((message, pattern) ->
+                onMessage(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(CHANNEL));
+        c.afterPropertiesSet();
+        c.start();
+        return c;
+    }
+
+    // 원격 무효화 수신(자기 메시지/형식 오류는 무시, Redis 티어는 발신 측이 이미 삭제)
+    void onMessage(String body) {
+        String[] parts = body.split("\\|", 2);
+        if (parts.length != 2 || parts[0].equals(instanceId)) return;
+        if ("C".equals(parts[1])) commits.clear();
+    }
+
+    // 로컬 커밋 캐시 항목 수(테스트/진단용)
+    int commitCount() {
+        return commits.size();
+    }
+
+    private void count(String cacheName, String result, int n) {
+        if (n > 0) counters.get(cacheName + ":" + result).increment(n);
+    }
+
+    private static int len(String s) {
+        return s == null ? 0 : s.length();
+    }
+}
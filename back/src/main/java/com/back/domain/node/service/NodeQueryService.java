@@ -2,6 +2,7 @@
  * NodeQueryService (개선판)
  * - 읽기 경로를 인스턴스 매퍼로 통일하여 버전 해석 값(effective*)을 포함해 반환
  * - 기존 응답 계약은 유지
+ * - 트리는 베이스라인 트리 스탬프 기준으로 캐싱(BaseLineTreeCache), 스탬프는 ETag로도 노출
  */
 package com.back.domain.node.service;
 
@@ -9,6 +10,7 @@ import com.back.domain.node.dto.TreeDto;
 import com.back.domain.node.dto.base.BaseLineDto;
 import com.back.domain.node.dto.base.BaseNodeDto;
 import com.back.domain.node.dto.decision.DecNodeDto;
+import com.back.domain.node.dto.decision.DecisionHintDto;
 import com.back.domain.node.dto.decision.DecisionLineDetailDto;
 import com.back.domain.node.dto.decision.DecisionLineListDto;
 import com.back.domain.node.entity.*;
@@ -38,18 +40,30 @@ public class NodeQueryService {
     private final BaseLineRepository baseLineRepository;
 
     private final VersionResolver versionResolver;
-    private final NodeAtomVersionRepository versionRepo;
+    private final NodeImmutableCache immutableCache;
+    private final BaseLineTreeCache treeCache;
 
     private final NodeMappers mappers;
     private final NodeDomainSupport support;
 
     private final ObjectMapper objectMapper;
 
+    // 트리 스탬프만 조회(ETag 비교용, 베이스라인 없으면 예외)
+    public long getTreeStamp(Long baseLineId) {
+        return treeCache.currentStamp(baseLineId);
+    }
+
+    // 스탬프를 먼저 읽고 그 스탬프로 트리 캐시 조회(캐시 트리가 스탬프보다 오래될 수 없음)
+    public BaseLineTreeCache.VersionedTree getVersionedTree(Long baseLineId) {
+        long stamp = treeCache.currentStamp(baseLineId);
+        return treeCache.getOrLoad(baseLineId, stamp, () -> getTreeForBaseLine(baseLineId));
+    }
+
     /*
      * [TreeQuery] BaseLine 트리 조회
      * - 목적: 포크 앵커의 pivotLinkDecisionNodeId가 반드시 (background|ageYear|parentLineId)로만 매칭되도록 강제
      * - 흐름 개요
-     *   1) 베이스/라인/노드 조회 및 DTO 매핑 → 보조 인덱스(pivot/children) 구축
+     *   1) 베이스/라인 조회 + 결정 노드 전체 1회 조회, 버전 일괄 해석 후 DTO 매핑 → 보조 인덱스(pivot/children)는 id 맵으로 구축
      *   2) 라인별 메타 계산: indexInLine, 첫 from-base, from-base 라인 여부, 첫 fork 앵커
      *   3) 원본 normal 인덱스 구축: key = (background|ageYear|lineId) + 중복(normal) 검증
      *   4) 포크 라인의 parentLineId 일관성 검증(from-base 라인은 null, 포크 라인은 not null)
@@ -69,11 +83,14 @@ public class NodeQueryService {
                 .map(mappers.BASE_READ::map)
                 .toList();
 
-        Map<Long, PivotMark> pivotIndex = buildPivotIndex(baseLineId);
+        // 이미 읽은 베이스 노드로 피벗 역인덱스 구성(재조회 없음)
+        Map<Long, PivotMark> pivotIndex = buildPivotIndex(orderedBase);
 
         record View(
                 DecisionNode dn,
                 DecNodeDto dto,
+                Long lineId,
+                Long parentId,
                 boolean isRoot,
                 Long baseId,
                 Integer age,
@@ -88,20 +105,37 @@ public class NodeQueryService {
         Map<Long, Long> parentLineIdByLine = new HashMap<>();
         for (DecisionLine ln : lines) parentLineIdByLine.put(ln.getId(), ln.getParentLineId());
 
+        // 가장 많이 사용하는 호출 한줄 요약: 베이스라인 전체 결정 노드를 1회 조회(라인 → 나이 → id 정렬)
+        List<DecisionNode> allNodes = decisionNodeRepository.findTreeByBaseLineId(baseLineId);
+
+        // 라벨링 인덱스는 FK id(프록시 id 접근, 초기화 없음)만으로 구성
+        Map<Long, Long> lineIdByNode = new HashMap<>();
+        Map<Long, List<DecisionNode>> nodesByLine = new LinkedHashMap<>();
+        for (DecisionNode dn : allNodes) {
+            Long lineId = dn.getDecisionLine().getId();
+            lineIdByNode.put(dn.getId(), lineId);
+            nodesByLine.computeIfAbsent(lineId, k -> new ArrayList<>()).add(dn);
+        }
+
+        // 전 라인 버전을 (브랜치 단위) 일괄 해석 → 버전 뷰 일괄 조회
+        Map<Long, Long> versionIdByNode = versionResolver.resolveVersionIdsForLines(lines, nodesByLine);
+        Map<Long, NodeImmutableCache.VersionView> versionById =
+                immutableCache.getVersions(new HashSet<>(versionIdByNode.values()));
+
         List<View> pool = new ArrayList<>();
         Map<Long, List<View>> byLine = new HashMap<>();
 
         for (DecisionLine line : lines) {
-            List<DecisionNode> ordered = decisionNodeRepository
-                    // 가장 많이 사용하는 호출 한줄 요약: 라인의 노드를 타임라인 정렬로 조회
-                    .findByDecisionLine_IdOrderByAgeYearAscIdAsc(line.getId());
+            List<DecisionNode> ordered = nodesByLine.getOrDefault(line.getId(), List.of());
             Map<Long, List<Long>> childrenIndex = buildChildrenIndex(ordered);
 
             for (DecisionNode dn : ordered) {
-                // 가장 많이 사용하는 호출 한줄 요약: DecisionNode → DecNodeDto 매핑
-                DecNodeDto dto = mappers.DECISION_READ.map(dn);
+                Long verId = versionIdByNode.get(dn.getId());
+                // 가장 많이 사용하는 호출 한줄 요약: DecisionNode → DecNodeDto 매핑(해석된 버전 주입)
+                DecNodeDto dto = mappers.toDecisionDto(dn, verId != null ? versionById.get(verId) : null);
 
-                boolean isRoot = (dn.getParent() == null);
+                Long parentId = dn.getParent() != null ? dn.getParent().getId() : null;
+                boolean isRoot = (parentId == null);
                 List<Long> childrenIds = childrenIndex.getOrDefault(dn.getId(), List.of());
 
                 PivotMark mark = pivotIndex.get(dto.id());
@@ -110,7 +144,7 @@ public class NodeQueryService {
                 Integer pivotSlot = (mark != null) ? mark.slotIndex() : null;
 
                 View v = new View(
-                        dn, dto, isRoot,
+                        dn, dto, line.getId(), parentId, isRoot,
                         pivotBaseId, dn.getAgeYear(),
                         List.copyOf(childrenIds), pivotSlot
                 );
@@ -180,7 +214,7 @@ public class NodeQueryService {
             DecNodeDto d = v.dto;
             String bg = d.background();
             Integer age = d.ageYear();
-            Long ln = v.dn.getDecisionLine().getId();
+            Long ln = v.lineId;
             if (bg != null && age != null && d.parentOptionIndex() == null) {
                 String k = bg + "|" + age + "|" + ln; // ★ lineId 포함(라인 분리 키)
                 sourceNormalByKey.merge(k, v.dn.getId(), Math::min);
@@ -204,7 +238,7 @@ public class NodeQueryService {
         for (View v : pool) {
             DecNodeDto b = v.dto;
 
-            Long lineId = v.dn.getDecisionLine().getId();
+            Long lineId = v.lineId;
             Integer renderPhase = linePhase.getOrDefault(lineId, 1);
 
             Long incomingFromId;
@@ -212,9 +246,8 @@ public class NodeQueryService {
             if (v.isRoot) {
                 incomingFromId = null; // 루트는 외부에서 들어온 에지가 없다(표시용 null)
             } else {
-                DecisionNode p = v.dn.getParent();
-                incomingFromId = (p != null ? p.getId() : null);
-                incomingFromLineId = (p != null ? p.getDecisionLine().getId() : null);
+                incomingFromId = v.parentId;
+                incomingFromLineId = (v.parentId != null) ? lineIdByNode.get(v.parentId) : null;
             }
 
 
@@ -326,6 +359,20 @@ public class NodeQueryService {
         return mappers.BASE_READ.map(node);
     }
 
+    // 결정 노드의 다음 AI 힌트 도착 여부 조회(소유자 검증 포함, 폴링용)
+    public DecisionHintDto getNextHint(Long userId, Long decisionNodeId) {
+        DecisionNode node = decisionNodeRepository.findWithLineAndUserById(decisionNodeId)
+                .orElseThrow(() -> new ApiException(ErrorCode.NODE_NOT_FOUND, "DecisionNode not found: " + decisionNodeId));
+        support.ensureOwnerOfDecisionLine(userId, node.getDecisionLine());
+
+        // 상태가 없는 노드는 동기 생성 시절 노드이므로 저장된 값 그대로 READY
+        AiHintStatus status = node.getAiHintStatus() != null ? node.getAiHintStatus() : AiHintStatus.READY;
+        return new DecisionHintDto(
+                node.getId(), node.getDecisionLine().getId(), status,
+                node.getAiNextSituation(), node.getAiNextRecommendedOption()
+        );
+    }
+
     // 사용자별 결정 라인 요약 조회
     public DecisionLineListDto getDecisionLines(Long userId) {
         User user = userRepository.findById(userId)
@@ -362,7 +409,6 @@ public class NodeQueryService {
                         "DecisionLine not found: " + decisionLineId));
 
         Long baseLineId   = line.getBaseLine().getId();
-        Long baseBranchId = (line.getBaseBranch() != null) ? line.getBaseBranch().getId() : null;
 
         // 라인 노드를 타임라인 정렬 조회
         List<DecisionNode> ordered = decisionNodeRepository
@@ -371,20 +417,19 @@ public class NodeQueryService {
         // parent->children 인덱스 구성
         Map<Long, List<Long>> childrenIndex = buildChildrenIndex(ordered);
         // 베이스 분기 슬롯 역인덱스 구성
-        Map<Long, PivotMark> pivotIndex = buildPivotIndex(baseLineId);
+        Map<Long, PivotMark> pivotIndex = buildPivotIndex(baseNodeRepository.findByBaseLine_IdOrderByAgeYearAscIdAsc(baseLineId));
 
-        List<DecNodeDto> nodes = ordered.stream().map(n -> {
-            // 기존 읽기 매퍼로 기본 DTO 생성(effective 일부 포함)
-            DecNodeDto base = mappers.DECISION_READ.map(n);
+        // 정책/핀/오버라이드 최종 버전을 라인 단위로 일괄 해석 → 버전은 불변 캐시에서 일괄 조회(미스만 DB)
+        Map<Long, Long> versionIdByNode = versionResolver.resolveVersionIdsForLine(line, ordered);
+        Map<Long, NodeImmutableCache.VersionView> versionById =
+                immutableCache.getVersions(new HashSet<>(versionIdByNode.values()));
 
-            // 정책/핀/오버라이드에서 최종 버전 해석 (필요 시 덮어쓰기)
-            FollowPolicy policy = n.getFollowPolicy();
-            Long pinnedCommitId = base.pinnedCommitId();
-            Long overrideVersionId = (n.getOverrideVersion() != null) ? n.getOverrideVersion().getId() : null;
+        List<DecNodeDto> nodes = ordered.stream().map(n -> {
+            Long verId = versionIdByNode.get(n.getId());
+            NodeImmutableCache.VersionView v = (verId != null) ? versionById.get(verId) : null;
 
-            Long verId = versionResolver.resolveVersionId(
-                    baseLineId, baseBranchId, pinnedCommitId, policy, n.getAgeYear(), overrideVersionId
-            );
+            // 해석된 버전으로 기본 DTO 생성(노드별 재해석 없음)
+            DecNodeDto base = mappers.toDecisionDto(n, v);
 
             NodeCategory effCategory   = base.category();
             String       effSituation  = base.situation();
@@ -392,16 +437,13 @@ public class NodeQueryService {
             List<String> effOpts       = base.options();
             String       effDesc       = base.description();
 
-            if (verId != null) {
-                NodeAtomVersion v = versionRepo.findById(verId).orElse(null);
-                if (v != null) {
-                    if (v.getCategory()    != null) effCategory  = v.getCategory();
-                    if (v.getSituation()   != null) effSituation = v.getSituation();
-                    if (v.getDecision()    != null) effDecision  = v.getDecision();
-                    List<String> parsed = parseOptionsJson(v.getOptionsJson());
-                    if (parsed != null)             effOpts      = parsed;
-                    if (v.getDescription() != null) effDesc      = v.getDescription();
-                }
+            if (v != null) {
+                if (v.category()    != null) effCategory  = v.category();
+                if (v.situation()   != null) effSituation = v.situation();
+                if (v.decision()    != null) effDecision  = v.decision();
+                List<String> parsed = parseOptionsJson(v.optionsJson());
+                if (parsed != null)          effOpts      = parsed;
+                if (v.description() != null) effDesc      = v.description();
             }
 
             List<Long> childrenIds = childrenIndex.getOrDefault(n.getId(), List.of());
@@ -483,10 +525,9 @@ public class NodeQueryService {
 
 
 
-    // BaseNode의 altOpt1/2TargetDecisionId로 pivot 역인덱스 구성
-    private Map<Long, PivotMark> buildPivotIndex(Long baseLineId) {
+    // BaseNode의 altOpt1/2TargetDecisionId로 pivot 역인덱스 구성(호출부가 이미 읽은 베이스 노드 사용)
+    private Map<Long, PivotMark> buildPivotIndex(List<BaseNode> bases) {
         Map<Long, PivotMark> index = new HashMap<>();
-        List<BaseNode> bases = baseNodeRepository.findByBaseLine_IdOrderByAgeYearAscIdAsc(baseLineId);
 
         for (BaseNode b : bases) {
             if (b.getAltOpt1TargetDecisionId() != null) {
@@ -26,9 +26,21 @@ public class NodeService {
     private final DecisionFlowService decisionFlowService;
     private final NodeQueryService nodeQueryService;
 
-    // 트리 전체 조회 위임
+    // 트리 전체 조회 위임(스탬프 캐시 경유)
     public TreeDto getTreeForBaseLine(Long baseLineId) {
-        return nodeQueryService.getTreeForBaseLine(baseLineId);
+        return nodeQueryService.getVersionedTree(baseLineId).tree();
+    }
+
+    // 트리 + 스탬프 조회 위임(ETag 응답용)
+    @Transactional(readOnly = true)
+    public BaseLineTreeCache.VersionedTree getVersionedTree(Long baseLineId) {
+        return nodeQueryService.getVersionedTree(baseLineId);
+    }
+
+    // 트리 스탬프 조회 위임(If-None-Match 선확인용)
+    @Transactional(readOnly = true)
+    public long getTreeStamp(Long baseLineId) {
+        return nodeQueryService.getTreeStamp(baseLineId);
     }
 
     // BaseLine 일괄 생성 위임
@@ -51,6 +63,11 @@ public class NodeService {
         return decisionFlowService.createDecisionNodeNext(request);
     }
 
+    // 다음 AI 힌트 폴링 위임
+    public DecisionHintDto getNextHint(Long userId, Long decisionNodeId) {
+        return nodeQueryService.getNextHint(userId, decisionNodeId);
+    }
+
     // 라인 취소 위임
     public DecisionLineLifecycleDto cancelDecisionLine(Long decisionLineId) {
         return decisionFlowService.cancelDecisionLine(decisionLineId);
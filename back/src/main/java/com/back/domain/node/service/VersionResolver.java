@@ -1,8 +1,10 @@
 /**
  * [SERVICE] VersionResolver
  * - Follow/Pinned/Override 정책에 따라 화면에 표시할 최종 NodeAtomVersion을 해석
- * - 커밋 체인을 부모로 거슬러 올라가며 ageYear에 대한 마지막 패치를 선택
+ * - 커밋의 누적 스냅샷(versionSnapshot)이 있으면 1회 조회로 해석, 없으면(도입 이전 커밋) 체인을 거슬러 올라가며 마지막 패치를 선택
  * - 해석 실패 시 BaseNode.currentVersion으로 폴백(초기 마이그레이션 보호)
+ * - 커밋 행은 불변이므로 NodeImmutableCache 뷰로 조회(반복 해석 시 DB 재조회 없음)
+ * - 벌크 해석: 라인 단위 (policy, pinnedCommitId, ageYear, overrideVersionId) 묶음을 상수 횟수 쿼리로 해석
  */
 package com.back.domain.node.service;
 
@@ -12,9 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Component
 @RequiredArgsConstructor
@@ -25,6 +25,7 @@ public class VersionResolver {
     private final BaselineCommitRepository commitRepo;
     private final BaselinePatchRepository patchRepo;
     private final BaseNodeRepository baseNodeRepo;
+    private final NodeImmutableCache immutableCache;
 
     // 정책/브랜치/커밋 상황에 맞춰 최종 버전 id를 해석(브랜치 없으면 BaseLine.currentVersion 폴백)
     public Long resolveVersionId(Long baseLineId,
@@ -72,20 +73,218 @@ public class VersionResolver {
         return resolveFromBaseCurrent(baseLineId, ageYear).orElse(null);
     }
 
-    // 커밋 체인을 따라 ageYear 패치의 afterVersion을 찾음
+    // 벌크 해석 요청 단위(같은 baseLine/branch 안에서 노드 하나의 해석 입력)
+    public record VersionKey(FollowPolicy policy, Long pinnedCommitId, Integer ageYear, Long overrideVersionId) {}
+
+    // 한 라인의 결정 노드들을 nodeId → 최종 버전 id로 일괄 해석
+    public Map<Long, Long> resolveVersionIdsForLine(DecisionLine line, List<DecisionNode> nodes) {
+        if (line == null || nodes == null || nodes.isEmpty()) return Map.of();
+        return resolveVersionIdsForLines(List.of(line), Map.of(line.getId(), nodes));
+    }
+
+    // 여러 라인의 결정 노드들을 (baseLine, branch) 단위로 묶어 nodeId → 최종 버전 id로 일괄 해석(트리 조회용)
+    public Map<Long, Long> resolveVersionIdsForLines(Collection<DecisionLine> lines, Map<Long, List<DecisionNode>> nodesByLine) {
+        if (lines == null || lines.isEmpty() || nodesByLine == null || nodesByLine.isEmpty()) return Map.of();
+
+        record Scope(Long baseLineId, Long baseBranchId) {}
+        Map<Scope, Map<Long, VersionKey>> keysByScope = new LinkedHashMap<>();
+        for (DecisionLine line : lines) {
+            List<DecisionNode> nodes = nodesByLine.getOrDefault(line.getId(), List.of());
+            if (nodes.isEmpty()) continue;
+
+            Scope scope = new Scope(
+                    line.getBaseLine() != null ? line.getBaseLine().getId() : null,
+                    line.getBaseBranch() != null ? line.getBaseBranch().getId() : null
+            );
+            Long pinnedCommitId = line.getPinnedCommit() != null ? line.getPinnedCommit().getId() : null;
+
+            Map<Long, VersionKey> keyByNode = keysByScope.computeIfAbsent(scope, k -> new LinkedHashMap<>());
+            for (DecisionNode n : nodes) {
+                // 정책 null은 FOLLOW로 바꾸지 않음(resolveVersionId와 같이 Base.currentVersion 폴백)
+                keyByNode.put(n.getId(), new VersionKey(
+                        n.getFollowPolicy(),
+                        pinnedCommitId,
+                        n.getAgeYear(),
+                        n.getOverrideVersion() != null ? n.getOverrideVersion().getId() : null
+                ));
+            }
+        }
+
+        Map<Long, Long> out = new HashMap<>();
+        keysByScope.forEach((scope, keyByNode) -> {
+            Map<VersionKey, Long> resolved = resolveVersionIds(scope.baseLineId(), scope.baseBranchId(), keyByNode.values());
+            keyByNode.forEach((nodeId, key) -> {
+                Long verId = resolved.get(key);
+                if (verId != null) out.put(nodeId, verId);
+            });
+        });
+        return out;
+    }
+
+    // 키 묶음을 상수 횟수 쿼리(브랜치 1 + 커밋 링크 1 + 패치 1 + 베이스 노드 1)로 일괄 해석
+    public Map<VersionKey, Long> resolveVersionIds(Long baseLineId, Long baseBranchId, Collection<VersionKey> keys) {
+        Map<VersionKey, Long> out = new HashMap<>();
+        if (keys == null || keys.isEmpty()) return out;
+
+        // FOLLOW가 있을 때만 브랜치 헤드 커밋 조회
+        boolean anyFollow = keys.stream().anyMatch(k -> k.policy() == FollowPolicy.FOLLOW);
+        Long headCommitId = (anyFollow && baseBranchId != null)
+                ? branchRepo.findById(baseBranchId)
+                        .map(BaselineBranch::getHeadCommit)
+                        .map(BaselineCommit::getId)
+                        .orElse(null)
+                : null;
+
+        // 체인 시작 커밋(헤드/핀) 수집 → 체인별 age→afterVersion 스냅샷 일괄 구성
+        Set<Long> starts = new LinkedHashSet<>();
+        for (VersionKey k : keys) {
+            if (k.policy() == FollowPolicy.PINNED && k.pinnedCommitId() != null) starts.add(k.pinnedCommitId());
+            if (k.policy() == FollowPolicy.FOLLOW && headCommitId != null) starts.add(headCommitId);
+        }
+        Map<Long, Map<Integer, Long>> snapshotByStart = loadChainSnapshots(baseLineId, starts);
+
+        Map<Integer, Long> baseCurrent = null;
+        for (VersionKey k : keys) {
+            if (out.containsKey(k)) continue;
+
+            // OVERRIDE: 지정 버전 그대로
+            if (k.policy() == FollowPolicy.OVERRIDE) {
+                out.put(k, k.overrideVersionId());
+                continue;
+            }
+
+            // 체인 시작 커밋(정책 null/브랜치 없는 FOLLOW는 없음 → 폴백)
+            Long start = null;
+            if (k.policy() == FollowPolicy.PINNED) start = k.pinnedCommitId();
+            else if (k.policy() == FollowPolicy.FOLLOW && baseBranchId != null) start = headCommitId;
+
+            Long verId = (start != null && k.ageYear() != null)
+                    ? snapshotByStart.getOrDefault(start, Map.of()).get(k.ageYear())
+                    : null;
+
+            // 체인에서 못 찾으면 Base.currentVersion 폴백(베이스 노드는 최초 1회만 조회)
+            if (verId == null) {
+                if (baseCurrent == null) baseCurrent = loadBaseCurrentByAge(baseLineId);
+                verId = (k.ageYear() != null) ? baseCurrent.get(k.ageYear()) : null;
+            }
+            out.put(k, verId);
+        }
+        return out;
+    }
+
+    // 시작 커밋별 ageYear → afterVersionId 스냅샷(스냅샷 커밋은 그대로, 도입 이전 커밋만 체인 조립)
+    private Map<Long, Map<Integer, Long>> loadChainSnapshots(Long baseLineId, Set<Long> starts) {
+        if (starts.isEmpty()) return Map.of();
+
+        Map<Long, Map<Integer, Long>> out = new HashMap<>();
+        Set<Long> legacyStarts = new LinkedHashSet<>();
+        for (NodeImmutableCache.CommitView c : immutableCache.getCommits(starts).values()) {
+            if (c.snapshot() != null) out.put(c.id(), c.snapshot());
+            else legacyStarts.add(c.id());
+        }
+        if (legacyStarts.isEmpty()) return out;
+
+        // 베이스라인 커밋 링크/스냅샷을 1회 조회
+        Map<Long, Long> parentOf = new HashMap<>();
+        Map<Long, String> snapshotOf = new HashMap<>();
+        if (baseLineId != null) {
+            for (Object[] row : commitRepo.findParentLinksByBaseLineId(baseLineId)) {
+                parentOf.put((Long) row[0], (Long) row[1]);
+                if (row[2] != null) snapshotOf.put((Long) row[0], (String) row[2]);
+            }
+        }
+
+        // 스냅샷을 가진 첫 조상(체크포인트)까지만 델타 커밋으로 수집
+        Map<Long, List<Long>> deltaChainByStart = new HashMap<>();
+        Map<Long, Long> checkpointByStart = new HashMap<>();
+        Set<Long> deltaCommitIds = new HashSet<>();
+        for (Long start : legacyStarts) {
+            List<Long> chain = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            Long cur = start;
+            while (cur != null && seen.add(cur)) {
+                if (snapshotOf.containsKey(cur)) {
+                    checkpointByStart.put(start, cur);
+                    break;
+                }
+                chain.add(cur);
+                // 다른 베이스라인 커밋 등 링크 맵에 없으면 체인 종료
+                cur = parentOf.get(cur);
+            }
+            deltaChainByStart.put(start, chain);
+            deltaCommitIds.addAll(chain);
+        }
+
+        // 델타 커밋 패치를 1회 조회 → 커밋별 age → (patchId 최대) afterVersion
+        Map<Long, Map<Integer, long[]>> lastPatchByCommit = new HashMap<>();
+        if (!deltaCommitIds.isEmpty()) {
+            for (Object[] row : patchRepo.findPatchRowsByCommitIds(deltaCommitIds)) {
+                Long commitId = (Long) row[0];
+                Integer age = (Integer) row[1];
+                Long afterId = (Long) row[2];
+                Long patchId = (Long) row[3];
+                if (age == null || afterId == null) continue;
+                Map<Integer, long[]> byAge = lastPatchByCommit.computeIfAbsent(commitId, k -> new HashMap<>());
+                long[] prev = byAge.get(age);
+                if (prev == null || prev[0] < patchId) byAge.put(age, new long[]{patchId, afterId});
+            }
+        }
+
+        for (Long start : legacyStarts) {
+            Map<Integer, Long> snapshot = new TreeMap<>();
+            for (Long commitId : deltaChainByStart.getOrDefault(start, List.of())) {
+                lastPatchByCommit.getOrDefault(commitId, Map.of())
+                        .forEach((age, patch) -> snapshot.putIfAbsent(age, patch[1]));
+            }
+            Long checkpoint = checkpointByStart.get(start);
+            if (checkpoint != null) {
+                BaselineCommit.decodeVersionSnapshot(snapshotOf.get(checkpoint)).forEach(snapshot::putIfAbsent);
+            }
+            out.put(start, snapshot);
+        }
+        return out;
+    }
+
+    // 커밋 시점의 누적 ageYear → afterVersionId 맵(새 커밋 스냅샷을 부모 기준으로 만들 때 사용)
+    public Map<Integer, Long> snapshotOf(BaselineCommit commit) {
+        if (commit == null) return new TreeMap<>();
+        Map<Integer, Long> snap = commit.readVersionSnapshot();
+        if (snap != null) return new TreeMap<>(snap);
+
+        Long baseLineId = (commit.getBranch() != null && commit.getBranch().getBaseLine() != null)
+                ? commit.getBranch().getBaseLine().getId()
+                : null;
+        Map<Integer, Long> built = loadChainSnapshots(baseLineId, Set.of(commit.getId())).get(commit.getId());
+        return built != null ? new TreeMap<>(built) : new TreeMap<>();
+    }
+
+    // BaseLine의 ageYear별 첫 BaseNode.currentVersion id(정렬 순서 기준)
+    private Map<Integer, Long> loadBaseCurrentByAge(Long baseLineId) {
+        Map<Integer, Long> out = new HashMap<>();
+        if (baseLineId == null) return out;
+        for (BaseNode b : baseNodeRepo.findByBaseLine_IdOrderByAgeYearAscIdAsc(baseLineId)) {
+            if (b.getCurrentVersion() != null) out.putIfAbsent(b.getAgeYear(), b.getCurrentVersion().getId());
+        }
+        return out;
+    }
+
+    // 커밋 스냅샷으로 ageYear의 afterVersion을 찾음(스냅샷 없는 구 커밋 구간만 체인 탐색)
     private Optional<Long> resolveFromCommitChain(Integer ageYear, Long commitId) {
         if (commitId == null || ageYear == null) return Optional.empty();
 
-        BaselineCommit cur = commitRepo.findById(commitId).orElse(null);
+        NodeImmutableCache.CommitView cur = immutableCache.getCommit(commitId);
         while (cur != null) {
-            List<BaselinePatch> patches = patchRepo.findByCommit_IdOrderByIdAsc(cur.getId());
+            // 스냅샷은 조상 전체를 누적하므로 여기서 결론(없으면 체인에도 없음)
+            if (cur.snapshot() != null) return Optional.ofNullable(cur.snapshot().get(ageYear));
+
+            List<BaselinePatch> patches = patchRepo.findByCommit_IdOrderByIdAsc(cur.id());
             for (int i = patches.size() - 1; i >= 0; i--) {
                 BaselinePatch p = patches.get(i);
                 if (ageYear.equals(p.getAgeYear()) && p.getAfterVersion() != null) {
                     return Optional.ofNullable(p.getAfterVersion().getId());
                 }
             }
-            cur = cur.getParentCommit();
+            cur = immutableCache.getCommit(cur.parentCommitId());
         }
         return Optional.empty();
     }
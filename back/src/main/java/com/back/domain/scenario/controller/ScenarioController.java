@@ -14,9 +14,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * 시나리오 관련 API 요청을 처리하는 컨트롤러.
@@ -76,6 +78,18 @@ public class ScenarioController {
         return ResponseEntity.ok(scenarioStatusResponse);
     }
 
+    @GetMapping(value = "/{scenarioId}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "시나리오 상태 스트림 구독",
+            description = "현재 상태를 즉시 보낸 뒤 상태가 바뀔 때마다 status 이벤트를 보냅니다. COMPLETED/FAILED 전송 후 스트림을 닫습니다.")
+    public SseEmitter streamScenarioStatus(
+            @Parameter(description = "시나리오 ID") @PathVariable Long scenarioId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        Long userId = getUserId(userDetails);
+
+        return scenarioService.streamScenarioStatus(scenarioId, userId);
+    }
+
     @GetMapping("/info/{scenarioId}")
     @Operation(summary = "시나리오 상세 조회", description = "완성된 시나리오의 상세 정보를 조회합니다.")
     public ResponseEntity<ScenarioDetailResponse> getScenarioDetail(
@@ -5,7 +5,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
  * 시나리오 생성 상태 조회 응답 DTO.
- * 폴링 방식의 실시간 상태 확인을 위한 경량화된 응답 구조입니다.
+ * 폴링(/status)과 SSE 스트림(/status/stream)이 함께 쓰는 경량화된 응답 구조입니다.
  */
 
 public record ScenarioStatusResponse(
@@ -18,4 +18,17 @@ public record ScenarioStatusResponse(
         @Schema(description = "상태별 안내 메시지", example = "AI가 대체선택 라인을 분석 중입니다...")
         String message
 ) {
+    // 상태별 기본 안내 메시지로 생성
+    public static ScenarioStatusResponse of(Long scenarioId, ScenarioStatus status) {
+        return new ScenarioStatusResponse(scenarioId, status, messageOf(status));
+    }
+
+    private static String messageOf(ScenarioStatus status) {
+        return switch (status) {
+            case PENDING -> "시나리오 생성 대기 중입니다.";
+            case PROCESSING -> "시나리오를 생성 중입니다.";
+            case COMPLETED -> "시나리오 생성이 완료되었습니다.";
+            case FAILED -> "시나리오 생성에 실패했습니다. 다시 시도해주세요.";
+        };
+    }
 }
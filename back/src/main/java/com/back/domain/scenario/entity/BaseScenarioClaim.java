@@ -0,0 +1,61 @@
+package com.back.domain.scenario.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 베이스 시나리오 생성 선점 엔티티.
+ * 베이스라인당 1행으로 클러스터 전체에서 베이스 시나리오 AI 생성을 한 곳만 수행하도록 잡아 두며,
+ * 소유 인스턴스가 죽어도 lease_until이 지나면 다른 인스턴스가 이어받습니다.
+ * id를 직접 지정하므로 Persistable#isNew로 새 객체는 항상 INSERT(persist)되게 합니다.
+ * (merge면 다른 인스턴스의 선점 행을 덮어써 두 곳이 동시에 생성할 수 있음)
+ */
+@Entity
+@Table(name = "base_scenario_claims")
+@Getter
+@NoArgsConstructor
+public class BaseScenarioClaim implements Persistable<Long> {
+
+    // 선점 대상 베이스라인(PK)
+    @Id
+    @Column(name = "base_line_id")
+    private Long baseLineId;
+
+    // 선점 인스턴스 식별자
+    @Column(name = "owner", nullable = false, length = 64)
+    private String owner;
+
+    // 선점 만료 시각
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    // 새로 만든 객체 여부(조회/저장 이후 false)
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean fresh = true;
+
+    public BaseScenarioClaim(Long baseLineId, String owner, LocalDateTime leaseUntil) {
+        this.baseLineId = baseLineId;
+        this.owner = owner;
+        this.leaseUntil = leaseUntil;
+    }
+
+    @Override
+    public Long getId() {
+        return baseLineId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.fresh = false;
+    }
+}
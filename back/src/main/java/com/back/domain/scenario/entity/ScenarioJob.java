@@ -0,0 +1,58 @@
+package com.back.domain.scenario.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시나리오 생성 작업 엔티티(영속 작업 큐).
+ * 시나리오당 1행이며, 워커는 QUEUED 행을 SKIP LOCKED로 선점해 lease(lease_owner/lease_until)를 쥔 채 실행합니다.
+ * 실행 중에는 하트비트로 lease를 연장하고, 만료된 lease는 다른 노드가 다시 대기열로 돌립니다.
+ */
+@Entity
+@Table(name = "scenario_jobs",
+    indexes = {
+        @Index(name = "idx_scenario_jobs_status_available", columnList = "status, available_at")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioJob {
+
+    // 대상 시나리오(PK)
+    @Id
+    @Column(name = "scenario_id")
+    private Long scenarioId;
+
+    // 작업 상태
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private ScenarioJobStatus status;
+
+    // 선점(실행) 횟수
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // 이 시각 이후 선점 가능(재시도 백오프)
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    // 실행 중인 워커 인스턴스 식별자
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    // lease 만료 시각(하트비트로 연장)
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    // 마지막 실패 사유
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.back.domain.scenario.entity;
+
+/**
+ * 시나리오 생성 작업 큐 상태.
+ * QUEUED: 실행 대기(available_at 이후 선점 가능), RUNNING: 워커가 lease를 쥐고 실행 중,
+ * DONE: 완료, DEAD: 최대 시도 횟수 초과로 포기
+ */
+public enum ScenarioJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    DEAD
+}
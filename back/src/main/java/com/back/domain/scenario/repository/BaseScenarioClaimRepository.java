@@ -0,0 +1,32 @@
+package com.back.domain.scenario.repository;
+
+import com.back.domain.scenario.entity.BaseScenarioClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 베이스 시나리오 생성 선점 행에 대한 데이터베이스 접근을 담당하는 JpaRepository.
+ * 호출 측(BaseScenarioSingleFlight)이 매번 새 트랜잭션으로 감싸 즉시 커밋되도록 사용합니다.
+ */
+@Repository
+public interface BaseScenarioClaimRepository extends JpaRepository<BaseScenarioClaim, Long> {
+
+    // 만료된 선점만 가져오기(1이면 선점 성공)
+    @Modifying
+    @Query("update BaseScenarioClaim c set c.owner = :owner, c.leaseUntil = :leaseUntil " +
+            "where c.baseLineId = :baseLineId and c.leaseUntil < :now")
+    int takeOverExpired(@Param("baseLineId") Long baseLineId,
+                        @Param("owner") String owner,
+                        @Param("leaseUntil") LocalDateTime leaseUntil,
+                        @Param("now") LocalDateTime now);
+
+    // 자기 선점만 해제(만료 후 다른 인스턴스가 가져간 행은 건드리지 않음)
+    @Modifying
+    @Query("delete from BaseScenarioClaim c where c.baseLineId = :baseLineId and c.owner = :owner")
+    int release(@Param("baseLineId") Long baseLineId, @Param("owner") String owner);
+}
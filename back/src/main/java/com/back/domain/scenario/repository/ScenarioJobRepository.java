@@ -0,0 +1,108 @@
+package com.back.domain.scenario.repository;
+
+import com.back.domain.scenario.entity.ScenarioJob;
+import com.back.domain.scenario.entity.ScenarioJobStatus;
+import com.back.domain.scenario.entity.ScenarioStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 시나리오 생성 작업 큐에 대한 데이터베이스 접근을 담당하는 JpaRepository.
+ * 상태 전이는 모두 조건부 update로 수행해, lease를 잃은 워커의 늦은 결과 보고가 새 소유자의 상태를 덮지 않게 합니다.
+ */
+@Repository
+public interface ScenarioJobRepository extends JpaRepository<ScenarioJob, Long> {
+
+    // 실행 가능한 대기 작업 잠금 조회(다른 노드가 잠근 행은 건너뜀)
+    @Query(value = """
+        select scenario_id from scenario_jobs
+        where status = 'QUEUED' and available_at <= :now
+        order by available_at
+        limit :limit
+        for update skip locked
+        """, nativeQuery = true)
+    List<Long> lockRunnable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // 잠근 작업을 RUNNING으로 선점(시도 횟수 증가)
+    @Modifying
+    @Query("update ScenarioJob j set j.status = :running, j.leaseOwner = :owner, j.leaseUntil = :leaseUntil, " +
+            "j.attempts = j.attempts + 1, j.updatedAt = :now where j.scenarioId in :ids")
+    int markRunning(@Param("ids") Collection<Long> ids,
+                    @Param("running") ScenarioJobStatus running,
+                    @Param("owner") String owner,
+                    @Param("leaseUntil") LocalDateTime leaseUntil,
+                    @Param("now") LocalDateTime now);
+
+    // 하트비트: 자기 소유 실행 중 작업의 lease 연장
+    @Modifying
+    @Query("update ScenarioJob j set j.leaseUntil = :leaseUntil, j.updatedAt = :now " +
+            "where j.scenarioId in :ids and j.leaseOwner = :owner and j.status = :running")
+    int extendLeases(@Param("ids") Collection<Long> ids,
+                     @Param("owner") String owner,
+                     @Param("running") ScenarioJobStatus running,
+                     @Param("leaseUntil") LocalDateTime leaseUntil,
+                     @Param("now") LocalDateTime now);
+
+    // 자기 소유 실행 중 작업의 종료 전이(DONE/QUEUED/DEAD), lease를 잃었으면 0
+    @Modifying
+    @Query("update ScenarioJob j set j.status = :next, j.availableAt = :availableAt, j.leaseOwner = null, " +
+            "j.leaseUntil = null, j.lastError = :error, j.updatedAt = :now " +
+            "where j.scenarioId = :id and j.leaseOwner = :owner and j.status = :running")
+    int finishOwned(@Param("id") Long id,
+                    @Param("owner") String owner,
+                    @Param("running") ScenarioJobStatus running,
+                    @Param("next") ScenarioJobStatus next,
+                    @Param("availableAt") LocalDateTime availableAt,
+                    @Param("error") String error,
+                    @Param("now") LocalDateTime now);
+
+    // 선점했지만 실행하지 못한 작업 반환(시도 횟수 원복)
+    @Modifying
+    @Query("update ScenarioJob j set j.status = :queued, j.attempts = j.attempts - 1, j.leaseOwner = null, " +
+            "j.leaseUntil = null, j.updatedAt = :now " +
+            "where j.scenarioId = :id and j.leaseOwner = :owner and j.status = :running")
+    int unclaim(@Param("id") Long id,
+                @Param("owner") String owner,
+                @Param("running") ScenarioJobStatus running,
+                @Param("queued") ScenarioJobStatus queued,
+                @Param("now") LocalDateTime now);
+
+    // lease가 만료된 실행 중 작업
+    @Query("select j from ScenarioJob j where j.status = :running and j.leaseUntil < :now")
+    List<ScenarioJob> findExpired(@Param("running") ScenarioJobStatus running, @Param("now") LocalDateTime now);
+
+    // 만료 작업 전이(그 사이 하트비트로 연장됐으면 0)
+    @Modifying
+    @Query("update ScenarioJob j set j.status = :next, j.availableAt = :availableAt, j.leaseOwner = null, " +
+            "j.leaseUntil = null, j.lastError = :error, j.updatedAt = :now " +
+            "where j.scenarioId = :id and j.status = :running and j.leaseUntil < :now")
+    int finishExpired(@Param("id") Long id,
+                      @Param("running") ScenarioJobStatus running,
+                      @Param("next") ScenarioJobStatus next,
+                      @Param("availableAt") LocalDateTime availableAt,
+                      @Param("error") String error,
+                      @Param("now") LocalDateTime now);
+
+    // 작업 행 없이 대기/처리 중으로 남은 시나리오(큐 도입 이전 요청, 적재 직전 장애)
+    @Query("select s.id from Scenario s where s.status in :statuses and s.createdDate < :cutoff " +
+            "and s.decisionLine is not null " +
+            "and not exists (select 1 from ScenarioJob j where j.scenarioId = s.id)")
+    List<Long> findOrphanScenarioIds(@Param("statuses") Collection<ScenarioStatus> statuses,
+                                     @Param("cutoff") LocalDateTime cutoff);
+
+    // 상태별 작업 수
+    @Query("select j.status, count(j) from ScenarioJob j group by j.status")
+    List<Object[]> countByStatus();
+
+    // 보존 기간이 지난 완료 작업 정리
+    @Modifying
+    @Query("delete from ScenarioJob j where j.status = :done and j.updatedAt < :cutoff")
+    int purgeFinished(@Param("done") ScenarioJobStatus done, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,178 @@
+/**
+ * [SERVICE] BaseScenarioSingleFlight
+ * - 같은 베이스라인의 베이스 시나리오 AI 생성을 클러스터 전체에서 1회로 합침
+ * - 프로세스 내: 베이스라인별 진행 중 future에 합류(후발 워커는 AI를 다시 부르지 않음)
+ * - 프로세스 간: base_scenario_claims 선점 행(lease) — 선점한 인스턴스만 생성, 나머지는 완료 행이 보일 때까지 폴링
+ * - 선점/해제/저장은 항상 새 트랜잭션으로 즉시 커밋(바깥 시나리오 생성 트랜잭션이 끝날 때까지 결과가 숨지 않게)
+ * - 소유 인스턴스가 죽어도 lease가 지나면 대기 측이 선점을 이어받아 생성
+ * - 대기/폴링이 길어질 수 있으므로 트랜잭션 밖에서만 호출(바깥 트랜잭션이 있으면 그동안 커넥션을 쥐고 있게 됨)
+ */
+package com.back.domain.scenario.service;
+
+import com.back.domain.scenario.entity.BaseScenarioClaim;
+import com.back.domain.scenario.entity.Scenario;
+import com.back.domain.scenario.repository.BaseScenarioClaimRepository;
+import com.back.domain.scenario.repository.ScenarioRepository;
+import com.back.global.exception.ApiException;
+import com.back.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class BaseScenarioSingleFlight {
+
+    private final BaseScenarioClaimRepository claimRepository;
+    private final ScenarioRepository scenarioRepository;
+    private final TransactionTemplate writeTx;
+    private final Duration lease;
+    private final Duration maxWait;
+    private final long pollMillis;
+
+    private final String owner = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<Long, CompletableFuture<Long>> inflight = new ConcurrentHashMap<>();
+
+    public BaseScenarioSingleFlight(BaseScenarioClaimRepository claimRepository,
+                                    ScenarioRepository scenarioRepository,
+                                    PlatformTransactionManager txManager,
+                                    @Value("${ai.base-scenario.claim.lease-seconds:180}") long leaseSeconds,
+                                    @Value("${ai.base-scenario.claim.max-wait-seconds:240}") long maxWaitSeconds,
+                                    @Value("${ai.base-scenario.claim.poll-millis:1000}") long pollMillis) {
+        this.claimRepository = claimRepository;
+        this.scenarioRepository = scenarioRepository;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.maxWait = Duration.ofSeconds(Math.max(1, maxWaitSeconds));
+        this.pollMillis = Math.max(50, pollMillis);
+    }
+
+    /**
+     * 베이스 시나리오 id 확보.
+     * generate는 트랜잭션 밖(호출 스레드)에서 AI를 호출하고, persist는 새 트랜잭션에서 저장 후 id를 돌려줍니다.
+     * 진행 중인 트랜잭션 안에서 호출하면 IllegalStateException을 던집니다.
+     */
+    public <R> Long ensure(Long baseLineId, Supplier<R> generate, Function<R, Long> persist) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("BaseScenarioSingleFlight.ensure must be called outside a transaction");
+        }
+
+        Optional<Long> existing = findExisting(baseLineId);
+        if (existing.isPresent()) return existing.get();
+
+        CompletableFuture<Long> created = new CompletableFuture<>();
+        CompletableFuture<Long> shared = inflight.putIfAbsent(baseLineId, created);
+        if (shared != null) {
+            log.info("Joining in-flight base scenario generation for BaseLine ID: {}", baseLineId);
+            return await(shared, baseLineId);
+        }
+
+        try {
+            Long id = claimOrWait(baseLineId, generate, persist);
+            created.complete(id);
+            return id;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(baseLineId, created);
+        }
+    }
+
+    // 선점하면 생성, 아니면 다른 인스턴스의 완료(또는 lease 만료 후 재선점)까지 폴링
+    private <R> Long claimOrWait(Long baseLineId, Supplier<R> generate, Function<R, Long> persist) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            Optional<Long> existing = findExisting(baseLineId);
+            if (existing.isPresent()) return existing.get();
+
+            if (tryClaim(baseLineId)) {
+                try {
+                    // 선점 직전에 다른 인스턴스가 완료하고 해제했을 수 있음
+                    existing = findExisting(baseLineId);
+                    if (existing.isPresent()) return existing.get();
+
+                    R result = generate.get();
+                    return writeTx.execute(s -> persist.apply(result));
+                } finally {
+                    release(baseLineId);
+                }
+            }
+
+            if (System.nanoTime() > deadline) {
+                throw new ApiException(ErrorCode.AI_REQUEST_TIMEOUT,
+                        "베이스 시나리오 생성 대기 시간 초과 (" + maxWait.toSeconds() + "초)");
+            }
+            sleep(baseLineId);
+        }
+    }
+
+    private boolean tryClaim(Long baseLineId) {
+        try {
+            return Boolean.TRUE.equals(writeTx.execute(s -> {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime until = now.plus(lease);
+                if (claimRepository.takeOverExpired(baseLineId, owner, until, now) == 1) return true;
+                // 이미 있으면 INSERT 시도 생략(폴링마다 중복 키 오류 로그 방지)
+                if (claimRepository.existsById(baseLineId)) return false;
+                // 엔티티가 Persistable이라 항상 INSERT → 동시 삽입은 PK 충돌로 한쪽만 성공
+                claimRepository.saveAndFlush(new BaseScenarioClaim(baseLineId, owner, until));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // existsById 확인 뒤 다른 인스턴스가 먼저 삽입
+            return false;
+        }
+    }
+
+    // 해제 실패는 lease 만료로 회복되므로 경고만 남김
+    private void release(Long baseLineId) {
+        try {
+            writeTx.executeWithoutResult(s -> claimRepository.release(baseLineId, owner));
+        } catch (Exception e) {
+            log.warn("Base scenario claim release failed for BaseLine ID: {}, cause={}", baseLineId, e.getMessage());
+        }
+    }
+
+    private Optional<Long> findExisting(Long baseLineId) {
+        return scenarioRepository.findByBaseLineIdAndDecisionLineIsNull(baseLineId).map(Scenario::getId);
+    }
+
+    private Long await(CompletableFuture<Long> shared, Long baseLineId) {
+        try {
+            return shared.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new ApiException(ErrorCode.SCENARIO_CREATION_FAILED, e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            throw new ApiException(ErrorCode.AI_REQUEST_TIMEOUT,
+                    "베이스 시나리오 생성 대기 시간 초과 (" + maxWait.toSeconds() + "초)");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ErrorCode.SCENARIO_CREATION_FAILED, "베이스 시나리오 대기 중단: BaseLine " + baseLineId);
+        }
+    }
+
+    private void sleep(Long baseLineId) {
+        try {
+            Thread.sleep(pollMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ErrorCode.SCENARIO_CREATION_FAILED, "베이스 시나리오 대기 중단: BaseLine " + baseLineId);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * [SERVICE] ScenarioJobQueue
+ * - 시나리오 생성 요청을 scenario_jobs 행으로 적재하는 영속 작업 큐(프로세스 종료/장애에도 유실 없음)
+ * - 선점: QUEUED 행을 FOR UPDATE SKIP LOCKED로 잠가 RUNNING + lease(owner/until)로 전이 → 노드를 늘리면 처리량이 늘어남
+ * - 실행 중 하트비트로 lease 연장, 만료 lease는 어느 노드든 다시 대기열로(최대 시도 초과 시 DEAD)
+ * - 실패는 지수 백오프(+지터) 후 재시도, 모든 전이는 새 트랜잭션으로 즉시 커밋
+ * - 지표: scenario.jobs{status}(주기 집계), scenario.jobs.events{event}, scenario.jobs.duration
+ */
+package com.back.domain.scenario.service;
+
+import com.back.domain.scenario.entity.ScenarioJob;
+import com.back.domain.scenario.entity.ScenarioJobStatus;
+import com.back.domain.scenario.entity.ScenarioStatus;
+import com.back.domain.scenario.repository.ScenarioJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class ScenarioJobQueue {
+
+    // 만료 lease 정리 결과(dead면 최대 시도 초과로 포기)
+    public record Reaped(Long scenarioId, boolean dead) {}
+
+    // 실패 보고 결과(owned=false면 이미 다른 노드가 가져감, retry면 backoff 후 재실행 예정)
+    public record Failure(boolean owned, boolean retry, int attempts, int maxAttempts) {}
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ScenarioJobRepository jobRepository;
+    private final TransactionTemplate writeTx;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final Duration doneRetention;
+
+    private final String owner = UUID.randomUUID().toString();
+    private final Map<ScenarioJobStatus, AtomicLong> statusCounts = new EnumMap<>(ScenarioJobStatus.class);
+    private final Map<String, Counter> events = new HashMap<>();
+    private final Timer duration;
+
+    public ScenarioJobQueue(ScenarioJobRepository jobRepository,
+                            PlatformTransactionManager txManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${scenario.job.lease-seconds:300}") long leaseSeconds,
+                            @Value("${scenario.job.max-attempts:3}") int maxAttempts,
+                            @Value("${scenario.job.backoff.base-seconds:10}") long backoffBaseSeconds,
+                            @Value("${scenario.job.backoff.max-seconds:300}") long backoffMaxSeconds,
+                            @Value("${scenario.job.done-retention-hours:24}") long doneRetentionHours) {
+        this.jobRepository = jobRepository;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBase = Duration.ofSeconds(Math.max(1, backoffBaseSeconds));
+        this.backoffMax = Duration.ofSeconds(Math.max(backoffBaseSeconds, backoffMaxSeconds));
+        this.doneRetention = Duration.ofHours(Math.max(1, doneRetentionHours));
+
+        for (ScenarioJobStatus s : ScenarioJobStatus.values()) {
+            AtomicLong holder = new AtomicLong();
+            statusCounts.put(s, holder);
+            Gauge.builder("scenario.jobs", holder, AtomicLong::get).tag("status", s.name()).register(meterRegistry);
+        }
+        for (String event : List.of("enqueued", "claimed", "completed", "retried", "dead", "requeued", "lease_lost")) {
+            events.put(event, Counter.builder("scenario.jobs.events").tag("event", event).register(meterRegistry));
+        }
+        this.duration = Timer.builder("scenario.jobs.duration").register(meterRegistry);
+    }
+
+    // 작업 적재(재시도 요청이면 기존 행을 대기 상태로 초기화)
+    public void enqueue(Long scenarioId) {
+        writeTx.executeWithoutResult(s -> {
+            LocalDateTime now = LocalDateTime.now();
+            ScenarioJob job = jobRepository.findById(scenarioId)
+                    .orElseGet(() -> ScenarioJob.builder().scenarioId(scenarioId).build());
+            job.setStatus(ScenarioJobStatus.QUEUED);
+            job.setAttempts(0);
+            job.setAvailableAt(now);
+            job.setLeaseOwner(null);
+            job.setLeaseUntil(null);
+            job.setLastError(null);
+            job.setUpdatedAt(now);
+            jobRepository.save(job);
+        });
+        events.get("enqueued").increment();
+    }
+
+    // 실행 가능한 작업을 최대 limit개 선점
+    public List<Long> claim(int limit) {
+        if (limit <= 0) return List.of();
+        List<Long> ids = writeTx.execute(s -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> locked = jobRepository.lockRunnable(now, limit);
+            if (locked.isEmpty()) return List.<Long>of();
+            jobRepository.markRunning(locked, ScenarioJobStatus.RUNNING, owner, now.plus(lease), now);
+            return locked;
+        });
+        if (ids == null) return List.of();
+        events.get("claimed").increment(ids.size());
+        return ids;
+    }
+
+    // 실행 중 작업 lease 연장
+    public void heartbeat(Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        writeTx.executeWithoutResult(s -> {
+            LocalDateTime now = LocalDateTime.now();
+            int extended = jobRepository.extendLeases(ids, owner, ScenarioJobStatus.RUNNING, now.plus(lease), now);
+            if (extended < ids.size()) {
+                log.warn("Scenario job lease heartbeat extended {}/{} jobs (others lost their lease)", extended, ids.size());
+            }
+        });
+    }
+
+    // 완료 보고(lease를 잃었으면 false)
+    public boolean complete(Long scenarioId, long elapsedMillis) {
+        duration.record(elapsedMillis, TimeUnit.MILLISECONDS);
+        boolean owned = finish(scenarioId, ScenarioJobStatus.DONE, LocalDateTime.now(), null);
+        events.get(owned ? "completed" : "lease_lost").increment();
+        return owned;
+    }
+
+    // 실패 보고: 시도 여유가 있으면 백오프 후 재대기, 아니면 DEAD
+    public Failure fail(Long scenarioId, String error) {
+        int attempts = jobRepository.findById(scenarioId).map(ScenarioJob::getAttempts).orElse(maxAttempts);
+        boolean retry = attempts < maxAttempts;
+        LocalDateTime now = LocalDateTime.now();
+        boolean owned = retry
+                ? finish(scenarioId, ScenarioJobStatus.QUEUED, now.plus(backoff(attempts)), error)
+                : finish(scenarioId, ScenarioJobStatus.DEAD, now, error);
+        if (!owned) {
+            events.get("lease_lost").increment();
+            return new Failure(false, false, attempts, maxAttempts);
+        }
+        events.get(retry ? "retried" : "dead").increment();
+        return new Failure(true, retry, attempts, maxAttempts);
+    }
+
+    // 재시도 없이 포기(대상 시나리오가 사라진 경우 등)
+    public void abandon(Long scenarioId, String error) {
+        if (finish(scenarioId, ScenarioJobStatus.DEAD, LocalDateTime.now(), error)) events.get("dead").increment();
+    }
+
+    // 선점했지만 실행기에 넣지 못한 작업 반환
+    public void unclaim(Long scenarioId) {
+        writeTx.executeWithoutResult(s -> jobRepository.unclaim(
+                scenarioId, owner, ScenarioJobStatus.RUNNING, ScenarioJobStatus.QUEUED, LocalDateTime.now()));
+    }
+
+    // 만료 lease 작업을 재대기/포기로 전이
+    public List<Reaped> reapExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Reaped> reaped = new ArrayList<>();
+        for (ScenarioJob job : jobRepository.findExpired(ScenarioJobStatus.RUNNING, now)) {
+            boolean dead = job.getAttempts() >= maxAttempts;
+            Integer changed = writeTx.execute(s -> jobRepository.finishExpired(
+                    job.getScenarioId(),
+                    ScenarioJobStatus.RUNNING,
+                    dead ? ScenarioJobStatus.DEAD : ScenarioJobStatus.QUEUED,
+                    now,
+                    "lease expired (owner " + job.getLeaseOwner() + ")",
+                    now));
+            if (changed == null || changed == 0) continue;
+            events.get(dead ? "dead" : "requeued").increment();
+            reaped.add(new Reaped(job.getScenarioId(), dead));
+        }
+        return reaped;
+    }
+
+    // 작업 행 없이 남은 대기/처리 중 시나리오를 적재
+    public List<Long> enqueueOrphans(Duration minAge) {
+        List<Long> orphans = jobRepository.findOrphanScenarioIds(
+                List.of(ScenarioStatus.PENDING, ScenarioStatus.PROCESSING), LocalDateTime.now().minus(minAge));
+        for (Long id : orphans) enqueue(id);
+        return orphans;
+    }
+
+    // 상태별 작업 수 갱신 + 보존 기간 지난 완료 작업 정리
+    public void refreshStatusCounts() {
+        writeTx.executeWithoutResult(s ->
+                jobRepository.purgeFinished(ScenarioJobStatus.DONE, LocalDateTime.now().minus(doneRetention)));
+
+        Map<ScenarioJobStatus, Long> counts = new EnumMap<>(ScenarioJobStatus.class);
+        for (Object[] row : jobRepository.countByStatus()) {
+            counts.put((ScenarioJobStatus) row[0], ((Number) row[1]).longValue());
+        }
+        statusCounts.forEach((status, holder) -> holder.set(counts.getOrDefault(status, 0L)));
+    }
+
+    // 지수 백오프(base * 2^(n-1), 상한 max) + 최대 20% 지터
+    Duration backoff(int attempts) {
+        long base = backoffBase.toMillis() << Math.min(20, Math.max(0, attempts - 1));
+        long capped = Math.min(backoffMax.toMillis(), base);
+        long jitter = (long) (capped * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(capped + jitter);
+    }
+
+    private boolean finish(Long scenarioId, ScenarioJobStatus next, LocalDateTime availableAt, String error) {
+        Integer changed = writeTx.execute(s -> jobRepository.finishOwned(
+                scenarioId, owner, ScenarioJobStatus.RUNNING, next, availableAt, truncate(error), LocalDateTime.now()));
+        if (changed == null || changed == 0) {
+            log.warn("Scenario job {} lease was lost before reporting {}", scenarioId, next);
+            return false;
+        }
+        return true;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) return error;
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * [SERVICE] ScenarioJobWorker
+ * - ScenarioJobQueue를 주기 폴링해 빈 슬롯(scenario.job.concurrency - 실행 중)만큼 선점 → 전용 scenarioJobExecutor에서 생성 실행
+ * - 실행기는 스레드 수 = concurrency, 대기열 없음: 선점한 작업은 곧바로 실행되고, 거절되면 즉시 대기열로 반환
+ * - 하트비트: 실행 중 작업 lease 주기 연장 / 정리: 만료 lease 재대기·포기, 작업 행 없는 대기 시나리오 적재, 상태별 수 갱신
+ * - 실패 시 재시도 예정이면 시나리오를 PENDING(사유 기록), 최대 시도 초과면 FAILED로 전이
+ */
+package com.back.domain.scenario.service;
+
+import com.back.domain.scenario.entity.ScenarioStatus;
+import com.back.global.exception.ApiException;
+import com.back.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "scenario.job.worker.enabled", havingValue = "true", matchIfMissing = true)
+public class ScenarioJobWorker {
+
+    private final ScenarioJobQueue queue;
+    private final ScenarioTransactionService scenarioTransactionService;
+    private final Executor executor;
+    private final int concurrency;
+    private final Duration orphanMinAge;
+
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    public ScenarioJobWorker(ScenarioJobQueue queue,
+                             ScenarioTransactionService scenarioTransactionService,
+                             @Qualifier("scenarioJobExecutor") Executor executor,
+                             @Value("${scenario.job.concurrency:4}") int concurrency,
+                             @Value("${scenario.job.orphan-min-age-seconds:120}") long orphanMinAgeSeconds) {
+        this.queue = queue;
+        this.scenarioTransactionService = scenarioTransactionService;
+        this.executor = executor;
+        this.concurrency = Math.max(1, concurrency);
+        this.orphanMinAge = Duration.ofSeconds(Math.max(1, orphanMinAgeSeconds));
+    }
+
+    // 빈 슬롯만큼 선점 후 실행기에 제출
+    @Scheduled(fixedDelayString = "${scenario.job.poll-millis:1000}", initialDelayString = "${scenario.job.poll-millis:1000}")
+    public void poll() {
+        int free = concurrency - running.size();
+        if (free <= 0) return;
+
+        List<Long> claimed;
+        try {
+            claimed = queue.claim(free);
+        } catch (Exception e) {
+            log.warn("Scenario job claim failed: {}", e.getMessage());
+            return;
+        }
+
+        for (Long scenarioId : claimed) {
+            running.add(scenarioId);
+            try {
+                executor.execute(() -> run(scenarioId));
+            } catch (RejectedExecutionException e) {
+                running.remove(scenarioId);
+                queue.unclaim(scenarioId);
+                log.warn("Scenario job {} rejected by executor, returned to queue", scenarioId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${scenario.job.heartbeat-millis:30000}")
+    public void heartbeat() {
+        if (running.isEmpty()) return;
+        try {
+            queue.heartbeat(Set.copyOf(running));
+        } catch (Exception e) {
+            log.warn("Scenario job heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    // 만료 lease 회수 + 고아 시나리오 적재 + 상태별 지표 갱신
+    @Scheduled(fixedDelayString = "${scenario.job.reap-millis:60000}", initialDelayString = "${scenario.job.reap-millis:60000}")
+    public void reap() {
+        try {
+            for (ScenarioJobQueue.Reaped r : queue.reapExpired()) {
+                if (r.dead()) {
+                    markStatus(r.scenarioId(), ScenarioStatus.FAILED, "시나리오 생성 실패: 처리 시간 초과(작업 lease 만료)");
+                } else {
+                    markStatus(r.scenarioId(), ScenarioStatus.PENDING, null);
+                }
+            }
+            List<Long> orphans = queue.enqueueOrphans(orphanMinAge);
+            if (!orphans.isEmpty()) log.info("Enqueued {} scenarios without a generation job: {}", orphans.size(), orphans);
+            queue.refreshStatusCounts();
+        } catch (Exception e) {
+            log.warn("Scenario job reaper failed: {}", e.getMessage());
+        }
+    }
+
+    private void run(Long scenarioId) {
+        long start = System.nanoTime();
+        try {
+            // PROCESSING은 생성 트랜잭션과 분리해 바로 커밋(구독자에게 즉시 전달)
+            scenarioTransactionService.updateScenarioStatus(scenarioId, ScenarioStatus.PROCESSING, null);
+            scenarioTransactionService.processScenarioGeneration(scenarioId);
+            queue.complete(scenarioId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("Scenario generation completed successfully for ID: {}", scenarioId);
+        } catch (Exception e) {
+            handleFailure(scenarioId, e);
+        } finally {
+            running.remove(scenarioId);
+        }
+    }
+
+    private void handleFailure(Long scenarioId, Exception e) {
+        String message = e.getMessage();
+
+        // 대상 시나리오가 삭제된 경우 재시도 의미 없음
+        if (e instanceof ApiException ae && ae.getErrorCode() == ErrorCode.SCENARIO_NOT_FOUND) {
+            queue.abandon(scenarioId, message);
+            log.warn("Scenario {} no longer exists, generation job abandoned", scenarioId);
+            return;
+        }
+
+        ScenarioJobQueue.Failure failure = queue.fail(scenarioId, message);
+        if (!failure.owned()) return;
+
+        if (failure.retry()) {
+            markStatus(scenarioId, ScenarioStatus.PENDING,
+                    "재시도 예정 (" + failure.attempts() + "/" + failure.maxAttempts() + "): " + message);
+            log.warn("Scenario generation failed for ID: {} (attempt {}/{}), will retry: {}",
+                    scenarioId, failure.attempts(), failure.maxAttempts(), message);
+        } else {
+            markStatus(scenarioId, ScenarioStatus.FAILED, "시나리오 생성 실패: " + message);
+            log.error("Scenario generation failed for ID: {}, error: {}", scenarioId, message, e);
+        }
+    }
+
+    private void markStatus(Long scenarioId, ScenarioStatus status, String errorMessage) {
+        try {
+            scenarioTransactionService.updateScenarioStatus(scenarioId, status, errorMessage);
+        } catch (Exception e) {
+            log.warn("Scenario {} status update to {} failed: {}", scenarioId, status, e.getMessage());
+        }
+    }
+}
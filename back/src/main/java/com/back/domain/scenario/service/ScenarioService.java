@@ -5,6 +5,7 @@ import com.back.domain.node.entity.*;
 import com.back.domain.node.repository.BaseLineRepository;
 import com.back.domain.node.repository.DecisionLineRepository;
 import com.back.domain.node.repository.DecisionNodeRepository;
+import com.back.domain.node.service.BaseLineTreeCache;
 import com.back.domain.node.service.DecisionFlowService;
 import com.back.domain.scenario.dto.*;
 import com.back.domain.scenario.entity.Scenario;
@@ -28,6 +29,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.Comparator;
@@ -57,15 +59,19 @@ public class ScenarioService {
     // Object Mapper 주입
     private final ObjectMapper objectMapper;
 
-    // Scenario Transaction Service 주입
-    private final ScenarioTransactionService scenarioTransactionService;
+    // 시나리오 생성 영속 작업 큐(워커가 선점해 처리)
+    private final ScenarioJobQueue scenarioJobQueue;
+
+    // 시나리오 상태 SSE 발행
+    private final ScenarioStatusBroadcaster scenarioStatusBroadcaster;
 
     // 노드 서비스 추가(시나리오 생성과 동시에 마지막 노드 처리용)
     private final DecisionFlowService decisionFlowService;
+    private final BaseLineTreeCache treeCache;
 
     /**
      * 시나리오 생성 요청 처리.
-     * 트랜잭션을 최소화하기 위해 검증 → 생성 → 비동기 트리거 순서로 분리.
+     * 트랜잭션을 최소화하기 위해 검증 → 생성 → 작업 큐 적재 순서로 분리.
      */
     public ScenarioStatusResponse createScenario(Long userId,
                                                  ScenarioCreateRequest request,
@@ -86,8 +92,8 @@ public class ScenarioService {
             validationResult.decisionLine
         );
 
-        // 3. 비동기 AI 처리 트리거 (트랜잭션 외부, 별도 Bean에서 호출)
-        scenarioTransactionService.processScenarioGenerationAsync(scenarioId);
+        // 3. AI 생성 작업 적재 (트랜잭션 외부, ScenarioJobWorker가 선점해 처리)
+        scenarioJobQueue.enqueue(scenarioId);
 
         return new ScenarioStatusResponse(
             scenarioId,
@@ -197,6 +203,7 @@ public class ScenarioService {
                         .build();
 
                 decisionNodeRepository.save(ending);
+                treeCache.bump(baseLine.getId());
             }
 
             // DecisionLine 완료 처리
@@ -299,14 +306,14 @@ public class ScenarioService {
 
     /**
      * FAILED 시나리오 재시도 로직.
-     * 트랜잭션과 비동기 처리를 분리하여 커넥션 풀 효율성 향상.
+     * 상태 복구 트랜잭션과 작업 큐 재적재를 분리하여 커넥션 풀 효율성 향상.
      */
     private ScenarioStatusResponse handleFailedScenarioRetry(Scenario failedScenario) {
         // 1. 상태 업데이트 (트랜잭션)
         Long scenarioId = retryScenarioInTransaction(failedScenario.getId());
 
-        // 2. 비동기 AI 처리 트리거 (트랜잭션 외부, 별도 Bean에서 호출)
-        scenarioTransactionService.processScenarioGenerationAsync(scenarioId);
+        // 2. AI 생성 작업 재적재 (트랜잭션 외부, ScenarioJobWorker가 선점해 처리)
+        scenarioJobQueue.enqueue(scenarioId);
 
         return new ScenarioStatusResponse(
                 scenarioId,
@@ -329,6 +336,9 @@ public class ScenarioService {
 
         scenarioRepository.save(scenario);
 
+        // 커밋 후 SSE 구독자에게 FAILED → PENDING 전이 발행(updateScenarioStatus와 같은 경로)
+        scenarioStatusBroadcaster.publishAfterCommit(scenario.getId(), ScenarioStatus.PENDING);
+
         return scenario.getId();
     }
 
@@ -340,21 +350,15 @@ public class ScenarioService {
                 .orElseThrow(() -> new ApiException(ErrorCode.SCENARIO_NOT_FOUND));
 
         // DTO 변환 및 반환
-        return new ScenarioStatusResponse(
-                scenario.getId(),
-                scenario.getStatus(),
-                getStatusMessage(scenario.getStatus())
-        );
+        return ScenarioStatusResponse.of(scenario.getId(), scenario.getStatus());
     }
 
-    // 시나리오 생성 상태 조회 Helper 메서드 (상태별 메세지)
-    private String getStatusMessage(ScenarioStatus status) {
-        return switch (status) {
-            case PENDING -> "시나리오 생성 대기 중입니다.";
-            case PROCESSING -> "시나리오를 생성 중입니다.";
-            case COMPLETED -> "시나리오 생성이 완료되었습니다.";
-            case FAILED -> "시나리오 생성에 실패했습니다. 다시 시도해주세요.";
-        };
+    /**
+     * 시나리오 상태 SSE 구독.
+     * 구독 시 권한 검증 겸 현재 상태를 1회 조회하고, 이후 전이는 ScenarioStatusBroadcaster가 밀어준다.
+     */
+    public SseEmitter streamScenarioStatus(Long scenarioId, Long userId) {
+        return scenarioStatusBroadcaster.subscribe(scenarioId, () -> getScenarioStatus(scenarioId, userId));
     }
 
     // 시나리오 상세 조회
@@ -0,0 +1,198 @@
+/**
+ * [SERVICE] ScenarioStatusBroadcaster
+ * - 시나리오 상태 전이(PENDING → PROCESSING → COMPLETED/FAILED)를 SSE로 밀어 주는 구독 레지스트리
+ * - 구독은 먼저 등록 후 현재 상태를 1회 조회해 보내므로 조회와 등록 사이의 전이를 놓치지 않음(중복 전송은 무해)
+ * - 발행은 상태 변경 트랜잭션 커밋 후: 로컬 구독자에게 직접 전달 + Redis pub/sub(scenario:status)로 다른 노드에 방송
+ * - 종료 상태(COMPLETED/FAILED)를 보내면 스트림을 닫고, 프록시 유휴 종료를 막기 위해 주기적으로 주석 하트비트 전송
+ * - 대기 중인 사용자는 상태 폴링 없이 구독 1회 조회만 발생
+ */
+package com.back.domain.scenario.service;
+
+import com.back.domain.scenario.dto.ScenarioStatusResponse;
+import com.back.domain.scenario.entity.ScenarioStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ScenarioStatusBroadcaster {
+
+    private static final String CHANNEL = "scenario:status";
+    private static final String EVENT = "status";
+
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer listener;
+
+    public ScenarioStatusBroadcaster(MeterRegistry meterRegistry,
+                                     ObjectProvider<StringRedisTemplate> redisProvider,
+                                     ObjectProvider<RedisConnectionFactory> connectionFactoryProvider,
+                                     @Value("${scenario.sse.timeout-ms:300000}") long timeoutMs,
+                                     @Value("${scenario.sse.redis.enabled:false}") boolean redisEnabled) {
+        this.timeoutMs = Math.max(1000L, timeoutMs);
+        Gauge.builder("scenario.status.sse.subscribers", emitters,
+                m -> m.values().stream().mapToInt(Set::size).sum()).register(meterRegistry);
+
+        this.redis = redisEnabled ? redisProvider.getIfAvailable() : null;
+        RedisConnectionFactory cf = redisEnabled ? connectionFactoryProvider.getIfAvailable() : null;
+        this.listener = (redis != null && cf != null) ? subscribe(cf) : null;
+    }
+
+    /**
+     * 상태 스트림 구독.
+     * current는 권한 검증을 포함한 현재 상태 조회이며, 예외를 던지면 등록을 되돌리고 그대로 전파합니다.
+     */
+    public SseEmitter subscribe(Long scenarioId, Supplier<ScenarioStatusResponse> current) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // 등록은 compute 안에서(빈 집합 제거와 경합해도 유실 없음)
+        emitters.compute(scenarioId, (k, set) -> {
+            Set<SseEmitter> target = (set != null) ? set : ConcurrentHashMap.newKeySet();
+            target.add(emitter);
+            return target;
+        });
+        emitter.onCompletion(() -> remove(scenarioId, emitter));
+        // 타임아웃 시 complete()로 응답을 닫아야 클라이언트가 재연결(EventSource 자동 재시도)
+        emitter.onTimeout(() -> {
+            remove(scenarioId, emitter);
+            emitter.complete();
+        });
+        emitter.onError(e -> remove(scenarioId, emitter));
+
+        ScenarioStatusResponse initial;
+        try {
+            initial = current.get();
+        } catch (RuntimeException e) {
+            remove(scenarioId, emitter);
+            throw e;
+        }
+        send(scenarioId, emitter, initial.status());
+        return emitter;
+    }
+
+    // 상태 변경 트랜잭션 커밋 후 발행(트랜잭션 밖이면 즉시)
+    public void publishAfterCommit(Long scenarioId, ScenarioStatus status) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(scenarioId, status);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(scenarioId, status);
+            }
+        });
+    }
+
+    // 주석 하트비트(끊긴 연결 정리 겸)
+    @Scheduled(fixedDelayString = "${scenario.sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        emitters.forEach((scenarioId, set) -> {
+            for (SseEmitter emitter : set) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(scenarioId, emitter);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        if (listener != null) {
+            try {
+                listener.destroy();
+            } catch (Exception ignored) {
+                // 종료 중 오류 무시
+            }
+        }
+        emitters.values().forEach(set -> set.forEach(SseEmitter::complete));
+        emitters.clear();
+    }
+
+    private void publish(Long scenarioId, ScenarioStatus status) {
+        deliver(scenarioId, status);
+        if (redis == null) return;
+        try {
+            redis.convertAndSend(CHANNEL, instanceId + "|" + scenarioId + "|" + status.name());
+        } catch (Exception e) {
+            log.warn("[SCENARIO-SSE] status publish failed: {}", e.getMessage());
+        }
+    }
+
+    // 이 노드의 구독자에게 전달
+    void deliver(Long scenarioId, ScenarioStatus status) {
+        Set<SseEmitter> set = emitters.get(scenarioId);
+        if (set == null) return;
+        for (SseEmitter emitter : set) send(scenarioId, emitter, status);
+    }
+
+    int subscriberCount(Long scenarioId) {
+        Set<SseEmitter> set = emitters.get(scenarioId);
+        return set == null ? 0 : set.size();
+    }
+
+    private void send(Long scenarioId, SseEmitter emitter, ScenarioStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT).data(ScenarioStatusResponse.of(scenarioId, status)));
+            if (status == ScenarioStatus.COMPLETED || status == ScenarioStatus.FAILED) {
+                remove(scenarioId, emitter);
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(scenarioId, emitter);
+        }
+    }
+
+    private void remove(Long scenarioId, SseEmitter emitter) {
+        emitters.computeIfPresent(scenarioId, (k, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private RedisMessageListenerContainer subscribe(RedisConnectionFactory cf) {
+        RedisMessageListenerContainer c = new RedisMessageListenerContainer();
+        c.setConnectionFactory(cf);
+        c.addMessageListener((message, pattern) ->
+                onMessage(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(CHANNEL));
+        c.afterPropertiesSet();
+        c.start();
+        return c;
+    }
+
+    // 원격 노드 발행 수신("인스턴스|시나리오id|상태", 자기 메시지/형식 오류는 무시)
+    void onMessage(String body) {
+        String[] parts = body.split("\\|", 3);
+        if (parts.length != 3 || parts[0].equals(instanceId)) return;
+        try {
+            deliver(Long.parseLong(parts[1]), ScenarioStatus.valueOf(parts[2]));
+        } catch (IllegalArgumentException ignored) {
+            // 형식 오류 메시지 무시
+        }
+    }
+}
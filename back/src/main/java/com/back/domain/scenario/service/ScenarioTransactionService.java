@@ -17,7 +17,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -49,6 +49,9 @@ public class ScenarioTransactionService {
     private final com.back.global.ai.config.ImageAiConfig imageAiConfig;
     private final com.back.global.ai.config.DecisionScenarioAiProperties decisionScenarioAiProperties;
     private final com.back.global.ai.config.BaseScenarioAiProperties baseScenarioAiProperties;
+    private final BaseScenarioSingleFlight baseScenarioSingleFlight;
+    private final ScenarioStatusBroadcaster scenarioStatusBroadcaster;
+    private final ObjectProvider<ScenarioTransactionService> self;
 
     // 상태 업데이트 전용 트랜잭션 메서드
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -61,9 +64,15 @@ public class ScenarioTransactionService {
 
         if (errorMessage != null) {
             scenario.setErrorMessage(errorMessage);
+        } else if (status == ScenarioStatus.COMPLETED) {
+            // 재시도 끝에 완료되면 이전 실패 사유 제거
+            scenario.setErrorMessage(null);
         }
 
         scenarioRepository.save(scenario);
+
+        // 커밋 후 SSE 구독자(다른 노드 포함)에게 전이 발행
+        scenarioStatusBroadcaster.publishAfterCommit(scenarioId, status);
     }
 
     // AI 결과 저장 전용 트랜잭션 메서드
@@ -269,38 +278,34 @@ public class ScenarioTransactionService {
         // 3. User 엔티티 초기화 (새로운 오류 방지)
         scenario.getUser().getMbti(); // User 프록시 초기화
 
+        // 4. AI 프롬프트가 DecisionLine 경로로 읽는 연관 초기화(트랜잭션 밖에서 사용)
+        scenario.getDecisionLine().getBaseLine().getBaseNodes().size();
+        scenario.getDecisionLine().getUser().getMbti();
+
         return scenario;
     }
 
     /**
-     * 비동기 방식으로 AI 시나리오 생성.
-     * ScenarioService의 self-invocation 문제를 해결하기 위해 별도 Bean으로 분리.
+     * AI 시나리오 생성 (ScenarioJobWorker가 작업 큐에서 선점한 시나리오를 실행).
+     * 이 메서드 자체는 트랜잭션 없이 실행하고(AI 호출/베이스 시나리오 대기 동안 커넥션을 잡지 않도록),
+     * 데이터 로드/결과 저장/상태 변경만 프록시를 거쳐 각자의 짧은 트랜잭션으로 커밋한다.
+     * PROCESSING 전이는 워커가 먼저 별도 트랜잭션으로 커밋해 두고(SSE 구독자에게 즉시 보이도록),
+     * 실패는 예외로 던져 재시도/FAILED 전이를 워커가 작업 시도 횟수에 따라 결정한다.
      */
-    @org.springframework.scheduling.annotation.Async("aiTaskExecutor")
-    public void processScenarioGenerationAsync(Long scenarioId) {
-        try {
-            // 1. 상태를 PROCESSING으로 업데이트 (별도 트랜잭션)
-            updateScenarioStatus(scenarioId, ScenarioStatus.PROCESSING, null);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void processScenarioGeneration(Long scenarioId) {
+        // 자기 호출은 프록시를 거치지 않아 트랜잭션이 적용되지 않으므로 프록시로 호출
+        ScenarioTransactionService tx = self.getObject();
 
-            // 2. AI 생성에 필요한 모든 데이터를 트랜잭션 내에서 미리 로드
-            Scenario scenarioWithData = prepareScenarioData(scenarioId);
+        // 1. AI 생성에 필요한 모든 데이터를 읽기 전용 트랜잭션에서 미리 로드
+        Scenario scenarioWithData = tx.prepareScenarioData(scenarioId);
 
-            // 3. AI 시나리오 생성 (트랜잭션 외부에서 실행)
-            AiScenarioGenerationResult result = executeAiGeneration(scenarioWithData);
+        // 2. AI 시나리오 생성 (트랜잭션 외부에서 실행)
+        AiScenarioGenerationResult result = executeAiGeneration(scenarioWithData);
 
-            // 4. 결과 저장 및 완료 상태 업데이트 (별도 트랜잭션)
-            saveAiResult(scenarioId, result);
-            updateScenarioStatus(scenarioId, ScenarioStatus.COMPLETED, null);
-
-            log.info("Scenario generation completed successfully for ID: {}", scenarioId);
-
-        } catch (Exception e) {
-            // 5. 실패 상태 업데이트 (별도 트랜잭션)
-            updateScenarioStatus(scenarioId, ScenarioStatus.FAILED,
-                    "시나리오 생성 실패: " + e.getMessage());
-            log.error("Scenario generation failed for ID: {}, error: {}",
-                    scenarioId, e.getMessage(), e);
-        }
+        // 3. 결과 저장 및 완료 상태 업데이트 (각각 새 트랜잭션)
+        tx.saveAiResult(scenarioId, result);
+        tx.updateScenarioStatus(scenarioId, ScenarioStatus.COMPLETED, null);
     }
 
     /**
@@ -331,20 +336,26 @@ public class ScenarioTransactionService {
 
     /**
      * 베이스 시나리오 확보 (없으면 생성).
+     * 같은 베이스라인의 동시 요청은 BaseScenarioSingleFlight로 합쳐 AI 생성은 클러스터 전체에서 1회만 수행한다.
      */
     private Scenario ensureBaseScenarioExists(BaseLine baseLine) {
-        return scenarioRepository.findByBaseLineIdAndDecisionLineIsNull(baseLine.getId())
-                .orElseGet(() -> createBaseScenario(baseLine));
+        Long baseLineId = baseLine.getId();
+        Long baseScenarioId = baseScenarioSingleFlight.ensure(
+                baseLineId,
+                () -> generateBaseScenario(baseLine),
+                aiResult -> createBaseScenario(baseLineId, aiResult)
+        );
+        return scenarioRepository.findById(baseScenarioId)
+                .orElseThrow(() -> new ApiException(ErrorCode.BASE_SCENARIO_NOT_FOUND));
     }
 
     /**
-     * 베이스 시나리오 생성.
+     * 베이스 시나리오 AI 생성 (트랜잭션 없음).
      */
-    private Scenario createBaseScenario(BaseLine baseLine) {
+    private BaseScenarioResult generateBaseScenario(BaseLine baseLine) {
         log.info("Creating base scenario for BaseLine ID: {}", baseLine.getId());
 
-        // 1. AI 호출 with 타임아웃
-        BaseScenarioResult aiResult = aiService.generateBaseScenario(baseLine)
+        return aiService.generateBaseScenario(baseLine)
                 .orTimeout(baseScenarioAiProperties.getTimeoutSeconds(), java.util.concurrent.TimeUnit.SECONDS)
                 .exceptionally(ex -> {
                     log.error("Base scenario generation timeout or error for BaseLine ID: {}", baseLine.getId(), ex);
@@ -352,8 +363,16 @@ public class ScenarioTransactionService {
                             "베이스 시나리오 생성 시간 초과 (" + baseScenarioAiProperties.getTimeoutSeconds() + "초)");
                 })
                 .join();
+    }
+
+    /**
+     * 베이스 시나리오 저장 (BaseScenarioSingleFlight가 연 새 트랜잭션에서 실행, 베이스라인은 그 안에서 다시 조회).
+     */
+    private Long createBaseScenario(Long baseLineId, BaseScenarioResult aiResult) {
+        BaseLine baseLine = baseLineRepository.findById(baseLineId)
+                .orElseThrow(() -> new ApiException(ErrorCode.BASE_LINE_NOT_FOUND));
 
-        // 2. 베이스 시나리오 엔티티 생성
+        // 1. 베이스 시나리오 엔티티 생성
         Scenario baseScenario = Scenario.builder()
                 .user(baseLine.getUser())
                 .decisionLine(null) // 베이스 시나리오는 DecisionLine 없음
@@ -363,9 +382,9 @@ public class ScenarioTransactionService {
 
         Scenario savedScenario = scenarioRepository.save(baseScenario);
 
-        // 3. AI 결과 적용
+        // 2. AI 결과 적용
         applyBaseScenarioResult(savedScenario, aiResult);
 
-        return savedScenario;
+        return savedScenario.getId();
     }
 }
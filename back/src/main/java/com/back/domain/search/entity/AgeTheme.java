@@ -18,7 +18,7 @@ import org.hibernate.type.SqlTypes;
 public class AgeTheme {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     @Column(name = "id")
     private Long id;
 
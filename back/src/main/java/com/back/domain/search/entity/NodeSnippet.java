@@ -1,6 +1,7 @@
 /*
  * 이 파일은 RAG 검색용 스니펫 엔티티를 정의한다.
  * 라인/나이/카테고리/텍스트/임베딩을 저장하며 pgvector 컬럼을 float[]로 매핑한다.
+ * node_id는 원본 결정 노드(노드당 1행)로, NodeSnippetIndexer가 증분 upsert/삭제 키로 사용한다.
  */
 package com.back.domain.search.entity;
 
@@ -16,9 +17,12 @@ import org.hibernate.type.SqlTypes;
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class NodeSnippet {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
+    @Column(name = "node_id", unique = true)
+    private Long nodeId;
+
     @Column(name = "line_id", nullable = false)
     private Long lineId;
 
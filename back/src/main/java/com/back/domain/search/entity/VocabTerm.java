@@ -18,7 +18,7 @@ import org.hibernate.type.SqlTypes;
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class VocabTerm {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(name = "term", nullable = false, unique = true, length = 128)
@@ -2,11 +2,13 @@
  * [코드 흐름 요약]
  * - age 범위 + (선택) category로 필터하고 pgvector 유사도로 상위 K 테마를 가져온다.
  * - 시더 중복 방지용으로 기존 테마 문자열을 조회하는 메서드를 제공한다.
+ * - 로컬 인덱스 스냅샷 적재용 id 순 페이지 조회를 제공한다.
  */
 package com.back.domain.search.repository;
 
 import com.back.domain.node.entity.NodeCategory;
 import com.back.domain.search.entity.AgeTheme;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -38,4 +40,7 @@ public interface AgeThemeRepository extends JpaRepository<AgeTheme, Long> {
     @Query("select a.theme from AgeTheme a where a.minAge = :minAge and a.category = :category")
     List<String> findThemesByMinAgeAndCategory(@Param("minAge") int minAge,
                                                @Param("category") NodeCategory category);
+
+    // 로컬 인덱스 적재용(id 커서 페이지)
+    List<AgeTheme> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -1,5 +1,7 @@
 /*
  * 이 파일은 라인/나이 윈도우로 후보를 좁힌 뒤 pgvector 유사도로 정렬해 topK를 반환하는 네이티브 쿼리를 제공한다.
+ * 증분 인덱싱(NodeSnippetIndexer)용 노드/라인 단위 일괄 삭제도 제공한다.
+ * 힌트 생성용으로 스니펫/나이 테마/어휘를 한 문장(CTE + UNION ALL)으로 함께 조회한다.
  */
 package com.back.domain.search.repository;
 
@@ -7,6 +9,7 @@ import com.back.domain.search.entity.NodeSnippet;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface NodeSnippetRepository extends JpaRepository<NodeSnippet, Long> {
@@ -42,4 +45,58 @@ public interface NodeSnippetRepository extends JpaRepository<NodeSnippet, Long>
             @Param("q") String vectorLiteral,
             @Param("k") int k
     );
+
+    // 힌트 결합 조회 행(kind: S=스니펫, T=나이 테마, V=어휘)
+    interface HintContextRow {
+        String getKind();
+        String getText();
+    }
+
+    // 질의 벡터 1회 전송 → 스니펫/테마/어휘 상위 K를 한 번의 왕복으로 조회
+    // (SELECT qv FROM q)는 InitPlan 파라미터로 평가돼 각 분기에서 KNN 인덱스 정렬을 그대로 사용
+    @Query(value = """
+        WITH q AS (SELECT CAST(:q AS vector) AS qv)
+        SELECT r.kind AS kind, r.text AS text FROM (
+            (SELECT 'S' AS kind, s.text AS text, s.embedding <=> (SELECT qv FROM q) AS dist
+               FROM node_snippet s
+              WHERE s.line_id = :lineId
+                AND s.age_year BETWEEN :minAge AND :maxAge
+              ORDER BY s.embedding <=> (SELECT qv FROM q)
+              LIMIT :snippetK)
+            UNION ALL
+            (SELECT 'T', t.theme, t.embedding <=> (SELECT qv FROM q)
+               FROM age_theme t
+              WHERE :age BETWEEN t.min_age AND t.max_age
+                AND (:cat IS NULL OR t.category = :cat)
+              ORDER BY t.embedding <=> (SELECT qv FROM q)
+              LIMIT :themeK)
+            UNION ALL
+            (SELECT 'V', w.term, w.embedding <=> (SELECT qv FROM q)
+               FROM vocab_term w
+              ORDER BY w.embedding <=> (SELECT qv FROM q)
+              LIMIT :termK)
+        ) r
+        ORDER BY r.kind, r.dist
+        """, nativeQuery = true)
+    List<HintContextRow> searchHintContext(
+            @Param("lineId") Long lineId,
+            @Param("minAge") Integer minAge,
+            @Param("maxAge") Integer maxAge,
+            @Param("age") int age,
+            @Param("cat") String categoryOrNull,
+            @Param("q") String vectorLiteral,
+            @Param("snippetK") int snippetK,
+            @Param("themeK") int themeK,
+            @Param("termK") int termK
+    );
+
+    // 노드 단위 일괄 삭제(upsert 전처리 또는 삭제/취소된 노드 정리)
+    @Modifying
+    @Query("delete from NodeSnippet s where s.nodeId in :nodeIds")
+    int deleteByNodeIds(@Param("nodeIds") Collection<Long> nodeIds);
+
+    // 라인 단위 일괄 삭제(취소/삭제된 라인 정리)
+    @Modifying
+    @Query("delete from NodeSnippet s where s.lineId in :lineIds")
+    int deleteByLineIds(@Param("lineIds") Collection<Long> lineIds);
 }
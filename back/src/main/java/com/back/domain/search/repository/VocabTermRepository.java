@@ -2,10 +2,12 @@
  * [코드 흐름 요약]
  * - 쿼리 임베딩과 가까운 용어를 유사도(<=>) 순으로 상위 K개 조회한다.
  * - 임베딩은 문자열 리터럴(CAST(:q AS vector))로 전달한다.
+ * - 프로세스 내 HNSW 인덱스 적재용 id 순 페이지 조회와 변경 감지용 내용 지문을 제공한다.
  */
 package com.back.domain.search.repository;
 
 import com.back.domain.search.entity.VocabTerm;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
@@ -32,4 +34,15 @@ public interface VocabTermRepository extends JpaRepository<VocabTerm, Long> {
             @Param("q") String vectorLiteral,
             @Param("k") int k
     );
+
+    // HNSW 인덱스 적재/증분용(id 커서 페이지)
+    List<VocabTerm> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // HNSW 인덱스 변경 감지용 내용 지문(id <= maxId 구간의 id/용어/임베딩, 삭제·재임베딩 시 바뀜)
+    @Query(value = """
+        SELECT COALESCE(md5(string_agg(id::text || ':' || term || ':' || md5(embedding::text), ',' ORDER BY id)), '')
+          FROM vocab_term
+         WHERE id <= :maxId
+        """, nativeQuery = true)
+    String contentFingerprint(@Param("maxId") long maxId);
 }
@@ -3,12 +3,14 @@
  * - ensureSeedForAgeAsync: 쓰로틀/중복 작업 가드 후 비동기 제출(기존 유지).
  * - doSeed: 필요량 산출 → 대량 후보 생성(템플릿 조합) → 임베딩 배치 → DB 청크 저장.
  * - 10만건 목표를 위해 배치 임베딩(256), 저장 청크(500), 텍스트 중복 방지(Set) 적용.
+ * - 저장한 청크는 로컬 age_theme 인덱스(옵션)에 바로 append해 증분 반영.
  */
 package com.back.global.ai.bootstrap;
 
 import com.back.domain.node.entity.NodeCategory;
 import com.back.domain.search.entity.AgeTheme;
 import com.back.domain.search.repository.AgeThemeRepository;
+import com.back.global.ai.vector.AgeThemeLocalIndex;
 import com.back.global.ai.vector.EmbeddingClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +30,7 @@ public class AgeThemeSeeder {
 
     private final AgeThemeRepository repo;
     private final EmbeddingClient embedding;
+    private final AgeThemeLocalIndex localIndex;
 
     private final Set<Integer> inProgress = ConcurrentHashMap.newKeySet();
     private final ExecutorService exec = Executors.newFixedThreadPool(2); // next 노드 생성
@@ -123,7 +126,7 @@ public class AgeThemeSeeder {
                         .theme(uniques.get(i)).embedding(vectors.get(i))
                         .build());
                 if (buffer.size() == SAVE_BATCH || i == uniques.size() - 1) {
-                    repo.saveAll(buffer); // next 노드 생성
+                    localIndex.append(repo.saveAll(buffer)); // next 노드 생성
                     insertedTotal += buffer.size();
                     buffer.clear();
                 }
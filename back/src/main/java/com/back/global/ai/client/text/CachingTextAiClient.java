@@ -0,0 +1,330 @@
+package com.back.global.ai.client.text;
+
+import com.back.global.ai.dto.AiRequest;
+import com.back.global.cache.WeightedLruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * TextAiClient 응답 캐시 데코레이터.
+ * - 키: SHA-256(클라이언트/모델 태그, 호출 종류, maxTokens, 키 정렬된 parameters JSON, 프롬프트) 앞 128bit
+ * - 동일 키의 동시 호출은 진행 중 future 하나로 합치고(single-flight), 성공 결과만 TTL + 가중치 상한 LRU에 적재
+ * - 2차(옵션): Redis 공유 티어(ai:text:cache:{hex}), 장애 시 경고 로그 후 위임체 호출로 진행
+ * - 호출자별로 파생 future를 돌려주므로 한 호출자의 cancel이 합류한 다른 호출자에 번지지 않음
+ *   (합류한 호출자가 모두 취소하면 위임체 future를 취소해 원 요청까지 중단)
+ * - 지표: ai.text.cache.requests{client,result=hit|redis_hit|coalesced|miss}, 히트로 아낀 원 호출 지연 ai.text.cache.saved{client}
+ */
+@Slf4j
+public class CachingTextAiClient implements TextAiClient {
+
+    private static final String REDIS_KEY_PREFIX = "ai:text:cache:";
+
+    // 요청 내용 해시
+    record Key(long hi, long lo) {
+        String hex() {
+            return HexFormat.of().toHexDigits(hi) + HexFormat.of().toHexDigits(lo);
+        }
+    }
+
+    // 캐시 값(후보 목록, 만료 시각, 원 호출 지연)
+    record Entry(List<String> values, long expiresAtMillis, long loadMillis) {
+        long weight() {
+            long w = 64;
+            for (String v : values) w += 40 + 2L * v.length();
+            return w;
+        }
+    }
+
+    // Redis 직렬화 형태
+    record Stored(List<String> values, long loadMillis) {}
+
+    // 진행 중 호출(합류한 호출자 수, 전부 취소되면 위임체 future도 취소)
+    private static final class Flight {
+        final CompletableFuture<Entry> result = new CompletableFuture<>();
+        final AtomicInteger waiters = new AtomicInteger(1);
+        volatile CompletableFuture<List<String>> source;
+
+        // 이미 모든 호출자가 떠난 호출에는 합류하지 않음
+        boolean join() {
+            while (true) {
+                int n = waiters.get();
+                if (n == 0) return false;
+                if (waiters.compareAndSet(n, n + 1)) return true;
+            }
+        }
+    }
+
+    private final String name;
+    private final String modelTag;
+    private final TextAiClient delegate;
+    private final ObjectMapper keyMapper;
+    private final ObjectMapper om;
+    private final StringRedisTemplate redis;
+    private final Duration ttl;
+    private final WeightedLruCache<Key, Entry> cache;
+    private final ConcurrentHashMap<Key, Flight> inflight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter redisHits;
+    private final Counter coalesced;
+    private final Counter misses;
+    private final Timer saved;
+
+    public CachingTextAiClient(String name,
+                               String modelTag,
+                               TextAiClient delegate,
+                               ObjectMapper objectMapper,
+                               StringRedisTemplate redis,
+                               MeterRegistry meterRegistry,
+                               long maxWeight,
+                               Duration ttl) {
+        this.name = name;
+        this.modelTag = modelTag;
+        this.delegate = delegate;
+        this.om = objectMapper;
+        this.keyMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.redis = redis;
+        this.ttl = ttl;
+        this.cache = new WeightedLruCache<>(maxWeight, Entry::weight);
+
+        this.hits = counter(meterRegistry, "hit");
+        this.redisHits = counter(meterRegistry, "redis_hit");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.misses = counter(meterRegistry, "miss");
+        this.saved = Timer.builder("ai.text.cache.saved").tag("client", name).register(meterRegistry);
+        Gauge.builder("ai.text.cache.weight", cache, WeightedLruCache::weight)
+                .tag("client", name).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("ai.text.cache.size", cache, WeightedLruCache::size)
+                .tag("client", name).register(meterRegistry);
+        Gauge.builder("ai.text.cache.inflight", inflight, Map::size)
+                .tag("client", name).register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<String> generateText(String prompt) {
+        Key key = keyOf("prompt", prompt, null, 0);
+        if (key == null) return delegate.generateText(prompt);
+        return cached(key, () -> mapCancellable(delegate.generateText(prompt), List::of), values -> values.get(0));
+    }
+
+    @Override
+    public CompletableFuture<String> generateText(AiRequest aiRequest) {
+        Key key = keyOf("text", aiRequest.prompt(), aiRequest.parameters(), aiRequest.maxTokens());
+        if (key == null) return delegate.generateText(aiRequest);
+        return cached(key, () -> mapCancellable(delegate.generateText(aiRequest), List::of), values -> values.get(0));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> generateCandidates(AiRequest aiRequest) {
+        Key key = keyOf("candidates", aiRequest.prompt(), aiRequest.parameters(), aiRequest.maxTokens());
+        if (key == null) return delegate.generateCandidates(aiRequest);
+        return cached(key, () -> delegate.generateCandidates(aiRequest), values -> values);
+    }
+
+    // 1차 → 진행 중 합류 → 2차 → 위임체 순으로 해석
+    private <R> CompletableFuture<R> cached(Key key,
+                                            Supplier<CompletableFuture<List<String>>> call,
+                                            Function<List<String>, R> view) {
+        Entry hit = local(key);
+        if (hit != null) {
+            hits.increment();
+            saved.record(hit.loadMillis(), TimeUnit.MILLISECONDS);
+            return CompletableFuture.completedFuture(view.apply(hit.values()));
+        }
+
+        while (true) {
+            Flight created = new Flight();
+            Flight shared = inflight.putIfAbsent(key, created);
+            if (shared != null) {
+                // 모든 호출자가 취소해 정리 중인 호출이면 새로 선점
+                if (!shared.join()) {
+                    inflight.remove(key, shared);
+                    continue;
+                }
+                coalesced.increment();
+                return attach(key, shared, view);
+            }
+
+            // 조회와 선점 사이에 앞선 호출이 끝났을 수 있으므로 재확인
+            hit = local(key);
+            if (hit != null) {
+                hits.increment();
+                saved.record(hit.loadMillis(), TimeUnit.MILLISECONDS);
+                inflight.remove(key, created);
+                created.result.complete(hit);
+                return CompletableFuture.completedFuture(view.apply(hit.values()));
+            }
+
+            load(key, call, created);
+            return attach(key, created, view);
+        }
+    }
+
+    private void load(Key key, Supplier<CompletableFuture<List<String>>> call, Flight flight) {
+        CompletableFuture<Entry> created = flight.result;
+        Entry remote = readRedis(key);
+        if (remote != null) {
+            redisHits.increment();
+            saved.record(remote.loadMillis(), TimeUnit.MILLISECONDS);
+            cache.put(key, remote);
+            inflight.remove(key, flight);
+            created.complete(remote);
+            return;
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        CompletableFuture<List<String>> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            inflight.remove(key, flight);
+            created.completeExceptionally(e);
+            return;
+        }
+        flight.source = future;
+
+        future.whenComplete((values, ex) -> {
+            if (ex != null) {
+                inflight.remove(key, flight);
+                created.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                return;
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Entry entry = admissible(values)
+                    ? new Entry(List.copyOf(values), System.currentTimeMillis() + ttl.toMillis(), elapsed)
+                    : null;
+            // 적재 후 진행 중 표시를 내려야 그 사이 도착한 호출이 위임체를 다시 부르지 않음
+            if (entry != null) {
+                cache.put(key, entry);
+                writeRedis(key, entry);
+            }
+            inflight.remove(key, flight);
+            created.complete(entry != null ? entry : new Entry(values, 0L, elapsed));
+        });
+    }
+
+    // 호출자별 파생 future: 취소되면 합류 수를 내리고, 마지막 호출자였으면 위임체 호출까지 취소
+    private <R> CompletableFuture<R> attach(Key key, Flight flight, Function<List<String>, R> view) {
+        CompletableFuture<R> out = flight.result.thenApply(e -> view.apply(e.values()));
+        out.whenComplete((v, ex) -> {
+            if (out.isCancelled()) release(key, flight);
+        });
+        return out;
+    }
+
+    private void release(Key key, Flight flight) {
+        if (flight.waiters.decrementAndGet() > 0 || flight.result.isDone()) return;
+        inflight.remove(key, flight);
+        CompletableFuture<List<String>> source = flight.source;
+        if (source != null) source.cancel(true);
+    }
+
+    // 변환 future의 취소를 원 future로 전달(thenApply만으로는 전달되지 않음)
+    private static <T, R> CompletableFuture<R> mapCancellable(CompletableFuture<T> source, Function<T, R> fn) {
+        CompletableFuture<R> mapped = source.thenApply(fn);
+        mapped.whenComplete((v, ex) -> {
+            if (mapped.isCancelled()) source.cancel(true);
+        });
+        return mapped;
+    }
+
+    // 만료 항목은 지우고 미스로 처리
+    private Entry local(Key key) {
+        Entry e = cache.get(key);
+        if (e == null) return null;
+        if (e.expiresAtMillis() <= System.currentTimeMillis()) {
+            cache.remove(key);
+            return null;
+        }
+        return e;
+    }
+
+    // 빈 결과/빈 후보는 적재하지 않음(일시 장애 응답 고정 방지)
+    private static boolean admissible(List<String> values) {
+        if (values == null || values.isEmpty()) return false;
+        for (String v : values) {
+            if (v == null || v.isBlank()) return false;
+        }
+        return true;
+    }
+
+    private Entry readRedis(Key key) {
+        if (redis == null) return null;
+        try {
+            String raw = redis.opsForValue().get(REDIS_KEY_PREFIX + key.hex());
+            if (raw == null) return null;
+            Stored s = om.readValue(raw, Stored.class);
+            if (!admissible(s.values())) return null;
+            return new Entry(List.copyOf(s.values()), System.currentTimeMillis() + ttl.toMillis(), s.loadMillis());
+        } catch (Exception e) {
+            log.warn("[CachingTextAiClient] redis read failed ({}): {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(Key key, Entry entry) {
+        if (redis == null) return;
+        try {
+            redis.opsForValue().set(REDIS_KEY_PREFIX + key.hex(),
+                    om.writeValueAsString(new Stored(entry.values(), entry.loadMillis())), ttl);
+        } catch (Exception e) {
+            log.warn("[CachingTextAiClient] redis write failed ({}): {}", name, e.getMessage());
+        }
+    }
+
+    // 직렬화할 수 없는 파라미터면 null(캐시 우회)
+    private Key keyOf(String kind, String prompt, Map<String, Object> parameters, int maxTokens) {
+        if (prompt == null) return null;
+        String params;
+        try {
+            params = (parameters == null) ? "" : keyMapper.writeValueAsString(new TreeMap<>(parameters));
+        } catch (JsonProcessingException | RuntimeException e) {
+            return null;
+        }
+
+        MessageDigest md = sha256();
+        for (String part : new String[]{name, modelTag, kind, Integer.toString(maxTokens), params, prompt}) {
+            md.update(part.getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+        }
+        ByteBuffer bb = ByteBuffer.wrap(md.digest());
+        return new Key(bb.getLong(), bb.getLong());
+    }
+
+    private Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("ai.text.cache.requests").tag("client", name).tag("result", result).register(registry);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * 2.0 전용 JSON 강제 & 안전화(최소 변경) + VectorResponse 매핑
+ * 2.0 전용 JSON 강제 & 안전화(최소 변경) + VectorResponse 매핑 + 헤지 요청(꼬리 지연 절감)
  */
 package com.back.global.ai.client.text;
 
@@ -13,6 +13,9 @@ import com.back.global.ai.exception.AiTimeoutException;
 import com.back.global.exception.ErrorCode;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Primary;
@@ -27,11 +30,13 @@ import reactor.util.retry.Retry;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
 
 @Component("gemini20JsonClient")
 @Primary
@@ -41,13 +46,24 @@ public class GeminiJsonTextClient implements TextAiClient {
     private final WebClient webClient;
     private final TextAiConfig textAiConfig;
     private final ObjectMapper objectMapper; // ← 추가
+    private final HedgePolicy hedgePolicy;
+    private final Counter hedgeFired;
+    private final Counter hedgeWon;
+    private final Counter hedgeCapped;
 
     public GeminiJsonTextClient(@Qualifier("geminiWebClient") WebClient webClient,
                                 TextAiConfig textAiConfig,
-                                ObjectMapper objectMapper) { // ← 추가
+                                ObjectMapper objectMapper, // ← 추가
+                                MeterRegistry meterRegistry) {
         this.webClient = webClient;
         this.textAiConfig = textAiConfig;
         this.objectMapper = objectMapper;   // ← 추가
+        this.hedgePolicy = new HedgePolicy(textAiConfig.getHedge());
+        this.hedgeFired = Counter.builder("ai.text.hedge").tag("event", "fired").register(meterRegistry);
+        this.hedgeWon = Counter.builder("ai.text.hedge").tag("event", "won").register(meterRegistry);
+        this.hedgeCapped = Counter.builder("ai.text.hedge").tag("event", "capped").register(meterRegistry);
+        Gauge.builder("ai.text.hedge.delay", hedgePolicy, h -> h.delay().toMillis())
+                .baseUnit("milliseconds").register(meterRegistry);
     }
 
     @Override
@@ -57,6 +73,17 @@ public class GeminiJsonTextClient implements TextAiClient {
 
     @Override
     public CompletableFuture<String> generateText(AiRequest aiRequest) {
+        return execute(aiRequest, this::tryExtract);
+    }
+
+    /** candidateCount > 1 요청의 후보 본문 전체(파싱 불가 후보는 제외, 전부 불가면 첫 후보 기준 예외) */
+    @Override
+    public CompletableFuture<List<String>> generateCandidates(AiRequest aiRequest) {
+        return execute(aiRequest, this::tryExtractAll);
+    }
+
+    // 공통 호출 파이프라인(컨텍스트 맞춤 → 호출 → 추출, MAX_TOKENS 축약 재시도/타임아웃/일시 오류 재시도)
+    private <T> CompletableFuture<T> execute(AiRequest aiRequest, BiFunction<GeminiResponse, Boolean, T> extractor) {
         log.info("[CLIENT] GeminiJsonTextClient (2.0) is being used.");
         if (aiRequest == null || aiRequest.prompt() == null) {
             return CompletableFuture.failedFuture(new AiParsingException("Prompt is null"));
@@ -73,13 +100,13 @@ public class GeminiJsonTextClient implements TextAiClient {
         String fittedPrompt = fitPromptToContext(aiRequest.prompt(), ctxLimit, allowedOut, safety);
 
         Map<String, Object> body = createGeminiRequest(aiRequest.parameters(), fittedPrompt, allowedOut);
-        Mono<GeminiResponse> call = invoke(body);
+        Mono<GeminiResponse> call = invokeHedged(body);
 
         log.debug("[Gemini-2.0] ctxLimit={}, in≈{}, allowedOut={}, promptChars={}",
                 ctxLimit, inTokens, allowedOut, aiRequest.prompt().length());
 
         return call
-                .map(resp -> tryExtract(resp, false))
+                .map(resp -> extractor.apply(resp, false))
                 .onErrorResume(e -> {
                     if (e instanceof AiParsingException apx &&
                             apx.getMessage() != null &&
@@ -97,7 +124,7 @@ public class GeminiJsonTextClient implements TextAiClient {
                                 """ + safeHead(fittedPrompt, 800);
 
                         Map<String, Object> fallbackBody = createGeminiRequest(aiRequest.parameters(), shortPrompt, fallbackOut);
-                        return invoke(fallbackBody).map(resp -> tryExtract(resp, true));
+                        return invokeHedged(fallbackBody).map(resp -> extractor.apply(resp, true));
                     }
                     return Mono.error(e);
                 })
@@ -127,6 +154,47 @@ public class GeminiJsonTextClient implements TextAiClient {
         return false;
     }
 
+    // 헤지 호출: 관측 지연 백분위가 지나도 응답이 없으면 같은 요청을 한 번 더 보내 먼저 끝난 쪽 채택(진 쪽은 취소)
+    // - 1차 신호(성공/오류)는 그대로 전달해 기존 재시도/폴백 판정 유지, 헤지 쪽 오류는 무시
+    // - 헤지 비율 상한 초과 시 발사하지 않음
+    private Mono<GeminiResponse> invokeHedged(Map<String, Object> body) {
+        if (!hedgePolicy.enabled()) return invoke(body);
+        return Mono.defer(() -> {
+            hedgePolicy.onRequest();
+            Mono<GeminiResponse> primary = timed(invoke(body));
+            Mono<GeminiResponse> backup = Mono.delay(hedgePolicy.delay())
+                    .flatMap(t -> {
+                        if (!hedgePolicy.tryAcquire()) {
+                            hedgeCapped.increment();
+                            return Mono.never();
+                        }
+                        hedgeFired.increment();
+                        return timed(invoke(body))
+                                .doOnNext(r -> hedgeWon.increment())
+                                .onErrorResume(e -> Mono.never());
+                    });
+            return Mono.firstWithSignal(primary, backup);
+        });
+    }
+
+    // 개별 호출 지연을 헤지 정책에 기록(성공만 기록하면 느린 꼬리가 빠져 백분위가 낮게 잡힘)
+    // - 성공/취소(헤지 경합에서 진 쪽, 전체 타임아웃)/일시 오류(5xx, I/O, 타임아웃): 실제 경과 시간(취소는 하한값)
+    // - 비일시 오류(4xx 등): 즉시 거절이라 지연 분포를 왜곡하므로 기록하지 않음
+    private Mono<GeminiResponse> timed(Mono<GeminiResponse> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            long timeoutMillis = textAiConfig.getTimeoutSeconds() * 1000L;
+            Runnable recordElapsed = () -> hedgePolicy.record(
+                    Math.min((System.nanoTime() - start) / 1_000_000, timeoutMillis));
+            return call
+                    .doOnSuccess(r -> recordElapsed.run())
+                    .doOnError(e -> {
+                        if (isTransient(e)) recordElapsed.run();
+                    })
+                    .doOnCancel(recordElapsed);
+        });
+    }
+
     private Mono<GeminiResponse> invoke(Map<String, Object> body) {
         return webClient.post()
                 .uri("/v1beta/models/{model}:generateContent", textAiConfig.getModel20())
@@ -210,7 +278,10 @@ public class GeminiJsonTextClient implements TextAiClient {
             log.warn("[Gemini] empty candidates: body=null/empty");
             throw new AiParsingException("No candidates in Gemini response");
         }
-        var c = response.candidates().get(0);
+        return extractCandidate(response.candidates().get(0));
+    }
+
+    private String extractCandidate(GeminiResponse.Candidate c) {
         var finish = c.finishReason();
         if ("SAFETY".equalsIgnoreCase(finish)) {
             log.warn("[Gemini] content blocked by safety filters. finishReason=SAFETY");
@@ -247,6 +318,21 @@ public class GeminiJsonTextClient implements TextAiClient {
         }
     }
 
+    // 모든 후보 추출(순서 유지), 하나도 못 쓰면 첫 후보 기준으로 tryExtract와 같은 예외
+    private List<String> tryExtractAll(GeminiResponse response, boolean fallback) {
+        List<String> out = new ArrayList<>();
+        if (response != null && response.candidates() != null) {
+            for (GeminiResponse.Candidate c : response.candidates()) {
+                try {
+                    out.add(extractCandidate(c));
+                } catch (AiParsingException e) {
+                    log.debug("[Gemini] candidate skipped: {}", e.getMessage());
+                }
+            }
+        }
+        return out.isEmpty() ? List.of(tryExtract(response, fallback)) : out;
+    }
+
     private Mono<? extends Throwable> handleErrorResponse(ClientResponse response) {
         return response.bodyToMono(String.class)
                 .map(errorBody -> {
@@ -0,0 +1,70 @@
+package com.back.global.ai.client.text;
+
+import com.back.global.ai.config.TextAiConfig;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 헤지 요청(지연 시 중복 요청) 정책.
+ * - 최근 호출 지연 창(window-size, 성공·취소·일시 오류의 실제 경과 시간)의 백분위(percentile)를 헤지 지연으로 사용, 표본 부족 시 initial-delay
+ * - 헤지 비율 상한: 요청마다 max-ratio만큼 적립, 헤지 1회당 1 소모(버스트는 적립 상한으로 제한)
+ */
+public class HedgePolicy {
+
+    private static final int RECOMPUTE_EVERY = 16;
+    private static final double MAX_CREDIT = 5.0;
+
+    private final TextAiConfig.Hedge settings;
+    private final long[] window;
+    private int size;
+    private int next;
+    private int sinceRecompute;
+    private long cachedDelayMillis;
+    private double credit;
+
+    public HedgePolicy(TextAiConfig.Hedge settings) {
+        this.settings = settings;
+        this.window = new long[Math.max(8, settings.getWindowSize())];
+        this.cachedDelayMillis = settings.getInitialDelayMillis();
+    }
+
+    public boolean enabled() {
+        return settings.isEnabled();
+    }
+
+    // 요청 1건 시작 시 헤지 예산 적립
+    public synchronized void onRequest() {
+        credit = Math.min(MAX_CREDIT, credit + settings.getMaxRatio());
+    }
+
+    // 헤지 발사 허용 여부(예산 1 소모)
+    public synchronized boolean tryAcquire() {
+        if (credit < 1.0) return false;
+        credit -= 1.0;
+        return true;
+    }
+
+    // 개별 호출 지연 기록
+    public synchronized void record(long elapsedMillis) {
+        window[next] = Math.max(0, elapsedMillis);
+        next = (next + 1) % window.length;
+        if (size < window.length) size++;
+        if (++sinceRecompute >= RECOMPUTE_EVERY) recompute();
+    }
+
+    // 헤지 지연(백분위, 하한 min-delay)
+    public synchronized Duration delay() {
+        return Duration.ofMillis(cachedDelayMillis);
+    }
+
+    private void recompute() {
+        sinceRecompute = 0;
+        if (size < settings.getMinSamples()) return;
+        long[] sorted = Arrays.copyOf(window, size);
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(settings.getPercentile() * size) - 1;
+        long p = sorted[Math.max(0, Math.min(size - 1, idx))];
+        cachedDelayMillis = Math.max(settings.getMinDelayMillis(), p);
+    }
+}
@@ -2,6 +2,7 @@ package com.back.global.ai.client.text;
 
 import com.back.global.ai.dto.AiRequest;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -23,4 +24,15 @@ public interface TextAiClient {
      * @return 생성된 텍스트
      */
     CompletableFuture<String> generateText(AiRequest aiRequest);
+
+    /**
+     * 한 번의 호출로 여러 후보(candidateCount)를 받아 순서대로 반환합니다.
+     * 기본 구현은 단일 후보만 지원하는 클라이언트를 위해 generateText 결과 1개를 감쌉니다.
+     *
+     * @param aiRequest AI 요청 객체(parameters의 candidateCount로 후보 수 지정)
+     * @return 생성된 후보 텍스트 목록(1개 이상)
+     */
+    default CompletableFuture<List<String>> generateCandidates(AiRequest aiRequest) {
+        return generateText(aiRequest).thenApply(List::of);
+    }
 }
@@ -0,0 +1,71 @@
+package com.back.global.ai.client.text;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 지정한 TextAiClient 빈(ai.text.cache.clients)을 CachingTextAiClient로 감쌉니다.
+ * 빈 이름/@Primary 정의는 그대로이므로 기존 @Qualifier 주입 지점은 바뀌지 않습니다.
+ * 후처리기는 일찍 만들어지므로 레지스트리/ObjectMapper/Redis는 감쌀 때 지연 조회합니다.
+ */
+@Component
+public class TextAiClientCachePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<ObjectMapper> objectMapper;
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final boolean enabled;
+    private final Set<String> clients;
+    private final String modelTag;
+    private final long maxWeight;
+    private final Duration ttl;
+    private final boolean redisEnabled;
+
+    public TextAiClientCachePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                          ObjectProvider<ObjectMapper> objectMapper,
+                                          ObjectProvider<StringRedisTemplate> redisProvider,
+                                          @Value("${ai.text.cache.enabled:true}") boolean enabled,
+                                          @Value("${ai.text.cache.clients:gemini20JsonClient,gemini25TextClient}") String[] clients,
+                                          @Value("${ai.text.gemini.model:gemini-2.5-flash}") String model,
+                                          @Value("${ai.text.gemini.model20:gemini-2.0-flash}") String model20,
+                                          @Value("${ai.text.cache.max-weight-bytes:8388608}") long maxWeight,
+                                          @Value("${ai.text.cache.ttl-seconds:600}") long ttlSeconds,
+                                          @Value("${ai.text.cache.redis.enabled:false}") boolean redisEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.redisProvider = redisProvider;
+        this.enabled = enabled;
+        this.clients = Set.copyOf(Arrays.stream(clients).map(String::trim).filter(s -> !s.isEmpty()).toList());
+        // 모델 설정이 바뀌면 이전 응답을 재사용하지 않도록 키에 포함
+        this.modelTag = model + "|" + model20;
+        this.maxWeight = maxWeight;
+        this.ttl = Duration.ofSeconds(Math.max(1, ttlSeconds));
+        this.redisEnabled = redisEnabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !clients.contains(beanName)) return bean;
+        if (!(bean instanceof TextAiClient client) || bean instanceof CachingTextAiClient) return bean;
+
+        return new CachingTextAiClient(
+                beanName,
+                modelTag,
+                client,
+                objectMapper.getObject(),
+                redisEnabled ? redisProvider.getIfAvailable() : null,
+                meterRegistry.getObject(),
+                maxWeight,
+                ttl
+        );
+    }
+}
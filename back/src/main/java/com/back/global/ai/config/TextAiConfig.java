@@ -58,6 +58,20 @@ public class TextAiConfig {
 
     private Integer maxContextTokens = 8192;
 
+    // 헤지 요청(JSON 상황/힌트 클라이언트): 관측 지연 백분위 경과 시 중복 요청, 먼저 끝난 쪽 채택
+    private Hedge hedge = new Hedge();
+
+    @Data
+    public static class Hedge {
+        private boolean enabled = false;
+        private double percentile = 0.95;     // 헤지 지연으로 쓸 지연 백분위
+        private int windowSize = 256;         // 백분위 계산 표본 창
+        private int minSamples = 20;          // 이보다 적으면 initialDelayMillis 사용
+        private long initialDelayMillis = 1500;
+        private long minDelayMillis = 200;
+        private double maxRatio = 0.10;       // 요청 대비 헤지 비율 상한
+    }
+
     @PostConstruct
     void validateKey() {
         if (apiKey == null || apiKey.isBlank()) {
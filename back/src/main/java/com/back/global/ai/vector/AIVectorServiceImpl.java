@@ -1,11 +1,14 @@
 /*
  * [코드 흐름 요약]
- * - DB 조회 최소화(요청 단위 캐시) + 폴라리티 안정화 + 도메인 정렬:
+ * - DB 조회 최소화(라인 컨텍스트 캐시) + 폴라리티 안정화 + 도메인 정렬:
  *   1) 트리거-카테고리 도메인 일치 시에만 강제 부정(약부정은 Phase에서 무시), 키워드 합계<2는 약부정으로 처리.
  *   2) 위기 종료 시 '회복 보장 락(positiveLock)'으로 N회 무조건 긍정 유지.
  *   3) 카테고리 정렬 few-shot(긍/부정)을 사용하여 재무 문장으로 끌리는 현상 방지.
  *   4) recent tail은 decision 중심 요약으로 부정 단어 누수 차단.
  *   5) 헤더 제외 본문만으로 콘텍스트/테마/폴라리티/검증/재시도를 1회 계산.
+ *   6) 스니펫/나이 테마/어휘는 라인 질의 벡터 1개로 결합 조회(DB 1 왕복), 실패 시 단계별 조회로 폴백.
+ *   7) 1회 호출로 후보 N개(candidateCount) 생성 → 로컬 검증 통과한 첫 후보 채택, 없을 때만 강화 프롬프트
+ *      (concurrent-retry면 강화 프롬프트를 1차와 동시에 발사해 직렬 재시도 지연 제거).
  */
 package com.back.global.ai.vector;
 
@@ -19,10 +22,12 @@ import com.back.global.ai.dto.AiRequest;
 import com.back.global.ai.prompt.SituationPrompt;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -40,6 +45,21 @@ public class AIVectorServiceImpl implements AIVectorService {
     private final AgeThemeSeeder ageThemeSeeder;
     private final SeedOrchestrator seedOrchestrator;
 
+    // 스니펫/테마/어휘 결합 조회(1 왕복) 사용 여부
+    @Value("${ai.hint.retrieval.combined:true}")
+    private boolean combinedRetrieval = true;
+
+    // 1회 호출당 후보 수(로컬 검증으로 선택), 재프롬프트 동시 발사 여부
+    @Value("${ai.hint.generation.candidates:1}")
+    private int candidateCount = 1;
+
+    // 후보가 여럿일 때의 topK(1이면 후보가 모두 같아짐)
+    @Value("${ai.hint.generation.top-k:5}")
+    private int candidateTopK = 5;
+
+    @Value("${ai.hint.generation.concurrent-retry:false}")
+    private boolean concurrentRetry = false;
+
     private int topK = 1;
     private int contextCharLimit = 200;
     private int maxOutputTokens = 64;
@@ -49,10 +69,10 @@ public class AIVectorServiceImpl implements AIVectorService {
     public void setMaxOutputTokens(int maxOutputTokens) { this.maxOutputTokens = maxOutputTokens; }
 
     // 무결성 검증
-    private enum Polarity { SEVERE_NEGATIVE, POSITIVE }
+    enum Polarity { SEVERE_NEGATIVE, POSITIVE }
 
-    // 무결성 검증
-    private enum NegTrigger {
+    // 무결성 검증(키워드 그룹은 벤치마크(src/jmh)에서도 그대로 사용하므로 패키지 공개)
+    enum NegTrigger {
         FINANCE_CRYPTO(new String[]{"비트코인","코인","가상화폐"}),
         FINANCE_STOCKS(new String[]{"주식","종목","etf","선물","옵션","레버리지","인버스","공매도"}),
         FINANCE_RISK(new String[]{"빚투","영끌","대출연체","신용불량","파산","압류","추심"}),
@@ -67,6 +87,32 @@ public class AIVectorServiceImpl implements AIVectorService {
         NegTrigger(String[] k){ this.keywords = k; }
     }
 
+    // 부정 트리거 외 키워드 그룹(투자 행위, 결과 극성, 안전 수칙)
+    enum Cue { INVEST_ACTION, POL_POS, POL_NEG, POL_SAFE, SELF_HARM, HATE, ILLEGAL }
+
+    // 투자 행위 키워드(투자 자산은 FINANCE_CRYPTO + FINANCE_STOCKS)
+    static final String[] INVEST_ACTION_KEYWORDS = {"투자","매수","올인","몰빵","풀매수","빚투","영끌"};
+
+    // 트리거 원문(공백 제거/소문자)용: 부정 트리거 + 투자 행위, 1회 순회로 그룹별 적중 수
+    static final KeywordAutomaton<Enum<?>> TRIGGER_MATCHER = buildTriggerMatcher();
+
+    // 생성 결과(상황+선택지)용: 극성/안전 수칙 키워드
+    private static final KeywordAutomaton<Cue> OUTPUT_MATCHER = KeywordAutomaton.<Cue>builder()
+            .add(Cue.POL_POS, "기회","성장","호재","안정","성과","확대","강화","재투자","정비","개선","회복","안도")
+            .add(Cue.POL_NEG, "불안","난관","상실","파산","주거","퇴거","절박","압박","길바닥","집을 잃","악화","괴로움")
+            .add(Cue.POL_SAFE, "동결한다","중단한다","축소한다","보류한다","도움을 요청한다","임시 거처를 찾는다","상담을 신청한다","지원 제도를 확인한다","채무조정을 신청한다")
+            .add(Cue.SELF_HARM, "자해", "스스로 해치", "목숨", "죽")
+            .add(Cue.HATE, "혐오", "비하", "차별", "증오")
+            .add(Cue.ILLEGAL, "불법", "사기", "폭력", "협박")
+            .build();
+
+    private static KeywordAutomaton<Enum<?>> buildTriggerMatcher() {
+        KeywordAutomaton.Builder<Enum<?>> b = KeywordAutomaton.builder();
+        for (NegTrigger t : NegTrigger.values()) b.add(t, t.keywords);
+        b.add(Cue.INVEST_ACTION, INVEST_ACTION_KEYWORDS);
+        return b.build();
+    }
+
     // 무결성 검증
     private record NegMatch(NegTrigger trigger, boolean severe, int hitCount) {}
 
@@ -109,86 +155,77 @@ public class AIVectorServiceImpl implements AIVectorService {
         seedOrchestrator.onAiRequestEvent();
         if (orderedNodes == null || orderedNodes.isEmpty()) return new AiNextHint(null, null);
 
-        try {
-            // 무결성 검증
-            support.beginRequestCache();
-
-            List<DecisionNode> body = dropHeader(orderedNodes);
-            if (body.isEmpty()) return new AiNextHint(null, null);
-
-            DecisionNode last = body.get(body.size() - 1);
-            int currAge = last.getAgeYear();
-
-            Integer targetAge = suggestNextAgeHybrid(decisionLineId, currAge);
-            NodeCategory effectiveCategory = resolveEffectiveCategory(decisionLineId, last);
-
-            // next 노드 생성
-            String recent = buildRecentTail(body, 2);
-            List<String> prevOptions = collectRecentDecisions(body, 5);
-
-            // next 노드 생성
-            String queryForSearch = support.buildQueryFromNodes(body);
-            List<String> ctxSnippets = support.searchRelatedContexts(
-                    decisionLineId, targetAge, queryForSearch, topK, Math.max(120, contextCharLimit / Math.max(1, topK))
-            );
-            String relatedContext = support.joinWithLimit(ctxSnippets, contextCharLimit);
-
-            // next 노드 생성
-            List<String> ageThemes = safeAgeThemes(decisionLineId, targetAge, effectiveCategory, recent, relatedContext, 12);
-            String requiredTheme = pickRequiredThemeRelaxed(ageThemes);
-            Set<String> banned = new HashSet<>(labelStopWords());
-            String grounding = buildGroundingForOptions(targetAge, recent, relatedContext, ageThemes, banned, prevOptions);
-            String hidden = fetchHiddenContext(decisionLineId);
-
-            String triggerSource = ((recent == null ? "" : recent) + " " + (relatedContext == null ? "" : relatedContext)).trim();
-
-            // 무결성 검증
-            AIVectorServiceSupportDomain.Phase phase = support.currentPhase(decisionLineId);
-            boolean lastSev = support.lastPolarityWasSevere(decisionLineId);
-
-            // 무결성 검증
-            Polarity pol0 = decidePolaritySeeded(
-                    decisionLineId, targetAge, triggerSource, phase, lastSev, effectiveCategory);
-            NegMatch negMatch = detectGlobalNegative(triggerSource);
-
-            // next 노드 생성
-            PhaseDecision pdec = decidePhaseAndOverride(decisionLineId, targetAge, triggerSource, effectiveCategory, pol0, negMatch);
-
-            String prompt1 = buildPromptFreeSituationWithPolarityAndNegHint(
-                    requiredTheme, ageThemes, banned, recent, relatedContext, grounding, hidden, prevOptions,
-                    pdec.polarity(), pdec.negHint(), effectiveCategory
-            ) + buildRecoveryBlockIfNeeded(pdec.phase());
-
-            AiNextHint hint = callOnce(prompt1);
-
-            boolean needRetry =
-                    !isSituationForm(hint.aiNextSituation())
-                            || !isOptionForm(hint.aiNextRecommendedOption())
-                            || hasDigitsOrAges(hint.aiNextSituation())
-                            || violatesRequiredThemeRelaxed(hint.aiNextSituation(), requiredTheme)
-                            || !matchesPolarity(hint.aiNextSituation(), hint.aiNextRecommendedOption(), pdec.polarity())
-                            || violatesSafetyPolicy(hint.aiNextSituation(), hint.aiNextRecommendedOption());
-
-            if (needRetry) {
-                String prompt2 = buildPromptFreeSituationHard(
-                        requiredTheme, ageThemes, banned, recent, relatedContext, grounding, hidden, prevOptions
-                ) + "\n[결과 경향]\n" + buildPolarityBlock(pdec.polarity())
-                        + "\n" + buildFewShotForPolarity(pdec.polarity(), effectiveCategory)
-                        + "\n" + buildNegTriggerHint(pdec.negHint())
-                        + buildRecoveryBlockIfNeeded(pdec.phase())
-                        + "\n[안전 수칙]\n- 자해/증오/불법 조장 금지. 위반 표현 발견 시 안전한 대안으로 치환.";
-                hint = callOnce(prompt2);
-            }
+        List<DecisionNode> body = dropHeader(orderedNodes);
+        if (body.isEmpty()) return new AiNextHint(null, null);
 
-            // 무결성 검증
-            support.tickPhase(decisionLineId, pdec.phase());
-            support.rememberPolarity(decisionLineId, pdec.polarity() == Polarity.POSITIVE ? "POS" : "SEV");
+        DecisionNode last = body.get(body.size() - 1);
+        int currAge = last.getAgeYear();
 
-            return new AiNextHint(emptyToNull(hint.aiNextSituation()), emptyToNull(hint.aiNextRecommendedOption()));
-        } finally {
-            // 무결성 검증
-            support.clearCache();
-        }
+        Integer targetAge = suggestNextAgeHybrid(decisionLineId, currAge);
+        NodeCategory effectiveCategory = resolveEffectiveCategory(decisionLineId, last);
+
+        // next 노드 생성
+        String recent = buildRecentTail(body, 2);
+        List<String> prevOptions = collectRecentDecisions(body, 5);
+
+        // next 노드 생성
+        // 스니펫/나이 테마/어휘는 라인 누적 임베딩 1개로 결합 조회(DB 1 왕복), 비활성/실패 시 단계별 조회
+        int eachSnippetLimit = Math.max(120, contextCharLimit / Math.max(1, topK));
+        PgVectorSearchService.HintContext hc = combinedRetrieval
+                ? safeHintContext(decisionLineId, targetAge, body, effectiveCategory, eachSnippetLimit, 12)
+                : null;
+
+        // 라인 질의 임베딩은 라인별 증분 누적(새 노드분만 해시 계산)
+        List<String> ctxSnippets = (hc != null)
+                ? hc.snippets()
+                : support.searchRelatedContextsForNodes(decisionLineId, targetAge, body, topK, eachSnippetLimit);
+        String relatedContext = support.joinWithLimit(ctxSnippets, contextCharLimit);
+
+        // next 노드 생성
+        List<String> ageThemes = (hc != null)
+                ? hc.themes()
+                : safeAgeThemes(decisionLineId, targetAge, effectiveCategory, recent, relatedContext, 12);
+        String requiredTheme = pickRequiredThemeRelaxed(ageThemes);
+        Set<String> banned = new HashSet<>(labelStopWords());
+        String grounding = buildGroundingForOptions(targetAge, recent, relatedContext, ageThemes, banned, prevOptions,
+                hc != null ? hc.terms() : null);
+        String hidden = fetchHiddenContext(decisionLineId);
+
+        String triggerSource = ((recent == null ? "" : recent) + " " + (relatedContext == null ? "" : relatedContext)).trim();
+
+        // 무결성 검증
+        AIVectorServiceSupportDomain.Phase phase = support.currentPhase(decisionLineId);
+        boolean lastSev = support.lastPolarityWasSevere(decisionLineId);
+
+        // 무결성 검증
+        Polarity pol0 = decidePolaritySeeded(
+                decisionLineId, targetAge, triggerSource, phase, lastSev, effectiveCategory);
+        NegMatch negMatch = detectGlobalNegative(triggerSource);
+
+        // next 노드 생성
+        PhaseDecision pdec = decidePhaseAndOverride(decisionLineId, targetAge, triggerSource, effectiveCategory, pol0, negMatch);
+
+        String prompt1 = buildPromptFreeSituationWithPolarityAndNegHint(
+                requiredTheme, ageThemes, banned, recent, relatedContext, grounding, hidden, prevOptions,
+                pdec.polarity(), pdec.negHint(), effectiveCategory
+        ) + buildRecoveryBlockIfNeeded(pdec.phase());
+
+        // 재프롬프트(강화판)는 미리 구성: 동시 발사 모드면 1차와 함께 호출해 직렬 재시도 지연 제거
+        String prompt2 = buildPromptFreeSituationHard(
+                requiredTheme, ageThemes, banned, recent, relatedContext, grounding, hidden, prevOptions
+        ) + "\n[결과 경향]\n" + buildPolarityBlock(pdec.polarity())
+                + "\n" + buildFewShotForPolarity(pdec.polarity(), effectiveCategory)
+                + "\n" + buildNegTriggerHint(pdec.negHint())
+                + buildRecoveryBlockIfNeeded(pdec.phase())
+                + "\n[안전 수칙]\n- 자해/증오/불법 조장 금지. 위반 표현 발견 시 안전한 대안으로 치환.";
+
+        AiNextHint hint = selectHint(prompt1, prompt2, requiredTheme, pdec.polarity());
+
+        // 무결성 검증
+        support.tickPhase(decisionLineId, pdec.phase());
+        support.rememberPolarity(decisionLineId, pdec.polarity() == Polarity.POSITIVE ? "POS" : "SEV");
+
+        return new AiNextHint(emptyToNull(hint.aiNextSituation()), emptyToNull(hint.aiNextRecommendedOption()));
     }
 
     // next 노드 생성
@@ -334,11 +371,15 @@ public class AIVectorServiceImpl implements AIVectorService {
                                             String relatedContext,
                                             List<String> ageThemes,
                                             Set<String> bannedAll,
-                                            List<String> prevOptions) {
+                                            List<String> prevOptions,
+                                            List<String> prefetchedTerms) {
         String base = stripAges(((recent == null ? "" : recent) + " " + (relatedContext == null ? "" : relatedContext)).trim());
 
-        List<String> fromVocab = List.of();
-        try { fromVocab = vocabSearch.topKTermsByQuery(base, 12); } catch (Exception ignore) {}
+        // 결합 조회에서 받은 어휘가 있으면 재조회하지 않음
+        List<String> fromVocab = (prefetchedTerms != null) ? prefetchedTerms : List.of();
+        if (prefetchedTerms == null) {
+            try { fromVocab = vocabSearch.topKTermsByQuery(base, 12); } catch (Exception ignore) {}
+        }
 
         List<String> cand = cleanTokens(fromVocab);
         if (cand.size() < 2) cand = cleanTokens(Arrays.asList(base.replaceAll("[^가-힣\\s]", " ").split("\\s+")));
@@ -390,6 +431,22 @@ public class AIVectorServiceImpl implements AIVectorService {
         return out;
     }
 
+    // 결합 조회(시드 보장 요청 포함), 실패 시 null → 호출측 단계별 조회
+    private PgVectorSearchService.HintContext safeHintContext(Long decisionLineId,
+                                                              int targetAge,
+                                                              List<DecisionNode> body,
+                                                              NodeCategory effectiveCategory,
+                                                              int eachSnippetLimit,
+                                                              int k) {
+        try {
+            ageThemeSeeder.ensureSeedForAgeAsync(targetAge, 12);
+            return support.retrieveHintContext(decisionLineId, targetAge, body, effectiveCategory,
+                    topK, eachSnippetLimit, k, k);
+        } catch (Exception ignore) {
+            return null;
+        }
+    }
+
     private List<String> safeAgeThemes(Long decisionLineId,
                                        int targetAge,
                                        NodeCategory effectiveCategory,
@@ -429,32 +486,103 @@ public class AIVectorServiceImpl implements AIVectorService {
         return !s.contains(requiredTheme);
     }
 
-    private AiNextHint callOnce(String prompt) {
+    // 1차 후보 중 모든 검증을 통과한 첫 후보, 없으면 재프롬프트 후보 중 최고 점수
+    // - 원 호출 future를 그대로 보관해야 cancel이 Gemini 요청까지 전달됨(파생 future 취소는 원 요청을 멈추지 않음)
+    AiNextHint selectHint(String prompt1, String prompt2, String requiredTheme, Polarity pol) {
+        CompletableFuture<List<String>> primary = callCandidates(prompt1);
+        CompletableFuture<List<String>> hard = concurrentRetry ? callCandidates(prompt2) : null;
+
+        List<AiNextHint> firstRound = toHints((hard == null) ? primary.join() : joinOrEmpty(primary));
+        AiNextHint hint = firstValid(firstRound, requiredTheme, pol);
+        if (hint != null) {
+            if (hard != null) hard.cancel(true);
+            return hint;
+        }
+        List<String> retry = (hard != null) ? hard.join() : callCandidates(prompt2).join();
+        return bestScored(toHints(retry), requiredTheme, pol);
+    }
+
+    // 한 번의 호출로 후보 여러 개(candidateCount) 생성
+    // - topK 1이면 디코딩이 사실상 탐욕적이라 후보가 모두 같아지므로, 후보가 여럿일 때만 candidateTopK 사용
+    private CompletableFuture<List<String>> callCandidates(String prompt) {
+        int candidates = Math.max(1, candidateCount);
         AiRequest req = new AiRequest(
                 prompt,
                 Map.of(
                         "temperature", 0.7,
                         "topP", 0.9,
-                        "topK", 1,
-                        "candidateCount", 1,
+                        "topK", candidates > 1 ? Math.max(1, candidateTopK) : 1,
+                        "candidateCount", candidates,
                         "response_mime_type", "application/json"
                 ),
                 maxOutputTokens
         );
-        String response = textAiClient.generateText(req).join();
-        String situation = SituationPrompt.extractSituation(response, objectMapper);
-        String option = SituationPrompt.extractRecommendedOption(response, objectMapper);
-        return new AiNextHint(emptyToNull(situation), emptyToNull(option));
+        return textAiClient.generateCandidates(req);
+    }
+
+    // 후보 본문 → 힌트 파싱
+    private List<AiNextHint> toHints(List<String> responses) {
+        return responses.stream()
+                .map(response -> new AiNextHint(
+                        emptyToNull(SituationPrompt.extractSituation(response, objectMapper)),
+                        emptyToNull(SituationPrompt.extractRecommendedOption(response, objectMapper))))
+                .toList();
+    }
+
+    // 동시 발사 모드의 1차 호출 실패는 재프롬프트 결과로 대체
+    private List<String> joinOrEmpty(CompletableFuture<List<String>> f) {
+        try {
+            return f.join();
+        } catch (Exception ignore) {
+            return List.of();
+        }
+    }
+
+    // 검증 점수: 형식/숫자/필수 테마/극성 각 1점, 안전 수칙 통과는 그보다 우선하도록 10점
+    private static final int FULL_SCORE = 15;
+
+    private int validationScore(AiNextHint h, String requiredTheme, Polarity pol) {
+        String situation = h.aiNextSituation();
+        KeywordAutomaton<Cue>.Hits cues = outputCues(situation, h.aiNextRecommendedOption());
+        int score = 0;
+        if (isSituationForm(situation)) score++;
+        if (isOptionForm(h.aiNextRecommendedOption())) score++;
+        if (!hasDigitsOrAges(situation)) score++;
+        if (!violatesRequiredThemeRelaxed(situation, requiredTheme)) score++;
+        if (matchesPolarity(cues, pol)) score++;
+        if (!violatesSafetyPolicy(cues)) score += 10;
+        return score;
+    }
+
+    private AiNextHint firstValid(List<AiNextHint> candidates, String requiredTheme, Polarity pol) {
+        for (AiNextHint h : candidates) {
+            if (validationScore(h, requiredTheme, pol) == FULL_SCORE) return h;
+        }
+        return null;
+    }
+
+    // 최고 점수 후보(동점이면 앞선 후보), 후보가 없으면 빈 힌트
+    private AiNextHint bestScored(List<AiNextHint> candidates, String requiredTheme, Polarity pol) {
+        AiNextHint best = null;
+        int bestScore = -1;
+        for (AiNextHint h : candidates) {
+            int score = validationScore(h, requiredTheme, pol);
+            if (score > bestScore) {
+                best = h;
+                bestScore = score;
+            }
+        }
+        return (best != null) ? best : new AiNextHint(null, null);
     }
 
     private String stripAges(String text) {
         if (text == null) return "";
         String s = text;
-        s = s.replaceAll("\\b\\d{1,3}\\s*세\\b", " ");
-        s = s.replaceAll("\\b\\d+\\s*살\\b", " ");
-        s = s.replaceAll("\\b20\\d{2}\\s*년\\b", " ");
-        s = s.replaceAll("\\b\\d{1,2}\\s*학년\\b", " ");
-        s = s.replaceAll("\\b\\d+\\b", " ");
+        s = AGE_SE.matcher(s).replaceAll(" ");
+        s = AGE_SAL.matcher(s).replaceAll(" ");
+        s = YEAR.matcher(s).replaceAll(" ");
+        s = GRADE.matcher(s).replaceAll(" ");
+        s = NUMBER.matcher(s).replaceAll(" ");
         return s;
     }
 
@@ -472,7 +600,7 @@ public class AIVectorServiceImpl implements AIVectorService {
 
     private boolean hasDigitsOrAges(String s) {
         if (s == null) return false;
-        return s.matches(".*\\d.*") || s.matches(".*\\b\\d{1,3}\\s*세\\b.*") || s.matches(".*\\b\\d+\\s*살\\b.*");
+        return DIGIT.matcher(s).find(); // 나이/살 표기도 숫자를 포함하므로 숫자 1개 검사로 충분
     }
 
     private String emptyToNull(String s) {
@@ -494,13 +622,13 @@ public class AIVectorServiceImpl implements AIVectorService {
         }
     }
 
-    private boolean matchesPolarity(String situation, String option, Polarity pol) {
-        String z = ((situation==null?"":situation)+" "+(option==null?"":option));
-        Set<String> pos = Set.of("기회","성장","호재","안정","성과","확대","강화","재투자","정비","개선","회복","안도");
-        Set<String> neg = Set.of("불안","난관","상실","파산","주거","퇴거","절박","압박","길바닥","집을 잃","악화","괴로움");
-        Set<String> safe = Set.of("동결한다","중단한다","축소한다","보류한다","도움을 요청한다","임시 거처를 찾는다","상담을 신청한다","지원 제도를 확인한다","채무조정을 신청한다");
-        if (pol == Polarity.POSITIVE) return pos.stream().anyMatch(z::contains);
-        return neg.stream().anyMatch(z::contains) && safe.stream().anyMatch(z::contains);
+    private KeywordAutomaton<Cue>.Hits outputCues(String situation, String option) {
+        return OUTPUT_MATCHER.scan((situation == null ? "" : situation) + " " + (option == null ? "" : option));
+    }
+
+    private boolean matchesPolarity(KeywordAutomaton<Cue>.Hits cues, Polarity pol) {
+        if (pol == Polarity.POSITIVE) return cues.any(Cue.POL_POS);
+        return cues.any(Cue.POL_NEG) && cues.any(Cue.POL_SAFE);
     }
 
     private String buildPolarityBlock(Polarity pol) {
@@ -596,22 +724,21 @@ public class AIVectorServiceImpl implements AIVectorService {
         };
     }
 
-    private static final Pattern BIG_MONEY = Pattern.compile(".*(\\d{8,}|억|조).*");
+    private static final Pattern BIG_MONEY = Pattern.compile("\\d{8,}|억|조");
 
     private boolean isBlank(String s){ return s==null || s.isBlank(); }
 
     private String norm(String utter){
-        return isBlank(utter) ? "" : utter.replaceAll("\\s+","").toLowerCase(Locale.ROOT);
+        return isBlank(utter) ? "" : WHITESPACE.matcher(utter).replaceAll("").toLowerCase(Locale.ROOT);
     }
 
     private boolean hasHighRiskInvestTrigger(String source) {
         String u = norm(source);
         if (u.isEmpty()) return false;
-        boolean hasAsset = Arrays.stream(new String[]{
-                "비트코인","코인","가상화폐","주식","종목","etf","선물","옵션","레버리지","인버스","공매도"
-        }).anyMatch(u::contains);
-        boolean hasAction = Arrays.stream(new String[]{"투자","매수","올인","몰빵","풀매수","빚투","영끌"}).anyMatch(u::contains);
-        boolean big = BIG_MONEY.matcher(u).matches();
+        KeywordAutomaton<Enum<?>>.Hits hits = TRIGGER_MATCHER.scan(u);
+        boolean hasAsset = hits.any(NegTrigger.FINANCE_CRYPTO) || hits.any(NegTrigger.FINANCE_STOCKS);
+        boolean hasAction = hits.any(Cue.INVEST_ACTION);
+        boolean big = BIG_MONEY.matcher(u).find();
         return hasAsset && hasAction && big;
     }
 
@@ -620,17 +747,17 @@ public class AIVectorServiceImpl implements AIVectorService {
         String u = norm(source);
         if (u.isEmpty()) return null;
 
+        KeywordAutomaton<Enum<?>>.Hits found = TRIGGER_MATCHER.scan(u);
         int hits = 0;
         NegMatch chosen = null;
 
-        if (Arrays.stream(NegTrigger.FINANCE_RISK.keywords).anyMatch(u::contains)) {
+        if (found.any(NegTrigger.FINANCE_RISK)) {
             hits += 2;
             chosen = new NegMatch(NegTrigger.FINANCE_RISK, true, hits);
         }
 
         for (NegTrigger t : NegTrigger.values()) {
-            int local = 0;
-            for (String k : t.keywords) if (u.contains(k)) local++;
+            int local = found.count(t);
             if (local > 0) {
                 hits += local;
                 boolean severe = switch (t) {
@@ -781,15 +908,7 @@ public class AIVectorServiceImpl implements AIVectorService {
     %s
     """.formatted(core, polBlock, fewShot, hint);
     }
-    private boolean violatesSafetyPolicy(String situation, String option) {
-        String z = ((situation == null ? "" : situation) + " " + (option == null ? "" : option));
-
-        Set<String> selfHarm = Set.of("자해", "스스로 해치", "목숨", "죽");
-        Set<String> hate     = Set.of("혐오", "비하", "차별", "증오");
-        Set<String> illegal  = Set.of("불법", "사기", "폭력", "협박");
-
-        return selfHarm.stream().anyMatch(z::contains)
-                || hate.stream().anyMatch(z::contains)
-                || illegal.stream().anyMatch(z::contains);
+    private boolean violatesSafetyPolicy(KeywordAutomaton<Cue>.Hits cues) {
+        return cues.any(Cue.SELF_HARM) || cues.any(Cue.HATE) || cues.any(Cue.ILLEGAL);
     }
 }
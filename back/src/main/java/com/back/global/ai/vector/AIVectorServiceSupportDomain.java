@@ -1,146 +1,98 @@
 /*
  * [코드 흐름 요약]
- * - 요청 단위 캐시(LineCtx)로 line/노드/피벗/카테고리/히든컨텍스트를 1회 로드 후 재사용해 DB 조회를 최소화.
- * - Phase 상태(NORMAL/CRISIS/RECOVERY/POS_STREAK)와 모멘텀/잔여회수 + 회복 보장 락(Positive Lock)을 메모리에서 관리.
+ * - 라인 컨텍스트(LineContextCache)로 노드 나이/피벗/카테고리/히든컨텍스트를 요청 간 공유(쓰기 경로가 커밋 후 패치/무효화).
+ * - Phase 상태(NORMAL/CRISIS/RECOVERY/POS_STREAK)와 모멘텀/잔여회수 + 회복 보장 락(Positive Lock)은 PhaseStateStore에 위임
+ *   (메모리: 만료/항목 수 상한 LRU, Redis: Lua 원자 연산 + 키 만료).
  * - 공개 API 시그니처 유지: buildQueryFromNodes, searchRelatedContexts, joinWithLimit, hiddenFactsAndBadges,
  *   resolveEffectiveCategory, suggestNextAgeForLine, baseLineIdOfDecisionLine, pivotAgesForBaseLine,
  *   hasDecisionAtAge, fromBaseCategory.
+ * - 힌트 검색 질의 임베딩은 라인별 증분 누적(LineQueryEmbeddings)으로 노드 추가당 O(1) 해시 계산.
+ * - retrieveHintContext: 같은 질의 벡터로 스니펫/나이 테마/어휘를 한 문장으로 조회(힌트 경로 DB 왕복 1회).
+ *   나이 테마/어휘 로컬 인덱스가 준비됐으면 해당 분기는 DB에서 빼고 로컬 인덱스로 검색.
  */
 
 package com.back.global.ai.vector;
 
 import com.back.domain.node.entity.BaseNode;
-import com.back.domain.node.entity.DecisionLine;
 import com.back.domain.node.entity.DecisionNode;
 import com.back.domain.node.entity.NodeCategory;
 import com.back.domain.node.repository.DecisionLineRepository;
+import com.back.domain.node.repository.DecisionNodeRepository;
 import com.back.domain.node.service.NodeDomainSupport;
 import com.back.domain.search.entity.NodeSnippet;
+import com.back.global.ai.vector.LineContextCache.LineCtx;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class AIVectorServiceSupportDomain {
 
     private final PgVectorSearchService vectorSearch;
+    private final AgeThemeSearchService ageThemeSearch;
+    private final VocabTermSearchService vocabTermSearch;
     private final EmbeddingClient embeddingClient;
     private final DecisionLineRepository decisionLineRepository;
+    private final DecisionNodeRepository decisionNodeRepository;
     private final NodeDomainSupport support;
-
-    // 무결성 검증
-    private static final ThreadLocal<Map<Long, LineCtx>> CTX = ThreadLocal.withInitial(HashMap::new);
+    private final LineQueryEmbeddings lineQueryEmbeddings;
+    private final LineContextCache lineContextCache;
+    private final PhaseStateStore phaseStore;
 
     // 무결성 검증
     public enum Phase { NORMAL, CRISIS, RECOVERY, POS_STREAK }
 
-    // 무결성 검증
-    private static final class PhaseState {
-        Phase phase = Phase.NORMAL;
-        int remain = 0;
-        boolean lastSevere = false;
-        double positivityMomentum = 0.0;
-        long touchedAt = System.currentTimeMillis();
-        int positiveLock = 0; // 회복 보장 락
-    }
-
-    // 무결성 검증
-    private static final Map<Long, PhaseState> PHASE = new ConcurrentHashMap<>();
-
-    // 무결성 검증
-    public void beginRequestCache() {
-        // next 노드 생성
-        CTX.get().clear();
-    }
-
-    // 무결성 검증
-    public void clearCache() {
-        // next 노드 생성
-        CTX.get().clear();
-    }
-
     // ===== Phase 오케스트레이션 =====
 
     // next 노드 생성
     public Phase currentPhase(Long lineId) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        st.touchedAt = System.currentTimeMillis();
-        return st.phase;
+        return phaseStore.snapshot(lineId).phase();
     }
 
     // next 노드 생성
     public void enterCrisis(Long lineId, int window) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        st.phase = Phase.CRISIS;
-        st.remain = Math.max(1, Math.min(2, window));
-        st.touchedAt = System.currentTimeMillis();
+        phaseStore.enter(lineId, Phase.CRISIS, Math.max(1, Math.min(2, window)));
     }
 
     // next 노드 생성
     public void enterRecovery(Long lineId, int window) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        st.phase = Phase.RECOVERY;
-        st.remain = Math.max(1, Math.min(2, window));
-        st.touchedAt = System.currentTimeMillis();
+        phaseStore.enter(lineId, Phase.RECOVERY, Math.max(1, Math.min(2, window)));
     }
 
     // next 노드 생성
     public void enterPositiveStreak(Long lineId, int window) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        st.phase = Phase.POS_STREAK;
-        st.remain = Math.max(1, Math.min(8, window)); // 2~5 권장, 상한 8
-        st.touchedAt = System.currentTimeMillis();
+        phaseStore.enter(lineId, Phase.POS_STREAK, Math.max(1, Math.min(8, window))); // 2~5 권장, 상한 8
     }
 
     // next 노드 생성
     public void markPhaseUsed(Long lineId) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        if (st.remain > 0) st.remain--;
-        st.touchedAt = System.currentTimeMillis();
+        phaseStore.markUsed(lineId);
     }
 
     // 무결성 검증
     public void tickPhase(Long lineId, Phase observed) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        if ((observed == Phase.CRISIS || observed == Phase.POS_STREAK || observed == Phase.RECOVERY) && st.remain <= 0) {
-            if (observed == Phase.CRISIS) { enterRecovery(lineId, 1); return; } // 위기→회복 1회 보장
-            st.phase = Phase.NORMAL;
-            st.touchedAt = System.currentTimeMillis();
-        }
+        phaseStore.tick(lineId, observed); // 위기→회복 1회 보장
     }
 
     // 무결성 검증
     public boolean lastPolarityWasSevere(Long lineId) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        return st.lastSevere;
+        return phaseStore.snapshot(lineId).lastSevere();
     }
 
     // 무결성 검증
     public void rememberPolarity(Long lineId, String tag) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        st.lastSevere = "SEV".equals(tag);
-
-        // next 노드 생성
-        if ("POS".equals(tag)) {
-            st.positivityMomentum = Math.max(-0.35, st.positivityMomentum - 0.10);
-            if (st.phase == Phase.RECOVERY && st.remain <= 0) st.phase = Phase.NORMAL;
-        } else {
-            st.positivityMomentum = Math.min(0.0, st.positivityMomentum + 0.20);
-        }
-        st.touchedAt = System.currentTimeMillis();
+        phaseStore.rememberPolarity(lineId, "POS".equals(tag));
     }
 
     // next 노드 생성
     public boolean shouldEnterPositiveStreak(Long lineId, int targetAge) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        if (st.phase != Phase.NORMAL && st.phase != Phase.RECOVERY) return false;
+        PhaseStateStore.Snapshot st = phaseStore.snapshot(lineId);
+        if (st.phase() != Phase.NORMAL && st.phase() != Phase.RECOVERY) return false;
 
         double baseP = 0.50;
-        double fatigue = Math.max(-0.35, Math.min(0.0, st.positivityMomentum)); // 음수만 반영
+        double fatigue = Math.max(-0.35, Math.min(0.0, st.positivityMomentum())); // 음수만 반영
         double p = Math.max(0.15, Math.min(0.50, baseP + fatigue));
 
         long h = Objects.hash(lineId, targetAge, "LUCKY");
@@ -156,91 +108,117 @@ public class AIVectorServiceSupportDomain {
 
     // 무결성 검증
     public void armPositiveLock(Long lineId, int n) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        st.positiveLock = Math.max(st.positiveLock, Math.max(1, n));
+        phaseStore.armPositiveLock(lineId, n);
     }
 
     // 무결성 검증
     public boolean consumePositiveLock(Long lineId) {
-        PhaseState st = PHASE.computeIfAbsent(lineId, k -> new PhaseState());
-        if (st.positiveLock > 0) {
-            st.positiveLock--;
-            return true;
-        }
-        return false;
+        return phaseStore.consumePositiveLock(lineId);
     }
 
-    // ===== 요청 캐시 및 공개 API =====
+    // ===== 라인 컨텍스트 및 공개 API =====
 
     // 무결성 검증
     private LineCtx getCtx(Long decisionLineId) {
-        Map<Long, LineCtx> map = CTX.get();
-        LineCtx ctx = map.get(decisionLineId);
-        if (ctx != null) return ctx;
-
-        DecisionLine line = decisionLineRepository.findById(decisionLineId).orElse(null);
-
-        List<DecisionNode> ordered = List.of();
-        if (line != null && line.getDecisionNodes() != null) {
-            ordered = line.getDecisionNodes().stream()
-                    .filter(Objects::nonNull)
-                    .sorted(Comparator.comparingInt(DecisionNode::getAgeYear).thenComparingLong(DecisionNode::getId))
-                    .toList();
-        }
-
-        Long baseLineId = (line == null || line.getBaseLine() == null) ? null : line.getBaseLine().getId();
-
-        List<Integer> pivots = List.of();
-        NodeCategory fromBaseCat = null;
-        if (baseLineId != null) {
-            List<BaseNode> baseOrdered = support.getOrderedBaseNodes(baseLineId);
-            pivots = support.allowedPivotAges(baseOrdered);
-            fromBaseCat = resolveFromBaseHeaderCategory(baseOrdered);
-        }
+        return lineContextCache.line(decisionLineId, () -> loadCtx(decisionLineId));
+    }
 
-        // 무결성 검증
-        Set<Integer> ageSet = ordered.stream()
-                .map(DecisionNode::getAgeYear)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
+    // 캐시 미스 시 라인/노드 로드(지연 컬렉션 대신 정렬 조회라 영속성 컨텍스트 밖에서도 안전)
+    private LineCtx loadCtx(Long decisionLineId) {
+        Long baseLineId = decisionLineRepository.findById(decisionLineId)
+                .map(l -> l.getBaseLine() == null ? null : l.getBaseLine().getId())
+                .orElse(null);
+        if (baseLineId == null) return LineContextCache.build(null, List.of());
 
-        // 무결성 검증
-        Map<String, Object> hidden = buildHiddenFacts(ordered);
+        List<LineContextCache.NodeFact> ordered = decisionNodeRepository
+                .findByDecisionLine_IdOrderByAgeYearAscIdAsc(decisionLineId).stream()
+                .map(n -> new LineContextCache.NodeFact(n.getId(), n.getAgeYear(), n.getSituation(), n.getDecision()))
+                .toList();
+        return LineContextCache.build(baseLineId, ordered);
+    }
 
-        ctx = new LineCtx(line, ordered, baseLineId, pivots, fromBaseCat, ageSet, hidden);
-        map.put(decisionLineId, ctx);
-        return ctx;
+    // 베이스라인 파생 정보(피벗 나이, 헤더 카테고리), 없으면 빈 값
+    private LineContextCache.BaseInfo getBase(Long baseLineId) {
+        if (baseLineId == null) return new LineContextCache.BaseInfo(List.of(), null, System.currentTimeMillis());
+        return lineContextCache.base(baseLineId, () -> {
+            List<BaseNode> baseOrdered = support.getOrderedBaseNodes(baseLineId);
+            return new LineContextCache.BaseInfo(List.copyOf(support.allowedPivotAges(baseOrdered)),
+                    resolveFromBaseHeaderCategory(baseOrdered), System.currentTimeMillis());
+        });
     }
 
     // next 노드 생성
     public String buildQueryFromNodes(List<DecisionNode> nodes) {
+        return String.join("\n", queryLines(nodes));
+    }
+
+    // 질의 줄 목록(노드당 한 줄, buildQueryFromNodes와 같은 형식)
+    public List<String> queryLines(List<DecisionNode> nodes) {
         return nodes.stream()
                 .map(n -> String.format("- (%d세) %s → %s",
                         n.getAgeYear(),
                         safe(n.getSituation()),
                         safe(n.getDecision())))
-                .collect(Collectors.joining("\n"));
+                .toList();
     }
 
     // next 노드 생성
     public List<String> searchRelatedContexts(Long lineId, int currAge, String query, int topK, int eachSnippetLimit) {
         try {
             String q = (query == null || query.isBlank()) ? "(empty)" : query;
-            float[] qEmb = embeddingClient.embed(q);
-            // 무결성 검증
-            List<NodeSnippet> top = vectorSearch.topK(lineId, currAge, 2, qEmb, Math.max(topK, 1));
-            if (top == null || top.isEmpty()) return List.of();
-            List<String> out = new ArrayList<>(top.size());
-            for (NodeSnippet s : top) {
-                String t = (s == null) ? null : s.getText();
-                if (t == null || t.isBlank()) continue;
-                out.add(trim(t, eachSnippetLimit));
-            }
-            return out;
+            return searchByEmbedding(lineId, currAge, embeddingClient.embed(q), topK, eachSnippetLimit);
         } catch (Exception ignore) {
             return List.of();
         }
     }
 
+    // 라인 노드로 질의(라인별 증분 누적 임베딩 사용, 전체 텍스트 재임베딩 없음)
+    public List<String> searchRelatedContextsForNodes(Long lineId, int currAge, List<DecisionNode> nodes,
+                                                      int topK, int eachSnippetLimit) {
+        try {
+            float[] qEmb = lineQueryEmbeddings.embed(lineId, queryLines(nodes));
+            return searchByEmbedding(lineId, currAge, qEmb, topK, eachSnippetLimit);
+        } catch (Exception ignore) {
+            return List.of();
+        }
+    }
+
+    // 힌트 컨텍스트 결합 조회(라인 누적 임베딩 1개로 스니펫/테마/어휘를 1 왕복), 스니펫은 길이 제한 적용
+    public PgVectorSearchService.HintContext retrieveHintContext(Long lineId, int targetAge, List<DecisionNode> nodes,
+                                                                 NodeCategory themeCategory,
+                                                                 int snippetK, int eachSnippetLimit,
+                                                                 int themeK, int termK) {
+        float[] qEmb = lineQueryEmbeddings.embed(lineId, queryLines(nodes));
+        // 로컬 인덱스가 준비된 분기는 DB 조회에서 제외(K=0)하고 같은 질의 벡터로 로컬 검색
+        boolean localThemes = ageThemeSearch.isLocalReady();
+        boolean localTerms = vocabTermSearch.isLocalReady();
+        PgVectorSearchService.HintContext hc = vectorSearch.hintContext(
+                lineId, targetAge, 2, targetAge, themeCategory, qEmb, Math.max(snippetK, 1),
+                localThemes ? 0 : themeK, localTerms ? 0 : termK);
+        List<String> themes = localThemes ? ageThemeSearch.topK(targetAge, themeCategory, qEmb, themeK) : hc.themes();
+        List<String> terms = localTerms ? vocabTermSearch.topKTermsByEmbedding(qEmb, termK) : hc.terms();
+        List<String> snippets = new ArrayList<>(hc.snippets().size());
+        for (String t : hc.snippets()) {
+            if (t == null || t.isBlank()) continue;
+            snippets.add(trim(t, eachSnippetLimit));
+        }
+        return new PgVectorSearchService.HintContext(snippets, themes, terms);
+    }
+
+    // 질의 임베딩으로 라인/나이 윈도우 스니펫 상위 K 텍스트
+    private List<String> searchByEmbedding(Long lineId, int currAge, float[] qEmb, int topK, int eachSnippetLimit) {
+        // 무결성 검증
+        List<NodeSnippet> top = vectorSearch.topK(lineId, currAge, 2, qEmb, Math.max(topK, 1));
+        if (top == null || top.isEmpty()) return List.of();
+        List<String> out = new ArrayList<>(top.size());
+        for (NodeSnippet s : top) {
+            String t = (s == null) ? null : s.getText();
+            if (t == null || t.isBlank()) continue;
+            out.add(trim(t, eachSnippetLimit));
+        }
+        return out;
+    }
+
     // 무결성 검증
     public String joinWithLimit(List<String> snippets, int totalCharLimit) {
         if (snippets == null || snippets.isEmpty()) return "";
@@ -274,9 +252,10 @@ public class AIVectorServiceSupportDomain {
     // next 노드 생성
     public Integer suggestNextAgeForLine(Long decisionLineId, int currAge) {
         LineCtx ctx = getCtx(decisionLineId);
+        List<Integer> pivots = getBase(ctx.baseLineId()).pivotAges();
 
-        if (ctx.pivotAges() != null && !ctx.pivotAges().isEmpty()) {
-            for (Integer a : ctx.pivotAges()) {
+        if (!pivots.isEmpty()) {
+            for (Integer a : pivots) {
                 if (a != null && a > currAge && !ctx.ageExists(a)) return a;
             }
         }
@@ -286,7 +265,7 @@ public class AIVectorServiceSupportDomain {
 
         int guard = 0;
         while (guard++ < 16 && ctx.ageExists(candidate)) {
-            Integer nextPivot = nextGreater(ctx.pivotAges(), candidate);
+            Integer nextPivot = nextGreater(pivots, candidate);
             candidate = (nextPivot != null) ? nextPivot : (candidate + step);
         }
         return candidate;
@@ -299,12 +278,7 @@ public class AIVectorServiceSupportDomain {
 
     // 무결성 검증
     public List<Integer> pivotAgesForBaseLine(Long baseLineId) {
-        // next 노드 생성
-        for (LineCtx c : CTX.get().values()) {
-            if (Objects.equals(c.baseLineId(), baseLineId)) return c.pivotAges();
-        }
-        List<BaseNode> ordered = support.getOrderedBaseNodes(baseLineId);
-        return support.allowedPivotAges(ordered);
+        return getBase(baseLineId).pivotAges();
     }
 
     // 무결성 검증
@@ -314,7 +288,7 @@ public class AIVectorServiceSupportDomain {
 
     // 무결성 검증
     public NodeCategory fromBaseCategory(Long decisionLineId) {
-        return getCtx(decisionLineId).fromBaseCategory();
+        return getBase(getCtx(decisionLineId).baseLineId()).fromBaseCategory();
     }
 
     // ===== 내부 헬퍼 =====
@@ -342,56 +316,4 @@ public class AIVectorServiceSupportDomain {
         for (BaseNode b : baseOrdered) if (b.getParent() == null) return b.getCategory();
         return baseOrdered.get(0).getCategory();
     }
-
-    // next 노드 생성
-    private static Map<String, Object> buildHiddenFacts(List<DecisionNode> ordered) {
-        if (ordered == null || ordered.isEmpty()) return Map.of();
-
-        List<String> badges = new ArrayList<>();
-        List<String> hooks  = new ArrayList<>();
-
-        for (DecisionNode d : ordered) {
-            String text = (safe(d.getSituation()) + " " + safe(d.getDecision())).trim();
-
-            if (text.matches(".*(공모전|수상|수상경력).*")) addOnce(badges, "공모전 수상");
-            if (text.matches(".*(전시|아트페어|포트폴리오 리뷰).*")) addOnce(badges, "전시 참여");
-            if (text.matches(".*(인턴|현장실습|스튜디오 어시).*")) addOnce(badges, "인턴 경험");
-            if (text.matches(".*(자격증|자격 취득).*")) addOnce(badges, "자격증");
-            if (text.matches(".*(장학금|장학).*")) addOnce(badges, "장학");
-            if (text.matches(".*(군필|병역|복무 완료).*")) addOnce(badges, "군필");
-        }
-
-        if (badges.contains("군필")) addOnce(hooks, "군필");
-        if (badges.contains("공모전 수상")) addOnce(hooks, "수상 1회");
-
-        if (badges.isEmpty() && hooks.isEmpty()) return Map.of();
-        Map<String, Object> out = new LinkedHashMap<>();
-        out.put("badges", badges);
-        out.put("next_hooks", hooks);
-        return out;
-    }
-
-    // 무결성 검증
-    private static void addOnce(List<String> list, String v) {
-        if (v == null || v.isBlank()) return;
-        if (!list.contains(v)) list.add(v);
-    }
-
-    // 무결성 검증
-    private record LineCtx(
-            DecisionLine line,
-            List<DecisionNode> orderedNodes,
-            Long baseLineId,
-            List<Integer> pivotAges,
-            NodeCategory fromBaseCategory,
-            Set<Integer> ageSet,
-            Map<String, Object> hiddenFacts
-    ) {
-        // next 노드 생성
-        boolean ageExists(int age) { return ageSet != null && ageSet.contains(age); }
-        public Long baseLineId() { return baseLineId; }
-        public List<Integer> pivotAges() { return pivotAges; }
-        public NodeCategory fromBaseCategory() { return fromBaseCategory; }
-        public Map<String,Object> hiddenFacts() { return hiddenFacts; }
-    }
 }
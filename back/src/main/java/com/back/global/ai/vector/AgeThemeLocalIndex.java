@@ -0,0 +1,330 @@
+/*
+ * [코드 흐름 요약]
+ * - age_theme를 프로세스 내 int8 양자화 벡터 세그먼트 파일(메모리 매핑)로 스냅샷해 DB 없이 필터 top-K를 수행한다(옵션).
+ * - 행 단위 대칭 양자화(scale = max|x|/127), 코사인 점수는 (q·r)/‖r‖ 정수 내적으로 계산(쿼리 노름은 순위 불변이라 생략).
+ * - (category, minAge 버킷) 파티션별 행 목록과 파티션 최대 maxAge로 나이 조건을 가지치기한다.
+ * - 세그먼트 파일은 프로세스별 임시 파일(같은 호스트의 다른 인스턴스가 매핑 중인 파일을 자르지 않음), 종료 시 삭제한다.
+ * - 기동 후 백그라운드(localIndexExecutor)에서 id 순 페이지 적재, 이후 AgeThemeSeeder 저장분을 append로 증분 반영한다.
+ * - 다른 인스턴스/시더가 저장한 행은 주기적으로 id 커서 이후를 다시 읽어 반영한다(refresh).
+ * - 결과가 k개 미만이면(필터 구간이 아직 덜 적재됐을 수 있음) 빈 Optional을 돌려 DB 검색으로 넘긴다.
+ * - 단일 작성자(락) + 불변 상태 객체 volatile 교체로 읽기는 무잠금, 미준비/비활성 시 호출측이 DB 검색으로 폴백한다.
+ */
+package com.back.global.ai.vector;
+
+import com.back.domain.node.entity.NodeCategory;
+import com.back.domain.search.entity.AgeTheme;
+import com.back.domain.search.repository.AgeThemeRepository;
+import com.back.infra.pgvector.PgVectorCodec;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+@Slf4j
+@Component
+public class AgeThemeLocalIndex {
+
+    private static final int DIM = PgVectorCodec.DIM;
+    private static final int SEGMENT_ROWS = 1 << 16;                  // 세그먼트당 65,536행(48MB)
+    private static final long SEGMENT_BYTES = (long) SEGMENT_ROWS * DIM;
+    private static final int LOAD_PAGE = 1000;
+
+    // 파티션 키(카테고리 + minAge 버킷)
+    private record PartKey(NodeCategory category, int bucket) {}
+
+    // 파티션 행 목록 스냅샷(size 이후 칸은 작성자 전용)
+    private record Part(int[] rows, int size, int maxMaxAge) {}
+
+    // 읽기용 불변 상태(배열은 count 이전 칸만 읽음)
+    private record State(MappedByteBuffer[] segments,
+                         int count,
+                         short[] minAge,
+                         short[] maxAge,
+                         float[] invNorm,
+                         String[] themes,
+                         Map<PartKey, Part> parts) {}
+
+    private final AgeThemeRepository repo;
+    private final boolean enabled;
+    private final int bucketWidth;
+    private final Path dir;
+    private final Executor loader;
+
+    private volatile State state;
+    private volatile boolean ready;
+
+    // 작성자 전용
+    private final Object writeLock = new Object();
+    private final Set<Long> indexedIds = new HashSet<>();
+    private long maxDbId;
+    private FileChannel channel;
+    private Path file;
+    private final ThreadLocal<byte[]> rowBuffer = ThreadLocal.withInitial(() -> new byte[DIM]);
+
+    public AgeThemeLocalIndex(AgeThemeRepository repo,
+                              @Value("${ai.age-theme.local-index.enabled:false}") boolean enabled,
+                              @Value("${ai.age-theme.local-index.bucket-width:5}") int bucketWidth,
+                              @Value("${ai.age-theme.local-index.dir:${java.io.tmpdir}/age-theme-index}") String dir,
+                              @Qualifier("localIndexExecutor") Executor loader) {
+        this.repo = repo;
+        this.enabled = enabled;
+        this.bucketWidth = Math.max(1, bucketWidth);
+        this.dir = Path.of(dir);
+        this.loader = loader;
+        this.state = new State(new MappedByteBuffer[0], 0, new short[0], new short[0],
+                new float[0], new String[0], Map.of());
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int size() {
+        return state.count;
+    }
+
+    // 기동 완료 후 전체 스냅샷을 백그라운드로 적재
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) return;
+        loader.execute(this::loadAll);
+    }
+
+    // DB 전체를 id 순 페이지로 적재(이미 append된 id는 건너뜀)
+    void loadAll() {
+        long started = System.currentTimeMillis();
+        try {
+            openFile();
+            catchUp();
+            ready = true;
+            log.info("[AGE-THEME-INDEX] loaded rows={} in {}ms file={}", state.count,
+                    System.currentTimeMillis() - started, file);
+        } catch (Exception e) {
+            log.error("[AGE-THEME-INDEX] load failed, falling back to DB search: {}", e.getMessage(), e);
+        }
+    }
+
+    // 주기적 증분 반영(id 커서 이후 행) — append는 이 인스턴스의 시더 저장분만 받으므로 필요
+    @Scheduled(fixedDelayString = "${ai.age-theme.local-index.refresh-ms:300000}",
+            initialDelayString = "${ai.age-theme.local-index.refresh-ms:300000}")
+    public void refresh() {
+        if (!isReady()) return;
+        try {
+            int before = state.count;
+            catchUp();
+            int added = state.count - before;
+            if (added > 0) log.info("[AGE-THEME-INDEX] refreshed rows=+{} total={}", added, state.count);
+        } catch (Exception e) {
+            log.warn("[AGE-THEME-INDEX] refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // DB 커서(maxDbId) 이후 행을 페이지 단위로 append(커서는 DB에서 읽은 id로만 전진)
+    private void catchUp() {
+        while (true) {
+            long from;
+            synchronized (writeLock) {
+                from = maxDbId;
+            }
+            List<AgeTheme> page = repo.findByIdGreaterThanOrderByIdAsc(from, PageRequest.of(0, LOAD_PAGE));
+            if (page.isEmpty()) return;
+            append(page);
+            synchronized (writeLock) {
+                maxDbId = Math.max(maxDbId, page.get(page.size() - 1).getId());
+            }
+        }
+    }
+
+    // 저장된 테마 증분 반영(시더 saveAll 이후 호출, 적재 전이면 무시하고 전체 적재가 가져감)
+    public void append(List<AgeTheme> rows) {
+        if (!enabled || rows == null || rows.isEmpty()) return;
+        synchronized (writeLock) {
+            if (channel == null) return;
+            State s = state;
+            int count = s.count;
+            MappedByteBuffer[] segments = s.segments;
+            short[] minAge = s.minAge, maxAge = s.maxAge;
+            float[] invNorm = s.invNorm;
+            String[] themes = s.themes;
+            Map<PartKey, Part> parts = new HashMap<>(s.parts);
+            byte[] q = new byte[DIM];
+
+            for (AgeTheme row : rows) {
+                float[] emb = row.getEmbedding();
+                if (row.getId() == null || emb == null || emb.length != DIM || row.getCategory() == null) continue;
+                if (!indexedIds.add(row.getId())) continue;
+
+                if (count == minAge.length) {
+                    int cap = Math.max(1024, count * 2);
+                    minAge = Arrays.copyOf(minAge, cap);
+                    maxAge = Arrays.copyOf(maxAge, cap);
+                    invNorm = Arrays.copyOf(invNorm, cap);
+                    themes = Arrays.copyOf(themes, cap);
+                }
+                int seg = count / SEGMENT_ROWS;
+                if (seg == segments.length) segments = mapSegment(segments);
+
+                invNorm[count] = quantize(emb, q);
+                segments[seg].put((count % SEGMENT_ROWS) * DIM, q);
+                minAge[count] = (short) row.getMinAge();
+                maxAge[count] = (short) row.getMaxAge();
+                themes[count] = row.getTheme();
+
+                PartKey key = new PartKey(row.getCategory(), row.getMinAge() / bucketWidth);
+                Part p = parts.get(key);
+                int[] ids = p == null ? new int[64] : p.rows();
+                int size = p == null ? 0 : p.size();
+                if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+                ids[size] = count;
+                int mm = Math.max(p == null ? Integer.MIN_VALUE : p.maxMaxAge(), row.getMaxAge());
+                parts.put(key, new Part(ids, size + 1, mm));
+                count++;
+            }
+            state = new State(segments, count, minAge, maxAge, invNorm, themes, Map.copyOf(parts));
+        }
+    }
+
+    // 나이 범위/카테고리 필터 + 코사인 상위 K 테마(미준비 또는 k개 미만이면 빈 Optional → DB 폴백)
+    public Optional<List<String>> topK(int age, NodeCategory category, float[] query, int k) {
+        if (!isReady() || k <= 0) return Optional.empty();
+        State s = state;
+
+        float[] qf = (query == null || query.length != DIM) ? new float[DIM] : query;
+        byte[] q = new byte[DIM];
+        quantize(qf, q);
+
+        int[] bestRows = new int[k];
+        float[] bestScores = new float[k];
+        int found = 0;
+        byte[] row = rowBuffer.get();
+        int maxBucket = age / bucketWidth;
+
+        for (Map.Entry<PartKey, Part> e : s.parts.entrySet()) {
+            PartKey key = e.getKey();
+            Part p = e.getValue();
+            if (category != null && key.category() != category) continue;
+            if (key.bucket() > maxBucket || p.maxMaxAge() < age) continue;
+
+            int[] ids = p.rows();
+            for (int i = 0; i < p.size(); i++) {
+                int r = ids[i];
+                if (s.minAge[r] > age || s.maxAge[r] < age) continue;
+
+                s.segments[r / SEGMENT_ROWS].get((r % SEGMENT_ROWS) * DIM, row);
+                float score = dot(q, row) * s.invNorm[r];
+
+                if (found < k) {
+                    found = insertSorted(bestRows, bestScores, found, r, score);
+                } else if (score > bestScores[k - 1]) {
+                    insertSorted(bestRows, bestScores, k - 1, r, score);
+                }
+            }
+        }
+
+        if (found < k) return Optional.empty();
+        List<String> out = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) out.add(s.themes[bestRows[i]]);
+        return Optional.of(out);
+    }
+
+    @PreDestroy
+    void close() {
+        synchronized (writeLock) {
+            ready = false;
+            try {
+                if (channel != null) channel.close();
+                // 매핑된 버퍼는 파일 삭제 후에도 유효(유닉스 unlink), 프로세스 전용 파일이므로 정리
+                if (file != null) Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // 종료 중이므로 무시
+            }
+        }
+    }
+
+    // 정수 내적(4-way 펼침, JIT 자동 벡터화 친화적인 단순 루프)
+    private static int dot(byte[] a, byte[] b) {
+        int s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        for (int i = 0; i < DIM; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    // 행 대칭 int8 양자화, 1/‖q‖ 반환(영벡터면 0)
+    private static float quantize(float[] v, byte[] out) {
+        float maxAbs = 0f;
+        for (float x : v) {
+            float a = Math.abs(x);
+            if (a > maxAbs && Float.isFinite(a)) maxAbs = a;
+        }
+        if (maxAbs == 0f) {
+            Arrays.fill(out, (byte) 0);
+            return 0f;
+        }
+        float inv = 127f / maxAbs;
+        long sq = 0;
+        for (int i = 0; i < DIM; i++) {
+            float x = Float.isFinite(v[i]) ? v[i] : 0f;
+            int qi = Math.max(-127, Math.min(127, Math.round(x * inv)));
+            out[i] = (byte) qi;
+            sq += (long) qi * qi;
+        }
+        return sq == 0 ? 0f : (float) (1.0 / Math.sqrt(sq));
+    }
+
+    // 점수 내림차순 삽입(size칸 사용 중, 반환: 새 size)
+    private static int insertSorted(int[] rows, float[] scores, int size, int row, float score) {
+        int i = size;
+        while (i > 0 && scores[i - 1] < score) {
+            if (i < rows.length) {
+                rows[i] = rows[i - 1];
+                scores[i] = scores[i - 1];
+            }
+            i--;
+        }
+        if (i < rows.length) {
+            rows[i] = row;
+            scores[i] = score;
+        }
+        return Math.min(size + 1, rows.length);
+    }
+
+    private void openFile() throws IOException {
+        synchronized (writeLock) {
+            if (channel != null) return;
+            Files.createDirectories(dir);
+            // 기동마다 DB에서 다시 스냅샷, 파일은 프로세스 전용(고정 경로를 자르면 다른 프로세스의 매핑이 깨짐)
+            file = Files.createTempFile(dir, "age_theme-", ".i8");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+    }
+
+    private MappedByteBuffer[] mapSegment(MappedByteBuffer[] segments) {
+        try {
+            MappedByteBuffer seg = channel.map(FileChannel.MapMode.READ_WRITE,
+                    segments.length * SEGMENT_BYTES, SEGMENT_BYTES);
+            MappedByteBuffer[] grown = Arrays.copyOf(segments, segments.length + 1);
+            grown[segments.length] = seg;
+            return grown;
+        } catch (IOException e) {
+            throw new IllegalStateException("age_theme index segment map failed: " + file, e);
+        }
+    }
+}
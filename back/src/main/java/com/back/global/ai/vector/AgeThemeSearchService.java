@@ -1,17 +1,19 @@
 /*
  * [코드 흐름 요약]
  * - 쿼리 임베딩을 pgvector 리터럴로 변환하되, null/빈 입력 시 768차원 0-벡터를 사용.
- * - 카테고리 필터와 함께 상위 K 테마를 조회.
+ * - 카테고리 필터와 함께 상위 K 테마를 조회(로컬 int8 인덱스가 준비됐으면 우선 사용, 아니면 DB).
+ * - 힌트 결합 조회는 이미 계산한 질의 벡터로 바로 검색(로컬 준비 시 결합 CTE의 테마 분기 생략).
  */
 package com.back.global.ai.vector;
 
 import com.back.domain.node.entity.NodeCategory;
 import com.back.domain.search.repository.AgeThemeRepository;
+import com.back.infra.pgvector.PgVectorCodec;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -19,40 +21,25 @@ public class AgeThemeSearchService {
 
     private final EmbeddingClient embeddingClient;
     private final AgeThemeRepository repo;
-
-    // 무결성 검증
-    private static final int DIM = 768;
-    private static final String ZERO_LIT = zeroVectorLiteral();
+    private final AgeThemeLocalIndex localIndex;
 
     // next 노드 생성
     public List<String> topK(int age, NodeCategory category, String query, int k) {
         float[] emb = (query == null) ? null : embeddingClient.embed(query);
-        String lit = toVectorLiteralOrZero(emb);
-        String cat = (category == null) ? null : category.name();
-        return repo.topKThemesByAgeAndCategory(age, cat, lit, k);
+        return topK(age, category, emb, k);
     }
 
-    // 무결성 검증
-    private static String toVectorLiteralOrZero(float[] v) {
-        if (v == null || v.length == 0) return ZERO_LIT;
-        if (v.length != DIM) return ZERO_LIT;
-        StringBuilder sb = new StringBuilder(v.length * 8 + 2);
-        sb.append('[');
-        for (int i = 0; i < v.length; i++) {
-            if (i > 0) sb.append(',');
-            float x = v[i];
-            if (Float.isNaN(x) || Float.isInfinite(x)) x = 0f;
-            sb.append(Float.toString(x));
-        }
-        sb.append(']');
-        return sb.toString();
+    // 질의 벡터로 직접 검색(로컬 인덱스 우선, 미준비/결과 부족 시 DB)
+    public List<String> topK(int age, NodeCategory category, float[] emb, int k) {
+        Optional<List<String>> local = localIndex.topK(age, category, emb, k);
+        if (local.isPresent()) return local.get();
+
+        String lit = PgVectorCodec.toLiteralOrZero(emb);
+        String cat = (category == null) ? null : category.name();
+        return repo.topKThemesByAgeAndCategory(age, cat, lit, k);
     }
 
-    // 무결성 검증
-    private static String zeroVectorLiteral() {
-        char[] zeros = "0".toCharArray();
-        String[] arr = new String[DIM];
-        Arrays.fill(arr, new String(zeros));
-        return "[" + String.join(",", arr) + "]";
+    public boolean isLocalReady() {
+        return localIndex.isReady();
     }
 }
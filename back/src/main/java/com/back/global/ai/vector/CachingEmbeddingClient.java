@@ -0,0 +1,153 @@
+/*
+ * [코드 흐름 요약]
+ * - EmbeddingClient 데코레이터: (텍스트 SHA-256 앞 128bit + dim/bigram/shingle 설정)을 키로 임베딩을 캐싱한다.
+ * - 저장소는 가중치(바이트) 상한 LRU(WeightedLruCache), 반환 시 배열을 복사해 캐시 값 오염을 막는다.
+ * - embedBatch는 미스만 모아 위임체 embedBatch 1회로 계산하고(배치 내 중복 텍스트도 1회), 결과를 입력 순서로 조립한다.
+ * - 시더처럼 큰 배치는 조회만 하고 적재하지 않아(admit-batch-max) 일회성 텍스트가 캐시를 밀어내지 않게 한다.
+ * - 히트/미스는 ai.embedding.cache.requests{result} 카운터로 노출한다.
+ */
+package com.back.global.ai.vector;
+
+import com.back.global.cache.WeightedLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+@Primary
+@Component
+public class CachingEmbeddingClient implements EmbeddingClient {
+
+    // 내용 해시 + 임베딩 설정(설정이 바뀌면 다른 키)
+    record Key(long hi, long lo, int dim, boolean bigram, boolean shingle) {}
+
+    private final EmbeddingClient delegate;
+    private final EmbeddingProperties props;
+    private final boolean enabled;
+    private final int admitBatchMax;
+    private final WeightedLruCache<Key, float[]> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingEmbeddingClient(@Qualifier("localHashEmbeddingClient") EmbeddingClient delegate,
+                                  EmbeddingProperties props,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${ai.embedding.cache.enabled:true}") boolean enabled,
+                                  @Value("${ai.embedding.cache.max-weight-bytes:16777216}") long maxWeight,
+                                  @Value("${ai.embedding.cache.admit-batch-max:32}") int admitBatchMax) {
+        this.delegate = delegate;
+        this.props = props;
+        this.enabled = enabled;
+        this.admitBatchMax = Math.max(0, admitBatchMax);
+        this.cache = new WeightedLruCache<>(maxWeight, v -> 64 + 4L * v.length);
+
+        this.hits = Counter.builder("ai.embedding.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("ai.embedding.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("ai.embedding.cache.weight", cache, WeightedLruCache::weight)
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("ai.embedding.cache.size", cache, WeightedLruCache::size).register(meterRegistry);
+    }
+
+    // 단건 임베딩(히트면 복사본 반환, 미스면 계산 후 적재)
+    @Override
+    public float[] embed(String text) {
+        if (!enabled || text == null) return delegate.embed(text);
+
+        Key key = keyOf(text);
+        float[] hit = cache.get(key);
+        if (hit != null) {
+            hits.increment();
+            return hit.clone();
+        }
+        misses.increment();
+        float[] v = delegate.embed(text);
+        if (v != null) cache.put(key, v.clone());
+        return v;
+    }
+
+    // 배치 임베딩(미스만 위임체 배치 1회, 입력 순서 보존)
+    @Override
+    public List<float[]> embedBatch(List<String> texts) {
+        int n = texts == null ? 0 : texts.size();
+        if (!enabled || n == 0) return delegate.embedBatch(texts);
+
+        float[][] out = new float[n][];
+        Key[] keys = new Key[n];
+        // 미스 텍스트 키 → 해당 입력 위치들(배치 내 중복 텍스트는 1회만 계산)
+        Map<Key, List<Integer>> pending = new LinkedHashMap<>();
+        List<String> missTexts = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            String t = texts.get(i);
+            if (t == null) continue;
+            Key key = keyOf(t);
+            keys[i] = key;
+            float[] hit = cache.get(key);
+            if (hit != null) {
+                out[i] = hit.clone();
+                continue;
+            }
+            List<Integer> slots = pending.get(key);
+            if (slots == null) {
+                slots = new ArrayList<>(1);
+                pending.put(key, slots);
+                missTexts.add(t);
+            }
+            slots.add(i);
+        }
+        int missSlots = 0;
+        for (List<Integer> slots : pending.values()) missSlots += slots.size();
+        hits.increment(n - missSlots);
+        misses.increment(missSlots);
+
+        if (!missTexts.isEmpty()) {
+            List<float[]> computed = delegate.embedBatch(missTexts);
+            boolean admit = missTexts.size() <= admitBatchMax;
+            int j = 0;
+            for (Map.Entry<Key, List<Integer>> e : pending.entrySet()) {
+                float[] v = computed.get(j++);
+                if (v == null) continue;
+                if (admit) cache.put(e.getKey(), v.clone());
+                List<Integer> slots = e.getValue();
+                out[slots.get(0)] = v;
+                for (int s = 1; s < slots.size(); s++) out[slots.get(s)] = v.clone();
+            }
+        }
+
+        List<float[]> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(out[i] != null || keys[i] != null ? out[i] : delegate.embed(null));
+        }
+        return result;
+    }
+
+    // 선형 연산은 캐시와 무관하게 위임체 것을 그대로 노출
+    @Override
+    public Optional<LinearEmbedding> linear() {
+        return delegate.linear();
+    }
+
+    private Key keyOf(String text) {
+        byte[] digest = sha256().digest(text.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer bb = ByteBuffer.wrap(digest);
+        return new Key(bb.getLong(), bb.getLong(), props.getDim(), props.isUseBigram(), props.isUseCharShingle());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
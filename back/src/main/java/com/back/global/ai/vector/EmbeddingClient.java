@@ -2,11 +2,13 @@
  * [코드 흐름 요약]
  * - 단일 텍스트 임베딩(embed)과 컬렉션 배치 임베딩(embedBatch)을 정의한다.
  * - 기본 구현은 embedBatch가 embed를 루프 호출하도록 제공해 하위 호환을 보장한다.
+ * - 정규화 전까지 선형인 구현은 linear()로 원시 연산을 노출한다(기본: 없음).
  */
 package com.back.global.ai.vector;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 public interface EmbeddingClient {
 
@@ -21,4 +23,9 @@ public interface EmbeddingClient {
         for (String s : texts) out.add(embed(s));
         return out;
     }
+
+    // 정규화 전 선형 임베딩 연산(증분 누적용), 지원하지 않으면 빈 값
+    default Optional<LinearEmbedding> linear() {
+        return Optional.empty();
+    }
 }
@@ -1,6 +1,6 @@
 /*
  * [코드 흐름 요약]
- * - 프로퍼티 바인딩으로 임베딩 설정을 주입(dim, useBigram, useCharShingle).
+ * - 프로퍼티 바인딩으로 임베딩 설정을 주입(dim, useBigram, useCharShingle, 배치 병렬화).
  * - 애플리케이션 기동 시 유효성 검증과 보정(최소/최대 범위) 수행.
  */
 package com.back.global.ai.vector;
@@ -27,6 +27,10 @@ public class EmbeddingProperties {
     private boolean useBigram = false;
     private boolean useCharShingle = false;
 
+    // embedBatch 병렬 처리 여부와 병렬 전환 최소 건수
+    private boolean parallelBatch = true;
+    private int parallelThreshold = 64;
+
     // 무결성 검증
     @PostConstruct
     public void validateAndClamp() {
@@ -0,0 +1,153 @@
+/*
+ * [코드 흐름 요약]
+ * - 여러 키워드 그룹을 Aho-Corasick 오토마톤 하나로 컴파일해 본문을 한 번만 훑어 그룹별 적중 수를 센다.
+ * - 적중 수는 그룹 내 "서로 다른 키워드" 개수(기존 keywords.stream().anyMatch(text::contains)/contains 누적과 동일 의미).
+ * - 같은 키워드가 여러 그룹에 속할 수 있고, 겹치는 키워드(예: 코인/비트코인)도 모두 보고한다.
+ * - 빌드 후 불변: 노드별 전이는 정렬된 char 배열 + 이진 탐색, 실패 링크를 따라 출력 목록을 미리 합쳐 둔다(스레드 안전).
+ */
+package com.back.global.ai.vector;
+
+import java.util.*;
+
+public final class KeywordAutomaton<G> {
+
+    // 그룹별 적중 수(서로 다른 키워드 기준)
+    public final class Hits {
+        private final int[] counts;
+
+        private Hits(int[] counts) { this.counts = counts; }
+
+        public int count(G group) {
+            Integer idx = groupIndex.get(group);
+            return (idx == null) ? 0 : counts[idx];
+        }
+
+        public boolean any(G group) { return count(group) > 0; }
+    }
+
+    private final Map<G, Integer> groupIndex;
+    private final int[][] keywordGroups;   // 키워드 id → 그룹 인덱스들
+    private final char[][] edgeChars;      // 노드 → 정렬된 전이 문자
+    private final int[][] edgeTargets;     // 노드 → 전이 대상 노드
+    private final int[] fail;
+    private final int[][] outputs;         // 노드 → 끝나는 키워드 id(실패 링크 출력 포함)
+
+    private KeywordAutomaton(Map<G, Integer> groupIndex, int[][] keywordGroups, char[][] edgeChars,
+                             int[][] edgeTargets, int[] fail, int[][] outputs) {
+        this.groupIndex = groupIndex;
+        this.keywordGroups = keywordGroups;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputs = outputs;
+    }
+
+    public static <G> Builder<G> builder() {
+        return new Builder<>();
+    }
+
+    // 본문 1회 순회로 모든 그룹 적중 수 계산(null/빈 문자열은 적중 없음)
+    public Hits scan(CharSequence text) {
+        int[] counts = new int[groupIndex.size()];
+        if (text == null || text.isEmpty()) return new Hits(counts);
+
+        boolean[] seen = new boolean[keywordGroups.length];
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = step(state, c)) < 0 && state != 0) state = fail[state];
+            state = Math.max(next, 0);
+
+            for (int kw : outputs[state]) {
+                if (seen[kw]) continue;
+                seen[kw] = true;
+                for (int g : keywordGroups[kw]) counts[g]++;
+            }
+        }
+        return new Hits(counts);
+    }
+
+    private int step(int state, char c) {
+        int pos = Arrays.binarySearch(edgeChars[state], c);
+        return (pos < 0) ? -1 : edgeTargets[state][pos];
+    }
+
+    public static final class Builder<G> {
+
+        private final Map<G, Integer> groupIndex = new LinkedHashMap<>();
+        private final Map<String, Set<Integer>> keywords = new LinkedHashMap<>();
+
+        private Builder() {}
+
+        // 그룹에 키워드 추가(빈 키워드는 무시)
+        public Builder<G> add(G group, String... words) {
+            int g = groupIndex.computeIfAbsent(group, k -> groupIndex.size());
+            for (String w : words) {
+                if (w == null || w.isEmpty()) continue;
+                keywords.computeIfAbsent(w, k -> new LinkedHashSet<>()).add(g);
+            }
+            return this;
+        }
+
+        public KeywordAutomaton<G> build() {
+            List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+            List<List<Integer>> out = new ArrayList<>();
+            trie.add(new TreeMap<>());
+            out.add(new ArrayList<>());
+
+            int[][] keywordGroups = new int[keywords.size()][];
+            int id = 0;
+            for (Map.Entry<String, Set<Integer>> e : keywords.entrySet()) {
+                int node = 0;
+                for (char c : e.getKey().toCharArray()) {
+                    Integer child = trie.get(node).get(c);
+                    if (child == null) {
+                        child = trie.size();
+                        trie.get(node).put(c, child);
+                        trie.add(new TreeMap<>());
+                        out.add(new ArrayList<>());
+                    }
+                    node = child;
+                }
+                out.get(node).add(id);
+                keywordGroups[id++] = e.getValue().stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            int size = trie.size();
+            char[][] edgeChars = new char[size][];
+            int[][] edgeTargets = new int[size][];
+            for (int i = 0; i < size; i++) {
+                TreeMap<Character, Integer> m = trie.get(i);
+                edgeChars[i] = new char[m.size()];
+                edgeTargets[i] = new int[m.size()];
+                int j = 0;
+                for (Map.Entry<Character, Integer> e : m.entrySet()) {
+                    edgeChars[i][j] = e.getKey();
+                    edgeTargets[i][j++] = e.getValue();
+                }
+            }
+
+            // BFS로 실패 링크 계산(부모가 먼저 끝나므로 실패 노드의 출력은 이미 합쳐져 있음)
+            int[] fail = new int[size];
+            ArrayDeque<Integer> queue = new ArrayDeque<>(trie.get(0).values());
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (Map.Entry<Character, Integer> e : trie.get(node).entrySet()) {
+                    int child = e.getValue();
+                    int f = fail[node];
+                    Integer target;
+                    while ((target = trie.get(f).get(e.getKey())) == null && f != 0) f = fail[f];
+                    fail[child] = (target != null && target != child) ? target : 0;
+                    out.get(child).addAll(out.get(fail[child]));
+                    queue.add(child);
+                }
+            }
+
+            int[][] outputs = new int[size][];
+            for (int i = 0; i < size; i++) outputs[i] = out.get(i).stream().mapToInt(Integer::intValue).toArray();
+
+            return new KeywordAutomaton<>(Map.copyOf(groupIndex), keywordGroups, edgeChars, edgeTargets, fail, outputs);
+        }
+    }
+}
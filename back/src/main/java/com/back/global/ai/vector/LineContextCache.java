@@ -0,0 +1,333 @@
+/*
+ * [코드 흐름 요약]
+ * - 힌트 생성용 라인 컨텍스트(노드 id/나이 집합, 숨은 배지) + 베이스라인 정보(피벗 나이, 헤더 카테고리)를
+ *   요청을 넘어 공유하는 가중치 상한 LRU 캐시(엔티티 대신 불변 값만 보관).
+ * - 결정 노드 본문과 베이스 노드 나이/카테고리는 삽입 후 바뀌지 않으므로, 라인 변화는 노드 추가/라인 생성·취소·삭제뿐:
+ *   꼬리 추가는 커밋 후 항목을 패치(appendAfterCommit), 그 외는 라인/베이스라인 단위 제거.
+ * - 적재 경합: 라인별(스트라이프) 세대 번호를 읽고 로드 → 그 사이 쓰기가 있었으면 적재하지 않아 낡은 값이 남지 않음.
+ * - 다중 인스턴스: ai.line-ctx.redis.enabled면 Redis pub/sub 채널로 라인/베이스라인 무효화를 방송(자기 메시지는 무시).
+ * - 쓰기를 거치지 않는 변경에 대비해 항목은 ttl-ms가 지나면 다시 로드한다.
+ */
+package com.back.global.ai.vector;
+
+import com.back.domain.node.entity.NodeCategory;
+import com.back.global.cache.WeightedLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class LineContextCache {
+
+    private static final String CHANNEL = "ai:line-ctx:invalidate";
+    private static final int STRIPES = 1024;
+
+    // 라인 컨텍스트(불변), baseLineId가 null이면 라인 없음
+    public record LineCtx(Long baseLineId,
+                          Set<Long> nodeIds,
+                          Set<Integer> ageSet,
+                          int maxAge,
+                          List<String> badges,
+                          Map<String, Object> hiddenFacts,
+                          long loadedAt) {
+
+        boolean ageExists(int age) { return ageSet.contains(age); }
+
+        long weight() {
+            return 256 + 48L * nodeIds.size() + 32L * ageSet.size() + 64L * badges.size();
+        }
+    }
+
+    // 베이스라인 파생 정보(불변)
+    public record BaseInfo(List<Integer> pivotAges, NodeCategory fromBaseCategory, long loadedAt) {
+        long weight() {
+            return 128 + 16L * pivotAges.size();
+        }
+    }
+
+    // 로드 시 노드 한 건의 필요한 값
+    public record NodeFact(Long id, int ageYear, String situation, String decision) {}
+
+    private final WeightedLruCache<Long, LineCtx> lines;
+    private final WeightedLruCache<Long, BaseInfo> bases;
+    private final AtomicLongArray lineGen = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray baseGen = new AtomicLongArray(STRIPES);
+    private final long ttlMs;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer listener;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter patches;
+    private final Counter evictions;
+
+    public LineContextCache(MeterRegistry meterRegistry,
+                            ObjectProvider<StringRedisTemplate> redisProvider,
+                            ObjectProvider<RedisConnectionFactory> connectionFactoryProvider,
+                            @Value("${ai.line-ctx.max-weight-bytes:8388608}") long maxWeight,
+                            @Value("${ai.line-ctx.ttl-ms:600000}") long ttlMs,
+                            @Value("${ai.line-ctx.redis.enabled:false}") boolean redisEnabled) {
+        this.lines = new WeightedLruCache<>(maxWeight, LineCtx::weight);
+        this.bases = new WeightedLruCache<>(Math.max(1, maxWeight / 8), BaseInfo::weight);
+        this.ttlMs = Math.max(1000L, ttlMs);
+
+        this.hits = Counter.builder("ai.line.ctx.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("ai.line.ctx.requests").tag("result", "miss").register(meterRegistry);
+        this.patches = Counter.builder("ai.line.ctx.writes").tag("op", "patch").register(meterRegistry);
+        this.evictions = Counter.builder("ai.line.ctx.writes").tag("op", "evict").register(meterRegistry);
+        Gauge.builder("ai.line.ctx.weight", lines, WeightedLruCache::weight).baseUnit("bytes").register(meterRegistry);
+
+        this.redis = redisEnabled ? redisProvider.getIfAvailable() : null;
+        RedisConnectionFactory cf = redisEnabled ? connectionFactoryProvider.getIfAvailable() : null;
+        this.listener = (redis != null && cf != null) ? subscribe(cf) : null;
+    }
+
+    // 라인 컨텍스트 조회(없거나 만료면 로더로 적재, 로드 중 쓰기가 있었으면 적재 생략)
+    public LineCtx line(Long lineId, Supplier<LineCtx> loader) {
+        LineCtx cached = lines.get(lineId);
+        if (cached != null && !expired(cached.loadedAt())) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        long gen = lineGen.get(stripe(lineId));
+        LineCtx loaded = loader.get();
+        if (loaded.baseLineId() != null && lineGen.get(stripe(lineId)) == gen) lines.put(lineId, loaded);
+        return loaded;
+    }
+
+    // 베이스라인 정보 조회(같은 베이스라인의 라인끼리 공유)
+    public BaseInfo base(Long baseLineId, Supplier<BaseInfo> loader) {
+        BaseInfo cached = bases.get(baseLineId);
+        if (cached != null && !expired(cached.loadedAt())) return cached;
+        long gen = baseGen.get(stripe(baseLineId));
+        BaseInfo loaded = loader.get();
+        if (baseGen.get(stripe(baseLineId)) == gen) bases.put(baseLineId, loaded);
+        return loaded;
+    }
+
+    // 캐시된 베이스라인 정보만 조회(없으면 null)
+    public BaseInfo peekBase(Long baseLineId) {
+        BaseInfo cached = bases.get(baseLineId);
+        return (cached == null || expired(cached.loadedAt())) ? null : cached;
+    }
+
+    // 새 노드 반영 예약: 커밋 후 꼬리 추가면 패치, 중간 삽입이면 제거(원격 인스턴스는 제거)
+    public void appendAfterCommit(Long lineId, NodeFact node) {
+        if (lineId == null || node == null || node.id() == null) return;
+        afterCommit(() -> {
+            lineGen.incrementAndGet(stripe(lineId));
+            LineCtx cur = lines.get(lineId);
+            if (cur != null) {
+                LineCtx next = withAppended(cur, node);
+                if (next != null) {
+                    lines.put(lineId, next);
+                    patches.increment();
+                } else {
+                    lines.remove(lineId);
+                    evictions.increment();
+                }
+            }
+            publish("L", lineId);
+        });
+    }
+
+    // 라인 컨텍스트 무효화 예약(생성/취소 등)
+    public void evictLinesAfterCommit(Collection<Long> lineIds) {
+        if (lineIds == null || lineIds.isEmpty()) return;
+        List<Long> ids = lineIds.stream().filter(Objects::nonNull).distinct().toList();
+        afterCommit(() -> {
+            for (Long id : ids) {
+                evictLineLocal(id);
+                publish("L", id);
+            }
+        });
+    }
+
+    // 베이스라인 정보 무효화 예약(베이스라인 삭제 등, 라인 항목은 evictLinesAfterCommit으로 함께 처리)
+    public void evictBaseLineAfterCommit(Long baseLineId) {
+        if (baseLineId == null) return;
+        afterCommit(() -> {
+            evictBaseLocal(baseLineId);
+            publish("B", baseLineId);
+        });
+    }
+
+    // 로드된 노드(나이/id 오름차순)로 컨텍스트 구성
+    public static LineCtx build(Long baseLineId, List<NodeFact> ordered) {
+        Set<Long> ids = new HashSet<>();
+        Set<Integer> ages = new LinkedHashSet<>();
+        List<String> badges = new ArrayList<>();
+        int maxAge = Integer.MIN_VALUE;
+        for (NodeFact n : ordered) {
+            ids.add(n.id());
+            ages.add(n.ageYear());
+            maxAge = Math.max(maxAge, n.ageYear());
+            collectBadges(badges, n);
+        }
+        return new LineCtx(baseLineId, Collections.unmodifiableSet(ids), Collections.unmodifiableSet(ages), maxAge,
+                List.copyOf(badges), hiddenFactsOf(badges), System.currentTimeMillis());
+    }
+
+    // 꼬리 추가 패치(이미 있으면 그대로, 정렬 순서상 꼬리가 아니면 null → 제거)
+    static LineCtx withAppended(LineCtx cur, NodeFact node) {
+        if (cur.nodeIds().contains(node.id())) return cur;
+        if (node.ageYear() < cur.maxAge()) return null;
+
+        Set<Long> ids = new HashSet<>(cur.nodeIds());
+        ids.add(node.id());
+        Set<Integer> ages = new LinkedHashSet<>(cur.ageSet());
+        ages.add(node.ageYear());
+        List<String> badges = new ArrayList<>(cur.badges());
+        collectBadges(badges, node);
+        return new LineCtx(cur.baseLineId(), Collections.unmodifiableSet(ids), Collections.unmodifiableSet(ages),
+                node.ageYear(), List.copyOf(badges), hiddenFactsOf(badges), cur.loadedAt());
+    }
+
+    @PreDestroy
+    void close() {
+        if (listener != null) {
+            try {
+                listener.destroy();
+            } catch (Exception ignored) {
+                // 종료 중이므로 무시
+            }
+        }
+    }
+
+    // 배지 라벨 → 키워드(선언 순서 = 배지 표시 순서)
+    private static final Map<String, String[]> BADGE_KEYWORDS = badgeKeywords();
+    private static final KeywordAutomaton<String> BADGE_MATCHER = buildBadgeMatcher();
+
+    private static Map<String, String[]> badgeKeywords() {
+        Map<String, String[]> m = new LinkedHashMap<>();
+        m.put("공모전 수상", new String[]{"공모전", "수상", "수상경력"});
+        m.put("전시 참여", new String[]{"전시", "아트페어", "포트폴리오 리뷰"});
+        m.put("인턴 경험", new String[]{"인턴", "현장실습", "스튜디오 어시"});
+        m.put("자격증", new String[]{"자격증", "자격 취득"});
+        m.put("장학", new String[]{"장학금", "장학"});
+        m.put("군필", new String[]{"군필", "병역", "복무 완료"});
+        return Collections.unmodifiableMap(m);
+    }
+
+    private static KeywordAutomaton<String> buildBadgeMatcher() {
+        KeywordAutomaton.Builder<String> b = KeywordAutomaton.builder();
+        BADGE_KEYWORDS.forEach(b::add);
+        return b.build();
+    }
+
+    // 노드 본문 1회 순회 → 배지(중복 없이 추가)
+    private static void collectBadges(List<String> badges, NodeFact d) {
+        String text = (safe(d.situation()) + " " + safe(d.decision())).trim();
+        KeywordAutomaton<String>.Hits hits = BADGE_MATCHER.scan(text);
+        for (String badge : BADGE_KEYWORDS.keySet()) {
+            if (hits.any(badge)) addOnce(badges, badge);
+        }
+    }
+
+    // 배지 → 숨은 사실 맵(badges/next_hooks), 비어 있으면 빈 맵
+    private static Map<String, Object> hiddenFactsOf(List<String> badges) {
+        List<String> hooks = new ArrayList<>();
+        if (badges.contains("군필")) addOnce(hooks, "군필");
+        if (badges.contains("공모전 수상")) addOnce(hooks, "수상 1회");
+
+        if (badges.isEmpty() && hooks.isEmpty()) return Map.of();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("badges", List.copyOf(badges));
+        out.put("next_hooks", List.copyOf(hooks));
+        return Collections.unmodifiableMap(out);
+    }
+
+    private static void addOnce(List<String> list, String v) {
+        if (v == null || v.isBlank()) return;
+        if (!list.contains(v)) list.add(v);
+    }
+
+    private static String safe(String s) { return (s == null) ? "" : s.trim(); }
+
+    private void evictLineLocal(Long lineId) {
+        lineGen.incrementAndGet(stripe(lineId));
+        lines.remove(lineId);
+        evictions.increment();
+    }
+
+    private void evictBaseLocal(Long baseLineId) {
+        baseGen.incrementAndGet(stripe(baseLineId));
+        bases.remove(baseLineId);
+        evictions.increment();
+    }
+
+    private boolean expired(long loadedAt) {
+        return System.currentTimeMillis() - loadedAt > ttlMs;
+    }
+
+    private static int stripe(Long id) {
+        return (int) (Long.hashCode(id) & (STRIPES - 1));
+    }
+
+    // 트랜잭션 안이면 커밋 후, 밖이면 즉시 실행
+    private static void afterCommit(Runnable job) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            job.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                job.run();
+            }
+        });
+    }
+
+    // 원격 인스턴스에 무효화 방송("인스턴스|L|id" 또는 "인스턴스|B|id")
+    private void publish(String kind, Long id) {
+        if (redis == null) return;
+        try {
+            redis.convertAndSend(CHANNEL, instanceId + "|" + kind + "|" + id);
+        } catch (Exception e) {
+            log.warn("[LINE-CTX] invalidation publish failed: {}", e.getMessage());
+        }
+    }
+
+    private RedisMessageListenerContainer subscribe(RedisConnectionFactory cf) {
+        RedisMessageListenerContainer c = new RedisMessageListenerContainer();
+        c.setConnectionFactory(cf);
+        c.addMessageListener((message, pattern) ->
+                onMessage(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(CHANNEL));
+        c.afterPropertiesSet();
+        c.start();
+        return c;
+    }
+
+    // 원격 무효화 수신(자기 메시지/형식 오류는 무시, 패치는 원격에서 제거로 처리)
+    void onMessage(String body) {
+        String[] parts = body.split("\\|", 3);
+        if (parts.length != 3 || parts[0].equals(instanceId)) return;
+        try {
+            Long id = Long.parseLong(parts[2]);
+            if ("L".equals(parts[1])) evictLineLocal(id);
+            else if ("B".equals(parts[1])) evictBaseLocal(id);
+        } catch (NumberFormatException ignored) {
+            // 형식 오류 메시지 무시
+        }
+    }
+}
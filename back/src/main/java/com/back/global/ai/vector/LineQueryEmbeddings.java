@@ -0,0 +1,127 @@
+/*
+ * [코드 흐름 요약]
+ * - 라인별 힌트 검색 질의("- (나이세) 상황 → 결정" 줄들을 "\n"으로 이은 텍스트)의 임베딩을 정규화 전 원시 합으로 보관한다.
+ * - 호출마다 이전 줄 목록과 공통 접두/접미를 비교해 바뀐 구간만 빼고 더한다(추가/편집/삭제 모두 동일 경로).
+ *   → 노드 1개 추가 시 해시 계산은 새 줄 1개 + 경계 항 1~2개(라인 길이와 무관), 정규화는 조회 시점에만.
+ * - 원시 합은 double로 누적해 증분 갱신 오차를 억제하고, 상태는 불변 객체로 교체(동시 호출은 마지막 put 우선, 둘 다 정확).
+ * - 클라이언트가 선형 연산을 제공하지 않으면(linear() 비어 있음) 매번 전체 텍스트를 embed한다.
+ * - 경계 항 분해는 줄마다 토큰이 1개 이상일 때 정확하다(질의 줄은 항상 "N세" 토큰을 포함).
+ * - 라인 상태는 가중치 상한 LRU(WeightedLruCache)에 보관, 갱신 방식은 ai.embedding.line.updates{mode}로 노출.
+ */
+package com.back.global.ai.vector;
+
+import com.back.global.cache.WeightedLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class LineQueryEmbeddings {
+
+    // 줄 목록과 그 원시 합(교체 전용, 내부 배열은 공유 후 수정하지 않음)
+    private record State(List<String> lines, double[] raw) {}
+
+    private final EmbeddingClient embeddingClient;
+    private final boolean enabled;
+    private final WeightedLruCache<Long, State> states;
+
+    private final Counter full;
+    private final Counter incremental;
+    private final Counter unchanged;
+    private final Counter fallback;
+
+    public LineQueryEmbeddings(EmbeddingClient embeddingClient,
+                               MeterRegistry meterRegistry,
+                               @Value("${ai.embedding.line-accumulator.enabled:true}") boolean enabled,
+                               @Value("${ai.embedding.line-accumulator.max-weight-bytes:8388608}") long maxWeight) {
+        this.embeddingClient = embeddingClient;
+        this.enabled = enabled;
+        this.states = new WeightedLruCache<>(maxWeight, LineQueryEmbeddings::weigh);
+
+        this.full = Counter.builder("ai.embedding.line.updates").tag("mode", "full").register(meterRegistry);
+        this.incremental = Counter.builder("ai.embedding.line.updates").tag("mode", "incremental").register(meterRegistry);
+        this.unchanged = Counter.builder("ai.embedding.line.updates").tag("mode", "unchanged").register(meterRegistry);
+        this.fallback = Counter.builder("ai.embedding.line.updates").tag("mode", "fallback").register(meterRegistry);
+    }
+
+    // 라인 질의 줄 목록 → 정규화된 임베딩(embed(String.join("\n", lines))와 동일 공간)
+    public float[] embed(Long lineId, List<String> lines) {
+        Optional<LinearEmbedding> linear = embeddingClient.linear();
+        if (!enabled || lineId == null || linear.isEmpty() || lines == null || lines.isEmpty()) {
+            fallback.increment();
+            return embeddingClient.embed(lines == null || lines.isEmpty() ? "(empty)" : String.join("\n", lines));
+        }
+        LinearEmbedding lin = linear.get();
+        List<String> next = List.copyOf(lines);
+
+        State prev = states.get(lineId);
+        State updated;
+        if (prev == null) {
+            updated = new State(next, rebuild(lin, next));
+            full.increment();
+        } else if (prev.lines().equals(next)) {
+            updated = prev;
+            unchanged.increment();
+        } else {
+            updated = new State(next, patch(lin, prev, next));
+            incremental.increment();
+        }
+        states.put(lineId, updated);
+        return lin.normalize(updated.raw());
+    }
+
+    // 라인 상태 제거(다음 호출은 전체 계산)
+    public void evict(Long lineId) {
+        if (lineId != null) states.remove(lineId);
+    }
+
+    // 전체 원시 합: 줄 원시 벡터 + 인접 줄 경계 항
+    private static double[] rebuild(LinearEmbedding lin, List<String> lines) {
+        double[] raw = null;
+        for (int i = 0; i < lines.size(); i++) {
+            float[] r = lin.embedRaw(lines.get(i));
+            if (raw == null) raw = new double[r.length];
+            add(raw, r, 1.0);
+            if (i > 0) lin.addJoin(raw, lines.get(i - 1), lines.get(i), 1.0);
+        }
+        return raw;
+    }
+
+    // 공통 접두 p/접미 q 밖(바뀐 구간)의 줄과 그 경계 항만 빼고 새 것을 더함
+    private static double[] patch(LinearEmbedding lin, State prev, List<String> next) {
+        List<String> old = prev.lines();
+        int m = old.size(), n = next.size();
+        int p = 0;
+        while (p < m && p < n && old.get(p).equals(next.get(p))) p++;
+        int q = 0;
+        while (q < m - p && q < n - p && old.get(m - 1 - q).equals(next.get(n - 1 - q))) q++;
+
+        double[] raw = prev.raw().clone();
+        for (int i = p; i < m - q; i++) add(raw, lin.embedRaw(old.get(i)), -1.0);
+        for (int i = p; i < n - q; i++) add(raw, lin.embedRaw(next.get(i)), 1.0);
+
+        // 바뀐 구간에 닿는 경계(i, i+1): 접두 마지막 줄 ~ 접미 첫 줄 사이
+        for (int i = Math.max(p - 1, 0); i < Math.min(m - q, m - 1); i++) {
+            lin.addJoin(raw, old.get(i), old.get(i + 1), -1.0);
+        }
+        for (int i = Math.max(p - 1, 0); i < Math.min(n - q, n - 1); i++) {
+            lin.addJoin(raw, next.get(i), next.get(i + 1), 1.0);
+        }
+        return raw;
+    }
+
+    private static void add(double[] acc, float[] v, double sign) {
+        for (int i = 0; i < acc.length; i++) acc[i] += sign * v[i];
+    }
+
+    // 대략 바이트: 원시 합 + 줄 문자열
+    private static long weigh(State s) {
+        long w = 64 + 8L * s.raw().length;
+        for (String line : s.lines()) w += 48 + 2L * line.length();
+        return w;
+    }
+}
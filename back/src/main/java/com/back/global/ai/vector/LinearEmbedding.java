@@ -0,0 +1,19 @@
+/*
+ * [코드 흐름 요약]
+ * - L2 정규화 직전까지 입력에 대해 선형(가산)인 임베딩의 원시 연산을 노출한다.
+ * - 여러 줄을 "\n"으로 이은 텍스트의 원시 벡터 = 줄별 원시 벡터 합 + 인접 줄 경계 항 합.
+ * - LineQueryEmbeddings가 라인 질의 임베딩을 노드 증분으로 갱신할 때 사용한다(비선형 클라이언트는 미제공 → 전체 재계산).
+ */
+package com.back.global.ai.vector;
+
+public interface LinearEmbedding {
+
+    // 한 줄의 정규화 전 원시 벡터
+    float[] embedRaw(String line);
+
+    // left + "\n" + right로 이었을 때만 생기는 경계 항(줄을 넘는 바이그램)을 acc에 weight배로 누적
+    void addJoin(double[] acc, String left, String right, double weight);
+
+    // 원시 합을 embed와 같은 방식으로 정규화한 벡터
+    float[] normalize(double[] raw);
+}
@@ -2,20 +2,32 @@
  * [코드 흐름 요약]
  * - 입력 텍스트를 해시 기반 고정 차원 벡터로 변환하고 L2 정규화한다.
  * - 토큰 단위 해시에 더해 바이그램/문자 셰이플릿을 선택적으로 사용해 희소성·구별력을 높인다.
- * - 배치 임베딩(embedBatch)을 제공해 대량 처리 시 호출 비용과 GC 압력을 줄인다.
+ * - 토큰화(소문자화 → 문자/숫자 외 구분자 처리 → 공백 분리)를 한 번의 코드포인트 순회로 수행하고,
+ *   UTF-8 바이트를 만들지 않고 문자에서 바로 MurmurHash3를 스트리밍 계산한다(스레드별 스크래치 버퍼 재사용).
+ * - 결과 벡터는 기존 정규식/split/getBytes 경로와 비트 단위로 동일하다(가산 순서 포함).
+ * - 배치 임베딩(embedBatch)은 임계 이상이면 병렬 스트림으로 처리한다(순서 보존).
+ * - 정규화 전까지 선형이므로 LinearEmbedding(줄 원시 벡터 + 줄 경계 바이그램)을 제공한다.
  */
 package com.back.global.ai.vector;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
-public class LocalHashEmbeddingClient implements EmbeddingClient {
+public class LocalHashEmbeddingClient implements EmbeddingClient, LinearEmbedding {
+
+    private static final int SHINGLE_K = 3;
+
+    // 스레드별 토큰 버퍼(소문자 문자열 + 토큰 경계) 및 해시 상태
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
 
     private final EmbeddingProperties props;
 
@@ -25,64 +37,147 @@ public class LocalHashEmbeddingClient implements EmbeddingClient {
     // 텍스트를 고정 차원 해시 임베딩으로 변환한다.
     @Override
     public float[] embed(String text) {
+        float[] v = embedRaw(text);
+        l2NormalizeInPlace(v);
+        return v;
+    }
+
+    // 정규화 전 원시 해시 벡터(선형 누적의 단위)
+    @Override
+    public float[] embedRaw(String text) {
         int d = dim();
         float[] v = new float[d];
         if (text == null || text.isBlank()) return v;
 
-        String[] toks = simpleTokenize(text);
+        Scratch s = SCRATCH.get();
+        tokenize(text, s);
+
+        boolean bigram = props.isUseBigram();
+        boolean shingle = props.isUseCharShingle();
 
-        // next 노드 생성
-        for (int i = 0; i < toks.length; i++) {
-            String t = toks[i];
-            if (t.isBlank()) continue;
+        // next 노드 생성(가산 순서: 1-그램 → 바이그램 → 셰이플릿, 부동소수 결과 동일성 유지)
+        for (int i = 0; i < s.count; i++) {
+            int from = s.starts[i], to = s.ends[i];
 
             // 1-그램
-            addHashed(v, t, 1f);
+            s.begin();
+            s.feed(s.buf, from, to);
+            addHashed(v, s.finish(), 1f);
 
-            // 바이그램(선택)
-            if (props.isUseBigram() && i + 1 < toks.length) {
-                addHashed(v, t + "_" + toks[i + 1], 1f);
+            // 바이그램(선택): "t_next"
+            if (bigram && i + 1 < s.count) {
+                s.begin();
+                s.feed(s.buf, from, to);
+                s.feedByte('_');
+                s.feed(s.buf, s.starts[i + 1], s.ends[i + 1]);
+                addHashed(v, s.finish(), 1f);
             }
 
-            // 문자 셰이플릿(선택)
-            if (props.isUseCharShingle()) {
-                for (String s : charShingles(t, 3)) addHashed(v, s, 0.3f);
+            // 문자 셰이플릿(선택): UTF-16 단위 k-윈도(윈도 경계에서 잘린 서로게이트는 '?'로 인코딩)
+            if (shingle && to - from >= SHINGLE_K) {
+                for (int j = from; j <= to - SHINGLE_K; j++) {
+                    s.begin();
+                    s.feed(s.buf, j, j + SHINGLE_K);
+                    addHashed(v, s.finish(), 0.3f);
+                }
             }
         }
+        return v;
+    }
+
+    // 줄 경계 바이그램("left 마지막 토큰_right 첫 토큰"), 바이그램 미사용이거나 한쪽에 토큰이 없으면 없음
+    @Override
+    public void addJoin(double[] acc, String left, String right, double weight) {
+        if (!props.isUseBigram() || left == null || right == null) return;
+        Scratch s = SCRATCH.get();
+
+        tokenize(left, s);
+        if (s.count == 0) return;
+        char[] last = Arrays.copyOfRange(s.buf, s.starts[s.count - 1], s.ends[s.count - 1]);
+
+        tokenize(right, s);
+        if (s.count == 0) return;
+        s.begin();
+        s.feed(last, 0, last.length);
+        s.feedByte('_');
+        s.feed(s.buf, s.starts[0], s.ends[0]);
+        int h = s.finish();
 
+        int idx = Math.floorMod(h, acc.length);
+        acc[idx] += (((h >>> 1) & 1) == 0 ? weight : -weight);
+    }
+
+    // 원시 합 → float 변환 후 embed와 같은 L2 정규화
+    @Override
+    public float[] normalize(double[] raw) {
+        float[] v = new float[raw.length];
+        for (int i = 0; i < raw.length; i++) v[i] = (float) raw[i];
         l2NormalizeInPlace(v);
         return v;
     }
 
-    // 배치 임베딩(단순 루프, 구현체 일관성 보장)
+    @Override
+    public Optional<LinearEmbedding> linear() {
+        return Optional.of(this);
+    }
+
+    // 배치 임베딩(임계 이상이면 병렬, 입력 순서 보존)
     @Override
     public List<float[]> embedBatch(List<String> texts) {
         int n = texts == null ? 0 : texts.size();
+        if (n == 0) return new ArrayList<>(0);
+        if (props.isParallelBatch() && n >= props.getParallelThreshold()) {
+            return texts.parallelStream()
+                    .map(this::embed)
+                    .collect(Collectors.toCollection(() -> new ArrayList<>(n)));
+        }
         List<float[]> out = new ArrayList<>(n);
-        if (n == 0) return out;
         for (String s : texts) out.add(embed(s));
         return out;
     }
 
-    // 무결성 검증
-    private String[] simpleTokenize(String text) {
-        return text.toLowerCase()
-                .replaceAll("[^\\p{L}\\p{Nd}\\s]", " ")
-                .trim()
-                .split("\\s+");
+    // 단일 패스 토큰화: toLowerCase → [^\p{L}\p{Nd}\s]를 공백으로 → trim → \s+ 분리와 같은 토큰 경계
+    private static void tokenize(CharSequence text, Scratch s) {
+        // String.toLowerCase가 문맥/로케일 의존 매핑을 쓰는 경우만 원본 경로로 소문자화(그 외는 코드포인트 단위 매핑과 동일)
+        CharSequence src = text;
+        boolean lowered = false;
+        if (needsContextualLowerCase(text)) {
+            src = text.toString().toLowerCase();
+            lowered = true;
+        }
+
+        int len = src.length();
+        s.reset(len);
+        int tokenStart = -1;
+        for (int i = 0; i < len; ) {
+            int cp = Character.codePointAt(src, i);
+            i += Character.charCount(cp);
+            if (!lowered) cp = Character.toLowerCase(cp);
+
+            if (Character.isLetter(cp) || Character.isDigit(cp)) {
+                if (tokenStart < 0) tokenStart = s.len;
+                s.append(cp);
+            } else if (tokenStart >= 0) {
+                s.endToken(tokenStart);
+                tokenStart = -1;
+            }
+        }
+        if (tokenStart >= 0) s.endToken(tokenStart);
     }
 
-    // 무결성 검증
-    private List<String> charShingles(String t, int k) {
-        List<String> r = new ArrayList<>();
-        if (t.length() < k) return r;
-        for (int i = 0; i <= t.length() - k; i++) r.add(t.substring(i, i + k));
-        return r;
+    // 로케일(tr/az/lt) 또는 문맥 의존 문자(Σ, İ)가 있으면 true
+    private static boolean needsContextualLowerCase(CharSequence text) {
+        String lang = Locale.getDefault().getLanguage();
+        if (lang.equals("tr") || lang.equals("az") || lang.equals("lt")) return true;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c == '\u03A3' || c == '\u0130') return true;
+        }
+        return false;
     }
 
     // 무결성 검증
-    private void addHashed(float[] v, String token, float w) {
-        int h = murmur32(token.getBytes(StandardCharsets.UTF_8));
+    private static void addHashed(float[] v, int h, float w) {
         int idx = Math.floorMod(h, v.length);
         // 서명 해싱으로 편향 보정
         float sign = ((h >>> 1) & 1) == 0 ? +1f : -1f;
@@ -90,7 +185,7 @@ public class LocalHashEmbeddingClient implements EmbeddingClient {
     }
 
     // L2 정규화 수행
-    private void l2NormalizeInPlace(float[] v) {
+    private static void l2NormalizeInPlace(float[] v) {
         double s = 0.0;
         for (float x : v) s += x * x;
         if (s == 0) return;
@@ -98,51 +193,113 @@ public class LocalHashEmbeddingClient implements EmbeddingClient {
         for (int i = 0; i < v.length; i++) v[i] *= inv;
     }
 
-    // 간단한 MurmurHash3(32-bit) 구현
-    private int murmur32(byte[] data) {
-        int c1 = 0xcc9e2d51;
-        int c2 = 0x1b873593;
-        int r1 = 15;
-        int r2 = 13;
-        int m = 5;
-        int n = 0xe6546b64;
-
-        int hash = 0;
-        int len4 = data.length / 4;
-
-        for (int i = 0; i < len4; i++) {
-            int i4 = i * 4;
-            int k = (data[i4] & 0xff) | ((data[i4 + 1] & 0xff) << 8)
-                    | ((data[i4 + 2] & 0xff) << 16) | (data[i4 + 3] << 24);
-            k *= c1;
-            k = Integer.rotateLeft(k, r1);
-            k *= c2;
+    /**
+     * 스레드 전용 스크래치: 소문자 토큰 문자 버퍼/경계 배열과 스트리밍 MurmurHash3(32-bit) 상태.
+     * 해시는 문자를 UTF-8로 인코딩하며 바로 누적하고, 꼬리 처리는 기존 구현(나머지 1바이트만 혼합)과 동일하다.
+     */
+    private static final class Scratch {
+        private static final int C1 = 0xcc9e2d51;
+        private static final int C2 = 0x1b873593;
 
-            hash ^= k;
-            hash = Integer.rotateLeft(hash, r2) * m + n;
+        char[] buf = new char[256];
+        int len;
+        int[] starts = new int[32];
+        int[] ends = new int[32];
+        int count;
+
+        private int hash;
+        private int acc;
+        private int accLen;
+        private int total;
+
+        void reset(int expectedChars) {
+            if (buf.length < expectedChars) buf = new char[Math.max(expectedChars, buf.length * 2)];
+            len = 0;
+            count = 0;
+        }
+
+        void append(int cp) {
+            if (len + 2 > buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+            len += Character.toChars(cp, buf, len);
+        }
+
+        void endToken(int start) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = len;
+            count++;
+        }
+
+        void begin() {
+            hash = 0;
+            acc = 0;
+            accLen = 0;
+            total = 0;
         }
 
-        int idx = len4 * 4;
-        int k1 = 0;
-        switch (data.length & 3) {
-            case 3 -> k1 = (data[idx + 2] & 0xff) << 16;
-            case 2 -> k1 |= (data[idx + 1] & 0xff) << 8;
-            case 1 -> {
-                k1 |= (data[idx] & 0xff);
-                k1 *= c1;
-                k1 = Integer.rotateLeft(k1, r1);
-                k1 *= c2;
-                hash ^= k1;
+        // [from, to) 문자를 UTF-8 바이트로 누적(짝 없는 서로게이트는 getBytes와 같이 '?')
+        void feed(char[] chars, int from, int to) {
+            for (int i = from; i < to; i++) {
+                char c = chars[i];
+                if (c < 0x80) {
+                    feedByte(c);
+                } else if (c < 0x800) {
+                    feedByte(0xc0 | (c >> 6));
+                    feedByte(0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c)) {
+                    if (i + 1 < to && Character.isLowSurrogate(chars[i + 1])) {
+                        int cp = Character.toCodePoint(c, chars[++i]);
+                        feedByte(0xf0 | (cp >> 18));
+                        feedByte(0x80 | ((cp >> 12) & 0x3f));
+                        feedByte(0x80 | ((cp >> 6) & 0x3f));
+                        feedByte(0x80 | (cp & 0x3f));
+                    } else {
+                        feedByte('?');
+                    }
+                } else if (Character.isLowSurrogate(c)) {
+                    feedByte('?');
+                } else {
+                    feedByte(0xe0 | (c >> 12));
+                    feedByte(0x80 | ((c >> 6) & 0x3f));
+                    feedByte(0x80 | (c & 0x3f));
+                }
             }
         }
 
-        hash ^= data.length;
-        hash ^= (hash >>> 16);
-        hash *= 0x85ebca6b;
-        hash ^= (hash >>> 13);
-        hash *= 0xc2b2ae35;
-        hash ^= (hash >>> 16);
+        void feedByte(int b) {
+            acc |= (b & 0xff) << (accLen << 3);
+            total++;
+            if (++accLen < 4) return;
 
-        return hash;
+            int k = acc;
+            k *= C1;
+            k = Integer.rotateLeft(k, 15);
+            k *= C2;
+            hash ^= k;
+            hash = Integer.rotateLeft(hash, 13) * 5 + 0xe6546b64;
+            acc = 0;
+            accLen = 0;
+        }
+
+        int finish() {
+            int h = hash;
+            if (accLen == 1) {
+                int k1 = acc & 0xff;
+                k1 *= C1;
+                k1 = Integer.rotateLeft(k1, 15);
+                k1 *= C2;
+                h ^= k1;
+            }
+            h ^= total;
+            h ^= (h >>> 16);
+            h *= 0x85ebca6b;
+            h ^= (h >>> 13);
+            h *= 0xc2b2ae35;
+            h ^= (h >>> 16);
+            return h;
+        }
     }
 }
@@ -0,0 +1,128 @@
+/*
+ * [코드 흐름 요약]
+ * - 프로세스 내 Phase 상태 저장소(기본 구현): 라인 id → 불변 상태 값, 항목 수 상한 LRU(WeightedLruCache, 항목당 가중치 1).
+ * - 모든 연산은 인스턴스 락 안에서 읽기 → 새 값 계산 → 교체(조회도 갱신 시각을 갱신, 없는 라인 조회는 적재하지 않음).
+ * - 접근 순서 = 갱신 순서이므로 주기 정리는 가장 오래된 항목부터 만료분만 제거(ai.phase.ttl-ms), 조회 시에도 만료면 기본값.
+ */
+package com.back.global.ai.vector;
+
+import com.back.global.ai.vector.AIVectorServiceSupportDomain.Phase;
+import com.back.global.cache.WeightedLruCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.UnaryOperator;
+
+@Component
+@ConditionalOnProperty(prefix = "ai.phase", name = "store", havingValue = "memory", matchIfMissing = true)
+public class MemoryPhaseStateStore implements PhaseStateStore {
+
+    private record Entry(Snapshot state, long touchedAt) {}
+
+    private final WeightedLruCache<Long, Entry> states;
+    private final long ttlMs;
+
+    public MemoryPhaseStateStore(MeterRegistry meterRegistry,
+                                 @Value("${ai.phase.memory.max-entries:100000}") long maxEntries,
+                                 @Value("${ai.phase.ttl-ms:86400000}") long ttlMs) {
+        this.states = new WeightedLruCache<>(maxEntries, e -> 1L);
+        this.ttlMs = Math.max(1L, ttlMs);
+        Gauge.builder("ai.phase.states", states, WeightedLruCache::size).register(meterRegistry);
+    }
+
+    @Override
+    public synchronized Snapshot snapshot(Long lineId) {
+        Entry e = live(lineId);
+        if (e == null) return Snapshot.EMPTY;
+        states.put(lineId, new Entry(e.state(), System.currentTimeMillis()));
+        return e.state();
+    }
+
+    @Override
+    public void enter(Long lineId, Phase phase, int remain) {
+        update(lineId, s -> new Snapshot(phase, remain, s.lastSevere(), s.positivityMomentum(), s.positiveLock()));
+    }
+
+    @Override
+    public void markUsed(Long lineId) {
+        update(lineId, s -> s.remain() <= 0 ? s
+                : new Snapshot(s.phase(), s.remain() - 1, s.lastSevere(), s.positivityMomentum(), s.positiveLock()));
+    }
+
+    @Override
+    public void tick(Long lineId, Phase observed) {
+        if (observed != Phase.CRISIS && observed != Phase.POS_STREAK && observed != Phase.RECOVERY) return;
+        update(lineId, s -> {
+            if (s.remain() > 0) return s;
+            if (observed == Phase.CRISIS) {
+                return new Snapshot(Phase.RECOVERY, 1, s.lastSevere(), s.positivityMomentum(), s.positiveLock());
+            }
+            return new Snapshot(Phase.NORMAL, s.remain(), s.lastSevere(), s.positivityMomentum(), s.positiveLock());
+        });
+    }
+
+    @Override
+    public void rememberPolarity(Long lineId, boolean positive) {
+        update(lineId, s -> {
+            if (positive) {
+                Phase phase = (s.phase() == Phase.RECOVERY && s.remain() <= 0) ? Phase.NORMAL : s.phase();
+                return new Snapshot(phase, s.remain(), false,
+                        Math.max(-0.35, s.positivityMomentum() - 0.10), s.positiveLock());
+            }
+            return new Snapshot(s.phase(), s.remain(), true,
+                    Math.min(0.0, s.positivityMomentum() + 0.20), s.positiveLock());
+        });
+    }
+
+    @Override
+    public void armPositiveLock(Long lineId, int n) {
+        update(lineId, s -> new Snapshot(s.phase(), s.remain(), s.lastSevere(), s.positivityMomentum(),
+                Math.max(s.positiveLock(), Math.max(1, n))));
+    }
+
+    @Override
+    public synchronized boolean consumePositiveLock(Long lineId) {
+        Entry e = live(lineId);
+        if (e == null || e.state().positiveLock() <= 0) return false;
+        Snapshot s = e.state();
+        states.put(lineId, new Entry(new Snapshot(s.phase(), s.remain(), s.lastSevere(), s.positivityMomentum(),
+                s.positiveLock() - 1), System.currentTimeMillis()));
+        return true;
+    }
+
+    // 만료 항목 정리(오래된 쪽부터 만료되지 않은 항목을 만나면 중단)
+    @Scheduled(fixedDelayString = "${ai.phase.sweep-ms:60000}", initialDelayString = "${ai.phase.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        states.removeEldestWhile(e -> expired(e, now));
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    private synchronized void update(Long lineId, UnaryOperator<Snapshot> fn) {
+        Entry e = live(lineId);
+        Snapshot next = fn.apply(e == null ? Snapshot.EMPTY : e.state());
+        states.put(lineId, new Entry(next, System.currentTimeMillis()));
+    }
+
+    // 살아 있는 항목(만료면 제거 후 null)
+    private Entry live(Long lineId) {
+        Entry e = states.get(lineId);
+        if (e == null) return null;
+        if (expired(e, System.currentTimeMillis())) {
+            states.remove(lineId);
+            return null;
+        }
+        return e;
+    }
+
+    private boolean expired(Entry e, long now) {
+        return now - e.touchedAt() > ttlMs;
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * [코드 흐름 요약]
+ * - 결정 노드 생성/편집/라인 취소를 node_snippet(RAG 컨텍스트)에 비동기 증분 반영한다.
+ * - 호출측은 트랜잭션 커밋 후에만 노드/라인 작업을 큐에 넣고 즉시 반환(요청 스레드는 임베딩/쓰기를 기다리지 않음).
+ * - 전용 단일 스레드(snippetIndexExecutor)가 linger 동안 모인 작업을 batch-size 단위로 꺼내
+ *   노드 일괄 로드 → EmbeddingClient.embedBatch 1회 → 새 트랜잭션에서 삭제 후 saveAll(배치 insert)로 upsert.
+ * - 라인 작업은 라인 스니펫 전체를 다시 만든다(취소/삭제된 라인·노드는 삭제만 수행).
+ * - 실패 배치는 max-attempts까지 재시도, 큐 상한 초과분은 버림(카운터로 노출).
+ * - 지표: ai.snippet.index.lag(큐 대기~반영 시간), ai.snippet.index.pending, ai.snippet.index.oldest.age,
+ *   ai.snippet.index.tasks{result}.
+ */
+package com.back.global.ai.vector;
+
+import com.back.domain.node.entity.DecisionLine;
+import com.back.domain.node.entity.DecisionLineStatus;
+import com.back.domain.node.entity.DecisionNode;
+import com.back.domain.node.entity.FollowPolicy;
+import com.back.domain.node.entity.NodeAtomVersion;
+import com.back.domain.node.entity.NodeCategory;
+import com.back.domain.node.repository.DecisionNodeRepository;
+import com.back.domain.search.entity.NodeSnippet;
+import com.back.domain.search.repository.NodeSnippetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class NodeSnippetIndexer {
+
+    private enum Kind { NODE, LINE }
+
+    // 큐 작업(enqueuedAt은 nanoTime, 재시도 시 그대로 유지해 지연에 포함)
+    private record Task(Kind kind, long id, long enqueuedAt, int attempt) {}
+
+    private final DecisionNodeRepository decisionNodeRepository;
+    private final NodeSnippetRepository snippetRepository;
+    private final EmbeddingClient embeddingClient;
+    private final Executor executor;
+    private final TransactionTemplate writeTx;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long lingerMs;
+    private final int maxPending;
+    private final int maxAttempts;
+
+    private final ConcurrentLinkedQueue<Task> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final Timer lag;
+    private final Counter done;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public NodeSnippetIndexer(DecisionNodeRepository decisionNodeRepository,
+                              NodeSnippetRepository snippetRepository,
+                              EmbeddingClient embeddingClient,
+                              @Qualifier("snippetIndexExecutor") Executor executor,
+                              PlatformTransactionManager txManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${ai.snippet.index.enabled:true}") boolean enabled,
+                              @Value("${ai.snippet.index.batch-size:64}") int batchSize,
+                              @Value("${ai.snippet.index.linger-ms:200}") long lingerMs,
+                              @Value("${ai.snippet.index.max-pending:10000}") int maxPending,
+                              @Value("${ai.snippet.index.max-attempts:3}") int maxAttempts) {
+        this.decisionNodeRepository = decisionNodeRepository;
+        this.snippetRepository = snippetRepository;
+        this.embeddingClient = embeddingClient;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerMs = Math.max(0L, lingerMs);
+        this.maxPending = Math.max(1, maxPending);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        // 커밋 후 워커 스레드에서 실행되므로 반영은 항상 새 트랜잭션으로
+        this.writeTx = new TransactionTemplate(txManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.lag = Timer.builder("ai.snippet.index.lag")
+                .description("node_snippet 반영까지 큐 대기 + 처리 시간")
+                .register(meterRegistry);
+        this.done = Counter.builder("ai.snippet.index.tasks").tag("result", "done").register(meterRegistry);
+        this.retried = Counter.builder("ai.snippet.index.tasks").tag("result", "retried").register(meterRegistry);
+        this.failed = Counter.builder("ai.snippet.index.tasks").tag("result", "failed").register(meterRegistry);
+        this.dropped = Counter.builder("ai.snippet.index.tasks").tag("result", "dropped").register(meterRegistry);
+        Gauge.builder("ai.snippet.index.pending", pending, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("ai.snippet.index.oldest.age", this, NodeSnippetIndexer::oldestPendingSeconds)
+                .baseUnit("seconds").register(meterRegistry);
+    }
+
+    // 노드 스니펫 재색인 예약(생성/편집, 트랜잭션 밖이면 즉시 큐잉)
+    public void indexNodesAfterCommit(Collection<Long> nodeIds) {
+        enqueueAfterCommit(Kind.NODE, nodeIds);
+    }
+
+    // 라인 전체 스니펫 재색인 예약(새 라인/포크/취소/삭제, 취소·삭제 라인은 스니펫 삭제로 귀결)
+    public void indexLinesAfterCommit(Collection<Long> lineIds) {
+        enqueueAfterCommit(Kind.LINE, lineIds);
+    }
+
+    private void enqueueAfterCommit(Kind kind, Collection<Long> ids) {
+        if (!enabled || ids == null || ids.isEmpty()) return;
+        List<Long> copy = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (copy.isEmpty()) return;
+        Runnable job = () -> offer(kind, copy);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            job.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                job.run();
+            }
+        });
+    }
+
+    // 큐 적재(상한 초과분은 버림) 후 워커 기동
+    private void offer(Kind kind, List<Long> ids) {
+        long now = System.nanoTime();
+        for (Long id : ids) {
+            if (pending.incrementAndGet() > maxPending) {
+                pending.decrementAndGet();
+                dropped.increment();
+                continue;
+            }
+            queue.add(new Task(kind, id, now, 0));
+        }
+        signal();
+    }
+
+    // 워커가 돌고 있지 않을 때만 드레인 1회 제출
+    private void signal() {
+        if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) return;
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            log.warn("[SNIPPET-INDEX] executor rejected drain, pending={}", pending.get());
+        }
+    }
+
+    // linger 동안 작업을 모은 뒤 batch-size 단위로 처리, 종료 직전 새로 들어온 작업이 있으면 재기동
+    private void drain() {
+        try {
+            if (lingerMs > 0) Thread.sleep(lingerMs);
+            List<Task> batch;
+            while (!(batch = poll()).isEmpty()) {
+                process(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            scheduled.set(false);
+            signal();
+        }
+    }
+
+    private List<Task> poll() {
+        List<Task> batch = new ArrayList<>(batchSize);
+        Task t;
+        while (batch.size() < batchSize && (t = queue.poll()) != null) {
+            pending.decrementAndGet();
+            batch.add(t);
+        }
+        return batch;
+    }
+
+    // 배치 1회: 노드 로드 → 임베딩 1회 → 삭제 후 일괄 삽입
+    private void process(List<Task> batch) {
+        Set<Long> nodeIds = new LinkedHashSet<>();
+        Set<Long> lineIds = new LinkedHashSet<>();
+        for (Task t : batch) (t.kind() == Kind.LINE ? lineIds : nodeIds).add(t.id());
+
+        try {
+            Map<Long, DecisionNode> nodes = new LinkedHashMap<>();
+            if (!lineIds.isEmpty()) {
+                for (DecisionNode n : decisionNodeRepository.findWithLineAndOverrideByDecisionLine_IdIn(lineIds)) {
+                    nodes.put(n.getId(), n);
+                }
+            }
+            List<Long> rest = nodeIds.stream().filter(id -> !nodes.containsKey(id)).toList();
+            if (!rest.isEmpty()) {
+                for (DecisionNode n : decisionNodeRepository.findWithLineAndOverrideByIdIn(rest)) {
+                    nodes.put(n.getId(), n);
+                }
+            }
+
+            // 살아있는 노드만 색인(없어진 노드/취소 라인/빈 텍스트는 삭제만)
+            List<NodeSnippet> rows = new ArrayList<>(nodes.size());
+            List<String> texts = new ArrayList<>(nodes.size());
+            for (DecisionNode n : nodes.values()) {
+                NodeSnippet row = toSnippet(n);
+                if (row == null) continue;
+                rows.add(row);
+                texts.add(row.getText());
+            }
+            if (!texts.isEmpty()) {
+                List<float[]> embs = embeddingClient.embedBatch(texts);
+                for (int i = 0; i < rows.size(); i++) rows.get(i).setEmbedding(embs.get(i));
+            }
+
+            Set<Long> stale = new LinkedHashSet<>(nodeIds);
+            stale.addAll(nodes.keySet());
+            writeTx.executeWithoutResult(s -> {
+                if (!lineIds.isEmpty()) snippetRepository.deleteByLineIds(lineIds);
+                if (!stale.isEmpty()) snippetRepository.deleteByNodeIds(stale);
+                if (!rows.isEmpty()) snippetRepository.saveAll(rows);
+            });
+
+            long now = System.nanoTime();
+            for (Task t : batch) lag.record(now - t.enqueuedAt(), TimeUnit.NANOSECONDS);
+            done.increment(batch.size());
+        } catch (Exception e) {
+            log.warn("[SNIPPET-INDEX] batch failed size={}, cause={}", batch.size(), e.getMessage());
+            requeue(batch);
+        }
+    }
+
+    // 시도 횟수 내에서 재적재(초과분은 실패로 집계)
+    private void requeue(List<Task> batch) {
+        for (Task t : batch) {
+            if (t.attempt() + 1 >= maxAttempts) {
+                failed.increment();
+                continue;
+            }
+            pending.incrementAndGet();
+            queue.add(new Task(t.kind(), t.id(), t.enqueuedAt(), t.attempt() + 1));
+            retried.increment();
+        }
+    }
+
+    // 노드 → 스니펫 행(OVERRIDE면 오버라이드 버전 내용 우선), 색인 대상이 아니면 null
+    private NodeSnippet toSnippet(DecisionNode n) {
+        DecisionLine line = n.getDecisionLine();
+        if (line == null || line.getStatus() == DecisionLineStatus.CANCELLED) return null;
+
+        NodeAtomVersion ov = (n.getFollowPolicy() == FollowPolicy.OVERRIDE) ? n.getOverrideVersion() : null;
+        String situation = (ov != null && ov.getSituation() != null) ? ov.getSituation() : n.getSituation();
+        String decision = (ov != null && ov.getDecision() != null) ? ov.getDecision() : n.getDecision();
+        NodeCategory category = (ov != null && ov.getCategory() != null) ? ov.getCategory() : n.getCategory();
+        if (isBlank(situation) && isBlank(decision)) return null;
+
+        // AIVectorServiceSupportDomain.buildQueryFromNodes와 같은 줄 형식(질의/문서 임베딩 공간 일치)
+        String text = String.format("- (%d세) %s → %s", n.getAgeYear(), safe(situation), safe(decision));
+        return NodeSnippet.builder()
+                .nodeId(n.getId())
+                .lineId(line.getId())
+                .ageYear(n.getAgeYear())
+                .category(category != null ? category.name() : null)
+                .text(text)
+                .build();
+    }
+
+    private double oldestPendingSeconds() {
+        Task head = queue.peek();
+        return head == null ? 0.0 : (System.nanoTime() - head.enqueuedAt()) / 1_000_000_000.0;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    private static String safe(String s) {
+        return s == null ? "" : s.trim();
+    }
+}
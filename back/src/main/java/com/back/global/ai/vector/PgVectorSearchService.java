@@ -1,15 +1,19 @@
 /*
  * [코드 흐름 요약]
  * - 라인/나이 윈도우로 후보를 좁히고, 빈/누락 쿼리에도 768차원 0-벡터를 사용해 안전 검색.
+ * - 힌트 생성용 결합 조회: 질의 벡터 1회로 스니펫/나이 테마/어휘 상위 K를 한 문장(1 왕복)으로 가져온다.
+ * - themeK/termK가 0이면 해당 분기는 조회하지 않는다(둘 다 0이면 스니펫 단일 쿼리).
  */
 package com.back.global.ai.vector;
 
+import com.back.domain.node.entity.NodeCategory;
 import com.back.domain.search.entity.NodeSnippet;
 import com.back.domain.search.repository.NodeSnippetRepository;
+import com.back.infra.pgvector.PgVectorCodec;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -18,45 +22,49 @@ public class PgVectorSearchService {
 
     private final NodeSnippetRepository repo;
 
-    // 무결성 검증
-    private static final int DIM = 768;
-    private static final String ZERO_LIT = zeroVectorLiteral();
-
     // next 노드 생성
     public List<NodeSnippet> topK(Long lineId, int currAge, int deltaAge, float[] queryEmbedding, int k) {
-        String q = toVectorLiteralOrZero(queryEmbedding);
+        String q = PgVectorCodec.toLiteralOrZero(queryEmbedding);
         int minAge = currAge - deltaAge;
         int maxAge = currAge + deltaAge;
         return repo.searchTopKByLineAndAgeWindow(lineId, minAge, maxAge, q, k);
     }
 
     public List<String> topKText(Long lineId, int currAge, int deltaAge, float[] queryEmbedding, int k) {
-        String q = toVectorLiteralOrZero(queryEmbedding);
+        String q = PgVectorCodec.toLiteralOrZero(queryEmbedding);
         int minAge = currAge - deltaAge;
         int maxAge = currAge + deltaAge;
         return repo.searchTopKTextByLineAndAgeWindow(lineId, minAge, maxAge, q, k);
     }
 
-    // 무결성 검증
-    private static String toVectorLiteralOrZero(float[] v) {
-        if (v == null || v.length == 0) return ZERO_LIT;
-        if (v.length != DIM) return ZERO_LIT;
-        StringBuilder sb = new StringBuilder(v.length * 8 + 2);
-        sb.append('[');
-        for (int i = 0; i < v.length; i++) {
-            if (i > 0) sb.append(',');
-            float x = v[i];
-            if (Float.isNaN(x) || Float.isInfinite(x)) x = 0f;
-            sb.append(Float.toString(x));
+    // 힌트 컨텍스트 결합 조회 결과(각 목록은 유사도 순)
+    public record HintContext(List<String> snippets, List<String> themes, List<String> terms) {}
+
+    // 스니펫(라인/나이 윈도우) + 나이 테마(나이/카테고리) + 어휘를 같은 질의 벡터로 1회 왕복 조회
+    public HintContext hintContext(Long lineId, int currAge, int deltaAge, int themeAge, NodeCategory category,
+                                   float[] queryEmbedding, int snippetK, int themeK, int termK) {
+        String q = PgVectorCodec.toLiteralOrZero(queryEmbedding);
+        if (themeK <= 0 && termK <= 0) {
+            // 테마/어휘는 호출측이 로컬 인덱스에서 가져옴 → CTE 없이 스니펫만
+            List<String> snippets = repo.searchTopKTextByLineAndAgeWindow(
+                    lineId, currAge - deltaAge, currAge + deltaAge, q, snippetK);
+            return new HintContext(snippets, List.of(), List.of());
         }
-        sb.append(']');
-        return sb.toString();
-    }
+        String cat = (category == null) ? null : category.name();
+        List<NodeSnippetRepository.HintContextRow> rows = repo.searchHintContext(
+                lineId, currAge - deltaAge, currAge + deltaAge, themeAge, cat, q, snippetK, themeK, termK);
 
-    // next 노드 생성
-    private static String zeroVectorLiteral() {
-        String[] arr = new String[DIM];
-        Arrays.fill(arr, "0");
-        return "[" + String.join(",", arr) + "]";
+        List<String> snippets = new ArrayList<>(snippetK);
+        List<String> themes = new ArrayList<>(Math.max(themeK, 0));
+        List<String> terms = new ArrayList<>(Math.max(termK, 0));
+        for (NodeSnippetRepository.HintContextRow row : rows) {
+            switch (row.getKind()) {
+                case "S" -> snippets.add(row.getText());
+                case "T" -> themes.add(row.getText());
+                case "V" -> terms.add(row.getText());
+                default -> { }
+            }
+        }
+        return new HintContext(snippets, themes, terms);
     }
 }
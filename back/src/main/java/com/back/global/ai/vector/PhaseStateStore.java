@@ -0,0 +1,38 @@
+/*
+ * [코드 흐름 요약]
+ * - 라인별 힌트 Phase 상태(국면/잔여 횟수/직전 극성/긍정 모멘텀/회복 보장 락) 저장소 계약.
+ * - 읽기-수정-쓰기 연산은 구현체가 원자적으로 수행한다(메모리: 인스턴스 락, Redis: Lua 스크립트).
+ * - 일정 시간 갱신이 없는 라인 상태는 만료되어 기본값(NORMAL)으로 돌아간다.
+ * - 구현 선택: ai.phase.store=memory(기본) | redis.
+ */
+package com.back.global.ai.vector;
+
+import com.back.global.ai.vector.AIVectorServiceSupportDomain.Phase;
+
+public interface PhaseStateStore {
+
+    // 라인 상태 스냅샷(없거나 만료면 EMPTY)
+    record Snapshot(Phase phase, int remain, boolean lastSevere, double positivityMomentum, int positiveLock) {
+        public static final Snapshot EMPTY = new Snapshot(Phase.NORMAL, 0, false, 0.0, 0);
+    }
+
+    Snapshot snapshot(Long lineId);
+
+    // 국면 진입(잔여 횟수는 호출자가 범위 보정)
+    void enter(Long lineId, Phase phase, int remain);
+
+    // 잔여 횟수 1 차감(0 미만으로 내려가지 않음)
+    void markUsed(Long lineId);
+
+    // 관측 국면의 잔여 횟수가 소진되면 종료(위기 → 회복 1회, 그 외 → NORMAL)
+    void tick(Long lineId, Phase observed);
+
+    // 직전 극성 기록 + 긍정 모멘텀 조정(소진된 회복 국면은 긍정 시 종료)
+    void rememberPolarity(Long lineId, boolean positive);
+
+    // 회복 보장 락을 최소 n회로 설정
+    void armPositiveLock(Long lineId, int n);
+
+    // 회복 보장 락 1회 소비(남아 있었으면 true)
+    boolean consumePositiveLock(Long lineId);
+}
@@ -0,0 +1,173 @@
+/*
+ * [코드 흐름 요약]
+ * - Redis Phase 상태 저장소(ai.phase.store=redis): 라인별 해시 키 "ai:phase:{lineId}"(p=국면, r=잔여, s=직전 위기, m=모멘텀, l=락).
+ * - 읽기-수정-쓰기 연산은 Lua 스크립트 한 번으로 원자 실행 → 여러 인스턴스가 같은 라인을 처리해도 상태가 일관되고 힙은 늘지 않음.
+ * - 모든 쓰기/조회는 키 만료(PEXPIRE ai.phase.ttl-ms)를 갱신해 비활성 라인은 Redis가 정리한다.
+ * - Redis 장애 시 힌트 생성을 막지 않도록 경고 로그 후 기본값(NORMAL/락 없음)으로 동작한다.
+ */
+package com.back.global.ai.vector;
+
+import com.back.global.ai.vector.AIVectorServiceSupportDomain.Phase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "ai.phase", name = "store", havingValue = "redis")
+public class RedisPhaseStateStore implements PhaseStateStore {
+
+    private static final String KEY_PREFIX = "ai:phase:";
+
+    // 조회 + 만료 갱신: {p, r, s, m, l}
+    private static final DefaultRedisScript<List<Object>> SNAPSHOT = new DefaultRedisScript<>("""
+        local v = redis.call('HMGET', KEYS[1], 'p', 'r', 's', 'm', 'l')
+        if v[1] or v[2] or v[3] or v[4] or v[5] then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end
+        return {v[1] or 'NORMAL', v[2] or '0', v[3] or '0', v[4] or '0', v[5] or '0'}
+    """, listResult());
+
+    private static final DefaultRedisScript<Long> ENTER = new DefaultRedisScript<>("""
+        redis.call('HSET', KEYS[1], 'p', ARGV[2], 'r', ARGV[3])
+        redis.call('PEXPIRE', KEYS[1], ARGV[1])
+        return 1
+    """, Long.class);
+
+    private static final DefaultRedisScript<Long> MARK_USED = new DefaultRedisScript<>("""
+        local r = tonumber(redis.call('HGET', KEYS[1], 'r') or '0')
+        if r > 0 then redis.call('HSET', KEYS[1], 'r', r - 1) end
+        redis.call('PEXPIRE', KEYS[1], ARGV[1])
+        return r
+    """, Long.class);
+
+    private static final DefaultRedisScript<Long> TICK = new DefaultRedisScript<>("""
+        local r = tonumber(redis.call('HGET', KEYS[1], 'r') or '0')
+        if r <= 0 then
+            if ARGV[2] == 'CRISIS' then
+                redis.call('HSET', KEYS[1], 'p', 'RECOVERY', 'r', 1)
+            else
+                redis.call('HSET', KEYS[1], 'p', 'NORMAL')
+            end
+        end
+        redis.call('PEXPIRE', KEYS[1], ARGV[1])
+        return r
+    """, Long.class);
+
+    private static final DefaultRedisScript<Long> REMEMBER_POLARITY = new DefaultRedisScript<>("""
+        local m = tonumber(redis.call('HGET', KEYS[1], 'm') or '0')
+        if ARGV[2] == 'POS' then
+            m = math.max(-0.35, m - 0.10)
+            local r = tonumber(redis.call('HGET', KEYS[1], 'r') or '0')
+            if redis.call('HGET', KEYS[1], 'p') == 'RECOVERY' and r <= 0 then
+                redis.call('HSET', KEYS[1], 'p', 'NORMAL')
+            end
+            redis.call('HSET', KEYS[1], 's', 0, 'm', tostring(m))
+        else
+            m = math.min(0.0, m + 0.20)
+            redis.call('HSET', KEYS[1], 's', 1, 'm', tostring(m))
+        end
+        redis.call('PEXPIRE', KEYS[1], ARGV[1])
+        return 1
+    """, Long.class);
+
+    private static final DefaultRedisScript<Long> ARM_LOCK = new DefaultRedisScript<>("""
+        local l = tonumber(redis.call('HGET', KEYS[1], 'l') or '0')
+        local n = math.max(l, tonumber(ARGV[2]))
+        redis.call('HSET', KEYS[1], 'l', n)
+        redis.call('PEXPIRE', KEYS[1], ARGV[1])
+        return n
+    """, Long.class);
+
+    private static final DefaultRedisScript<Long> CONSUME_LOCK = new DefaultRedisScript<>("""
+        local l = tonumber(redis.call('HGET', KEYS[1], 'l') or '0')
+        if l <= 0 then return 0 end
+        redis.call('HSET', KEYS[1], 'l', l - 1)
+        redis.call('PEXPIRE', KEYS[1], ARGV[1])
+        return 1
+    """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final String ttlMs;
+
+    public RedisPhaseStateStore(StringRedisTemplate redis,
+                                @Value("${ai.phase.ttl-ms:86400000}") long ttlMs) {
+        this.redis = redis;
+        this.ttlMs = String.valueOf(Math.max(1L, ttlMs));
+    }
+
+    @Override
+    public Snapshot snapshot(Long lineId) {
+        try {
+            List<Object> v = redis.execute(SNAPSHOT, List.of(key(lineId)), ttlMs);
+            if (v == null || v.size() < 5) return Snapshot.EMPTY;
+            return new Snapshot(
+                    Phase.valueOf(String.valueOf(v.get(0))),
+                    Integer.parseInt(String.valueOf(v.get(1))),
+                    "1".equals(String.valueOf(v.get(2))),
+                    Double.parseDouble(String.valueOf(v.get(3))),
+                    Integer.parseInt(String.valueOf(v.get(4))));
+        } catch (Exception e) {
+            log.warn("[PHASE] redis snapshot failed lineId={}: {}", lineId, e.getMessage());
+            return Snapshot.EMPTY;
+        }
+    }
+
+    @Override
+    public void enter(Long lineId, Phase phase, int remain) {
+        run(ENTER, lineId, phase.name(), String.valueOf(remain));
+    }
+
+    @Override
+    public void markUsed(Long lineId) {
+        run(MARK_USED, lineId);
+    }
+
+    @Override
+    public void tick(Long lineId, Phase observed) {
+        if (observed != Phase.CRISIS && observed != Phase.POS_STREAK && observed != Phase.RECOVERY) return;
+        run(TICK, lineId, observed.name());
+    }
+
+    @Override
+    public void rememberPolarity(Long lineId, boolean positive) {
+        run(REMEMBER_POLARITY, lineId, positive ? "POS" : "SEV");
+    }
+
+    @Override
+    public void armPositiveLock(Long lineId, int n) {
+        run(ARM_LOCK, lineId, String.valueOf(Math.max(1, n)));
+    }
+
+    @Override
+    public boolean consumePositiveLock(Long lineId) {
+        Long r = run(CONSUME_LOCK, lineId);
+        return Long.valueOf(1).equals(r);
+    }
+
+    // 스크립트 실행(ARGV[1]=TTL, 이후 인자), 실패 시 null
+    // 다중 응답 스크립트 결과 타입(List.class는 원시 타입이라 한 번만 캐스팅)
+    @SuppressWarnings("unchecked")
+    private static Class<List<Object>> listResult() {
+        return (Class<List<Object>>) (Class<?>) List.class;
+    }
+
+    private Long run(DefaultRedisScript<Long> script, Long lineId, String... args) {
+        Object[] argv = new Object[args.length + 1];
+        argv[0] = ttlMs;
+        System.arraycopy(args, 0, argv, 1, args.length);
+        try {
+            return redis.execute(script, List.of(key(lineId)), argv);
+        } catch (Exception e) {
+            log.warn("[PHASE] redis script failed lineId={}: {}", lineId, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String key(Long lineId) {
+        return KEY_PREFIX + lineId;
+    }
+}
@@ -0,0 +1,557 @@
+/*
+ * [코드 흐름 요약]
+ * - vocab_term 임베딩 위의 프로세스 내 HNSW 그래프(코사인, 단위 정규화 후 내적)로 상위 K 용어를 찾는다(옵션).
+ * - 기동 후 백그라운드(localIndexExecutor): 디스크 스냅샷 로드(있으면) → DB id 커서로 누락분 증분 삽입 → 스냅샷 저장,
+ *   이후 주기적으로 증분 반영.
+ * - 이미 반영한 id 구간의 DB 내용 지문(id/용어/임베딩 md5)을 함께 기록해, 삭제/재임베딩으로 지문이 바뀌면 재구축한다
+ *   (재구축 중에는 미준비로 표시해 호출측이 DB 검색으로 폴백).
+ * - 삽입은 단일 작성자 락으로 직렬화, 이웃 목록은 레벨별 배열을 통째로 교체(copy-on-write)해 읽기는 무잠금으로 동시 수행한다.
+ * - 스냅샷은 같은 디렉터리의 고유 임시 파일에 쓴 뒤 원자적 이동으로 교체하고(인스턴스 간 임시 파일 충돌 없음),
+ *   형식/차원/M이 다르거나 구조가 깨졌거나 DB 지문과 다르면 폐기 후 재구축한다.
+ */
+package com.back.global.ai.vector;
+
+import com.back.domain.search.entity.VocabTerm;
+import com.back.domain.search.repository.VocabTermRepository;
+import com.back.infra.pgvector.PgVectorCodec;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Slf4j
+@Component
+public class VocabTermHnswIndex {
+
+    private static final int DIM = PgVectorCodec.DIM;
+    private static final int MAGIC = 0x484e5357; // "HNSW"
+    private static final int FORMAT = 2;
+    private static final int MAX_LEVEL = 16;
+    private static final int LOAD_PAGE = 1000;
+
+    // 그래프 노드(레벨별 이웃 배열은 교체만 하고 제자리 수정하지 않음)
+    private static final class Node {
+        final long dbId;
+        final String term;
+        final float[] vector;
+        final AtomicReferenceArray<int[]> links;
+
+        Node(long dbId, String term, float[] vector, int level) {
+            this.dbId = dbId;
+            this.term = term;
+            this.vector = vector;
+            this.links = new AtomicReferenceArray<>(level + 1);
+            for (int l = 0; l <= level; l++) links.set(l, new int[0]);
+        }
+
+        int level() {
+            return links.length() - 1;
+        }
+    }
+
+    // 진입점/최고 레벨 동시 공개용
+    private record Entry(int node, int level) {}
+
+    private record Cand(int node, float sim) {}
+
+    private final VocabTermRepository repo;
+    private final boolean enabled;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMult;
+    private final Path file;
+    private final Executor loader;
+
+    private volatile Node[] nodes = new Node[0];
+    private volatile int count;
+    private volatile Entry entry;
+    private volatile boolean ready;
+
+    // 작성자 전용
+    private final Object writeLock = new Object();
+    private final Set<Long> indexedIds = new HashSet<>();
+    private long maxDbId;
+    private boolean dirty;
+    private long fingerprintCursor;              // 지문이 덮는 id 상한
+    private String fingerprint;                  // id <= fingerprintCursor 구간의 DB 내용 지문
+
+    public VocabTermHnswIndex(VocabTermRepository repo,
+                              @Value("${ai.vocab.hnsw.enabled:false}") boolean enabled,
+                              @Value("${ai.vocab.hnsw.m:16}") int m,
+                              @Value("${ai.vocab.hnsw.ef-construction:100}") int efConstruction,
+                              @Value("${ai.vocab.hnsw.ef-search:64}") int efSearch,
+                              @Value("${ai.vocab.hnsw.dir:${java.io.tmpdir}/vocab-term-hnsw}") String dir,
+                              @Qualifier("localIndexExecutor") Executor loader) {
+        this.repo = repo;
+        this.enabled = enabled;
+        this.m = Math.max(4, m);
+        this.efConstruction = Math.max(this.m, efConstruction);
+        this.efSearch = Math.max(1, efSearch);
+        this.levelMult = 1.0 / Math.log(this.m);
+        this.file = Path.of(dir, "vocab_term.hnsw");
+        this.loader = loader;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // 기동 완료 후 스냅샷 로드 + DB 증분 반영을 백그라운드로 수행
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) return;
+        loader.execute(this::build);
+    }
+
+    void build() {
+        long started = System.currentTimeMillis();
+        try {
+            boolean loaded = loadSnapshot();
+            if (loaded && changedSinceFingerprint()) {
+                log.info("[VOCAB-HNSW] snapshot does not match DB content, rebuilding");
+                reset();
+                loaded = false;
+            }
+            int added = catchUp();
+            recordFingerprint();
+            ready = true;
+            persistIfDirty();
+            log.info("[VOCAB-HNSW] ready rows={} (snapshot={}, added={}) in {}ms",
+                    count, loaded, added, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("[VOCAB-HNSW] build failed, falling back to DB search: {}", e.getMessage(), e);
+        }
+    }
+
+    // 주기적 반영: 반영한 구간의 내용이 바뀌었으면(삭제/재임베딩) 재구축, 아니면 id 커서 이후 행만 증분
+    @Scheduled(fixedDelayString = "${ai.vocab.hnsw.refresh-ms:300000}",
+            initialDelayString = "${ai.vocab.hnsw.refresh-ms:300000}")
+    public void refresh() {
+        if (!isReady()) return;
+        try {
+            if (changedSinceFingerprint()) {
+                rebuild();
+                return;
+            }
+            if (catchUp() > 0) {
+                recordFingerprint();
+                persistIfDirty();
+            }
+        } catch (Exception e) {
+            log.warn("[VOCAB-HNSW] refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // 전체 재구축(진행 중에는 미준비 → 호출측 DB 폴백)
+    private void rebuild() throws IOException {
+        long started = System.currentTimeMillis();
+        ready = false;
+        try {
+            reset();
+            catchUp();
+            recordFingerprint();
+        } finally {
+            ready = true;
+        }
+        persistIfDirty();
+        log.info("[VOCAB-HNSW] DB content changed, rebuilt rows={} in {}ms", count, System.currentTimeMillis() - started);
+    }
+
+    // 저장된 용어 증분 삽입(이미 있는 id는 무시)
+    public void add(List<VocabTerm> rows) {
+        if (!enabled || rows == null) return;
+        synchronized (writeLock) {
+            for (VocabTerm row : rows) {
+                float[] emb = row.getEmbedding();
+                if (row.getId() == null || emb == null || emb.length != DIM) continue;
+                if (!indexedIds.add(row.getId())) continue;
+                insert(row.getId(), row.getTerm(), normalized(emb), randomLevel());
+                maxDbId = Math.max(maxDbId, row.getId());
+                dirty = true;
+            }
+        }
+    }
+
+    // 코사인 상위 K 용어(유사도 내림차순)
+    public List<String> search(float[] query, int k) {
+        if (k <= 0) return List.of();
+        Entry e = entry;
+        if (e == null) return List.of();
+        float[] q = normalized(query == null || query.length != DIM ? new float[DIM] : query);
+
+        int ep = e.node();
+        for (int l = e.level(); l > 0; l--) ep = greedy(q, ep, l);
+        List<Cand> found = searchLayer(q, ep, Math.max(efSearch, k), 0);
+
+        List<String> out = new ArrayList<>(Math.min(k, found.size()));
+        for (int i = 0; i < found.size() && out.size() < k; i++) out.add(node(found.get(i).node()).term);
+        return out;
+    }
+
+    @PreDestroy
+    void close() {
+        ready = false;
+        try {
+            persistIfDirty();
+        } catch (Exception e) {
+            log.warn("[VOCAB-HNSW] persist on shutdown failed: {}", e.getMessage());
+        }
+    }
+
+    // ===== 그래프 =====
+
+    private void insert(long dbId, String term, float[] vec, int level) {
+        Node n = new Node(dbId, term, vec, level);
+        int id = count;
+        Node[] arr = nodes;
+        if (id == arr.length) arr = Arrays.copyOf(arr, Math.max(256, id * 2));
+        arr[id] = n;
+        nodes = arr;
+        count = id + 1;
+
+        Entry e = entry;
+        if (e == null) {
+            entry = new Entry(id, level);
+            return;
+        }
+
+        int ep = e.node();
+        for (int l = e.level(); l > level; l--) ep = greedy(vec, ep, l);
+
+        for (int l = Math.min(level, e.level()); l >= 0; l--) {
+            List<Cand> w = searchLayer(vec, ep, efConstruction, l);
+            int[] mine = selectNeighbors(w, capacity(l));
+            n.links.set(l, mine);
+
+            for (int nb : mine) connect(nb, id, l);
+            ep = w.get(0).node();
+        }
+
+        if (level > e.level()) entry = new Entry(id, level);
+    }
+
+    // 이웃 nb에 역방향 링크 추가(용량 초과 시 nb 기준 가장 먼 링크 하나를 빼고 새 배열로 교체)
+    private void connect(int nb, int id, int level) {
+        Node target = node(nb);
+        int[] cur = target.links.get(level);
+        int cap = capacity(level);
+        if (cur.length < cap) {
+            int[] next = Arrays.copyOf(cur, cur.length + 1);
+            next[cur.length] = id;
+            target.links.set(level, next);
+            return;
+        }
+
+        float newSim = dot(target.vector, node(id).vector);
+        int worst = -1;
+        float worstSim = newSim;
+        for (int i = 0; i < cur.length; i++) {
+            float sim = dot(target.vector, node(cur[i]).vector);
+            if (sim < worstSim) {
+                worstSim = sim;
+                worst = i;
+            }
+        }
+        if (worst < 0) return; // 새 노드가 가장 멀면 역링크 생략
+        int[] next = cur.clone();
+        next[worst] = id;
+        target.links.set(level, next);
+    }
+
+    // 이웃 선정 휴리스틱: 이미 고른 이웃보다 기준점에 더 가까운 후보를 우선(군집 간 연결 유지), 남는 칸은 가까운 순 보충
+    private int[] selectNeighbors(List<Cand> sortedDesc, int cap) {
+        int[] picked = new int[Math.min(cap, sortedDesc.size())];
+        int size = 0;
+        List<Cand> pruned = new ArrayList<>();
+        for (Cand c : sortedDesc) {
+            if (size == picked.length) break;
+            float[] cv = node(c.node()).vector;
+            boolean diverse = true;
+            for (int i = 0; i < size; i++) {
+                if (dot(cv, node(picked[i]).vector) > c.sim()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) picked[size++] = c.node();
+            else pruned.add(c);
+        }
+        for (int i = 0; i < pruned.size() && size < picked.length; i++) picked[size++] = pruned.get(i).node();
+        return picked;
+    }
+
+    // 레벨 l에서 ef=1 탐욕 이동
+    private int greedy(float[] q, int ep, int level) {
+        int cur = ep;
+        float best = dot(q, node(cur).vector);
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            Node n = node(cur);
+            if (level > n.level()) break;
+            for (int nb : n.links.get(level)) {
+                float s = dot(q, node(nb).vector);
+                if (s > best) {
+                    best = s;
+                    cur = nb;
+                    moved = true;
+                }
+            }
+        }
+        return cur;
+    }
+
+    // 레벨 l 빔 탐색(결과는 유사도 내림차순)
+    private List<Cand> searchLayer(float[] q, int ep, int ef, int level) {
+        Set<Integer> visited = new HashSet<>();
+        PriorityQueue<Cand> frontier = new PriorityQueue<>((a, b) -> Float.compare(b.sim(), a.sim()));
+        PriorityQueue<Cand> results = new PriorityQueue<>((a, b) -> Float.compare(a.sim(), b.sim()));
+
+        Cand start = new Cand(ep, dot(q, node(ep).vector));
+        visited.add(ep);
+        frontier.add(start);
+        results.add(start);
+
+        while (!frontier.isEmpty()) {
+            Cand c = frontier.poll();
+            if (results.size() >= ef && c.sim() < results.peek().sim()) break;
+
+            Node n = node(c.node());
+            if (level > n.level()) continue;
+            for (int nb : n.links.get(level)) {
+                if (!visited.add(nb)) continue;
+                float s = dot(q, node(nb).vector);
+                if (results.size() < ef || s > results.peek().sim()) {
+                    Cand cand = new Cand(nb, s);
+                    frontier.add(cand);
+                    results.add(cand);
+                    if (results.size() > ef) results.poll();
+                }
+            }
+        }
+
+        List<Cand> out = new ArrayList<>(results);
+        out.sort((a, b) -> Float.compare(b.sim(), a.sim()));
+        return out;
+    }
+
+    // 공개된 최신 배열에서 조회(링크가 가리키는 노드는 항상 먼저 공개됨)
+    private Node node(int id) {
+        return nodes[id];
+    }
+
+    private int capacity(int level) {
+        return level == 0 ? 2 * m : m;
+    }
+
+    private int randomLevel() {
+        double u = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return Math.min(MAX_LEVEL, (int) Math.floor(-Math.log(u) * levelMult));
+    }
+
+    // 4-way 누산 내적(차원은 4의 배수)
+    private static float dot(float[] a, float[] b) {
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        for (int i = 0; i < a.length; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static float[] normalized(float[] v) {
+        double s = 0;
+        for (float x : v) s += (double) x * x;
+        float[] out = new float[v.length];
+        if (s == 0) return out;
+        float inv = (float) (1.0 / Math.sqrt(s));
+        for (int i = 0; i < v.length; i++) out[i] = Float.isFinite(v[i]) ? v[i] * inv : 0f;
+        return out;
+    }
+
+    // ===== DB 증분/스냅샷 =====
+
+    private int catchUp() {
+        int added = 0;
+        while (true) {
+            long from;
+            synchronized (writeLock) {
+                from = maxDbId;
+            }
+            List<VocabTerm> page = repo.findByIdGreaterThanOrderByIdAsc(from, PageRequest.of(0, LOAD_PAGE));
+            if (page.isEmpty()) return added;
+            int before = count;
+            add(page);
+            added += count - before;
+            synchronized (writeLock) {
+                maxDbId = Math.max(maxDbId, page.get(page.size() - 1).getId());
+            }
+        }
+    }
+
+    private void reset() {
+        synchronized (writeLock) {
+            nodes = new Node[0];
+            count = 0;
+            entry = null;
+            indexedIds.clear();
+            maxDbId = 0L;
+            fingerprintCursor = 0L;
+            fingerprint = null;
+            dirty = true;
+        }
+    }
+
+    // 반영 구간(id <= 지문 커서)의 DB 지문이 기록과 다른지
+    private boolean changedSinceFingerprint() {
+        long cursor;
+        String recorded;
+        synchronized (writeLock) {
+            cursor = fingerprintCursor;
+            recorded = fingerprint;
+        }
+        if (recorded == null) return false;
+        return !recorded.equals(repo.contentFingerprint(cursor));
+    }
+
+    // 현재 커서까지의 DB 지문 기록(스냅샷에도 저장)
+    private void recordFingerprint() {
+        long cursor;
+        synchronized (writeLock) {
+            cursor = maxDbId;
+        }
+        String fp = repo.contentFingerprint(cursor);
+        synchronized (writeLock) {
+            if (!Objects.equals(fp, fingerprint) || cursor != fingerprintCursor) dirty = true;
+            fingerprintCursor = cursor;
+            fingerprint = fp;
+        }
+    }
+
+    private void persistIfDirty() throws IOException {
+        synchronized (writeLock) {
+            if (!dirty) return;
+            Files.createDirectories(file.getParent());
+            // 같은 디렉터리의 고유 임시 파일(같은 경로를 쓰는 다른 인스턴스와 충돌 없음, 원자적 이동 가능)
+            Path tmp = Files.createTempFile(file.getParent(), "vocab_term-", ".hnsw.tmp");
+            try {
+                writeSnapshot(tmp);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            dirty = false;
+        }
+    }
+
+    private void writeSnapshot(Path tmp) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            Entry e = entry;
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeInt(DIM);
+            out.writeInt(m);
+            out.writeInt(count);
+            out.writeLong(maxDbId);
+            out.writeLong(fingerprintCursor);
+            out.writeUTF(fingerprint == null ? "" : fingerprint);
+            out.writeInt(e == null ? -1 : e.node());
+            out.writeInt(e == null ? -1 : e.level());
+            for (int i = 0; i < count; i++) {
+                Node n = nodes[i];
+                out.writeLong(n.dbId);
+                out.writeUTF(n.term);
+                for (float x : n.vector) out.writeFloat(x);
+                out.writeInt(n.level());
+                for (int l = 0; l <= n.level(); l++) {
+                    int[] links = n.links.get(l);
+                    out.writeInt(links.length);
+                    for (int nb : links) out.writeInt(nb);
+                }
+            }
+        }
+    }
+
+    private boolean loadSnapshot() {
+        if (!Files.isRegularFile(file)) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT || in.readInt() != DIM || in.readInt() != m) {
+                log.info("[VOCAB-HNSW] snapshot format/params changed, rebuilding");
+                return false;
+            }
+            int n = in.readInt();
+            long lastId = in.readLong();
+            long fpCursor = in.readLong();
+            String fp = in.readUTF();
+            int entryNode = in.readInt();
+            int entryLevel = in.readInt();
+            if (n < 0 || entryNode >= n || (n > 0 && entryNode < 0) || entryLevel > MAX_LEVEL) {
+                throw new IOException("snapshot header out of range (rows=" + n + ", entry=" + entryNode + ")");
+            }
+
+            Node[] arr = new Node[Math.max(256, n)];
+            Set<Long> ids = new HashSet<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                long dbId = in.readLong();
+                String term = in.readUTF();
+                float[] vec = new float[DIM];
+                for (int d = 0; d < DIM; d++) vec[d] = in.readFloat();
+                int level = in.readInt();
+                if (level < 0 || level > MAX_LEVEL) throw new IOException("node level out of range: " + level);
+                Node node = new Node(dbId, term, vec, level);
+                for (int l = 0; l <= level; l++) {
+                    int size = in.readInt();
+                    if (size < 0 || size > capacity(l)) throw new IOException("link count out of range: " + size);
+                    int[] links = new int[size];
+                    for (int j = 0; j < size; j++) {
+                        links[j] = in.readInt();
+                        if (links[j] < 0 || links[j] >= n) throw new IOException("link target out of range: " + links[j]);
+                    }
+                    node.links.set(l, links);
+                }
+                arr[i] = node;
+                ids.add(dbId);
+            }
+            if (n > 0 && arr[entryNode].level() < entryLevel) throw new IOException("entry level mismatch");
+            if (in.read() != -1) throw new IOException("trailing bytes after snapshot");
+
+            synchronized (writeLock) {
+                nodes = arr;
+                count = n;
+                entry = entryNode < 0 ? null : new Entry(entryNode, entryLevel);
+                indexedIds.clear();
+                indexedIds.addAll(ids);
+                maxDbId = lastId;
+                fingerprintCursor = fpCursor;
+                fingerprint = fp;
+                dirty = false;
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("[VOCAB-HNSW] snapshot unreadable, rebuilding: {}", e.getMessage());
+            reset();
+            return false;
+        }
+    }
+}
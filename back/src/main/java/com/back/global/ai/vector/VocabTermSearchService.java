@@ -1,53 +1,90 @@
 /*
  * [코드 흐름 요약]
  * - 쿼리 문자열이 비어도 768차원 0-벡터로 안전하게 유사도 검색을 수행한다.
+ * - 프로세스 내 HNSW 인덱스가 준비됐으면 우선 사용하고, 아니면 DB(pgvector) 경로로 검색한다.
+ * - 힌트 결합 조회는 이미 계산한 질의 벡터로 바로 검색(HNSW 준비 시 결합 CTE의 어휘 분기 생략).
+ * - 비교 모드(compare-sample-rate > 0)면 표본 요청에서 두 경로를 모두 실행해 지연/재현율(recall@k)을 기록한다.
  */
 package com.back.global.ai.vector;
 
 import com.back.domain.search.repository.VocabTermRepository;
-import lombok.RequiredArgsConstructor;
+import com.back.infra.pgvector.PgVectorCodec;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class VocabTermSearchService {
 
     private final EmbeddingClient embeddingClient;
     private final VocabTermRepository repo;
+    private final VocabTermHnswIndex hnsw;
+    private final double compareSampleRate;
 
-    // 무결성 검증
-    private static final int DIM = 768;
-    private static final String ZERO_LIT = zeroVectorLiteral();
+    private final Timer hnswTimer;
+    private final Timer dbTimer;
+    private final DistributionSummary recall;
+
+    public VocabTermSearchService(EmbeddingClient embeddingClient,
+                                  VocabTermRepository repo,
+                                  VocabTermHnswIndex hnsw,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${ai.vocab.hnsw.compare-sample-rate:0.0}") double compareSampleRate) {
+        this.embeddingClient = embeddingClient;
+        this.repo = repo;
+        this.hnsw = hnsw;
+        this.compareSampleRate = compareSampleRate;
+        this.hnswTimer = Timer.builder("ai.vocab.search.latency").tag("path", "hnsw").register(meterRegistry);
+        this.dbTimer = Timer.builder("ai.vocab.search.latency").tag("path", "db").register(meterRegistry);
+        this.recall = DistributionSummary.builder("ai.vocab.hnsw.recall")
+                .description("HNSW recall@k against the pgvector path (compare mode samples)")
+                .register(meterRegistry);
+    }
 
     public List<String> topKTermsByQuery(String query, int k) {
         float[] q = (query == null) ? null : embeddingClient.embed(query);
-        String qLit = toVectorLiteralOrZero(q);
-        return repo.searchTopKTerms(qLit, k);
+        return topKTermsByEmbedding(q, k);
     }
 
-    // 무결성 검증
-    private static String toVectorLiteralOrZero(float[] v) {
-        if (v == null || v.length == 0) return ZERO_LIT;
-        if (v.length != DIM) return ZERO_LIT;
-        StringBuilder sb = new StringBuilder(v.length * 8 + 2);
-        sb.append('[');
-        for (int i = 0; i < v.length; i++) {
-            if (i > 0) sb.append(',');
-            float x = v[i];
-            if (Float.isNaN(x) || Float.isInfinite(x)) x = 0f;
-            sb.append(Float.toString(x));
+    // 질의 벡터로 직접 검색(HNSW 우선, 미준비 시 DB)
+    public List<String> topKTermsByEmbedding(float[] q, int k) {
+        if (!hnsw.isReady()) return searchDb(q, k);
+
+        List<String> local = hnswTimer.record(() -> hnsw.search(q, k));
+        if (compareSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < compareSampleRate) {
+            compare(q, k, local);
         }
-        sb.append(']');
-        return sb.toString();
+        return local;
+    }
+
+    public boolean isLocalReady() {
+        return hnsw.isReady();
+    }
+
+    private List<String> searchDb(float[] q, int k) {
+        return dbTimer.record(() -> repo.searchTopKTerms(PgVectorCodec.toLiteralOrZero(q), k));
     }
 
-    // next 노드 생성
-    private static String zeroVectorLiteral() {
-        String[] arr = new String[DIM];
-        Arrays.fill(arr, "0");
-        return "[" + String.join(",", arr) + "]";
+    // 비교 모드: DB 결과를 기준으로 HNSW recall@k 기록(응답에는 HNSW 결과 사용)
+    private void compare(float[] q, int k, List<String> local) {
+        try {
+            List<String> exact = searchDb(q, k);
+            if (exact.isEmpty()) return;
+            Set<String> hit = new HashSet<>(local);
+            int overlap = 0;
+            for (String term : exact) if (hit.contains(term)) overlap++;
+            recall.record((double) overlap / exact.size());
+        } catch (Exception e) {
+            log.warn("[VOCAB] compare mode DB search failed: {}", e.getMessage());
+        }
     }
 }
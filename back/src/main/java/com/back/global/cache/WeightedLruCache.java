@@ -0,0 +1,82 @@
+package com.back.global.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 가중치(대략 바이트) 상한을 갖는 프로세스 내 LRU 캐시.
+ * - 접근 순서 LinkedHashMap 기반, 총 가중치가 상한을 넘으면 가장 오래 안 쓴 항목부터 제거
+ * - 불변 값 캐싱 용도(무효화 API 최소화), 모든 연산은 인스턴스 락으로 직렬화
+ */
+public class WeightedLruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, V> map = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalWeight;
+
+    public WeightedLruCache(long maxWeight, ToLongFunction<V> weigher) {
+        this.maxWeight = Math.max(1, maxWeight);
+        this.weigher = weigher;
+    }
+
+    // 조회(히트 시 최근 사용으로 갱신)
+    public synchronized V get(K key) {
+        return map.get(key);
+    }
+
+    // 적재 후 상한 초과분을 LRU 순으로 제거
+    public synchronized void put(K key, V value) {
+        if (key == null || value == null) return;
+        long w = weigher.applyAsLong(value);
+        if (w > maxWeight) return;
+
+        V prev = map.put(key, value);
+        if (prev != null) totalWeight -= weigher.applyAsLong(prev);
+        totalWeight += w;
+
+        Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+        while (totalWeight > maxWeight && it.hasNext()) {
+            Map.Entry<K, V> eldest = it.next();
+            totalWeight -= weigher.applyAsLong(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    // 단건 제거
+    public synchronized void remove(K key) {
+        V prev = map.remove(key);
+        if (prev != null) totalWeight -= weigher.applyAsLong(prev);
+    }
+
+    // 가장 오래 안 쓴 항목부터 조건을 만족하는 동안 제거(접근 순서 = 갱신 순서인 만료 정리용), 제거 건수 반환
+    public synchronized int removeEldestWhile(Predicate<V> condition) {
+        int removed = 0;
+        Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, V> eldest = it.next();
+            if (!condition.test(eldest.getValue())) break;
+            totalWeight -= weigher.applyAsLong(eldest.getValue());
+            it.remove();
+            removed++;
+        }
+        return removed;
+    }
+
+    // 전체 비우기
+    public synchronized void clear() {
+        map.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public synchronized long weight() {
+        return totalWeight;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 비동기 처리를 위한 ThreadPool 설정
@@ -31,6 +32,18 @@ public class AsyncConfig {
     @Value("${spring.task.execution.thread-name-prefix}")
     private String threadNamePrefix;
 
+    @Value("${scenario.job.concurrency:4}")
+    private int scenarioJobConcurrency;
+
+    @Value("${ai.hint.pool.core-size:2}")
+    private int hintCorePoolSize;
+
+    @Value("${ai.hint.pool.max-size:4}")
+    private int hintMaxPoolSize;
+
+    @Value("${ai.hint.pool.queue-capacity:200}")
+    private int hintQueueCapacity;
+
     /**
      * AI 서비스 비동기 처리용 ThreadPoolTaskExecutor
      * application.yml의 spring.task.execution 설정을 사용합니다.
@@ -54,4 +67,97 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 결정 노드 다음 AI 힌트 생성 전용 ThreadPoolTaskExecutor
+     * 노드 생성 트랜잭션 커밋 이후에만 작업을 받아, 요청 스레드/커넥션과 Gemini 왕복을 분리합니다.
+     * 큐가 가득 차면 거절(AbortPolicy)합니다. 호출 스레드(afterCommit 중인 요청 스레드)에서 Gemini를 부르지 않고,
+     * DecisionHintPipeline이 거절된 힌트를 FAILED로 기록합니다.
+     *
+     * @return 설정된 Executor
+     */
+    @Bean(name = "aiHintExecutor")
+    public Executor aiHintExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(hintCorePoolSize);
+        executor.setMaxPoolSize(Math.max(hintCorePoolSize, hintMaxPoolSize));
+        executor.setQueueCapacity(hintQueueCapacity);
+        executor.setThreadNamePrefix("ai-hint-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 시나리오 생성 작업 큐 워커(ScenarioJobWorker) 전용 ThreadPoolTaskExecutor
+     * 스레드 수 = scenario.job.concurrency(core = max), 대기열 없음.
+     * ThreadPoolExecutor는 대기열이 가득 차야 core 이상으로 늘어나므로, 대기열이 있으면 선점된(RUNNING) 작업이
+     * 실행되지 못한 채 lease만 연장됩니다. 워커는 빈 슬롯만큼만 선점하고, 거절되면 작업을 대기열로 되돌립니다.
+     *
+     * @return 설정된 Executor
+     */
+    @Bean(name = "scenarioJobExecutor")
+    public Executor scenarioJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        int threads = Math.max(1, scenarioJobConcurrency);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("scenario-job-");
+
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 프로세스 내 로컬 검색 인덱스(AgeThemeLocalIndex, VocabTermHnswIndex) 기동 적재 전용 Executor
+     * 인덱스마다 기동 시 1회 적재 작업을 제출하므로 스레드 2개면 충분하고, 종료 시 적재 중인 작업은 기다리지 않습니다.
+     *
+     * @return 설정된 Executor
+     */
+    @Bean(name = "localIndexExecutor")
+    public Executor localIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(4);
+        executor.setThreadNamePrefix("local-index-");
+        executor.setDaemon(true);
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * node_snippet 증분 인덱싱 전용 단일 스레드 Executor
+     * NodeSnippetIndexer가 드레인 작업을 한 번에 하나만 제출하므로 스레드 1개, 대기열 1칸이면 충분합니다.
+     * 요청 스레드와 AI 풀(aiTaskExecutor/aiHintExecutor)을 점유하지 않습니다.
+     *
+     * @return 설정된 Executor
+     */
+    @Bean(name = "snippetIndexExecutor")
+    public Executor snippetIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("snippet-index-");
+
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+
+        executor.initialize();
+        return executor;
+    }
 }
@@ -23,6 +23,7 @@ public class CorsConfig {
         conf.setAllowedOriginPatterns(List.of("http://localhost:*", frontUrl));
         conf.setAllowedMethods(List.of("GET","POST","PUT","DELETE","PATCH","OPTIONS"));
         conf.setAllowedHeaders(List.of("*"));
+        conf.setExposedHeaders(List.of("ETag"));
         conf.setAllowCredentials(true);
         conf.setMaxAge(3600L);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,233 @@
+/*
+ * [파일 요약/코드 흐름]
+ * - pgvector 텍스트 표현('[x,y,...]') 공용 인코더/디코더
+ * - 인코딩: 고정 소수 자릿수(8자리) 정수 연산으로 스레드별 char 버퍼에 직접 기록(Float.toString/StringBuilder 미사용)
+ * - 디코딩: split/parseFloat 없이 한 번 순회로 파싱(정확히 반올림, 애매한 경계값만 Float.parseFloat 폴백)
+ * - 768차원 0-벡터 리터럴은 상수로 캐시, NaN/Inf는 0으로 정리
+ * - 쿼리 파라미터(CAST(:q AS vector))와 엔티티 컨버터(PgVectorConverter) 모두 이 코덱을 사용
+ */
+package com.back.infra.pgvector;
+
+import java.util.Arrays;
+
+public final class PgVectorCodec {
+
+    // 무결성 검증
+    public static final int DIM = 768;
+
+    private static final int FRACTION_DIGITS = 8;
+    private static final long SCALE = 100_000_000L;
+    // 이 이상은 고정 소수 정수 변환 범위를 넘으므로 Float.toString 사용
+    private static final float FIXED_LIMIT = 1e9f;
+
+    private static final double[] POW10 = new double[23];
+    static {
+        POW10[0] = 1.0;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10.0;
+    }
+
+    private static final String ZERO_LITERAL = zeroLiteral(DIM);
+
+    // 기록용 스레드 버퍼(원소당 최대 부호+10자리 정수+'.'+8자리 소수+',')
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[DIM * 21 + 2]);
+
+    private PgVectorCodec() {}
+
+    // 캐시된 768차원 0-벡터 리터럴
+    public static String zeroLiteral() {
+        return ZERO_LITERAL;
+    }
+
+    // 쿼리용: null/빈/차원 불일치면 0-벡터 리터럴
+    public static String toLiteralOrZero(float[] v) {
+        if (v == null || v.length != DIM) return ZERO_LITERAL;
+        return toLiteral(v);
+    }
+
+    // float[] → '[x,y,...]' (NaN/Inf는 0)
+    public static String toLiteral(float[] v) {
+        int need = v.length * 21 + 2;
+        char[] buf = BUFFER.get();
+        if (buf.length < need) {
+            buf = new char[need];
+            BUFFER.set(buf);
+        }
+
+        int p = 0;
+        buf[p++] = '[';
+        for (int i = 0; i < v.length; i++) {
+            if (i > 0) buf[p++] = ',';
+            float x = v[i];
+            if (Float.isNaN(x) || Float.isInfinite(x)) x = 0f;
+            p = writeFixed(buf, p, x);
+        }
+        buf[p++] = ']';
+        return new String(buf, 0, p);
+    }
+
+    // '[x,y,...]' → float[] (null/빈/'[]'이면 길이 0, NaN/Inf는 0)
+    public static float[] parse(CharSequence s) {
+        if (s == null) return new float[0];
+        int from = 0, to = s.length();
+        while (from < to && s.charAt(from) <= ' ') from++;
+        while (to > from && s.charAt(to - 1) <= ' ') to--;
+        if (from < to && s.charAt(from) == '[') from++;
+        if (to > from && s.charAt(to - 1) == ']') to--;
+
+        int count = 0;
+        boolean any = false;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == ',') count++;
+            else if (c > ' ') any = true;
+        }
+        if (!any) return new float[0];
+
+        float[] out = new float[count + 1];
+        int idx = 0, start = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || s.charAt(i) == ',') {
+                float x = parseFloat(s, start, i);
+                out[idx++] = (Float.isNaN(x) || Float.isInfinite(x)) ? 0f : x;
+                start = i + 1;
+            }
+        }
+        return out;
+    }
+
+    // 고정 소수 8자리로 기록(끝자리 0 제거)
+    private static int writeFixed(char[] buf, int p, float x) {
+        if (Math.abs(x) >= FIXED_LIMIT) {
+            String s = Float.toString(x);
+            s.getChars(0, s.length(), buf, p);
+            return p + s.length();
+        }
+        long scaled = Math.round((double) x * SCALE);
+        if (scaled == 0) {
+            buf[p++] = '0';
+            return p;
+        }
+        if (scaled < 0) {
+            buf[p++] = '-';
+            scaled = -scaled;
+        }
+        long intPart = scaled / SCALE;
+        long frac = scaled % SCALE;
+
+        p = writeDigits(buf, p, intPart);
+        if (frac == 0) return p;
+
+        int digits = FRACTION_DIGITS;
+        while (frac % 10 == 0) {
+            frac /= 10;
+            digits--;
+        }
+        buf[p++] = '.';
+        for (int i = p + digits - 1; i >= p; i--) {
+            buf[i] = (char) ('0' + (frac % 10));
+            frac /= 10;
+        }
+        return p + digits;
+    }
+
+    private static int writeDigits(char[] buf, int p, long n) {
+        if (n == 0) {
+            buf[p++] = '0';
+            return p;
+        }
+        int len = 0;
+        for (long t = n; t > 0; t /= 10) len++;
+        for (int i = p + len - 1; i >= p; i--) {
+            buf[i] = (char) ('0' + (n % 10));
+            n /= 10;
+        }
+        return p + len;
+    }
+
+    // [from, to) 10진 실수 파싱: 유효숫자 15자리/지수 22 이내면 double 1회 연산 후 float 반올림
+    private static float parseFloat(CharSequence s, int from, int to) {
+        int i = from;
+        while (i < to && s.charAt(i) <= ' ') i++;
+        while (to > i && s.charAt(to - 1) <= ' ') to--;
+        if (i >= to) throw new NumberFormatException("empty vector element");
+
+        boolean neg = false;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+') {
+            neg = c == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0, exp10 = 0;
+        boolean seenDigit = false, seenDot = false;
+        for (; i < to; i++) {
+            c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    if (seenDot) exp10--;
+                    continue;
+                }
+                if (digits >= 15) return slowParse(s, from, to);
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (seenDot) exp10--;
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else if (c == 'e' || c == 'E') {
+                int e = parseExponent(s, i + 1, to);
+                if (e == Integer.MIN_VALUE) return slowParse(s, from, to);
+                exp10 += e;
+                i = to;
+                break;
+            } else {
+                return slowParse(s, from, to);
+            }
+        }
+        if (!seenDigit) return slowParse(s, from, to);
+        if (mantissa == 0) return neg ? -0f : 0f;
+        if (exp10 < -22 || exp10 > 22) return slowParse(s, from, to);
+
+        double d = exp10 < 0 ? mantissa / POW10[-exp10] : mantissa * POW10[exp10];
+        float f = (float) d;
+        // double이 두 float의 정확한 중간값이면 이중 반올림 가능성 → 정밀 파서로 위임
+        if ((double) f != d) {
+            float other = ((double) f < d) ? Math.nextUp(f) : Math.nextDown(f);
+            if (((double) f + (double) other) / 2.0 == d) return slowParse(s, from, to);
+        }
+        return neg ? -f : f;
+    }
+
+    // 지수부 파싱(형식 오류/과대 지수면 MIN_VALUE)
+    private static int parseExponent(CharSequence s, int i, int to) {
+        if (i >= to) return Integer.MIN_VALUE;
+        boolean neg = false;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+') {
+            neg = c == '-';
+            i++;
+        }
+        if (i >= to) return Integer.MIN_VALUE;
+        int e = 0;
+        for (; i < to; i++) {
+            c = s.charAt(i);
+            if (c < '0' || c > '9' || e > 1000) return Integer.MIN_VALUE;
+            e = e * 10 + (c - '0');
+        }
+        return neg ? -e : e;
+    }
+
+    private static float slowParse(CharSequence s, int from, int to) {
+        return Float.parseFloat(s.subSequence(from, to).toString().trim());
+    }
+
+    private static String zeroLiteral(int dim) {
+        char[] chars = new char[dim * 2 + 1];
+        Arrays.fill(chars, ',');
+        chars[0] = '[';
+        for (int i = 0; i < dim; i++) chars[1 + 2 * i] = '0';
+        chars[chars.length - 1] = ']';
+        return new String(chars);
+    }
+}
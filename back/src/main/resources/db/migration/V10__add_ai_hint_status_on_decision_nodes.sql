@@ -0,0 +1,6 @@
+-- ==============================================
+-- DecisionNode AI 힌트 비동기 생성 상태 필드 추가
+-- ==============================================
+
+-- 커밋 후 비동기 힌트 생성 상태(PENDING/READY/FAILED), 기존 노드는 NULL 유지
+ALTER TABLE decision_nodes ADD COLUMN IF NOT EXISTS ai_hint_status VARCHAR(16);
@@ -0,0 +1,6 @@
+-- ==============================================
+-- BaselineCommit 누적 버전 스냅샷 필드 추가
+-- ==============================================
+
+-- 커밋 시점 ageYear → afterVersionId 누적 맵("age:versionId,..."), 기존 커밋은 NULL(체인 탐색 폴백)
+ALTER TABLE baseline_commits ADD COLUMN IF NOT EXISTS version_snapshot TEXT;
@@ -0,0 +1,6 @@
+-- ==============================================
+-- BaseLine 트리 버전 스탬프 필드 추가
+-- ==============================================
+
+-- 노드/라인/커밋 쓰기마다 +1, 트리 캐시 키와 ETag로 사용(기존 행은 0에서 시작)
+ALTER TABLE base_lines ADD COLUMN IF NOT EXISTS tree_version BIGINT NOT NULL DEFAULT 0;
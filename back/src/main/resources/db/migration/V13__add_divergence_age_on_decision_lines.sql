@@ -0,0 +1,25 @@
+-- ==============================================
+-- DecisionLine 첫 분기 나이(코리더 인덱스) 필드 추가
+-- ==============================================
+
+-- 라인의 첫 분기 나이(첫 parentOptionIndex 노드 → 없으면 첫 from-base 표식 노드), NULL이면 분기 없음
+ALTER TABLE decision_lines ADD COLUMN IF NOT EXISTS divergence_age INTEGER;
+
+-- 기존 라인 백필
+UPDATE decision_lines l
+SET divergence_age = COALESCE(
+        (SELECT MIN(n.age_year)
+         FROM decision_nodes n
+         WHERE n.dec_line_id = l.id
+           AND n.parent_option_index IS NOT NULL),
+        (SELECT MIN(n.age_year)
+         FROM decision_nodes n
+         JOIN base_nodes b ON b.id = n.base_node_id
+         WHERE n.dec_line_id = l.id
+           AND (b.alt_opt1target_decision_id = n.id OR b.alt_opt2target_decision_id = n.id))
+    )
+WHERE l.divergence_age IS NULL;
+
+-- 코리더 조회(베이스라인 + 분기 나이) / 라인 내 동일 나이 조회 인덱스
+CREATE INDEX IF NOT EXISTS idx_dline_base_divergence ON decision_lines (base_line_id, divergence_age);
+CREATE INDEX IF NOT EXISTS idx_dnode_line_age ON decision_nodes (dec_line_id, age_year);
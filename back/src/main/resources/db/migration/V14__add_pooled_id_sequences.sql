@@ -0,0 +1,70 @@
+-- ==============================================
+-- 엔티티별 풀드 시퀀스 추가(IDENTITY → SEQUENCE)
+-- ==============================================
+
+-- Hibernate 기본 이름({엔티티}_seq)과 allocationSize(50)에 맞춰 생성
+-- 다음 nextval이 MAX(id)+50이 되도록 맞춰 pooled 할당 구간(MAX(id)+1 ~ MAX(id)+50)이 기존 행과 겹치지 않게 함
+-- 기존 IDENTITY 기본값은 BY DEFAULT라 명시적 id 삽입과 충돌하지 않으므로 그대로 둠
+
+CREATE SEQUENCE IF NOT EXISTS user_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('user_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS post_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('post_seq', COALESCE((SELECT MAX(id) FROM post), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS comment_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('comment_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS comment_like_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('comment_like_seq', COALESCE((SELECT MAX(id) FROM comment_likes), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS post_like_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('post_like_seq', COALESCE((SELECT MAX(id) FROM post_likes), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS poll_vote_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('poll_vote_seq', COALESCE((SELECT MAX(id) FROM poll_votes), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS scenario_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('scenario_seq', COALESCE((SELECT MAX(id) FROM scenarios), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS scene_compare_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('scene_compare_seq', COALESCE((SELECT MAX(id) FROM scene_compare), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS scene_type_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('scene_type_seq', COALESCE((SELECT MAX(id) FROM scene_type), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS base_line_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('base_line_seq', COALESCE((SELECT MAX(id) FROM base_lines), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS base_node_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('base_node_seq', COALESCE((SELECT MAX(id) FROM base_nodes), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS decision_line_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('decision_line_seq', COALESCE((SELECT MAX(id) FROM decision_lines), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS decision_node_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('decision_node_seq', COALESCE((SELECT MAX(id) FROM decision_nodes), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS node_atom_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('node_atom_seq', COALESCE((SELECT MAX(id) FROM node_atoms), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS node_atom_version_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('node_atom_version_seq', COALESCE((SELECT MAX(id) FROM node_atom_versions), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS baseline_branch_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('baseline_branch_seq', COALESCE((SELECT MAX(id) FROM baseline_branches), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS baseline_commit_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('baseline_commit_seq', COALESCE((SELECT MAX(id) FROM baseline_commits), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS baseline_patch_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('baseline_patch_seq', COALESCE((SELECT MAX(id) FROM baseline_patches), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS node_snippet_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('node_snippet_seq', COALESCE((SELECT MAX(id) FROM node_snippet), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS age_theme_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('age_theme_seq', COALESCE((SELECT MAX(id) FROM age_theme), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS vocab_term_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('vocab_term_seq', COALESCE((SELECT MAX(id) FROM vocab_term), 0) + 50, false);
@@ -0,0 +1,9 @@
+-- ==============================================
+-- node_snippet ↔ decision_nodes 연결(증분 인덱싱 upsert/삭제 키)
+-- ==============================================
+
+-- 스니펫 원본 결정 노드 id(노드당 1행), 기존 행은 원본을 알 수 없어 NULL 유지
+ALTER TABLE node_snippet ADD COLUMN IF NOT EXISTS node_id BIGINT;
+
+-- 노드 단위 upsert(삭제 후 삽입) 조회/유일성
+CREATE UNIQUE INDEX IF NOT EXISTS uq_node_snippet_node_id ON node_snippet (node_id);
@@ -0,0 +1,9 @@
+-- ==============================================
+-- 베이스 시나리오 생성 선점(베이스라인당 1행, 클러스터 단일 생성)
+-- ==============================================
+
+CREATE TABLE IF NOT EXISTS base_scenario_claims (
+    base_line_id BIGINT      NOT NULL PRIMARY KEY REFERENCES base_lines (id) ON DELETE CASCADE,
+    owner        VARCHAR(64) NOT NULL,
+    lease_until  TIMESTAMP   NOT NULL
+);
@@ -0,0 +1,18 @@
+-- ==============================================
+-- 시나리오 생성 영속 작업 큐(SKIP LOCKED 선점 + lease/하트비트 + 재시도 백오프)
+-- ==============================================
+
+CREATE TABLE IF NOT EXISTS scenario_jobs (
+    scenario_id  BIGINT      NOT NULL PRIMARY KEY REFERENCES scenarios (id) ON DELETE CASCADE,
+    status       VARCHAR(16) NOT NULL,
+    attempts     INT         NOT NULL DEFAULT 0,
+    available_at TIMESTAMP   NOT NULL,
+    lease_owner  VARCHAR(64),
+    lease_until  TIMESTAMP,
+    last_error   TEXT,
+    updated_at   TIMESTAMP   NOT NULL
+);
+
+-- 실행 가능 작업 선점 / 만료 lease 탐색
+CREATE INDEX IF NOT EXISTS idx_scenario_jobs_status_available ON scenario_jobs (status, available_at);
+CREATE INDEX IF NOT EXISTS idx_scenario_jobs_running_lease ON scenario_jobs (lease_until) WHERE status = 'RUNNING';
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
@@ -40,6 +41,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -64,16 +66,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 "TRUNCATE TABLE BASE_LINES",
                 "TRUNCATE TABLE USERS",
 
-                "ALTER TABLE BASELINE_PATCHES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASELINE_COMMITS ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASELINE_BRANCHES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE NODE_ATOM_VERSIONS ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE NODE_ATOMS ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE DECISION_NODES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE DECISION_LINES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASE_NODES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASE_LINES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE USERS ALTER COLUMN ID RESTART WITH 1",
                 "SET REFERENTIAL_INTEGRITY TRUE"
         },
         executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
@@ -559,6 +551,64 @@ public class BaseLineControllerTest {
                     .andExpect(jsonPath("$.message").exists());
         }
 
+        @Test
+        @DisplayName("성공 : 같은 ETag로 재조회하면 304, 결정 노드 추가 후에는 새 ETag로 200 (인증/CSRF)")
+        void success_tree_etag_notModified_until_write() throws Exception {
+            Long baseLineId = saveAndGetBaseLineId();
+
+            // 가장 많이 사용하는 호출 한줄 요약: 첫 조회로 ETag 확보
+            var first = mockMvc.perform(get("/api/v1/base-lines/{id}/tree", baseLineId)
+                            .with(authed(userId)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andReturn();
+            String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+            // 변경이 없으면 본문 없이 304
+            mockMvc.perform(get("/api/v1/base-lines/{id}/tree", baseLineId)
+                            .with(authed(userId))
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+            // from-base로 결정 노드 추가 → 트리 스탬프 증가
+            var pivotsRes = mockMvc.perform(get("/api/v1/base-lines/{id}/pivots", baseLineId)
+                            .with(authed(userId)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            int pivotAge = om.readTree(pivotsRes.getResponse().getContentAsString())
+                    .get("pivots").get(1).get("ageYear").asInt();
+
+            String fromBasePayload = """
+            {
+              "userId": %d,
+              "baseLineId": %d,
+              "pivotAge": %d,
+              "selectedAltIndex": 0,
+              "category": "%s",
+              "situation": "분기 시작",
+              "options": ["선택-A"],
+              "selectedIndex": 0
+            }
+            """.formatted(userId, baseLineId, pivotAge, NodeCategory.CAREER);
+
+            mockMvc.perform(post("/api/v1/decision-flow/from-base")
+                            .with(authed(userId))
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(fromBasePayload))
+                    .andExpect(status().isCreated());
+
+            // 이전 ETag로 조회하면 새 트리와 새 ETag
+            var after = mockMvc.perform(get("/api/v1/base-lines/{id}/tree", baseLineId)
+                            .with(authed(userId))
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.decisionNodes.length()").value(3))
+                    .andReturn();
+            assertThat(after.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        }
+
         @Test
         @DisplayName("성공 : 포크 라인에서 헤더 이후 prelude → fork(앵커) 라벨이 정확히 찍힌다 (인증/CSRF)")
         void success_tree_labels_on_fork_line() throws Exception {
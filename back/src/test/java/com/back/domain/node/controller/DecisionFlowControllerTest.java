@@ -59,16 +59,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 "TRUNCATE TABLE BASE_LINES",
                 "TRUNCATE TABLE USERS",
 
-                "ALTER TABLE BASELINE_PATCHES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASELINE_COMMITS ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASELINE_BRANCHES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE NODE_ATOM_VERSIONS ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE NODE_ATOMS ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE DECISION_NODES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE DECISION_LINES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASE_NODES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASE_LINES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE USERS ALTER COLUMN ID RESTART WITH 1",
                 "SET REFERENTIAL_INTEGRITY TRUE"
         },
         executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
@@ -139,12 +129,18 @@ public class DecisionFlowControllerTest {
                     .andExpect(jsonPath("$.decisionLineId").exists())
                     .andExpect(jsonPath("$.baseNodeId").isNumber())
                     .andExpect(jsonPath("$.decision").value("휴학"))
-                    .andExpect(jsonPath("$.aiNextSituation").isNotEmpty())
-                    .andExpect(jsonPath("$.aiNextRecommendedOption").isNotEmpty())
                     .andReturn();
 
             JsonNode body = om.readTree(res.getResponse().getContentAsString());
             assertThat(body.get("ageYear").asInt()).isEqualTo(baseInfo.pivotAge);
+
+            // AI 힌트는 커밋 후 생성 → 폴링 엔드포인트로 도착 확인
+            mockMvc.perform(get("/api/v1/decision-flow/nodes/{id}/hint", body.get("id").asLong())
+                            .with(authed(userId)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("READY"))
+                    .andExpect(jsonPath("$.aiNextSituation").isNotEmpty())
+                    .andExpect(jsonPath("$.aiNextRecommendedOption").isNotEmpty());
         }
 
         @Test
@@ -266,13 +262,19 @@ public class DecisionFlowControllerTest {
                             .content(nextReq))
                     .andExpect(status().isCreated())
                     .andExpect(jsonPath("$.parentId").value(parentId))
-                    .andExpect(jsonPath("$.aiNextSituation").value("테스트-상황이다."))
-                    .andExpect(jsonPath("$.aiNextRecommendedOption").value("테스트-추천한다"))
                     .andReturn();
 
             JsonNode body = om.readTree(res.getResponse().getContentAsString());
             assertThat(body.get("ageYear").asInt()).isGreaterThan(head.ageYear);
             assertThat(body.get("decision").asText()).isEqualTo("수락");
+
+            // AI 힌트는 커밋 후 생성 → 폴링 엔드포인트로 도착 확인
+            mockMvc.perform(get("/api/v1/decision-flow/nodes/{id}/hint", body.get("id").asLong())
+                            .with(authed(userId)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("READY"))
+                    .andExpect(jsonPath("$.aiNextSituation").value("테스트-상황이다."))
+                    .andExpect(jsonPath("$.aiNextRecommendedOption").value("테스트-추천한다"));
         }
 
         @Test
@@ -666,7 +668,7 @@ public class DecisionFlowControllerTest {
     void success_aiHints_persisted_and_mapped_on_line_detail() throws Exception {
         aiCallBudget.reset(0);
 
-        // 1) from-base 시작 (헤드 생성 + 응답 즉시 힌트 포함)
+        // 1) from-base 시작 (헤드 생성 + 커밋 후 힌트 생성)
         var head = startDecisionFromBase(userId);
 
         // 2) 라인 상세 재조회 → 헤드 노드의 AI 힌트가 DB→DTO로 매핑되었는지 확인
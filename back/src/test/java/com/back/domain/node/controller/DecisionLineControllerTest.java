@@ -61,16 +61,6 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
                 "TRUNCATE TABLE BASE_LINES",
                 "TRUNCATE TABLE USERS",
 
-                "ALTER TABLE BASELINE_PATCHES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASELINE_COMMITS ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASELINE_BRANCHES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE NODE_ATOM_VERSIONS ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE NODE_ATOMS ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE DECISION_NODES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE DECISION_LINES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASE_NODES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE BASE_LINES ALTER COLUMN ID RESTART WITH 1",
-                "ALTER TABLE USERS ALTER COLUMN ID RESTART WITH 1",
                 "SET REFERENTIAL_INTEGRITY TRUE"
         },
         executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
@@ -0,0 +1,98 @@
+package com.back.domain.node.service;
+
+import com.back.domain.node.entity.*;
+import com.back.domain.node.repository.BaselineCommitRepository;
+import com.back.domain.node.repository.DecisionNodeRepository;
+import com.back.domain.node.repository.NodeAtomVersionRepository;
+import com.back.domain.user.entity.User;
+import com.back.global.ai.vector.NodeSnippetIndexer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+
+/**
+ * DecisionEditService 단위 테스트.
+ * 베이스 승격 시 같은 브랜치를 따르는(FOLLOW/정책 null) 해당 나이 노드만 커밋 후 스니펫 재색인되는지를 검증합니다.
+ */
+@DisplayName("DecisionEditService 단위 테스트")
+class DecisionEditServiceTest {
+
+    private static final long BASE_LINE_ID = 1L;
+    private static final long BRANCH_ID = 5L;
+    private static final int AGE = 30;
+
+    private final DecisionNodeRepository decisionNodeRepo = mock(DecisionNodeRepository.class);
+    private final DVCSBaseService dvcsBaseService = mock(DVCSBaseService.class);
+    private final NodeSnippetIndexer snippetIndexer = mock(NodeSnippetIndexer.class);
+
+    private final DecisionEditService service = new DecisionEditService(
+            decisionNodeRepo, mock(NodeAtomVersionRepository.class), dvcsBaseService,
+            mock(VersionResolver.class), mock(BaselineCommitRepository.class), snippetIndexer);
+
+    @Test
+    @DisplayName("성공 - 승격 후 같은 브랜치의 FOLLOW/정책 null 노드만 재색인하고 PINNED/OVERRIDE/다른 브랜치는 제외")
+    void promoteEditToBase_성공_FOLLOW_노드_재색인() {
+        BaseLine baseLine = BaseLine.builder().build();
+        ReflectionTestUtils.setField(baseLine, "id", BASE_LINE_ID);
+        BaselineBranch branch = branch(baseLine, BRANCH_ID);
+        BaselineBranch otherBranch = branch(baseLine, 6L);
+
+        User user = User.builder().build();
+        ReflectionTestUtils.setField(user, "id", 9L);
+
+        DecisionLine line = line(baseLine, branch, 7L);
+        DecisionLine otherLine = line(baseLine, otherBranch, 8L);
+
+        DecisionNode edited = node(70L, line, FollowPolicy.OVERRIDE);
+        edited.setUser(user);
+        DecisionNode follow = node(71L, line, FollowPolicy.FOLLOW);
+        DecisionNode unset = node(72L, line, null);
+        DecisionNode pinned = node(73L, line, FollowPolicy.PINNED);
+        DecisionNode otherFollow = node(74L, otherLine, FollowPolicy.FOLLOW);
+
+        given(decisionNodeRepo.findById(70L)).willReturn(Optional.of(edited));
+        given(decisionNodeRepo.findWithLineByDecisionLine_BaseLine_IdAndAgeYear(BASE_LINE_ID, AGE))
+                .willReturn(List.of(edited, follow, unset, pinned, otherFollow));
+
+        service.promoteEditToBase(70L, new DecisionEditService.DecisionEditPayload(
+                null, "상황", "결정", null, "설명", "hash"), "promote");
+
+        then(dvcsBaseService).should().commitBaseEdit(eq(BASE_LINE_ID), eq(BRANCH_ID), eq(AGE),
+                any(DVCSBaseService.BaseEditPayload.class), anyLong(), eq("promote"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        then(snippetIndexer).should().indexNodesAfterCommit(ids.capture());
+        assertThat(ids.getValue()).containsExactly(71L, 72L);
+    }
+
+    private BaselineBranch branch(BaseLine baseLine, long id) {
+        BaselineBranch br = BaselineBranch.builder().baseLine(baseLine).build();
+        ReflectionTestUtils.setField(br, "id", id);
+        return br;
+    }
+
+    private DecisionLine line(BaseLine baseLine, BaselineBranch branch, long id) {
+        DecisionLine l = DecisionLine.builder().baseLine(baseLine).baseBranch(branch).build();
+        ReflectionTestUtils.setField(l, "id", id);
+        return l;
+    }
+
+    private DecisionNode node(long id, DecisionLine line, FollowPolicy policy) {
+        DecisionNode n = DecisionNode.builder().decisionLine(line).ageYear(AGE).followPolicy(policy).build();
+        ReflectionTestUtils.setField(n, "id", id);
+        return n;
+    }
+}
@@ -0,0 +1,45 @@
+package com.back.domain.node.service;
+
+import com.back.domain.node.entity.AiHintStatus;
+import com.back.domain.node.repository.DecisionNodeRepository;
+import com.back.global.ai.vector.AIVectorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * DecisionHintPipeline 단위 테스트.
+ * 힌트 풀이 포화되어 거절되면 호출 스레드에서 AI를 부르지 않고 FAILED로 기록하는지 검증합니다.
+ */
+@DisplayName("DecisionHintPipeline 단위 테스트")
+class DecisionHintPipelineTest {
+
+    private AIVectorService aiVectorService;
+    private DecisionNodeRepository decisionNodeRepository;
+
+    @BeforeEach
+    void setUp() {
+        aiVectorService = mock(AIVectorService.class);
+        decisionNodeRepository = mock(DecisionNodeRepository.class);
+    }
+
+    @Test
+    @DisplayName("성공 - 풀 포화로 거절되면 호출 스레드에서 실행하지 않고 FAILED로 기록")
+    void requestAfterCommit_성공_거절시_FAILED_기록() {
+        Executor rejecting = job -> { throw new RejectedExecutionException("saturated"); };
+        DecisionHintPipeline pipeline = new DecisionHintPipeline(aiVectorService, decisionNodeRepository,
+                mock(BaseLineTreeCache.class), rejecting, mock(PlatformTransactionManager.class), true);
+
+        pipeline.requestAfterCommit(10L, 1L, 5L);
+
+        then(aiVectorService).shouldHaveNoInteractions();
+        then(decisionNodeRepository).should().updateAiHint(eq(10L), isNull(), isNull(), eq(AiHintStatus.FAILED));
+    }
+}
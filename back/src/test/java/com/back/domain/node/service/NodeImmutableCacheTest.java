@@ -0,0 +1,75 @@
+package com.back.domain.node.service;
+
+import com.back.domain.node.entity.BaselineCommit;
+import com.back.domain.node.repository.BaselineCommitRepository;
+import com.back.domain.node.repository.NodeAtomVersionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * NodeImmutableCache 단위 테스트.
+ * 커밋 캐시 무효화가 트랜잭션 커밋 후에 실행되는지, 다른 인스턴스의 무효화 메시지로 로컬 커밋 캐시를 비우는지 검증합니다.
+ */
+@DisplayName("NodeImmutableCache 단위 테스트")
+class NodeImmutableCacheTest {
+
+    private final BaselineCommitRepository commitRepo = mock(BaselineCommitRepository.class);
+    private NodeImmutableCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cache = new NodeImmutableCache(mock(NodeAtomVersionRepository.class), commitRepo, new ObjectMapper(),
+                mock(ObjectProvider.class), mock(ObjectProvider.class), new SimpleMeterRegistry(),
+                1 << 20, 1 << 20, false, 60);
+
+        BaselineCommit commit = BaselineCommit.builder().build();
+        ReflectionTestUtils.setField(commit, "id", 10L);
+        given(commitRepo.findAllById(any())).willReturn(List.of(commit));
+        cache.getCommit(10L);
+        assertThat(cache.commitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("성공 - 트랜잭션 안의 evictCommits는 커밋 후에 커밋 캐시를 비운다")
+    void evictCommits_성공_커밋_후_실행() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evictCommits();
+            assertThat(cache.commitCount()).isEqualTo(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(cache.commitCount()).isZero();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("성공 - 다른 인스턴스의 무효화 메시지만 로컬 커밋 캐시를 비운다")
+    void onMessage_성공_원격_무효화() {
+        String self = (String) ReflectionTestUtils.getField(cache, "instanceId");
+
+        cache.onMessage("broken");
+        cache.onMessage(self + "|C");
+        cache.onMessage("other-node|X");
+        assertThat(cache.commitCount()).isEqualTo(1);
+
+        cache.onMessage("other-node|C");
+        assertThat(cache.commitCount()).isZero();
+    }
+}
@@ -0,0 +1,93 @@
+package com.back.domain.node.service;
+
+import com.back.domain.node.entity.*;
+import com.back.domain.node.repository.BaseNodeRepository;
+import com.back.domain.node.repository.BaselineBranchRepository;
+import com.back.domain.node.repository.BaselineCommitRepository;
+import com.back.domain.node.repository.BaselinePatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * VersionResolver 단위 테스트.
+ * 벌크 해석(resolveVersionIdsForLine)이 단건 해석(resolveVersionId)과 같은 정책 의미를 갖는지,
+ * 특히 정책이 null인 노드는 FOLLOW가 아니라 Base.currentVersion으로 폴백하는지를 검증합니다.
+ */
+@DisplayName("VersionResolver 단위 테스트")
+class VersionResolverTest {
+
+    private static final long BASE_LINE_ID = 1L;
+    private static final long BRANCH_ID = 5L;
+    private static final long HEAD_COMMIT_ID = 10L;
+    private static final int AGE = 30;
+    private static final long BASE_CURRENT_VERSION = 100L;
+    private static final long HEAD_VERSION = 300L;
+
+    private final BaselineBranchRepository branchRepo = mock(BaselineBranchRepository.class);
+    private final BaseNodeRepository baseNodeRepo = mock(BaseNodeRepository.class);
+    private final NodeImmutableCache immutableCache = mock(NodeImmutableCache.class);
+
+    private final VersionResolver resolver = new VersionResolver(
+            branchRepo, mock(BaselineCommitRepository.class), mock(BaselinePatchRepository.class),
+            baseNodeRepo, immutableCache);
+
+    private BaseLine baseLine;
+    private BaselineBranch branch;
+
+    @BeforeEach
+    void setUp() {
+        baseLine = BaseLine.builder().build();
+        ReflectionTestUtils.setField(baseLine, "id", BASE_LINE_ID);
+
+        BaselineCommit head = BaselineCommit.builder().build();
+        ReflectionTestUtils.setField(head, "id", HEAD_COMMIT_ID);
+        branch = BaselineBranch.builder().baseLine(baseLine).headCommit(head).build();
+        ReflectionTestUtils.setField(branch, "id", BRANCH_ID);
+        given(branchRepo.findById(BRANCH_ID)).willReturn(Optional.of(branch));
+
+        // 헤드 커밋 스냅샷: AGE → HEAD_VERSION
+        NodeImmutableCache.CommitView headView = new NodeImmutableCache.CommitView(HEAD_COMMIT_ID, null, Map.of(AGE, HEAD_VERSION));
+        given(immutableCache.getCommits(any())).willReturn(Map.of(HEAD_COMMIT_ID, headView));
+        given(immutableCache.getCommit(HEAD_COMMIT_ID)).willReturn(headView);
+
+        // 베이스 노드 현재 버전: AGE → BASE_CURRENT_VERSION
+        NodeAtomVersion current = NodeAtomVersion.builder().build();
+        ReflectionTestUtils.setField(current, "id", BASE_CURRENT_VERSION);
+        BaseNode baseNode = BaseNode.builder().baseLine(baseLine).ageYear(AGE).currentVersion(current).build();
+        given(baseNodeRepo.findByBaseLine_IdOrderByAgeYearAscIdAsc(BASE_LINE_ID)).willReturn(List.of(baseNode));
+    }
+
+    @Test
+    @DisplayName("성공 - FOLLOW는 브랜치 헤드 체인, 정책 null은 단건 해석과 같이 Base.currentVersion으로 폴백")
+    void resolveVersionIdsForLine_성공_정책_null_폴백() {
+        DecisionLine line = DecisionLine.builder().baseLine(baseLine).baseBranch(branch).build();
+        ReflectionTestUtils.setField(line, "id", 7L);
+        DecisionNode follow = node(71L, FollowPolicy.FOLLOW);
+        DecisionNode unset = node(72L, null);
+
+        Map<Long, Long> resolved = resolver.resolveVersionIdsForLine(line, List.of(follow, unset));
+
+        assertThat(resolved).containsEntry(71L, HEAD_VERSION).containsEntry(72L, BASE_CURRENT_VERSION);
+        assertThat(resolved.get(71L))
+                .isEqualTo(resolver.resolveVersionId(BASE_LINE_ID, BRANCH_ID, null, FollowPolicy.FOLLOW, AGE, null));
+        assertThat(resolved.get(72L))
+                .isEqualTo(resolver.resolveVersionId(BASE_LINE_ID, BRANCH_ID, null, null, AGE, null));
+    }
+
+    private DecisionNode node(long id, FollowPolicy policy) {
+        DecisionNode n = DecisionNode.builder().ageYear(AGE).followPolicy(policy).build();
+        ReflectionTestUtils.setField(n, "id", id);
+        return n;
+    }
+}
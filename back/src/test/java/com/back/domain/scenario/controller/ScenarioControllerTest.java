@@ -6,6 +6,7 @@ import com.back.domain.scenario.dto.*;
 import com.back.domain.scenario.entity.ScenarioStatus;
 import com.back.domain.scenario.entity.Type;
 import com.back.domain.scenario.service.ScenarioService;
+import com.back.domain.scenario.service.ScenarioStatusBroadcaster;
 import com.back.domain.user.entity.User;
 import com.back.global.common.PageResponse;
 import com.back.global.exception.ApiException;
@@ -20,9 +21,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -30,13 +34,16 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -61,6 +68,9 @@ class ScenarioControllerTest {
     @MockBean
     private ScenarioService scenarioService;
 
+    @Autowired
+    private ScenarioStatusBroadcaster scenarioStatusBroadcaster;
+
     // Mock 사용자 생성
     private CustomUserDetails mockUserDetails;
 
@@ -266,6 +276,66 @@ class ScenarioControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("시나리오 상태 스트림")
+    class StreamScenarioStatus {
+
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED) // 발행이 커밋 후로 미뤄지지 않도록 트랜잭션 밖에서 실행
+        @DisplayName("성공 - 구독 즉시 현재 상태를 보내고, 종료 상태가 발행되면 스트림을 닫는다")
+        void streamScenarioStatus_성공_초기이벤트_종료() throws Exception {
+            // Given - 서비스 모킹 대신 실제 브로드캐스터에 구독(현재 상태 PROCESSING)
+            Long scenarioId = 1001L;
+            given(scenarioService.streamScenarioStatus(scenarioId, 1L))
+                    .willAnswer(inv -> scenarioStatusBroadcaster.subscribe(scenarioId,
+                            () -> ScenarioStatusResponse.of(scenarioId, ScenarioStatus.PROCESSING)));
+
+            // When - 구독
+            MvcResult result = mockMvc.perform(get("/api/v1/scenarios/{scenarioId}/status/stream", scenarioId)
+                            .with(user(mockUserDetails))
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then - 초기 이벤트만 전송되고 스트림은 열려 있음
+            String initial = result.getResponse().getContentAsString();
+            assertThat(initial).contains("event:status").contains("\"status\":\"PROCESSING\"");
+            assertThat(result.getRequest().getAsyncContext()).isNotNull();
+
+            // When - 종료 상태 발행
+            scenarioStatusBroadcaster.publishAfterCommit(scenarioId, ScenarioStatus.COMPLETED);
+
+            // Then - 종료 이벤트 전송 후 emitter가 완료되어 비동기 디스패치가 정상 종료
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+            assertThat(result.getResponse().getContentAsString()).contains("\"status\":\"COMPLETED\"");
+        }
+
+        @Test
+        @DisplayName("성공 - 구독 시점에 이미 종료 상태면 초기 이벤트 후 바로 스트림을 닫는다")
+        void streamScenarioStatus_성공_이미_종료() throws Exception {
+            // Given
+            Long scenarioId = 1002L;
+            given(scenarioService.streamScenarioStatus(scenarioId, 1L))
+                    .willAnswer(inv -> scenarioStatusBroadcaster.subscribe(scenarioId,
+                            () -> ScenarioStatusResponse.of(scenarioId, ScenarioStatus.FAILED)));
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/scenarios/{scenarioId}/status/stream", scenarioId)
+                            .with(user(mockUserDetails))
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+            assertThat(result.getResponse().getContentAsString())
+                    .contains("event:status")
+                    .contains("\"status\":\"FAILED\"");
+        }
+    }
+
     @Nested
     @DisplayName("시나리오 상세 조회")
     class GetScenarioDetail {
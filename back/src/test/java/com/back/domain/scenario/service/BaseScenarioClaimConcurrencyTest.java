@@ -0,0 +1,144 @@
+package com.back.domain.scenario.service;
+
+import com.back.domain.node.entity.BaseLine;
+import com.back.domain.node.repository.BaseLineRepository;
+import com.back.domain.scenario.entity.BaseScenarioClaim;
+import com.back.domain.scenario.entity.Scenario;
+import com.back.domain.scenario.entity.ScenarioStatus;
+import com.back.domain.scenario.repository.BaseScenarioClaimRepository;
+import com.back.domain.scenario.repository.ScenarioRepository;
+import com.back.domain.user.entity.*;
+import com.back.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 베이스 시나리오 선점 동시성 통합 테스트(H2, 실제 INSERT/트랜잭션).
+ * 선점 행은 덮어쓰기(merge)가 아닌 INSERT로만 생기고, 여러 인스턴스가 동시에 선점해도 생성은 한 번뿐인지 검증합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("베이스 시나리오 선점 동시성 통합 테스트")
+@SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED)
+@Sql(
+        statements = {
+                "SET REFERENTIAL_INTEGRITY FALSE",
+                "TRUNCATE TABLE BASE_SCENARIO_CLAIMS",
+                "TRUNCATE TABLE SCENARIOS",
+                "TRUNCATE TABLE BASE_LINES",
+                "TRUNCATE TABLE USERS",
+                "SET REFERENTIAL_INTEGRITY TRUE"
+        },
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+)
+class BaseScenarioClaimConcurrencyTest {
+
+    @Autowired private BaseScenarioClaimRepository claimRepository;
+    @Autowired private ScenarioRepository scenarioRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BaseLineRepository baseLineRepository;
+    @Autowired private PlatformTransactionManager txManager;
+
+    private User user;
+    private BaseLine baseLine;
+
+    @BeforeEach
+    void setUp() {
+        String uid = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .email("user_" + uid + "@test.local")
+                .role(Role.USER)
+                .birthdayAt(LocalDateTime.now().minusYears(25))
+                .gender(Gender.M)
+                .mbti(Mbti.INTJ)
+                .beliefs("NONE")
+                .authProvider(AuthProvider.LOCAL)
+                .nickname("tester-" + uid)
+                .username("name-" + uid)
+                .build());
+        baseLine = baseLineRepository.save(BaseLine.builder().user(user).title("베이스라인").build());
+    }
+
+    @Test
+    @DisplayName("실패 - 이미 있는 선점 행에 새 선점을 저장하면 덮어쓰지 않고 중복 키로 실패한다")
+    void saveAndFlush_실패_기존_선점_덮어쓰기_불가() {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        LocalDateTime until = LocalDateTime.now().plusMinutes(5);
+        tx.executeWithoutResult(s -> claimRepository.saveAndFlush(new BaseScenarioClaim(baseLine.getId(), "first", until)));
+
+        assertThatThrownBy(() -> tx.executeWithoutResult(s ->
+                claimRepository.saveAndFlush(new BaseScenarioClaim(baseLine.getId(), "second", until))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(claimRepository.findById(baseLine.getId()).orElseThrow().getOwner()).isEqualTo("first");
+    }
+
+    @Test
+    @DisplayName("성공 - 여러 인스턴스가 동시에 선점해도 AI 생성은 한 번이고 모두 같은 베이스 시나리오를 받는다")
+    void ensure_성공_동시_선점_단일_생성() throws Exception {
+        int instances = 4;
+        List<BaseScenarioSingleFlight> flights = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            flights.add(new BaseScenarioSingleFlight(claimRepository, scenarioRepository, txManager, 180, 10, 50));
+        }
+        AtomicInteger generated = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(instances);
+
+        ExecutorService pool = Executors.newFixedThreadPool(instances);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (BaseScenarioSingleFlight flight : flights) {
+                results.add(pool.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return flight.ensure(baseLine.getId(), () -> {
+                        generated.incrementAndGet();
+                        sleep(200);
+                        return "개발자";
+                    }, job -> scenarioRepository.save(Scenario.builder()
+                            .user(user)
+                            .baseLine(baseLine)
+                            .status(ScenarioStatus.COMPLETED)
+                            .job(job)
+                            .build()).getId());
+                }));
+            }
+
+            HashSet<Long> ids = new HashSet<>();
+            for (Future<Long> f : results) ids.add(f.get(15, TimeUnit.SECONDS));
+
+            assertThat(generated.get()).isEqualTo(1);
+            assertThat(ids).hasSize(1);
+            assertThat(claimRepository.findById(baseLine.getId())).isEmpty();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.back.domain.scenario.service;
+
+import com.back.domain.scenario.entity.BaseScenarioClaim;
+import com.back.domain.scenario.entity.Scenario;
+import com.back.domain.scenario.repository.BaseScenarioClaimRepository;
+import com.back.domain.scenario.repository.ScenarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * BaseScenarioSingleFlight 단위 테스트.
+ * 기존 베이스 시나리오 재사용, 프로세스 내 동시 요청 합치기, 다른 인스턴스 선점 시 완료 대기, 트랜잭션 안 호출 거부를 검증합니다.
+ */
+@DisplayName("BaseScenarioSingleFlight 단위 테스트")
+class BaseScenarioSingleFlightTest {
+
+    private ScenarioRepository scenarioRepository;
+    private BaseScenarioClaimRepository claimRepository;
+    private BaseScenarioSingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        scenarioRepository = mock(ScenarioRepository.class);
+        claimRepository = mock(BaseScenarioClaimRepository.class);
+        singleFlight = new BaseScenarioSingleFlight(claimRepository, scenarioRepository,
+                mock(PlatformTransactionManager.class), 180, 5, 50);
+    }
+
+    @Test
+    @DisplayName("성공 - 베이스 시나리오가 이미 있으면 생성하지 않고 재사용")
+    void ensure_성공_기존_재사용() {
+        Scenario existing = scenario(7L);
+        given(scenarioRepository.findByBaseLineIdAndDecisionLineIsNull(1L)).willReturn(Optional.of(existing));
+
+        Long id = singleFlight.ensure(1L, () -> {
+            throw new AssertionError("generate must not run");
+        }, r -> 0L);
+
+        assertThat(id).isEqualTo(7L);
+        then(claimRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("성공 - 같은 베이스라인 동시 요청은 AI 생성 1회 결과를 함께 사용")
+    void ensure_성공_동시요청_합치기() throws Exception {
+        given(scenarioRepository.findByBaseLineIdAndDecisionLineIsNull(1L)).willReturn(Optional.empty());
+        given(claimRepository.existsById(1L)).willReturn(false);
+        given(claimRepository.saveAndFlush(any(BaseScenarioClaim.class))).willAnswer(inv -> inv.getArgument(0));
+
+        AtomicInteger generated = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> leader = pool.submit(() -> singleFlight.ensure(1L, () -> {
+                generated.incrementAndGet();
+                started.countDown();
+                await(finish);
+                return "result";
+            }, r -> 42L));
+            assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+            AtomicReference<Long> follower = new AtomicReference<>();
+            Future<?> f = pool.submit(() -> follower.set(singleFlight.ensure(1L, () -> {
+                generated.incrementAndGet();
+                return "other";
+            }, r -> 99L)));
+            Thread.sleep(100);
+            finish.countDown();
+
+            assertThat(leader.get(2, TimeUnit.SECONDS)).isEqualTo(42L);
+            f.get(2, TimeUnit.SECONDS);
+            assertThat(follower.get()).isEqualTo(42L);
+            assertThat(generated.get()).isEqualTo(1);
+            then(claimRepository).should().release(eq(1L), anyString());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("성공 - 다른 인스턴스가 선점 중이면 생성하지 않고 완료될 때까지 대기")
+    void ensure_성공_다른_인스턴스_대기() {
+        Scenario done = scenario(8L);
+        given(scenarioRepository.findByBaseLineIdAndDecisionLineIsNull(1L))
+                .willReturn(Optional.empty(), Optional.empty(), Optional.of(done));
+        given(claimRepository.takeOverExpired(eq(1L), anyString(), any(), any())).willReturn(0);
+        given(claimRepository.existsById(1L)).willReturn(true);
+
+        Long id = singleFlight.ensure(1L, () -> {
+            throw new AssertionError("generate must not run");
+        }, r -> 0L);
+
+        assertThat(id).isEqualTo(8L);
+        then(claimRepository).should(never()).release(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("실패 - 트랜잭션 안에서 호출하면 대기/폴링 전에 거부")
+    void ensure_실패_트랜잭션_안_호출() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> singleFlight.ensure(1L, () -> "result", r -> 0L))
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        then(scenarioRepository).shouldHaveNoInteractions();
+    }
+
+    private static Scenario scenario(Long id) {
+        Scenario s = mock(Scenario.class);
+        given(s.getId()).willReturn(id);
+        return s;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.back.domain.scenario.service;
+
+import com.back.domain.node.entity.BaseLine;
+import com.back.domain.node.entity.DecisionLine;
+import com.back.domain.node.entity.DecisionLineStatus;
+import com.back.domain.node.repository.BaseLineRepository;
+import com.back.domain.node.repository.DecisionLineRepository;
+import com.back.domain.scenario.entity.BaseScenarioClaim;
+import com.back.domain.scenario.entity.Scenario;
+import com.back.domain.scenario.entity.ScenarioStatus;
+import com.back.domain.scenario.repository.BaseScenarioClaimRepository;
+import com.back.domain.scenario.repository.ScenarioRepository;
+import com.back.domain.user.entity.*;
+import com.back.domain.user.repository.UserRepository;
+import com.back.global.ai.dto.result.DecisionScenarioResult;
+import com.back.global.ai.service.AiService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+/**
+ * 시나리오 생성 트랜잭션 경계 통합 테스트(실제 프록시 경유).
+ * AI 호출이 트랜잭션(커넥션) 밖에서 실행되고, 로드/저장/상태 변경은 각자 커밋되는지,
+ * 다른 인스턴스가 선점한 베이스 시나리오를 기다리는 동안 커넥션을 잡지 않는지 검증합니다.
+ */
+@SpringBootTest(properties = "ai.base-scenario.claim.poll-millis=100")
+@ActiveProfiles("test")
+@DisplayName("시나리오 생성 트랜잭션 경계 통합 테스트")
+@SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED)
+@Sql(
+        statements = {
+                "SET REFERENTIAL_INTEGRITY FALSE",
+                "TRUNCATE TABLE SCENE_COMPARE",
+                "TRUNCATE TABLE SCENE_TYPE",
+                "TRUNCATE TABLE BASE_SCENARIO_CLAIMS",
+                "TRUNCATE TABLE SCENARIOS",
+                "TRUNCATE TABLE DECISION_LINES",
+                "TRUNCATE TABLE BASE_LINES",
+                "TRUNCATE TABLE USERS",
+                "SET REFERENTIAL_INTEGRITY TRUE"
+        },
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+)
+class ScenarioGenerationTransactionTest {
+
+    @Autowired private ScenarioTransactionService scenarioTransactionService;
+    @Autowired private ScenarioRepository scenarioRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BaseLineRepository baseLineRepository;
+    @Autowired private DecisionLineRepository decisionLineRepository;
+    @Autowired private BaseScenarioClaimRepository claimRepository;
+    @Autowired private DataSource dataSource;
+
+    @MockBean private AiService aiService;
+
+    private User user;
+    private BaseLine baseLine;
+    private Long scenarioId;
+
+    @BeforeEach
+    void setUp() {
+        String uid = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .email("user_" + uid + "@test.local")
+                .role(Role.USER)
+                .birthdayAt(LocalDateTime.now().minusYears(25))
+                .gender(Gender.M)
+                .mbti(Mbti.INTJ)
+                .beliefs("NONE")
+                .authProvider(AuthProvider.LOCAL)
+                .nickname("tester-" + uid)
+                .username("name-" + uid)
+                .build());
+        baseLine = baseLineRepository.save(BaseLine.builder().user(user).title("베이스라인").build());
+        DecisionLine line = decisionLineRepository.save(DecisionLine.builder()
+                .user(user)
+                .baseLine(baseLine)
+                .status(DecisionLineStatus.COMPLETED)
+                .decisionNodes(new ArrayList<>())
+                .build());
+        scenarioId = scenarioRepository.save(Scenario.builder()
+                .user(user)
+                .baseLine(baseLine)
+                .decisionLine(line)
+                .status(ScenarioStatus.PROCESSING)
+                .build()).getId();
+    }
+
+    @Test
+    @DisplayName("성공 - AI 호출은 트랜잭션 밖에서 실행되고 결과/완료 상태는 커밋된다")
+    void processScenarioGeneration_성공_AI_호출_트랜잭션_밖() {
+        saveBaseScenario();
+        AtomicReference<Boolean> txDuringAi = new AtomicReference<>();
+        given(aiService.generateDecisionScenario(any(), any())).willAnswer(inv -> {
+            txDuringAi.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return CompletableFuture.completedFuture(decisionResult());
+        });
+
+        scenarioTransactionService.processScenarioGeneration(scenarioId);
+
+        assertThat(txDuringAi.get()).isFalse();
+        Scenario saved = scenarioRepository.findById(scenarioId).orElseThrow();
+        assertThat(saved.getStatus()).isEqualTo(ScenarioStatus.COMPLETED);
+        assertThat(saved.getJob()).isEqualTo("연구원");
+        assertThat(saved.getTotal()).isEqualTo(250);
+    }
+
+    @Test
+    @DisplayName("성공 - 다른 인스턴스가 선점한 베이스 시나리오는 커넥션을 쥐지 않고 기다렸다가 재사용한다")
+    void processScenarioGeneration_성공_베이스_대기_커넥션_미점유() throws Exception {
+        claimRepository.save(new BaseScenarioClaim(baseLine.getId(), "other-instance", LocalDateTime.now().plusMinutes(5)));
+        given(aiService.generateDecisionScenario(any(), any()))
+                .willReturn(CompletableFuture.completedFuture(decisionResult()));
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+
+        ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> worker = exec.submit(() -> scenarioTransactionService.processScenarioGeneration(scenarioId));
+            Thread.sleep(300);
+
+            // 폴링 사이(sleep)에는 대기 워커가 커넥션을 하나도 잡지 않아야 함
+            boolean idleSeen = false;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+            while (!idleSeen && System.nanoTime() < deadline) {
+                idleSeen = pool.getActiveConnections() == 0;
+                Thread.sleep(5);
+            }
+            assertThat(worker.isDone()).isFalse();
+            assertThat(idleSeen).isTrue();
+
+            // 다른 인스턴스가 완료 → 대기 측은 AI 생성 없이 재사용
+            saveBaseScenario();
+            worker.get(5, TimeUnit.SECONDS);
+        } finally {
+            exec.shutdownNow();
+        }
+
+        then(aiService).should(never()).generateBaseScenario(any());
+        assertThat(scenarioRepository.findById(scenarioId).orElseThrow().getStatus()).isEqualTo(ScenarioStatus.COMPLETED);
+    }
+
+    private Long saveBaseScenario() {
+        return scenarioRepository.save(Scenario.builder()
+                .user(user)
+                .baseLine(baseLine)
+                .status(ScenarioStatus.COMPLETED)
+                .job("개발자")
+                .build()).getId();
+    }
+
+    private static DecisionScenarioResult decisionResult() {
+        List<DecisionScenarioResult.Indicator> indicators = List.of(
+                new DecisionScenarioResult.Indicator("경제", 50, "안정"),
+                new DecisionScenarioResult.Indicator("행복", 50, "만족"),
+                new DecisionScenarioResult.Indicator("관계", 50, "원만"),
+                new DecisionScenarioResult.Indicator("직업", 50, "성장"),
+                new DecisionScenarioResult.Indicator("건강", 50, "양호"));
+        List<DecisionScenarioResult.Comparison> comparisons = List.of(
+                new DecisionScenarioResult.Comparison("TOTAL", 240, 250, "소폭 개선"));
+        return new DecisionScenarioResult("연구원", "요약", "설명", 250, null,
+                Map.of("2030", "연구소 입사"), indicators, comparisons);
+    }
+}
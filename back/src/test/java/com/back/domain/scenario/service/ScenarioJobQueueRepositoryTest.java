@@ -0,0 +1,158 @@
+package com.back.domain.scenario.service;
+
+import com.back.domain.scenario.entity.ScenarioJob;
+import com.back.domain.scenario.entity.ScenarioJobStatus;
+import com.back.domain.scenario.repository.ScenarioJobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ScenarioJobQueue 통합 테스트(H2, 실제 쿼리 실행).
+ * 네이티브 선점 쿼리(FOR UPDATE SKIP LOCKED)와 소유자 조건부 전이(finishOwned/unclaim/finishExpired)를 검증합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ScenarioJobQueue 통합 테스트")
+@SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED)
+@Sql(statements = "TRUNCATE TABLE SCENARIO_JOBS", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ScenarioJobQueueRepositoryTest {
+
+    @Autowired private ScenarioJobQueue queue;
+    @Autowired private ScenarioJobRepository jobRepository;
+    @Autowired private PlatformTransactionManager txManager;
+
+    @Test
+    @DisplayName("성공 - 실행 가능한 대기 작업만 선점하고, 다른 트랜잭션이 잠근 행은 건너뛴다")
+    void claim_성공_대기_작업_선점_잠긴_행_건너뜀() throws Exception {
+        queue.enqueue(1L);
+        queue.enqueue(2L);
+        queue.enqueue(3L);
+        ScenarioJob delayed = jobRepository.findById(3L).orElseThrow();
+        delayed.setAvailableAt(LocalDateTime.now().plusMinutes(10));
+        jobRepository.save(delayed);
+
+        // 다른 트랜잭션이 가장 오래된 대기 행을 잠근 채 유지
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Long>> holder = pool.submit(() -> new TransactionTemplate(txManager).execute(s -> {
+                List<Long> ids = jobRepository.lockRunnable(LocalDateTime.now(), 1);
+                locked.countDown();
+                awaitLatch(done);
+                return ids;
+            }));
+            assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Long> claimed = queue.claim(10);
+            done.countDown();
+
+            List<Long> heldByOther = holder.get(5, TimeUnit.SECONDS);
+            assertThat(heldByOther).hasSize(1);
+            assertThat(claimed).hasSize(1).doesNotContainAnyElementsOf(heldByOther).doesNotContain(3L);
+        } finally {
+            done.countDown();
+            pool.shutdownNow();
+        }
+
+        // 잠금이 풀린 뒤 남은 행 선점, 지연 행은 그대로
+        List<Long> rest = queue.claim(10);
+        assertThat(rest).hasSize(1);
+        assertThat(jobRepository.findById(1L).orElseThrow().getStatus()).isEqualTo(ScenarioJobStatus.RUNNING);
+        assertThat(jobRepository.findById(2L).orElseThrow().getStatus()).isEqualTo(ScenarioJobStatus.RUNNING);
+        assertThat(jobRepository.findById(1L).orElseThrow().getAttempts()).isEqualTo(1);
+        assertThat(jobRepository.findById(3L).orElseThrow().getStatus()).isEqualTo(ScenarioJobStatus.QUEUED);
+        assertThat(queue.claim(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("성공 - lease를 다른 노드가 가져간 작업의 완료/실패/반환 보고는 행을 바꾸지 않는다")
+    void finishOwned_성공_lease_상실시_무시() {
+        queue.enqueue(1L);
+        assertThat(queue.claim(1)).containsExactly(1L);
+
+        ScenarioJob job = jobRepository.findById(1L).orElseThrow();
+        job.setLeaseOwner("other-node");
+        jobRepository.save(job);
+
+        assertThat(queue.fail(1L, "boom").owned()).isFalse();
+        assertThat(queue.complete(1L, 10)).isFalse();
+        queue.unclaim(1L);
+
+        ScenarioJob after = jobRepository.findById(1L).orElseThrow();
+        assertThat(after.getStatus()).isEqualTo(ScenarioJobStatus.RUNNING);
+        assertThat(after.getLeaseOwner()).isEqualTo("other-node");
+        assertThat(after.getAttempts()).isEqualTo(1);
+        assertThat(after.getLastError()).isNull();
+    }
+
+    @Test
+    @DisplayName("성공 - 자기 lease의 실패는 백오프 후 재대기, 반환은 시도 횟수를 되돌린다")
+    void finishOwned_성공_재대기_반환() {
+        queue.enqueue(1L);
+        queue.enqueue(2L);
+        assertThat(queue.claim(2)).containsExactlyInAnyOrder(1L, 2L);
+
+        assertThat(queue.fail(1L, "boom").retry()).isTrue();
+        ScenarioJob retried = jobRepository.findById(1L).orElseThrow();
+        assertThat(retried.getStatus()).isEqualTo(ScenarioJobStatus.QUEUED);
+        assertThat(retried.getAvailableAt()).isAfter(LocalDateTime.now());
+        assertThat(retried.getLeaseOwner()).isNull();
+        assertThat(retried.getLastError()).isEqualTo("boom");
+
+        queue.unclaim(2L);
+        ScenarioJob returned = jobRepository.findById(2L).orElseThrow();
+        assertThat(returned.getStatus()).isEqualTo(ScenarioJobStatus.QUEUED);
+        assertThat(returned.getAttempts()).isZero();
+    }
+
+    @Test
+    @DisplayName("성공 - 만료 lease는 시도 여유가 있으면 재대기, 최대 시도면 DEAD로 회수")
+    void reapExpired_성공_만료_회수() {
+        queue.enqueue(1L);
+        queue.enqueue(2L);
+        queue.enqueue(3L);
+        assertThat(queue.claim(3)).hasSize(3);
+
+        expire(1L, 1);
+        expire(2L, 3);
+
+        List<ScenarioJobQueue.Reaped> reaped = queue.reapExpired();
+
+        assertThat(reaped).containsExactlyInAnyOrder(
+                new ScenarioJobQueue.Reaped(1L, false),
+                new ScenarioJobQueue.Reaped(2L, true));
+        assertThat(jobRepository.findById(1L).orElseThrow().getStatus()).isEqualTo(ScenarioJobStatus.QUEUED);
+        assertThat(jobRepository.findById(2L).orElseThrow().getStatus()).isEqualTo(ScenarioJobStatus.DEAD);
+        assertThat(jobRepository.findById(3L).orElseThrow().getStatus()).isEqualTo(ScenarioJobStatus.RUNNING);
+        assertThat(queue.reapExpired()).isEmpty();
+    }
+
+    private void expire(Long id, int attempts) {
+        ScenarioJob job = jobRepository.findById(id).orElseThrow();
+        job.setAttempts(attempts);
+        job.setLeaseUntil(LocalDateTime.now().minusSeconds(1));
+        jobRepository.save(job);
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
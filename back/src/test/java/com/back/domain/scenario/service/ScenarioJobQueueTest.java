@@ -0,0 +1,128 @@
+package com.back.domain.scenario.service;
+
+import com.back.domain.scenario.entity.ScenarioJob;
+import com.back.domain.scenario.entity.ScenarioJobStatus;
+import com.back.domain.scenario.repository.ScenarioJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * ScenarioJobQueue 단위 테스트.
+ * 선점 전이, 실패 시 백오프 재대기/최대 시도 초과 DEAD, lease 상실 보고, 만료 lease 회수를 검증합니다.
+ */
+@DisplayName("ScenarioJobQueue 단위 테스트")
+class ScenarioJobQueueTest {
+
+    private ScenarioJobRepository jobRepository;
+    private SimpleMeterRegistry registry;
+    private ScenarioJobQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(ScenarioJobRepository.class);
+        registry = new SimpleMeterRegistry();
+        queue = new ScenarioJobQueue(jobRepository, mock(PlatformTransactionManager.class), registry,
+                300, 3, 10, 300, 24);
+    }
+
+    @Test
+    @DisplayName("성공 - 잠근 대기 작업만 RUNNING으로 선점한다")
+    void claim_성공_잠근_작업_선점() {
+        given(jobRepository.lockRunnable(any(), eq(2))).willReturn(List.of(1L, 2L));
+
+        List<Long> claimed = queue.claim(2);
+
+        assertThat(claimed).containsExactly(1L, 2L);
+        then(jobRepository).should().markRunning(eq(List.of(1L, 2L)), eq(ScenarioJobStatus.RUNNING),
+                anyString(), any(), any());
+        assertThat(queue.claim(0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("성공 - 시도 여유가 있으면 백오프 후 재대기, 최대 시도면 DEAD")
+    void fail_성공_재시도_또는_포기() {
+        given(jobRepository.finishOwned(anyLong(), anyString(), any(), any(), any(), any(), any())).willReturn(1);
+
+        given(jobRepository.findById(1L)).willReturn(Optional.of(job(1L, 1)));
+        LocalDateTime before = LocalDateTime.now();
+        ScenarioJobQueue.Failure retry = queue.fail(1L, "boom");
+
+        assertThat(retry.owned()).isTrue();
+        assertThat(retry.retry()).isTrue();
+        ArgumentCaptor<LocalDateTime> availableAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        then(jobRepository).should().finishOwned(eq(1L), anyString(), eq(ScenarioJobStatus.RUNNING),
+                eq(ScenarioJobStatus.QUEUED), availableAt.capture(), eq("boom"), any());
+        assertThat(availableAt.getValue()).isAfterOrEqualTo(before.plusSeconds(10));
+
+        given(jobRepository.findById(2L)).willReturn(Optional.of(job(2L, 3)));
+        ScenarioJobQueue.Failure dead = queue.fail(2L, "boom");
+
+        assertThat(dead.retry()).isFalse();
+        then(jobRepository).should().finishOwned(eq(2L), anyString(), eq(ScenarioJobStatus.RUNNING),
+                eq(ScenarioJobStatus.DEAD), any(), eq("boom"), any());
+        assertThat(registry.get("scenario.jobs.events").tag("event", "dead").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("성공 - lease를 잃은 뒤의 실패 보고는 상태를 바꾸지 않은 것으로 알린다")
+    void fail_성공_lease_상실() {
+        given(jobRepository.findById(1L)).willReturn(Optional.of(job(1L, 1)));
+        given(jobRepository.finishOwned(anyLong(), anyString(), any(), any(), any(), any(), any())).willReturn(0);
+
+        ScenarioJobQueue.Failure failure = queue.fail(1L, "late");
+
+        assertThat(failure.owned()).isFalse();
+        assertThat(queue.complete(1L, 10)).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공 - 백오프는 시도마다 두 배로 늘고 상한(+지터)을 넘지 않는다")
+    void backoff_성공_지수_상한() {
+        assertThat(queue.backoff(1)).isBetween(Duration.ofSeconds(10), Duration.ofSeconds(12));
+        assertThat(queue.backoff(2)).isBetween(Duration.ofSeconds(20), Duration.ofSeconds(24));
+        assertThat(queue.backoff(10)).isBetween(Duration.ofSeconds(300), Duration.ofSeconds(360));
+    }
+
+    @Test
+    @DisplayName("성공 - 만료 lease는 시도 여유에 따라 재대기 또는 DEAD로 회수")
+    void reapExpired_성공_회수() {
+        given(jobRepository.findExpired(eq(ScenarioJobStatus.RUNNING), any()))
+                .willReturn(List.of(job(1L, 1), job(2L, 3)));
+        given(jobRepository.finishExpired(anyLong(), any(), any(), any(), any(), any())).willReturn(1);
+
+        List<ScenarioJobQueue.Reaped> reaped = queue.reapExpired();
+
+        assertThat(reaped).containsExactly(
+                new ScenarioJobQueue.Reaped(1L, false),
+                new ScenarioJobQueue.Reaped(2L, true));
+        then(jobRepository).should().finishExpired(eq(1L), eq(ScenarioJobStatus.RUNNING),
+                eq(ScenarioJobStatus.QUEUED), any(), anyString(), any());
+        then(jobRepository).should().finishExpired(eq(2L), eq(ScenarioJobStatus.RUNNING),
+                eq(ScenarioJobStatus.DEAD), any(), anyString(), any());
+    }
+
+    private static ScenarioJob job(Long id, int attempts) {
+        return ScenarioJob.builder()
+                .scenarioId(id)
+                .status(ScenarioJobStatus.RUNNING)
+                .attempts(attempts)
+                .availableAt(LocalDateTime.now())
+                .leaseOwner("other")
+                .leaseUntil(LocalDateTime.now().minusSeconds(1))
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -42,7 +42,8 @@ class ScenarioServiceTest {
     @Mock private ScenarioRepository scenarioRepository;
     @Mock private DecisionLineRepository decisionLineRepository;
     @Mock private ObjectMapper objectMapper;
-    @Mock private ScenarioTransactionService scenarioTransactionService;
+    @Mock private ScenarioJobQueue scenarioJobQueue;
+    @Mock private ScenarioStatusBroadcaster scenarioStatusBroadcaster;
 
     @InjectMocks private ScenarioService scenarioService;
 
@@ -85,8 +86,8 @@ class ScenarioServiceTest {
             given(scenarioRepository.save(any(Scenario.class)))
                     .willReturn(savedScenario);
 
-            // 비동기 메서드 호출을 무효화 (동기 로직만 테스트)
-            doNothing().when(scenarioTransactionService).processScenarioGenerationAsync(anyLong());
+            // 작업 큐 적재를 무효화 (동기 로직만 테스트)
+            doNothing().when(scenarioJobQueue).enqueue(anyLong());
 
             // When
             ScenarioStatusResponse result = scenarioService.createScenario(userId, request, null);
@@ -102,8 +103,54 @@ class ScenarioServiceTest {
             verify(scenarioRepository).findByDecisionLineId(decisionLineId);
             verify(scenarioRepository).save(any(Scenario.class));
 
-            // 비동기 메서드가 호출되었는지 확인 (ScenarioTransactionService를 통해)
-            verify(scenarioTransactionService).processScenarioGenerationAsync(1001L);
+            // 생성 작업이 큐에 적재되었는지 확인 (ScenarioJobQueue를 통해)
+            verify(scenarioJobQueue).enqueue(1001L);
+        }
+
+        @Test
+        @DisplayName("성공 - FAILED 시나리오 재시도는 PENDING으로 되돌리고 상태 스트림에 전이를 발행")
+        void createScenario_성공_실패시나리오_재시도_발행() {
+            // Given
+            Long userId = 1L;
+            Long decisionLineId = 100L;
+            ScenarioCreateRequest request = new ScenarioCreateRequest(decisionLineId);
+
+            User mockUser = User.builder().build();
+            ReflectionTestUtils.setField(mockUser, "id", userId);
+
+            BaseLine mockBaseLine = BaseLine.builder().user(mockUser).build();
+            ReflectionTestUtils.setField(mockBaseLine, "id", 200L);
+
+            DecisionLine mockDecisionLine = DecisionLine.builder()
+                    .user(mockUser)
+                    .baseLine(mockBaseLine)
+                    .build();
+            ReflectionTestUtils.setField(mockDecisionLine, "id", decisionLineId);
+
+            Scenario failedScenario = Scenario.builder()
+                    .user(mockUser)
+                    .decisionLine(mockDecisionLine)
+                    .status(ScenarioStatus.FAILED)
+                    .errorMessage("timeout")
+                    .build();
+            ReflectionTestUtils.setField(failedScenario, "id", 1001L);
+
+            given(decisionLineRepository.findWithUserAndBaseLineById(decisionLineId))
+                    .willReturn(Optional.of(mockDecisionLine));
+            given(scenarioRepository.findByDecisionLineId(decisionLineId))
+                    .willReturn(Optional.of(failedScenario));
+            given(scenarioRepository.findById(1001L))
+                    .willReturn(Optional.of(failedScenario));
+
+            // When
+            ScenarioStatusResponse result = scenarioService.createScenario(userId, request, null);
+
+            // Then - FAILED → PENDING 전이가 updateScenarioStatus와 같은 경로(커밋 후 발행)로 나가는지 검증
+            assertThat(result.status()).isEqualTo(ScenarioStatus.PENDING);
+            assertThat(failedScenario.getStatus()).isEqualTo(ScenarioStatus.PENDING);
+            assertThat(failedScenario.getErrorMessage()).isNull();
+            verify(scenarioStatusBroadcaster).publishAfterCommit(1001L, ScenarioStatus.PENDING);
+            verify(scenarioJobQueue).enqueue(1001L);
         }
 
         @Test
@@ -0,0 +1,78 @@
+package com.back.domain.scenario.service;
+
+import com.back.domain.scenario.dto.ScenarioStatusResponse;
+import com.back.domain.scenario.entity.ScenarioStatus;
+import com.back.global.exception.ApiException;
+import com.back.global.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ScenarioStatusBroadcaster 단위 테스트(Redis 비활성, 로컬 전달만).
+ * 구독 등록/해제, 종료 상태 전달 후 정리, 원격 메시지 파싱을 검증합니다.
+ */
+@DisplayName("ScenarioStatusBroadcaster 단위 테스트")
+class ScenarioStatusBroadcasterTest {
+
+    private ScenarioStatusBroadcaster broadcaster;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        broadcaster = new ScenarioStatusBroadcaster(new SimpleMeterRegistry(),
+                mock(ObjectProvider.class), mock(ObjectProvider.class), 60_000, false);
+    }
+
+    @Test
+    @DisplayName("성공 - 진행 중 상태 구독은 유지되고 종료 상태 전달 후 정리된다")
+    void deliver_성공_종료_상태에서_정리() {
+        broadcaster.subscribe(1L, () -> ScenarioStatusResponse.of(1L, ScenarioStatus.PENDING));
+        assertThat(broadcaster.subscriberCount(1L)).isEqualTo(1);
+
+        broadcaster.deliver(1L, ScenarioStatus.PROCESSING);
+        assertThat(broadcaster.subscriberCount(1L)).isEqualTo(1);
+
+        broadcaster.deliver(1L, ScenarioStatus.COMPLETED);
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("성공 - 이미 종료된 시나리오는 현재 상태만 보내고 바로 닫는다")
+    void subscribe_성공_이미_종료() {
+        broadcaster.subscribe(1L, () -> ScenarioStatusResponse.of(1L, ScenarioStatus.FAILED));
+
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("실패 - 현재 상태 조회가 실패하면 등록을 되돌리고 예외를 전파한다")
+    void subscribe_실패_조회_예외() {
+        assertThatThrownBy(() -> broadcaster.subscribe(1L, () -> {
+            throw new ApiException(ErrorCode.SCENARIO_NOT_FOUND);
+        })).isInstanceOf(ApiException.class);
+
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("성공 - 원격 노드 메시지는 전달하고 형식 오류는 무시한다")
+    void onMessage_성공_원격_전달() {
+        broadcaster.subscribe(1L, () -> ScenarioStatusResponse.of(1L, ScenarioStatus.PROCESSING));
+
+        broadcaster.onMessage("other|1|UNKNOWN");
+        broadcaster.onMessage("garbage");
+        assertThat(broadcaster.subscriberCount(1L)).isEqualTo(1);
+
+        broadcaster.onMessage("other|1|COMPLETED");
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+    }
+}
@@ -0,0 +1,204 @@
+package com.back.global.ai.client.text;
+
+import com.back.global.ai.dto.AiRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CachingTextAiClient 단위 테스트.
+ * 동시 동일 요청 합치기, 성공 결과 캐시/실패 미적재, 파라미터 순서 무관 키, 취소 전파, TTL 만료를 검증합니다.
+ */
+@DisplayName("CachingTextAiClient 단위 테스트")
+class CachingTextAiClientTest {
+
+    // 호출마다 보류 future를 쌓아 두는 위임체
+    static class PendingClient implements TextAiClient {
+        final List<CompletableFuture<String>> calls = new ArrayList<>();
+
+        @Override
+        public CompletableFuture<String> generateText(String prompt) {
+            return generateText(new AiRequest(prompt, Map.of()));
+        }
+
+        @Override
+        public synchronized CompletableFuture<String> generateText(AiRequest aiRequest) {
+            CompletableFuture<String> f = new CompletableFuture<>();
+            calls.add(f);
+            return f;
+        }
+
+        final List<CompletableFuture<List<String>>> candidateCalls = new ArrayList<>();
+
+        @Override
+        public synchronized CompletableFuture<List<String>> generateCandidates(AiRequest aiRequest) {
+            CompletableFuture<List<String>> f = new CompletableFuture<>();
+            candidateCalls.add(f);
+            return f;
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("성공 - 진행 중인 동일 요청은 위임체 1회 호출로 합치고, 완료 후에는 캐시에서 반환")
+    void generateText_성공_합치기_후_캐시() {
+        PendingClient delegate = new PendingClient();
+        CachingTextAiClient client = client(delegate, Duration.ofMinutes(5));
+        AiRequest req = new AiRequest("힌트 프롬프트", Map.of("temperature", 0.7));
+
+        CompletableFuture<String> first = client.generateText(req);
+        CompletableFuture<String> second = client.generateText(req);
+        assertThat(delegate.calls).hasSize(1);
+
+        delegate.calls.get(0).complete("응답");
+        assertThat(first.join()).isEqualTo("응답");
+        assertThat(second.join()).isEqualTo("응답");
+
+        assertThat(client.generateText(req).join()).isEqualTo("응답");
+        assertThat(delegate.calls).hasSize(1);
+        assertThat(count("coalesced")).isEqualTo(1.0);
+        assertThat(count("hit")).isEqualTo(1.0);
+        assertThat(registry.get("ai.text.cache.saved").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("성공 - 실패 결과는 적재하지 않고 다음 호출에서 다시 위임한다")
+    void generateText_성공_실패_미적재() {
+        PendingClient delegate = new PendingClient();
+        CachingTextAiClient client = client(delegate, Duration.ofMinutes(5));
+        AiRequest req = new AiRequest("프롬프트", Map.of());
+
+        CompletableFuture<String> failed = client.generateText(req);
+        delegate.calls.get(0).completeExceptionally(new IllegalStateException("boom"));
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalStateException.class);
+
+        CompletableFuture<String> retry = client.generateText(req);
+        assertThat(delegate.calls).hasSize(2);
+        delegate.calls.get(1).complete("ok");
+        assertThat(retry.join()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("성공 - 파라미터 삽입 순서는 키에 영향이 없고, 값/maxTokens가 다르면 다른 키")
+    void keyOf_성공_파라미터_정규화() {
+        PendingClient delegate = new PendingClient();
+        CachingTextAiClient client = client(delegate, Duration.ofMinutes(5));
+
+        Map<String, Object> a = new LinkedHashMap<>();
+        a.put("temperature", 0.2);
+        a.put("topP", 0.9);
+        Map<String, Object> b = new LinkedHashMap<>();
+        b.put("topP", 0.9);
+        b.put("temperature", 0.2);
+
+        client.generateText(new AiRequest("p", a, 256));
+        delegate.calls.get(0).complete("x");
+        assertThat(client.generateText(new AiRequest("p", b, 256)).join()).isEqualTo("x");
+        assertThat(delegate.calls).hasSize(1);
+
+        client.generateText(new AiRequest("p", Map.of("temperature", 0.3, "topP", 0.9), 256));
+        client.generateText(new AiRequest("p", b, 512));
+        assertThat(delegate.calls).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("성공 - 한 호출자의 cancel은 합류한 다른 호출자에 번지지 않는다")
+    void generateText_성공_취소_격리() {
+        PendingClient delegate = new PendingClient();
+        CachingTextAiClient client = client(delegate, Duration.ofMinutes(5));
+        AiRequest req = new AiRequest("p", Map.of());
+
+        CompletableFuture<String> first = client.generateText(req);
+        CompletableFuture<String> second = client.generateText(req);
+        first.cancel(true);
+        delegate.calls.get(0).complete("ok");
+
+        assertThat(second.join()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("성공 - 합류한 호출자가 모두 취소하면 위임체 호출도 취소하고, 다음 호출은 새로 위임한다")
+    void generateText_성공_전원_취소시_위임체_취소() {
+        PendingClient delegate = new PendingClient();
+        CachingTextAiClient client = client(delegate, Duration.ofMinutes(5));
+        AiRequest req = new AiRequest("p", Map.of());
+
+        CompletableFuture<String> first = client.generateText(req);
+        CompletableFuture<String> second = client.generateText(req);
+        first.cancel(true);
+        assertThat(delegate.calls.get(0)).isNotCancelled();
+
+        second.cancel(true);
+        assertThat(delegate.calls.get(0)).isCancelled();
+
+        client.generateText(req);
+        assertThat(delegate.calls).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("성공 - 후보 호출도 단일 호출자가 취소하면 위임체 future까지 취소하고, 취소 결과는 적재하지 않는다")
+    void generateCandidates_성공_취소_전파() {
+        PendingClient delegate = new PendingClient();
+        CachingTextAiClient client = client(delegate, Duration.ofMinutes(5));
+        AiRequest req = new AiRequest("p", Map.of("candidateCount", 3));
+
+        client.generateCandidates(req).cancel(true);
+        assertThat(delegate.candidateCalls.get(0)).isCancelled();
+
+        CompletableFuture<List<String>> again = client.generateCandidates(req);
+        assertThat(delegate.candidateCalls).hasSize(2);
+        delegate.candidateCalls.get(1).complete(List.of("a", "b"));
+        assertThat(again.join()).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("성공 - 완료된 결과를 받은 호출자의 cancel은 위임체/캐시에 영향이 없다")
+    void generateText_성공_완료_후_취소_무시() {
+        PendingClient delegate = new PendingClient();
+        CachingTextAiClient client = client(delegate, Duration.ofMinutes(5));
+        AiRequest req = new AiRequest("p", Map.of());
+
+        CompletableFuture<String> first = client.generateText(req);
+        delegate.calls.get(0).complete("ok");
+        first.cancel(true);
+
+        assertThat(delegate.calls.get(0)).isNotCancelled();
+        assertThat(client.generateText(req).join()).isEqualTo("ok");
+        assertThat(delegate.calls).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("성공 - TTL이 지난 항목은 미스로 처리한다")
+    void generateText_성공_만료() throws InterruptedException {
+        PendingClient delegate = new PendingClient();
+        CachingTextAiClient client = client(delegate, Duration.ofMillis(5));
+        AiRequest req = new AiRequest("p", Map.of());
+
+        client.generateText(req);
+        delegate.calls.get(0).complete("ok");
+        Thread.sleep(20);
+        client.generateText(req);
+
+        assertThat(delegate.calls).hasSize(2);
+    }
+
+    private CachingTextAiClient client(TextAiClient delegate, Duration ttl) {
+        return new CachingTextAiClient("test", "model", delegate, new ObjectMapper(), null, registry, 1 << 20, ttl);
+    }
+
+    private double count(String result) {
+        return registry.get("ai.text.cache.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,62 @@
+package com.back.global.ai.client.text;
+
+import com.back.global.ai.config.TextAiConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HedgePolicy 단위 테스트.
+ * 표본 부족 시 초기 지연, 관측 지연 백분위/하한, 헤지 비율 상한을 검증합니다.
+ */
+@DisplayName("HedgePolicy 단위 테스트")
+class HedgePolicyTest {
+
+    @Test
+    @DisplayName("성공 - 표본이 부족하면 초기 지연, 충분하면 관측 지연 백분위를 사용한다")
+    void delay_성공_백분위() {
+        TextAiConfig.Hedge settings = settings();
+        HedgePolicy policy = new HedgePolicy(settings);
+        assertThat(policy.delay().toMillis()).isEqualTo(1500);
+
+        for (int i = 1; i <= 160; i++) policy.record(i * 10L); // 10ms ~ 1600ms
+
+        assertThat(policy.delay().toMillis()).isEqualTo(1520);
+    }
+
+    @Test
+    @DisplayName("성공 - 백분위가 하한보다 작으면 하한을 사용한다")
+    void delay_성공_하한() {
+        HedgePolicy policy = new HedgePolicy(settings());
+        for (int i = 0; i < 32; i++) policy.record(5L);
+
+        assertThat(policy.delay().toMillis()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("성공 - 헤지는 요청 대비 max-ratio 비율을 넘지 않는다")
+    void tryAcquire_성공_비율_상한() {
+        HedgePolicy policy = new HedgePolicy(settings());
+
+        int hedges = 0;
+        for (int i = 0; i < 1000; i++) {
+            policy.onRequest();
+            if (policy.tryAcquire()) hedges++;
+        }
+
+        assertThat(hedges).isBetween(99, 100);
+    }
+
+    private static TextAiConfig.Hedge settings() {
+        TextAiConfig.Hedge h = new TextAiConfig.Hedge();
+        h.setEnabled(true);
+        h.setPercentile(0.95);
+        h.setWindowSize(256);
+        h.setMinSamples(20);
+        h.setInitialDelayMillis(1500);
+        h.setMinDelayMillis(200);
+        h.setMaxRatio(0.10);
+        return h;
+    }
+}
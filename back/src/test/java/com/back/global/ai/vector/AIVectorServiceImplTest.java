@@ -0,0 +1,154 @@
+package com.back.global.ai.vector;
+
+import com.back.global.ai.bootstrap.AgeThemeSeeder;
+import com.back.global.ai.bootstrap.SeedOrchestrator;
+import com.back.global.ai.client.text.TextAiClient;
+import com.back.global.ai.config.SituationAiProperties;
+import com.back.global.ai.dto.AiRequest;
+import com.back.global.ai.vector.AIVectorService.AiNextHint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * AIVectorServiceImpl 후보 선택 단위 테스트.
+ * 1차 후보 중 첫 통과 후보 채택, 전부 불합격 시 재프롬프트 최고 점수 후보, 단일 후보(기본값) 요청/폴백, 동시 재프롬프트 취소를 검증합니다.
+ */
+@DisplayName("AIVectorServiceImpl 후보 선택 단위 테스트")
+class AIVectorServiceImplTest {
+
+    private static final String THEME = "이직";
+
+    // 형식/숫자/테마/극성/안전 모두 통과(긍정)
+    private static final String VALID_A = json("이직 제안으로 성장 기회가 열린 상황이다.", "제안을 수락한다");
+    private static final String VALID_B = json("이직 후 성과가 인정받는 기회가 온 상황이다.", "새 역할을 맡는다");
+    // 극성 키워드만 빠짐(14점)
+    private static final String NO_POLARITY = json("이직 면접 일정이 잡힌 상황이다.", "면접을 준비한다");
+    // 극성 + 필수 테마 빠짐(13점)
+    private static final String NO_THEME = json("회사 면접 일정이 잡힌 상황이다.", "면접을 준비한다");
+    // 숫자/형식/안전 수칙 위반
+    private static final String UNSAFE = json("3년 뒤 사기에 휘말렸다", "그냥 둔다");
+
+    // 프롬프트별 응답 목록을 돌려주고 요청을 기록하는 위임체
+    static class ScriptedClient implements TextAiClient {
+        final Map<String, CompletableFuture<List<String>>> responses = new HashMap<>();
+        final List<AiRequest> requests = new ArrayList<>();
+
+        ScriptedClient on(String prompt, String... candidates) {
+            responses.put(prompt, CompletableFuture.completedFuture(List.of(candidates)));
+            return this;
+        }
+
+        @Override
+        public CompletableFuture<String> generateText(String prompt) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<String> generateText(AiRequest aiRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized CompletableFuture<List<String>> generateCandidates(AiRequest aiRequest) {
+            requests.add(aiRequest);
+            return responses.getOrDefault(aiRequest.prompt(), CompletableFuture.completedFuture(List.of()));
+        }
+    }
+
+    @Test
+    @DisplayName("성공 - 1차 후보 중 모든 검증을 통과한 첫 후보를 채택하고 재프롬프트는 호출하지 않는다")
+    void selectHint_성공_첫_통과_후보() {
+        ScriptedClient client = new ScriptedClient().on("P1", NO_POLARITY, VALID_A, VALID_B);
+        AIVectorServiceImpl service = service(client, 3);
+
+        AiNextHint hint = service.selectHint("P1", "P2", THEME, AIVectorServiceImpl.Polarity.POSITIVE);
+
+        assertThat(hint.aiNextSituation()).isEqualTo("이직 제안으로 성장 기회가 열린 상황이다.");
+        assertThat(client.requests).extracting(AiRequest::prompt).containsExactly("P1");
+        assertThat(client.requests.get(0).parameters())
+                .containsEntry("candidateCount", 3)
+                .containsEntry("topK", 5);
+    }
+
+    @Test
+    @DisplayName("성공 - 1차 후보가 전부 불합격이면 재프롬프트 후보 중 최고 점수(동점이면 앞선 후보)를 채택")
+    void selectHint_성공_전부_불합격_최고점() {
+        ScriptedClient client = new ScriptedClient()
+                .on("P1", UNSAFE, NO_POLARITY)
+                .on("P2", UNSAFE, NO_THEME, NO_POLARITY, json("이직 서류를 정리한 상황이다.", "지원서를 낸다"));
+        AIVectorServiceImpl service = service(client, 3);
+
+        AiNextHint hint = service.selectHint("P1", "P2", THEME, AIVectorServiceImpl.Polarity.POSITIVE);
+
+        assertThat(hint.aiNextSituation()).isEqualTo("이직 면접 일정이 잡힌 상황이다.");
+        assertThat(client.requests).extracting(AiRequest::prompt).containsExactly("P1", "P2");
+    }
+
+    @Test
+    @DisplayName("성공 - 재프롬프트 후보도 없으면 빈 힌트")
+    void selectHint_성공_후보_없음() {
+        ScriptedClient client = new ScriptedClient().on("P1", UNSAFE);
+        AIVectorServiceImpl service = service(client, 3);
+
+        AiNextHint hint = service.selectHint("P1", "P2", THEME, AIVectorServiceImpl.Polarity.POSITIVE);
+
+        assertThat(hint).isEqualTo(new AiNextHint(null, null));
+    }
+
+    @Test
+    @DisplayName("성공 - 기본값(후보 1개)은 기존과 같이 candidateCount 1/topK 1로 요청하고 불합격이면 재프롬프트 1개로 폴백")
+    void selectHint_성공_단일_후보_폴백() {
+        ScriptedClient client = new ScriptedClient()
+                .on("P1", NO_THEME)
+                .on("P2", NO_POLARITY);
+        AIVectorServiceImpl service = service(client, null);
+
+        AiNextHint hint = service.selectHint("P1", "P2", THEME, AIVectorServiceImpl.Polarity.POSITIVE);
+
+        assertThat(hint.aiNextSituation()).isEqualTo("이직 면접 일정이 잡힌 상황이다.");
+        assertThat(client.requests).hasSize(2).allSatisfy(r -> assertThat(r.parameters())
+                .containsEntry("candidateCount", 1)
+                .containsEntry("topK", 1));
+    }
+
+    @Test
+    @DisplayName("성공 - 동시 재프롬프트 모드에서 1차 후보가 통과하면 재프롬프트 요청을 취소")
+    void selectHint_성공_동시_재프롬프트_취소() {
+        ScriptedClient client = new ScriptedClient().on("P1", VALID_A);
+        CompletableFuture<List<String>> hard = new CompletableFuture<>();
+        client.responses.put("P2", hard);
+        AIVectorServiceImpl service = service(client, 3);
+        ReflectionTestUtils.setField(service, "concurrentRetry", true);
+
+        AiNextHint hint = service.selectHint("P1", "P2", THEME, AIVectorServiceImpl.Polarity.POSITIVE);
+
+        assertThat(hint.aiNextRecommendedOption()).isEqualTo("제안을 수락한다");
+        assertThat(hard).isCancelled();
+    }
+
+    private static AIVectorServiceImpl service(TextAiClient client, Integer candidates) {
+        AIVectorServiceImpl service = new AIVectorServiceImpl(
+                client,
+                mock(AIVectorServiceSupportDomain.class),
+                mock(SituationAiProperties.class),
+                new ObjectMapper(),
+                mock(VocabTermSearchService.class),
+                mock(AgeThemeSearchService.class),
+                mock(AgeThemeSeeder.class),
+                mock(SeedOrchestrator.class));
+        if (candidates != null) ReflectionTestUtils.setField(service, "candidateCount", candidates);
+        return service;
+    }
+
+    private static String json(String situation, String option) {
+        return "{\"situation\":\"" + situation + "\",\"recommendedOption\":\"" + option + "\"}";
+    }
+}
@@ -0,0 +1,75 @@
+package com.back.global.ai.vector;
+
+import com.back.domain.node.entity.NodeCategory;
+import com.back.domain.node.repository.DecisionLineRepository;
+import com.back.domain.node.repository.DecisionNodeRepository;
+import com.back.domain.node.service.NodeDomainSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+/**
+ * AIVectorServiceSupportDomain.retrieveHintContext 단위 테스트.
+ * 로컬 인덱스 준비 여부에 따라 테마/어휘 분기를 DB 결합 조회(K 전달) 또는 로컬 인덱스(K=0 전달)로 나누는지 검증합니다.
+ */
+@DisplayName("AIVectorServiceSupportDomain.retrieveHintContext 단위 테스트")
+class AIVectorServiceSupportDomainTest {
+
+    private final PgVectorSearchService vectorSearch = mock(PgVectorSearchService.class);
+    private final AgeThemeSearchService ageThemeSearch = mock(AgeThemeSearchService.class);
+    private final VocabTermSearchService vocabTermSearch = mock(VocabTermSearchService.class);
+    private final LineQueryEmbeddings lineQueryEmbeddings = mock(LineQueryEmbeddings.class);
+    private final float[] qEmb = new float[]{1f};
+
+    private final AIVectorServiceSupportDomain support = new AIVectorServiceSupportDomain(
+            vectorSearch, ageThemeSearch, vocabTermSearch,
+            mock(EmbeddingClient.class), mock(DecisionLineRepository.class), mock(DecisionNodeRepository.class),
+            mock(NodeDomainSupport.class), lineQueryEmbeddings, mock(LineContextCache.class), mock(PhaseStateStore.class));
+
+    @Test
+    @DisplayName("성공 - 로컬 인덱스가 준비되지 않았으면 테마/어휘를 DB 결합 조회로 가져오고 스니펫은 길이 제한/빈 값 제거")
+    void retrieveHintContext_성공_DB_폴백() {
+        given(lineQueryEmbeddings.embed(eq(7L), any())).willReturn(qEmb);
+        given(vectorSearch.hintContext(7L, 30, 2, 30, NodeCategory.CAREER, qEmb, 3, 4, 5))
+                .willReturn(new PgVectorSearchService.HintContext(
+                        List.of("가나다라마바사", " "), List.of("DB테마"), List.of("DB어휘")));
+
+        PgVectorSearchService.HintContext hc = support.retrieveHintContext(
+                7L, 30, List.of(), NodeCategory.CAREER, 3, 6, 4, 5);
+
+        assertThat(hc.snippets()).containsExactly("가나다...");
+        assertThat(hc.themes()).containsExactly("DB테마");
+        assertThat(hc.terms()).containsExactly("DB어휘");
+        then(ageThemeSearch).should(never()).topK(anyInt(), any(), any(float[].class), anyInt());
+        then(vocabTermSearch).should(never()).topKTermsByEmbedding(any(float[].class), anyInt());
+    }
+
+    @Test
+    @DisplayName("성공 - 로컬 인덱스가 준비된 분기는 DB에 K=0을 넘기고 같은 질의 벡터로 로컬 검색")
+    void retrieveHintContext_성공_로컬_인덱스() {
+        given(lineQueryEmbeddings.embed(eq(7L), any())).willReturn(qEmb);
+        given(ageThemeSearch.isLocalReady()).willReturn(true);
+        given(vocabTermSearch.isLocalReady()).willReturn(true);
+        given(vectorSearch.hintContext(7L, 30, 2, 30, NodeCategory.CAREER, qEmb, 3, 0, 0))
+                .willReturn(new PgVectorSearchService.HintContext(List.of("스니펫"), List.of(), List.of()));
+        given(ageThemeSearch.topK(30, NodeCategory.CAREER, qEmb, 4)).willReturn(List.of("로컬테마"));
+        given(vocabTermSearch.topKTermsByEmbedding(qEmb, 5)).willReturn(List.of("로컬어휘"));
+
+        PgVectorSearchService.HintContext hc = support.retrieveHintContext(
+                7L, 30, List.of(), NodeCategory.CAREER, 3, 100, 4, 5);
+
+        assertThat(hc.snippets()).containsExactly("스니펫");
+        assertThat(hc.themes()).containsExactly("로컬테마");
+        assertThat(hc.terms()).containsExactly("로컬어휘");
+    }
+}
@@ -0,0 +1,110 @@
+package com.back.global.ai.vector;
+
+import com.back.domain.node.entity.NodeCategory;
+import com.back.domain.search.entity.AgeTheme;
+import com.back.domain.search.repository.AgeThemeRepository;
+import com.back.infra.pgvector.PgVectorCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * AgeThemeLocalIndex 단위 테스트.
+ * 결과가 k개 미만이면 DB 폴백(빈 Optional), 주기 refresh로 다른 인스턴스 저장분 반영, 프로세스별 세그먼트 파일을 검증합니다.
+ */
+@DisplayName("AgeThemeLocalIndex 단위 테스트")
+class AgeThemeLocalIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private AgeThemeRepository repo;
+    private AgeThemeLocalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(AgeThemeRepository.class);
+        index = new AgeThemeLocalIndex(repo, true, 5, dir.toString(), Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("성공 - 필터 결과가 k개 미만이면 빈 Optional로 DB 폴백")
+    void topK_성공_부족시_빈_결과() {
+        given(repo.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .willReturn(List.of(theme(1L, "대학 진학", 0), theme(2L, "첫 연애", 1)));
+        index.loadAll();
+
+        assertThat(index.topK(20, NodeCategory.EDUCATION, unit(0), 2)).hasValueSatisfying(
+                themes -> assertThat(themes).containsExactlyInAnyOrder("대학 진학", "첫 연애"));
+        assertThat(index.topK(20, NodeCategory.EDUCATION, unit(0), 3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("성공 - 세그먼트 파일은 인스턴스마다 따로 만들고 종료 시 삭제한다")
+    void loadAll_성공_프로세스별_파일() throws Exception {
+        given(repo.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).willReturn(List.of(theme(1L, "대학 진학", 0)));
+        AgeThemeLocalIndex other = new AgeThemeLocalIndex(repo, true, 5, dir.toString(), Runnable::run);
+        index.loadAll();
+        other.loadAll();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.count()).isEqualTo(2);
+        }
+        other.close();
+        assertThat(index.topK(20, NodeCategory.EDUCATION, unit(0), 1)).contains(List.of("대학 진학"));
+
+        index.close();
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.count()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("성공 - refresh는 커서 이후 DB 행을 반영한다")
+    void refresh_성공_커서_이후_반영() {
+        given(repo.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).willReturn(List.of(theme(1L, "대학 진학", 0)));
+        index.loadAll();
+        assertThat(index.size()).isEqualTo(1);
+
+        given(repo.findByIdGreaterThanOrderByIdAsc(eq(1L), any())).willReturn(List.of(theme(5L, "휴학", 2)));
+        index.refresh();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.topK(20, NodeCategory.EDUCATION, unit(2), 1)).contains(List.of("휴학"));
+    }
+
+    private static AgeTheme theme(Long id, String text, int axis) {
+        return AgeTheme.builder()
+                .id(id)
+                .minAge(18)
+                .maxAge(25)
+                .category(NodeCategory.EDUCATION)
+                .theme(text)
+                .embedding(unit(axis))
+                .build();
+    }
+
+    private static float[] unit(int axis) {
+        float[] v = new float[PgVectorCodec.DIM];
+        v[axis] = 1f;
+        return v;
+    }
+}
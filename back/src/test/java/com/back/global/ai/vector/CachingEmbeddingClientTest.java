@@ -0,0 +1,77 @@
+package com.back.global.ai.vector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CachingEmbeddingClient 단위 테스트.
+ * 히트 시 위임체 미호출, 배치는 미스만 계산, 설정 변경 시 키 분리를 검증합니다.
+ */
+@DisplayName("CachingEmbeddingClient 단위 테스트")
+class CachingEmbeddingClientTest {
+
+    private EmbeddingProperties props;
+    private List<String> delegated;
+    private SimpleMeterRegistry registry;
+    private CachingEmbeddingClient client;
+
+    @BeforeEach
+    void setUp() {
+        props = new EmbeddingProperties();
+        delegated = new ArrayList<>();
+        registry = new SimpleMeterRegistry();
+        LocalHashEmbeddingClient local = new LocalHashEmbeddingClient(props);
+        EmbeddingClient counting = new EmbeddingClient() {
+            @Override
+            public float[] embed(String text) {
+                delegated.add(text);
+                return local.embed(text);
+            }
+        };
+        client = new CachingEmbeddingClient(counting, props, registry, true, 1 << 20, 32);
+    }
+
+    @Test
+    @DisplayName("성공 - 같은 텍스트 재요청은 캐시 히트, 반환 배열 변경이 캐시에 전파되지 않음")
+    void embed_성공_캐시_히트() {
+        float[] first = client.embed("대학 진학 고민");
+        first[0] = 42f;
+        float[] second = client.embed("대학 진학 고민");
+
+        assertThat(delegated).containsExactly("대학 진학 고민");
+        assertThat(second[0]).isNotEqualTo(42f);
+        assertThat(registry.counter("ai.embedding.cache.requests", "result", "hit").count()).isEqualTo(1.0);
+        assertThat(registry.counter("ai.embedding.cache.requests", "result", "miss").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("성공 - 배치는 미스만(중복 제거) 계산하고 입력 순서를 보존")
+    void embedBatch_성공_미스만_계산() {
+        client.embed("a");
+        delegated.clear();
+
+        List<float[]> out = client.embedBatch(List.of("a", "b", "b", "c"));
+
+        assertThat(delegated).containsExactly("b", "c");
+        assertThat(out).hasSize(4);
+        assertThat(out.get(1)).containsExactly(out.get(2));
+        assertThat(out.get(0)).containsExactly(client.embed("a"));
+    }
+
+    @Test
+    @DisplayName("성공 - 임베딩 설정이 바뀌면 다른 키로 다시 계산")
+    void embed_성공_설정별_키_분리() {
+        client.embed("career move");
+        props.setUseBigram(true);
+        client.embed("career move");
+
+        assertThat(delegated).hasSize(2);
+    }
+}
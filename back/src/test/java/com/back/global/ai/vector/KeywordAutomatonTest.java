@@ -0,0 +1,70 @@
+package com.back.global.ai.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * KeywordAutomaton 단위 테스트.
+ * 겹치는 키워드/다중 그룹 적중 수가 그룹별 String.contains 누적과 같은지 검증합니다.
+ */
+@DisplayName("KeywordAutomaton 단위 테스트")
+class KeywordAutomatonTest {
+
+    @Test
+    @DisplayName("성공 - 겹치는 키워드와 여러 그룹에 속한 키워드를 모두 센다")
+    void scan_성공_겹침_다중그룹() {
+        KeywordAutomaton<String> ac = KeywordAutomaton.<String>builder()
+                .add("crypto", "비트코인", "코인", "가상화폐")
+                .add("asset", "코인", "주식")
+                .add("action", "투자", "풀매수", "매수")
+                .build();
+
+        KeywordAutomaton<String>.Hits hits = ac.scan("비트코인에풀매수하고코인투자");
+
+        assertThat(hits.count("crypto")).isEqualTo(2);
+        assertThat(hits.count("asset")).isEqualTo(1);
+        assertThat(hits.count("action")).isEqualTo(3);
+        assertThat(hits.any("unknown")).isFalse();
+        assertThat(ac.scan(null).any("crypto")).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공 - 무작위 키워드/본문에서 그룹별 서로 다른 키워드 contains 개수와 일치")
+    void scan_성공_contains_동치() {
+        Random r = new Random(7);
+        String alphabet = "ab코인주식 ";
+        for (int round = 0; round < 300; round++) {
+            KeywordAutomaton.Builder<Integer> b = KeywordAutomaton.builder();
+            List<List<String>> groups = new ArrayList<>();
+            for (int g = 0; g < 4; g++) {
+                List<String> words = List.of(random(r, alphabet, 1, 3), random(r, alphabet, 1, 3), random(r, alphabet, 1, 3));
+                groups.add(words);
+                b.add(g, words.toArray(String[]::new));
+            }
+            KeywordAutomaton<Integer> ac = b.build();
+
+            for (int t = 0; t < 20; t++) {
+                String text = random(r, alphabet, 0, 20);
+                KeywordAutomaton<Integer>.Hits hits = ac.scan(text);
+                for (int g = 0; g < groups.size(); g++) {
+                    long expected = new LinkedHashSet<>(groups.get(g)).stream().filter(text::contains).count();
+                    assertThat(hits.count(g)).as("words=%s text=%s", groups.get(g), text).isEqualTo((int) expected);
+                }
+            }
+        }
+    }
+
+    private static String random(Random r, String alphabet, int min, int max) {
+        int len = min + r.nextInt(max - min + 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < len; i++) sb.append(alphabet.charAt(r.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+}
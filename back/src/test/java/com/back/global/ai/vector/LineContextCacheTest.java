@@ -0,0 +1,111 @@
+package com.back.global.ai.vector;
+
+import com.back.global.ai.vector.LineContextCache.LineCtx;
+import com.back.global.ai.vector.LineContextCache.NodeFact;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * LineContextCache 단위 테스트.
+ * 요청 간 재사용, 꼬리 추가 패치/중간 삽입 제거, 로드 중 쓰기 경합, 원격 무효화 메시지를 검증합니다.
+ */
+@DisplayName("LineContextCache 단위 테스트")
+class LineContextCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private LineContextCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new LineContextCache(registry, mock(ObjectProvider.class), mock(ObjectProvider.class),
+                1 << 20, 600_000L, false);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("성공 - 두 번째 요청부터 로더를 호출하지 않는다")
+    void line_성공_요청간_재사용() {
+        cache.line(1L, () -> load(List.of(fact(1L, 20, "대학 입학", "디자인과"))));
+        LineCtx again = cache.line(1L, () -> load(List.of()));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(again.ageExists(20)).isTrue();
+        assertThat(registry.get("ai.line.ctx.requests").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("성공 - 꼬리 추가는 재로드 없이 나이/배지를 패치한다")
+    void append_성공_꼬리_패치() {
+        cache.line(1L, () -> load(List.of(fact(1L, 20, "대학 입학", "디자인과"))));
+
+        cache.appendAfterCommit(1L, fact(2L, 22, "공모전 준비", "출품"));
+        LineCtx ctx = cache.line(1L, () -> load(List.of()));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(ctx.ageExists(22)).isTrue();
+        assertThat(ctx.maxAge()).isEqualTo(22);
+        assertThat(ctx.hiddenFacts().get("badges")).isEqualTo(List.of("공모전 수상"));
+        assertThat(ctx.hiddenFacts().get("next_hooks")).isEqualTo(List.of("수상 1회"));
+    }
+
+    @Test
+    @DisplayName("성공 - 기존 최대 나이보다 앞선 노드는 항목을 제거해 다음 조회에서 재로드한다")
+    void append_성공_중간삽입_제거() {
+        cache.line(1L, () -> load(List.of(fact(1L, 20, "a", "b"), fact(2L, 26, "c", "d"))));
+
+        cache.appendAfterCommit(1L, fact(3L, 23, "e", "f"));
+        cache.line(1L, () -> load(List.of(fact(1L, 20, "a", "b"), fact(3L, 23, "e", "f"), fact(2L, 26, "c", "d"))));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("성공 - 로드 도중 쓰기가 있으면 낡은 결과를 적재하지 않는다")
+    void line_성공_로드중_쓰기_경합() {
+        cache.line(1L, () -> {
+            LineCtx stale = load(List.of(fact(1L, 20, "a", "b")));
+            cache.appendAfterCommit(1L, fact(2L, 22, "c", "d"));
+            return stale;
+        });
+        LineCtx fresh = cache.line(1L, () -> load(List.of(fact(1L, 20, "a", "b"), fact(2L, 22, "c", "d"))));
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(fresh.ageExists(22)).isTrue();
+    }
+
+    @Test
+    @DisplayName("성공 - 다른 인스턴스의 무효화 메시지만 반영하고 형식 오류는 무시한다")
+    void onMessage_성공_원격_무효화() {
+        cache.line(1L, () -> load(List.of(fact(1L, 20, "a", "b"))));
+
+        cache.onMessage("broken");
+        cache.onMessage("other-node|L|x");
+        cache.line(1L, () -> load(List.of()));
+        assertThat(loads.get()).isEqualTo(1);
+
+        cache.onMessage("other-node|L|1");
+        cache.line(1L, () -> load(List.of(fact(1L, 20, "a", "b"))));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private LineCtx load(List<NodeFact> nodes) {
+        loads.incrementAndGet();
+        return LineContextCache.build(100L, nodes);
+    }
+
+    private static NodeFact fact(Long id, int age, String situation, String decision) {
+        return new NodeFact(id, age, situation, decision);
+    }
+}
@@ -0,0 +1,73 @@
+package com.back.global.ai.vector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * LineQueryEmbeddings 단위 테스트.
+ * 추가/편집/삭제 증분 갱신 결과가 전체 텍스트 embed와 같은지, 비선형 클라이언트는 전체 재계산하는지 검증합니다.
+ */
+@DisplayName("LineQueryEmbeddings 단위 테스트")
+class LineQueryEmbeddingsTest {
+
+    @Test
+    @DisplayName("성공 - 무작위 추가/편집/삭제 후에도 전체 텍스트 임베딩과 일치")
+    void embed_성공_증분_결과_전체와_동일() {
+        EmbeddingProperties props = new EmbeddingProperties();
+        props.setUseBigram(true);
+        props.setUseCharShingle(true);
+        LocalHashEmbeddingClient client = new LocalHashEmbeddingClient(props);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LineQueryEmbeddings acc = new LineQueryEmbeddings(client, registry, true, 1 << 20);
+
+        Random r = new Random(11);
+        List<String> lines = new ArrayList<>();
+        for (int step = 0; step < 300; step++) {
+            int op = lines.isEmpty() ? 0 : r.nextInt(4);
+            if (op <= 1) {
+                lines.add(line(r));                                   // 추가(가장 흔한 경로)
+            } else if (op == 2) {
+                lines.set(r.nextInt(lines.size()), line(r));          // 편집
+            } else {
+                lines.remove(r.nextInt(lines.size()));               // 삭제
+            }
+            if (lines.isEmpty()) continue;
+
+            float[] expected = client.embed(String.join("\n", lines));
+            float[] actual = acc.embed(1L, lines);
+            assertThat(actual).as("step=%d", step).containsExactly(expected, offset(1e-5f));
+        }
+        assertThat(registry.get("ai.embedding.line.updates").tag("mode", "incremental").counter().count())
+                .isGreaterThan(200.0);
+    }
+
+    @Test
+    @DisplayName("성공 - 선형 연산이 없는 클라이언트는 매번 전체 텍스트를 임베딩")
+    void embed_성공_비선형_클라이언트_폴백() {
+        List<String> seen = new ArrayList<>();
+        EmbeddingClient opaque = text -> {
+            seen.add(text);
+            return new float[]{1f};
+        };
+        LineQueryEmbeddings acc = new LineQueryEmbeddings(opaque, new SimpleMeterRegistry(), true, 1 << 20);
+
+        acc.embed(1L, List.of("- (20세) a → b"));
+        acc.embed(1L, List.of("- (20세) a → b", "- (21세) c → d"));
+
+        assertThat(seen).containsExactly("- (20세) a → b", "- (20세) a → b\n- (21세) c → d");
+    }
+
+    private static String line(Random r) {
+        String[] words = {"대학", "진학", "이직", "career", "move", "유학", "창업", "결혼", "health", "집"};
+        return String.format("- (%d세) %s %s → %s", 18 + r.nextInt(40),
+                words[r.nextInt(words.length)], words[r.nextInt(words.length)], words[r.nextInt(words.length)]);
+    }
+}
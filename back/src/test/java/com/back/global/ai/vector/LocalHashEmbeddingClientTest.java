@@ -0,0 +1,127 @@
+package com.back.global.ai.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LocalHashEmbeddingClient 단위 테스트.
+ * 단일 패스 토크나이저/스트리밍 해시가 기존 정규식·split·getBytes 경로와 같은 벡터를 내는지 검증합니다.
+ */
+@DisplayName("LocalHashEmbeddingClient 단위 테스트")
+class LocalHashEmbeddingClientTest {
+
+    private static final String ALPHABET =
+            "aZ09 _-!\t\n가나다ΣσςİIıé😀𝐀𐏿\u0000　.,;ǅ";
+
+    @Test
+    @DisplayName("성공 - 무작위 텍스트에서 기존 구현과 비트 단위로 동일한 벡터")
+    void embed_성공_기존_구현과_동일() {
+        Random r = new Random(7);
+        for (int t = 0; t < 5_000; t++) {
+            EmbeddingProperties props = props(32 + r.nextInt(100), r.nextBoolean(), r.nextBoolean());
+            String text = randomText(r, r.nextInt(30));
+
+            float[] expected = legacyEmbed(props, text);
+            float[] actual = new LocalHashEmbeddingClient(props).embed(text);
+
+            assertThat(actual).as("text=%s", text).containsExactly(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("성공 - 병렬 배치 임베딩은 입력 순서와 단건 결과를 보존")
+    void embedBatch_성공_병렬_순서_보존() {
+        EmbeddingProperties props = props(768, true, true);
+        props.setParallelThreshold(4);
+        LocalHashEmbeddingClient client = new LocalHashEmbeddingClient(props);
+
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) texts.add("대학 진학 " + i + " career move");
+
+        List<float[]> batch = client.embedBatch(texts);
+
+        assertThat(batch).hasSize(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            assertThat(batch.get(i)).containsExactly(legacyEmbed(props, texts.get(i)));
+        }
+    }
+
+    private static EmbeddingProperties props(int dim, boolean bigram, boolean shingle) {
+        EmbeddingProperties p = new EmbeddingProperties();
+        p.setDim(dim);
+        p.setUseBigram(bigram);
+        p.setUseCharShingle(shingle);
+        return p;
+    }
+
+    private static String randomText(Random r, int len) {
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; i++) sb.append(ALPHABET.charAt(r.nextInt(ALPHABET.length())));
+        return sb.toString();
+    }
+
+    // 기존 구현(정규식 치환 → split → 문자열 연결/부분 문자열 → getBytes → murmur32) 그대로
+    private static float[] legacyEmbed(EmbeddingProperties props, String text) {
+        float[] v = new float[Math.max(32, props.getDim())];
+        if (text == null || text.isBlank()) return v;
+        String[] toks = text.toLowerCase()
+                .replaceAll("[^\\p{L}\\p{Nd}\\s]", " ")
+                .trim()
+                .split("\\s+");
+        for (int i = 0; i < toks.length; i++) {
+            String t = toks[i];
+            if (t.isBlank()) continue;
+            legacyAdd(v, t, 1f);
+            if (props.isUseBigram() && i + 1 < toks.length) legacyAdd(v, t + "_" + toks[i + 1], 1f);
+            if (props.isUseCharShingle() && t.length() >= 3) {
+                for (int j = 0; j <= t.length() - 3; j++) legacyAdd(v, t.substring(j, j + 3), 0.3f);
+            }
+        }
+        double s = 0.0;
+        for (float x : v) s += x * x;
+        if (s == 0) return v;
+        float inv = (float) (1.0 / Math.sqrt(s));
+        for (int i = 0; i < v.length; i++) v[i] *= inv;
+        return v;
+    }
+
+    private static void legacyAdd(float[] v, String token, float w) {
+        byte[] data = token.getBytes(StandardCharsets.UTF_8);
+        int hash = 0;
+        int len4 = data.length / 4;
+        for (int i = 0; i < len4; i++) {
+            int i4 = i * 4;
+            int k = (data[i4] & 0xff) | ((data[i4 + 1] & 0xff) << 8)
+                    | ((data[i4 + 2] & 0xff) << 16) | (data[i4 + 3] << 24);
+            k *= 0xcc9e2d51;
+            k = Integer.rotateLeft(k, 15);
+            k *= 0x1b873593;
+            hash ^= k;
+            hash = Integer.rotateLeft(hash, 13) * 5 + 0xe6546b64;
+        }
+        if ((data.length & 3) == 1) {
+            int k1 = data[len4 * 4] & 0xff;
+            k1 *= 0xcc9e2d51;
+            k1 = Integer.rotateLeft(k1, 15);
+            k1 *= 0x1b873593;
+            hash ^= k1;
+        }
+        hash ^= data.length;
+        hash ^= (hash >>> 16);
+        hash *= 0x85ebca6b;
+        hash ^= (hash >>> 13);
+        hash *= 0xc2b2ae35;
+        hash ^= (hash >>> 16);
+
+        int idx = Math.floorMod(hash, v.length);
+        float sign = ((hash >>> 1) & 1) == 0 ? +1f : -1f;
+        v[idx] += sign * w;
+    }
+}
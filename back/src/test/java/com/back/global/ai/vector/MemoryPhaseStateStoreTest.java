@@ -0,0 +1,75 @@
+package com.back.global.ai.vector;
+
+import com.back.global.ai.vector.AIVectorServiceSupportDomain.Phase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * MemoryPhaseStateStore 단위 테스트.
+ * 국면 전이(위기 → 회복 → NORMAL), 회복 보장 락 소비, 항목 수 상한과 만료 정리를 검증합니다.
+ */
+@DisplayName("MemoryPhaseStateStore 단위 테스트")
+class MemoryPhaseStateStoreTest {
+
+    @Test
+    @DisplayName("성공 - 위기 잔여 소진 시 회복 1회 후 긍정 극성으로 NORMAL 복귀")
+    void tick_성공_위기_회복_전이() {
+        MemoryPhaseStateStore store = new MemoryPhaseStateStore(new SimpleMeterRegistry(), 100, 60_000L);
+
+        store.enter(1L, Phase.CRISIS, 1);
+        store.markUsed(1L);
+        store.tick(1L, Phase.CRISIS);
+        assertThat(store.snapshot(1L).phase()).isEqualTo(Phase.RECOVERY);
+        assertThat(store.snapshot(1L).remain()).isEqualTo(1);
+
+        store.markUsed(1L);
+        store.rememberPolarity(1L, true);
+        PhaseStateStore.Snapshot s = store.snapshot(1L);
+        assertThat(s.phase()).isEqualTo(Phase.NORMAL);
+        assertThat(s.lastSevere()).isFalse();
+        assertThat(s.positivityMomentum()).isCloseTo(-0.10, offset(1e-9));
+    }
+
+    @Test
+    @DisplayName("성공 - 회복 보장 락은 설정 횟수만큼만 소비된다")
+    void consumePositiveLock_성공_횟수_제한() {
+        MemoryPhaseStateStore store = new MemoryPhaseStateStore(new SimpleMeterRegistry(), 100, 60_000L);
+
+        store.armPositiveLock(1L, 2);
+        assertThat(store.consumePositiveLock(1L)).isTrue();
+        assertThat(store.consumePositiveLock(1L)).isTrue();
+        assertThat(store.consumePositiveLock(1L)).isFalse();
+        assertThat(store.consumePositiveLock(2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공 - 조회만 한 라인은 적재하지 않고, 상한 초과 시 오래된 라인부터 제거")
+    void size_성공_상한_유지() {
+        MemoryPhaseStateStore store = new MemoryPhaseStateStore(new SimpleMeterRegistry(), 3, 60_000L);
+
+        for (long id = 1; id <= 10; id++) store.snapshot(id);
+        assertThat(store.size()).isZero();
+
+        for (long id = 1; id <= 10; id++) store.rememberPolarity(id, false);
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.snapshot(10L).lastSevere()).isTrue();
+        assertThat(store.snapshot(1L)).isEqualTo(PhaseStateStore.Snapshot.EMPTY);
+    }
+
+    @Test
+    @DisplayName("성공 - 만료된 라인은 정리되고 기본 상태로 돌아간다")
+    void sweep_성공_만료_정리() throws InterruptedException {
+        MemoryPhaseStateStore store = new MemoryPhaseStateStore(new SimpleMeterRegistry(), 100, 5L);
+
+        store.enter(1L, Phase.POS_STREAK, 3);
+        Thread.sleep(20);
+        store.sweep();
+
+        assertThat(store.size()).isZero();
+        assertThat(store.snapshot(1L)).isEqualTo(PhaseStateStore.Snapshot.EMPTY);
+    }
+}
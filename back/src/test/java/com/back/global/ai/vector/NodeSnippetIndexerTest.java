@@ -0,0 +1,121 @@
+package com.back.global.ai.vector;
+
+import com.back.domain.node.entity.DecisionLine;
+import com.back.domain.node.entity.DecisionLineStatus;
+import com.back.domain.node.entity.DecisionNode;
+import com.back.domain.node.entity.FollowPolicy;
+import com.back.domain.node.entity.NodeCategory;
+import com.back.domain.node.repository.DecisionNodeRepository;
+import com.back.domain.search.entity.NodeSnippet;
+import com.back.domain.search.repository.NodeSnippetRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.*;
+
+/**
+ * NodeSnippetIndexer 단위 테스트.
+ * 동기 Executor(linger 0)로 노드 색인, 취소 라인 삭제, 실패 재시도 횟수를 검증합니다.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NodeSnippetIndexer 단위 테스트")
+class NodeSnippetIndexerTest {
+
+    @Mock private DecisionNodeRepository decisionNodeRepository;
+    @Mock private NodeSnippetRepository snippetRepository;
+    @Mock private PlatformTransactionManager txManager;
+
+    private SimpleMeterRegistry registry;
+    private NodeSnippetIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        EmbeddingClient embeddingClient = new LocalHashEmbeddingClient(new EmbeddingProperties());
+        indexer = new NodeSnippetIndexer(decisionNodeRepository, snippetRepository, embeddingClient,
+                Runnable::run, txManager, registry, true, 64, 0L, 100, 2);
+    }
+
+    @Test
+    @DisplayName("노드 색인 - 노드 id 기준 삭제 후 임베딩 포함 스니펫을 일괄 저장한다")
+    void indexNodes_upsertsSnippet() {
+        DecisionNode node = node(10L, line(1L, DecisionLineStatus.DRAFT), 25, "이직 고민", "스타트업 합류");
+        given(decisionNodeRepository.findWithLineAndOverrideByIdIn(anyCollection())).willReturn(List.of(node));
+
+        indexer.indexNodesAfterCommit(List.of(10L));
+
+        then(snippetRepository).should().deleteByNodeIds(Set.of(10L));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NodeSnippet>> saved = ArgumentCaptor.forClass(List.class);
+        then(snippetRepository).should().saveAll(saved.capture());
+        NodeSnippet row = saved.getValue().get(0);
+        assertThat(row.getNodeId()).isEqualTo(10L);
+        assertThat(row.getLineId()).isEqualTo(1L);
+        assertThat(row.getText()).isEqualTo("- (25세) 이직 고민 → 스타트업 합류");
+        assertThat(row.getCategory()).isEqualTo(NodeCategory.CAREER.name());
+        assertThat(row.getEmbedding()).hasSize(768);
+        assertThat(registry.get("ai.snippet.index.tasks").tag("result", "done").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("취소 라인 - 라인 스니펫만 삭제하고 새로 저장하지 않는다")
+    void cancelledLine_onlyDeletes() {
+        DecisionNode node = node(11L, line(2L, DecisionLineStatus.CANCELLED), 30, "유학", "포기");
+        given(decisionNodeRepository.findWithLineAndOverrideByDecisionLine_IdIn(anyCollection()))
+                .willReturn(List.of(node));
+
+        indexer.indexLinesAfterCommit(List.of(2L));
+
+        then(snippetRepository).should().deleteByLineIds(anyCollection());
+        then(snippetRepository).should().deleteByNodeIds(anyCollection());
+        then(snippetRepository).should(never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("배치 실패 - max-attempts까지 재시도 후 실패로 집계한다")
+    void failure_retriesThenFails() {
+        given(decisionNodeRepository.findWithLineAndOverrideByIdIn(anyCollection()))
+                .willThrow(new IllegalStateException("db down"));
+
+        indexer.indexNodesAfterCommit(List.of(12L));
+
+        then(decisionNodeRepository).should(times(2)).findWithLineAndOverrideByIdIn(anyCollection());
+        assertThat(registry.get("ai.snippet.index.tasks").tag("result", "retried").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("ai.snippet.index.tasks").tag("result", "failed").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("ai.snippet.index.pending").gauge().value()).isZero();
+    }
+
+    private static DecisionLine line(Long id, DecisionLineStatus status) {
+        DecisionLine line = mock(DecisionLine.class);
+        lenient().when(line.getId()).thenReturn(id);
+        lenient().when(line.getStatus()).thenReturn(status);
+        return line;
+    }
+
+    private static DecisionNode node(Long id, DecisionLine line, int age, String situation, String decision) {
+        DecisionNode n = mock(DecisionNode.class);
+        lenient().when(n.getId()).thenReturn(id);
+        lenient().when(n.getDecisionLine()).thenReturn(line);
+        lenient().when(n.getAgeYear()).thenReturn(age);
+        lenient().when(n.getSituation()).thenReturn(situation);
+        lenient().when(n.getDecision()).thenReturn(decision);
+        lenient().when(n.getCategory()).thenReturn(NodeCategory.CAREER);
+        lenient().when(n.getFollowPolicy()).thenReturn(FollowPolicy.FOLLOW);
+        return n;
+    }
+}
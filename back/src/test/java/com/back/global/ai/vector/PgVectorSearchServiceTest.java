@@ -0,0 +1,90 @@
+package com.back.global.ai.vector;
+
+import com.back.domain.node.entity.NodeCategory;
+import com.back.domain.search.repository.NodeSnippetRepository;
+import com.back.domain.search.repository.NodeSnippetRepository.HintContextRow;
+import com.back.infra.pgvector.PgVectorCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+/**
+ * PgVectorSearchService.hintContext 단위 테스트.
+ * 결합 조회 행의 종류별 분류(순서 유지/미지 종류 무시), 나이 윈도우/카테고리 인자, 테마·어휘 K가 모두 0일 때 스니펫 단일 쿼리 경로를 검증합니다.
+ */
+@DisplayName("PgVectorSearchService.hintContext 단위 테스트")
+class PgVectorSearchServiceTest {
+
+    private final NodeSnippetRepository repo = mock(NodeSnippetRepository.class);
+    private final PgVectorSearchService service = new PgVectorSearchService(repo);
+
+    @Test
+    @DisplayName("성공 - 결합 조회 행을 S/T/V로 나누고 각 목록은 행 순서(유사도 순)를 유지한다")
+    void hintContext_성공_행_분류() {
+        given(repo.searchHintContext(any(), any(), any(), anyInt(), any(), anyString(), anyInt(), anyInt(), anyInt()))
+                .willReturn(List.of(
+                        row("S", "스니펫1"), row("S", "스니펫2"),
+                        row("T", "테마1"),
+                        row("V", "어휘1"), row("V", "어휘2"),
+                        row("X", "무시")));
+
+        PgVectorSearchService.HintContext hc = service.hintContext(
+                7L, 30, 2, 31, NodeCategory.CAREER, null, 3, 4, 5);
+
+        assertThat(hc.snippets()).containsExactly("스니펫1", "스니펫2");
+        assertThat(hc.themes()).containsExactly("테마1");
+        assertThat(hc.terms()).containsExactly("어휘1", "어휘2");
+        then(repo).should().searchHintContext(7L, 28, 32, 31, "CAREER",
+                PgVectorCodec.toLiteralOrZero(null), 3, 4, 5);
+        then(repo).should(never()).searchTopKTextByLineAndAgeWindow(any(), any(), any(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("성공 - 카테고리가 없으면 카테고리 조건을 null로 넘기고, 한 분기만 0이어도 결합 조회를 사용한다")
+    void hintContext_성공_카테고리_없음_한쪽만_0() {
+        given(repo.searchHintContext(any(), any(), any(), anyInt(), any(), anyString(), anyInt(), anyInt(), anyInt()))
+                .willReturn(List.of(row("V", "어휘1")));
+
+        PgVectorSearchService.HintContext hc = service.hintContext(7L, 30, 2, 30, null, null, 3, 0, 5);
+
+        assertThat(hc.snippets()).isEmpty();
+        assertThat(hc.themes()).isEmpty();
+        assertThat(hc.terms()).containsExactly("어휘1");
+        then(repo).should().searchHintContext(eq(7L), eq(28), eq(32), eq(30), isNull(), anyString(), eq(3), eq(0), eq(5));
+    }
+
+    @Test
+    @DisplayName("성공 - 테마/어휘 K가 모두 0이면 CTE 없이 스니펫 단일 쿼리로 조회한다")
+    void hintContext_성공_스니펫_단일_쿼리() {
+        given(repo.searchTopKTextByLineAndAgeWindow(any(), any(), any(), anyString(), anyInt()))
+                .willReturn(List.of("스니펫1", "스니펫2"));
+
+        PgVectorSearchService.HintContext hc = service.hintContext(
+                7L, 30, 2, 30, NodeCategory.CAREER, null, 3, 0, 0);
+
+        assertThat(hc.snippets()).containsExactly("스니펫1", "스니펫2");
+        assertThat(hc.themes()).isEmpty();
+        assertThat(hc.terms()).isEmpty();
+        then(repo).should().searchTopKTextByLineAndAgeWindow(7L, 28, 32, PgVectorCodec.toLiteralOrZero(null), 3);
+        then(repo).should(never()).searchHintContext(any(), any(), any(), anyInt(), any(), anyString(), anyInt(), anyInt(), anyInt());
+    }
+
+    private static HintContextRow row(String kind, String text) {
+        return new HintContextRow() {
+            @Override public String getKind() { return kind; }
+            @Override public String getText() { return text; }
+        };
+    }
+}
@@ -0,0 +1,215 @@
+package com.back.global.ai.vector;
+
+import com.back.domain.search.entity.VocabTerm;
+import com.back.domain.search.repository.VocabTermRepository;
+import com.back.infra.pgvector.PgVectorCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+/**
+ * VocabTermHnswIndex 단위 테스트.
+ * 브루트포스 대비 recall, k보다 적은 항목 검색, 스냅샷 왕복/손상·불일치 스냅샷 폐기, DB 내용 변경 시 재구축을 검증합니다.
+ */
+@DisplayName("VocabTermHnswIndex 단위 테스트")
+class VocabTermHnswIndexTest {
+
+    private static final int DIM = PgVectorCodec.DIM;
+
+    @TempDir
+    Path dir;
+
+    // 가짜 vocab_term 테이블(id 오름차순)
+    private final TreeMap<Long, VocabTerm> db = new TreeMap<>();
+    private final Random random = new Random(42);
+
+    @BeforeEach
+    void setUp() {
+        db.clear();
+    }
+
+    @Test
+    @DisplayName("성공 - 고정 데이터셋에서 브루트포스 대비 recall@10이 0.9 이상")
+    void search_성공_브루트포스_대비_recall() {
+        for (long id = 1; id <= 400; id++) put(id, "term-" + id, randomVector());
+        VocabTermHnswIndex index = built(repo(), 16);
+
+        int k = 10;
+        int hit = 0;
+        for (int q = 0; q < 20; q++) {
+            float[] query = randomVector();
+            Set<String> exact = new HashSet<>(bruteForce(query, k));
+            for (String t : index.search(query, k)) if (exact.contains(t)) hit++;
+        }
+        assertThat(hit / (20.0 * k)).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    @DisplayName("성공 - 항목이 k개보다 적으면 있는 만큼만 유사도 순으로 반환")
+    void search_성공_k보다_적은_항목() {
+        float[] target = randomVector();
+        put(1L, "가까움", target);
+        put(2L, "먼것1", randomVector());
+        put(3L, "먼것2", randomVector());
+        VocabTermHnswIndex index = built(repo(), 16);
+
+        List<String> found = index.search(target, 10);
+
+        assertThat(found).hasSize(3).containsExactlyInAnyOrder("가까움", "먼것1", "먼것2");
+        assertThat(found.get(0)).isEqualTo("가까움");
+        assertThat(index.search(target, 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("성공 - 스냅샷 왕복: 다시 띄우면 DB 전체 적재 없이 같은 결과를 낸다")
+    void loadSnapshot_성공_왕복() {
+        for (long id = 1; id <= 100; id++) put(id, "term-" + id, randomVector());
+        VocabTermHnswIndex first = built(repo(), 16);
+        first.close();
+
+        VocabTermRepository secondRepo = repo();
+        VocabTermHnswIndex second = built(secondRepo, 16);
+
+        then(secondRepo).should(never()).findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+        assertThat(second.size()).isEqualTo(100);
+        for (int q = 0; q < 5; q++) {
+            float[] query = randomVector();
+            assertThat(second.search(query, 5)).isEqualTo(first.search(query, 5));
+        }
+        try (var files = Files.list(dir)) {
+            assertThat(files.map(p -> p.getFileName().toString())).containsExactly("vocab_term.hnsw");
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    @DisplayName("성공 - 손상/잘린 스냅샷은 버리고 DB에서 다시 구축")
+    void loadSnapshot_성공_손상_스냅샷_폐기() throws Exception {
+        for (long id = 1; id <= 50; id++) put(id, "term-" + id, randomVector());
+        built(repo(), 16).close();
+        Path snapshot = dir.resolve("vocab_term.hnsw");
+        byte[] full = Files.readAllBytes(snapshot);
+
+        Files.write(snapshot, Arrays.copyOf(full, full.length / 2));
+        VocabTermRepository truncatedRepo = repo();
+        VocabTermHnswIndex truncated = built(truncatedRepo, 16);
+        then(truncatedRepo).should().findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+        assertThat(truncated.size()).isEqualTo(50);
+
+        Files.write(snapshot, "not a snapshot".getBytes());
+        VocabTermRepository garbageRepo = repo();
+        VocabTermHnswIndex garbage = built(garbageRepo, 16);
+        then(garbageRepo).should().findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+        assertThat(garbage.search(db.get(7L).getEmbedding(), 1)).containsExactly("term-7");
+    }
+
+    @Test
+    @DisplayName("성공 - 파라미터(M)나 DB 내용이 스냅샷과 다르면 폐기 후 재구축")
+    void loadSnapshot_성공_불일치_스냅샷_폐기() {
+        for (long id = 1; id <= 50; id++) put(id, "term-" + id, randomVector());
+        built(repo(), 16).close();
+
+        VocabTermRepository otherM = repo();
+        built(otherM, 8).close();
+        then(otherM).should().findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+
+        // M=8 스냅샷 위에서 행 삭제 → 같은 M으로 띄워도 지문 불일치로 재구축
+        db.remove(7L);
+        VocabTermRepository changed = repo();
+        VocabTermHnswIndex index = built(changed, 8);
+        then(changed).should().findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+        assertThat(index.size()).isEqualTo(49);
+    }
+
+    @Test
+    @DisplayName("성공 - refresh는 삭제/재임베딩을 감지해 재구축하고, 새 행은 증분 반영")
+    void refresh_성공_변경_감지() {
+        for (long id = 1; id <= 50; id++) put(id, "term-" + id, randomVector());
+        VocabTermHnswIndex index = built(repo(), 16);
+
+        put(51L, "new-term", randomVector());
+        index.refresh();
+        assertThat(index.size()).isEqualTo(51);
+        assertThat(index.search(db.get(51L).getEmbedding(), 1)).containsExactly("new-term");
+
+        float[] moved = randomVector();
+        put(3L, "term-3", moved);
+        db.remove(4L);
+        index.refresh();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(50);
+        assertThat(index.search(moved, 1)).containsExactly("term-3");
+        assertThat(index.search(randomVector(), 50)).doesNotContain("term-4");
+    }
+
+    private VocabTermHnswIndex built(VocabTermRepository repo, int m) {
+        VocabTermHnswIndex index = new VocabTermHnswIndex(repo, true, m, 100, 64, dir.toString(), Runnable::run);
+        index.build();
+        assertThat(index.isReady()).isTrue();
+        return index;
+    }
+
+    // 호출 시점의 db 내용으로 응답하는 저장소 목
+    private VocabTermRepository repo() {
+        VocabTermRepository repo = mock(VocabTermRepository.class);
+        given(repo.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).willAnswer(inv -> {
+            long from = inv.getArgument(0);
+            Pageable page = inv.getArgument(1);
+            return db.tailMap(from, false).values().stream().limit(page.getPageSize()).toList();
+        });
+        given(repo.contentFingerprint(anyLong())).willAnswer(inv -> {
+            long maxId = inv.getArgument(0);
+            int h = 1;
+            for (VocabTerm t : db.headMap(maxId, true).values()) {
+                h = 31 * h + Objects.hash(t.getId(), t.getTerm(), Arrays.hashCode(t.getEmbedding()));
+            }
+            return Integer.toHexString(h);
+        });
+        return repo;
+    }
+
+    private void put(long id, String term, float[] embedding) {
+        db.put(id, VocabTerm.builder().id(id).term(term).embedding(embedding).build());
+    }
+
+    private List<String> bruteForce(float[] query, int k) {
+        return db.values().stream()
+                .sorted(Comparator.comparingDouble((VocabTerm t) -> -cosine(query, t.getEmbedding())))
+                .limit(k)
+                .map(VocabTerm::getTerm)
+                .toList();
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0, na = 0, nb = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        return dot / Math.sqrt(na * nb);
+    }
+
+    private float[] randomVector() {
+        float[] v = new float[DIM];
+        for (int i = 0; i < DIM; i++) v[i] = (float) random.nextGaussian();
+        return v;
+    }
+}